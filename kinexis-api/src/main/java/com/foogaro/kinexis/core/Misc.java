@@ -97,6 +97,22 @@ public class Misc {
         }
     }
 
+    /**
+     * @return the name of the {@code @Id} field of an entity class, or of its {@code id} field
+     */
+    public static Optional<String> getIdFieldName(final Class<?> entityClass) {
+        for (Field field : entityClass.getDeclaredFields()) {
+            if (isIdField(field)) {
+                return Optional.of(field.getName());
+            }
+        }
+        try {
+            return Optional.of(entityClass.getDeclaredField("id").getName());
+        } catch (NoSuchFieldException ignored) {
+            return Optional.empty();
+        }
+    }
+
     public static Optional<String> getEntityKey(final Object entity) {
         return getEntityId(entity)
                 .map(id -> getEntityKeyPrefix(entity.getClass()) + KEY_SEPARATOR + id);
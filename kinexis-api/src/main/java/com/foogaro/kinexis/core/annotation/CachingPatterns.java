@@ -53,4 +53,43 @@ public @interface CachingPatterns {
      * @return TTL in seconds
      */
     long ttl() default 0;
+
+    /**
+     * Specifies the TTL in seconds of the marker cached when a Cache-Aside read does not find the entity
+     * in the primary store. While the marker lives, reads of that ID return empty without querying the
+     * primary store. A value of 0 or negative disables negative caching.
+     *
+     * @return negative-result TTL in seconds
+     */
+    long negativeTtl() default 0;
+
+    /**
+     * Specifies for how many seconds after the {@link #ttl()} a cached entry is still served, stale.
+     * A Cache-Aside read in that window returns the cached entry at once and reloads it in the background,
+     * so {@code ttl} is the soft TTL and {@code ttl + staleWhileRevalidate} the hard TTL.
+     * Ignored when {@link #ttl()} is 0 or negative.
+     *
+     * @return stale-while-revalidate window in seconds
+     */
+    long staleWhileRevalidate() default 0;
+
+    /**
+     * Specifies for how many seconds after the hard TTL a cached entry is kept as a fallback.
+     * A Cache-Aside read in that window reloads the entity from the primary store and returns the cached
+     * entry only when the primary store fails or is unavailable.
+     * Ignored when {@link #ttl()} is 0 or negative.
+     *
+     * @return stale-if-error grace window in seconds
+     */
+    long staleIfError() default 0;
+
+    /**
+     * Specifies whether the {@link #ttl()} restarts on every cache hit, so that entries expire {@code ttl}
+     * seconds after their last read instead of after their last write. The TTL is restarted with the read,
+     * through {@link com.foogaro.kinexis.core.store.CacheStore#findByIdAndTouch}.
+     * Ignored when {@link #ttl()} is 0 or negative.
+     *
+     * @return true to slide the TTL on reads
+     */
+    boolean slidingTtl() default false;
 }
@@ -0,0 +1,23 @@
+package com.foogaro.kinexis.core.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks an entity field whose value tags cached query results.
+ * A cached query with a parameter of the same name is tagged {@code name=value}, and every save
+ * of an entity invalidates the queries tagged with the current values of its tag fields.
+ * For example, with {@code @QueryTag String city}, saving an entity of Paris invalidates the
+ * cached queries whose {@code city} parameter is Paris.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface QueryTag {
+    /**
+     * Specifies the name of the tag, which query parameters must use.
+     * Defaults to the field name.
+     *
+     * @return the tag name
+     */
+    String value() default "";
+}
@@ -10,6 +10,7 @@ public class KinexisProperties {
     private final EventSchema eventSchema = new EventSchema();
     private final StoreHealth storeHealth = new StoreHealth();
     private final Validation validation = new Validation();
+    private final Cache cache = new Cache();
 
     public Stream getStream() {
         return stream;
@@ -35,13 +36,51 @@ public class KinexisProperties {
         return validation;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
     public static class Stores {
 
         private final RepositoryDiscovery repositoryDiscovery = new RepositoryDiscovery();
+        private final Replicas replicas = new Replicas();
 
         public RepositoryDiscovery getRepositoryDiscovery() {
             return repositoryDiscovery;
         }
+
+        public Replicas getReplicas() {
+            return replicas;
+        }
+    }
+
+    /**
+     * Routing of cache-aside loads to the stores in the {@code replica} target group.
+     */
+    public static class Replicas {
+
+        private boolean enabled = true;
+        private Duration failurePenalty = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Latency recorded for a failed replica read, so that a failing replica is picked less often until
+         * it serves reads again.
+         */
+        public Duration getFailurePenalty() {
+            return failurePenalty;
+        }
+
+        public void setFailurePenalty(Duration failurePenalty) {
+            this.failurePenalty = failurePenalty;
+        }
     }
 
     public static class RepositoryDiscovery {
@@ -268,12 +307,653 @@ public class KinexisProperties {
         }
     }
 
+    public static class Cache {
+
+        private final NearCache nearCache = new NearCache();
+        private final Coalescing coalescing = new Coalescing();
+        private final Lease lease = new Lease();
+        private final IdFilter idFilter = new IdFilter();
+        private final Expiration expiration = new Expiration();
+        private final Batching batching = new Batching();
+        private final AdaptiveTtl adaptiveTtl = new AdaptiveTtl();
+        private final Admission admission = new Admission();
+        private final QueryCache query = new QueryCache();
+        private final Hedging hedging = new Hedging();
+        private final BulkInvalidation bulkInvalidation = new BulkInvalidation();
+        private final WarmUp warmUp = new WarmUp();
+        private final HotKeys hotKeys = new HotKeys();
+
+        public NearCache getNearCache() {
+            return nearCache;
+        }
+
+        public Coalescing getCoalescing() {
+            return coalescing;
+        }
+
+        public Lease getLease() {
+            return lease;
+        }
+
+        public IdFilter getIdFilter() {
+            return idFilter;
+        }
+
+        public Expiration getExpiration() {
+            return expiration;
+        }
+
+        public Batching getBatching() {
+            return batching;
+        }
+
+        public AdaptiveTtl getAdaptiveTtl() {
+            return adaptiveTtl;
+        }
+
+        public Admission getAdmission() {
+            return admission;
+        }
+
+        public QueryCache getQuery() {
+            return query;
+        }
+
+        public Hedging getHedging() {
+            return hedging;
+        }
+
+        public BulkInvalidation getBulkInvalidation() {
+            return bulkInvalidation;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public HotKeys getHotKeys() {
+            return hotKeys;
+        }
+    }
+
+    public static class AdaptiveTtl {
+
+        private boolean enabled = false;
+        private Duration minTtl = Duration.ofSeconds(30);
+        private Duration maxTtl = Duration.ofHours(1);
+        private Duration halfLife = Duration.ofMinutes(5);
+        private int minSamples = 20;
+        private int buckets = 1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMinTtl() {
+            return minTtl;
+        }
+
+        public void setMinTtl(Duration minTtl) {
+            this.minTtl = minTtl;
+        }
+
+        public Duration getMaxTtl() {
+            return maxTtl;
+        }
+
+        public void setMaxTtl(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        public Duration getHalfLife() {
+            return halfLife;
+        }
+
+        public void setHalfLife(Duration halfLife) {
+            this.halfLife = halfLife;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public int getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(int buckets) {
+            this.buckets = buckets;
+        }
+    }
+
+    public static class Admission {
+
+        private boolean enabled = false;
+        private int minFrequency = 2;
+        private long expectedKeys = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMinFrequency() {
+            return minFrequency;
+        }
+
+        public void setMinFrequency(int minFrequency) {
+            this.minFrequency = minFrequency;
+        }
+
+        public long getExpectedKeys() {
+            return expectedKeys;
+        }
+
+        public void setExpectedKeys(long expectedKeys) {
+            this.expectedKeys = expectedKeys;
+        }
+    }
+
+    public static class QueryCache {
+
+        private boolean enabled = false;
+        private Duration ttl = Duration.ofMinutes(5);
+        private int maxResults = 1_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+    }
+
+    public static class Hedging {
+
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        private Duration initialDelay = Duration.ofMillis(50);
+        private Duration minDelay = Duration.ofMillis(2);
+        private double budget = 0.05;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public void setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public double getBudget() {
+            return budget;
+        }
+
+        public void setBudget(double budget) {
+            this.budget = budget;
+        }
+    }
+
+    public static class BulkInvalidation {
+
+        private int batchSize = 500;
+        private int maxKeysPerSecond = 10_000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxKeysPerSecond() {
+            return maxKeysPerSecond;
+        }
+
+        public void setMaxKeysPerSecond(int maxKeysPerSecond) {
+            this.maxKeysPerSecond = maxKeysPerSecond;
+        }
+    }
+
+    public static class WarmUp {
+
+        private boolean enabled = false;
+        private WarmUpSource source = WarmUpSource.PRIMARY_STORE;
+        private java.util.Set<String> entities = new java.util.LinkedHashSet<>();
+        private int pageSize = 500;
+        private int parallelism = 2;
+        private int maxEntitiesPerSecond = 5_000;
+        private long maxEntities = 100_000;
+        private Duration timeout = Duration.ofMinutes(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public WarmUpSource getSource() {
+            return source;
+        }
+
+        public void setSource(WarmUpSource source) {
+            this.source = source;
+        }
+
+        public java.util.Set<String> getEntities() {
+            return entities;
+        }
+
+        public void setEntities(java.util.Set<String> entities) {
+            this.entities = entities == null ? new java.util.LinkedHashSet<>() : entities;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        public void setPageSize(int pageSize) {
+            this.pageSize = pageSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public int getMaxEntitiesPerSecond() {
+            return maxEntitiesPerSecond;
+        }
+
+        public void setMaxEntitiesPerSecond(int maxEntitiesPerSecond) {
+            this.maxEntitiesPerSecond = maxEntitiesPerSecond;
+        }
+
+        public long getMaxEntities() {
+            return maxEntities;
+        }
+
+        public void setMaxEntities(long maxEntities) {
+            this.maxEntities = maxEntities;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public enum WarmUpSource {
+        PRIMARY_STORE,
+        ID_SOURCE,
+        HOT_KEYS
+    }
+
+    public static class HotKeys {
+
+        private boolean enabled = false;
+        private int topK = 100;
+        private long expectedKeys = 65_536;
+        private Duration halfLife = Duration.ofMinutes(1);
+        private boolean persist = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getTopK() {
+            return topK;
+        }
+
+        public void setTopK(int topK) {
+            this.topK = topK;
+        }
+
+        public long getExpectedKeys() {
+            return expectedKeys;
+        }
+
+        public void setExpectedKeys(long expectedKeys) {
+            this.expectedKeys = expectedKeys;
+        }
+
+        public Duration getHalfLife() {
+            return halfLife;
+        }
+
+        public void setHalfLife(Duration halfLife) {
+            this.halfLife = halfLife;
+        }
+
+        public boolean isPersist() {
+            return persist;
+        }
+
+        public void setPersist(boolean persist) {
+            this.persist = persist;
+        }
+    }
+
+    public static class Batching {
+
+        private boolean enabled = false;
+        private Duration window = Duration.ofMillis(2);
+        private int maxBatchSize = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    public static class Expiration {
+
+        private double jitter = 0.0d;
+        private boolean earlyRefresh = false;
+        private double beta = 1.0d;
+        private Duration defaultLoadTime = Duration.ofMillis(50);
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+
+        public boolean isEarlyRefresh() {
+            return earlyRefresh;
+        }
+
+        public void setEarlyRefresh(boolean earlyRefresh) {
+            this.earlyRefresh = earlyRefresh;
+        }
+
+        public double getBeta() {
+            return beta;
+        }
+
+        public void setBeta(double beta) {
+            this.beta = beta;
+        }
+
+        public Duration getDefaultLoadTime() {
+            return defaultLoadTime;
+        }
+
+        public void setDefaultLoadTime(Duration defaultLoadTime) {
+            this.defaultLoadTime = defaultLoadTime;
+        }
+    }
+
+    public static class Coalescing {
+
+        private boolean enabled = true;
+        private Duration waitTimeout = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+    }
+
+    public static class Lease {
+
+        private boolean enabled = false;
+        private Duration ttl = Duration.ofSeconds(5);
+        private Duration waitTimeout = Duration.ofMillis(200);
+        private Duration pollInterval = Duration.ofMillis(20);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+
+    public static class IdFilter {
+
+        private boolean enabled = false;
+        private long expectedInsertions = 1_000_000;
+        private double falsePositiveProbability = 0.01d;
+        private int loadBatchSize = 1_000;
+        private Duration rebuildInterval = Duration.ZERO;
+        private java.util.Set<String> entities = new java.util.LinkedHashSet<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getExpectedInsertions() {
+            return expectedInsertions;
+        }
+
+        public void setExpectedInsertions(long expectedInsertions) {
+            this.expectedInsertions = expectedInsertions;
+        }
+
+        public double getFalsePositiveProbability() {
+            return falsePositiveProbability;
+        }
+
+        public void setFalsePositiveProbability(double falsePositiveProbability) {
+            this.falsePositiveProbability = falsePositiveProbability;
+        }
+
+        public int getLoadBatchSize() {
+            return loadBatchSize;
+        }
+
+        public void setLoadBatchSize(int loadBatchSize) {
+            this.loadBatchSize = loadBatchSize;
+        }
+
+        public Duration getRebuildInterval() {
+            return rebuildInterval;
+        }
+
+        public void setRebuildInterval(Duration rebuildInterval) {
+            this.rebuildInterval = rebuildInterval;
+        }
+
+        public java.util.Set<String> getEntities() {
+            return entities;
+        }
+
+        public void setEntities(java.util.Set<String> entities) {
+            this.entities = entities == null ? new java.util.LinkedHashSet<>() : entities;
+        }
+    }
+
+    public static class NearCache {
+
+        private boolean enabled = false;
+        private long maximumSize = 10_000;
+        private long maximumWeight = 0;
+        private Duration defaultTtl = Duration.ofSeconds(60);
+        private java.util.Set<String> entities = new java.util.LinkedHashSet<>();
+        private String invalidationChannel = "kinexis:cache:invalidations";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Duration getDefaultTtl() {
+            return defaultTtl;
+        }
+
+        public void setDefaultTtl(Duration defaultTtl) {
+            this.defaultTtl = defaultTtl;
+        }
+
+        public java.util.Set<String> getEntities() {
+            return entities;
+        }
+
+        public void setEntities(java.util.Set<String> entities) {
+            this.entities = entities == null ? new java.util.LinkedHashSet<>() : entities;
+        }
+
+        public String getInvalidationChannel() {
+            return invalidationChannel;
+        }
+
+        public void setInvalidationChannel(String invalidationChannel) {
+            this.invalidationChannel = invalidationChannel;
+        }
+    }
+
     public static class Stream {
 
         private Duration pollTimeout = Duration.ofSeconds(1);
         private int batchSize = 100;
         private int partitions = 1;
         private final Listener listener = new Listener();
+        private final GroupCommit groupCommit = new GroupCommit();
 
         public Duration getPollTimeout() {
             return pollTimeout;
@@ -302,6 +982,59 @@ public class KinexisProperties {
         public Listener getListener() {
             return listener;
         }
+
+        public GroupCommit getGroupCommit() {
+            return groupCommit;
+        }
+    }
+
+    public static class GroupCommit {
+
+        private boolean enabled = false;
+        private int batchSize = 128;
+        private Duration linger = Duration.ofMillis(2);
+        private int queueDepth = 8192;
+        private Duration timeout = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getLinger() {
+            return linger;
+        }
+
+        public void setLinger(Duration linger) {
+            this.linger = linger;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public void setQueueDepth(int queueDepth) {
+            this.queueDepth = queueDepth;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
     }
 
     public static class Listener {
@@ -0,0 +1,14 @@
+package com.foogaro.kinexis.core.model;
+
+/**
+ * One of the most used IDs of an entity type, as estimated by a heavy-hitter sketch.
+ *
+ * @param id        the entity ID
+ * @param estimate  the decayed number of uses, which may overcount but never undercounts
+ * @param perSecond the estimated uses per second over the recent window
+ */
+public record KinexisHotKey(
+        String id,
+        long estimate,
+        double perSecond) {
+}
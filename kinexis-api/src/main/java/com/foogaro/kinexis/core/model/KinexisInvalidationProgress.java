@@ -0,0 +1,20 @@
+package com.foogaro.kinexis.core.model;
+
+import java.time.Duration;
+
+/**
+ * Progress of a bulk cache invalidation, reported after each batch and returned once it completes.
+ *
+ * @param entityType  the simple name of the entity type
+ * @param scanned     the IDs examined so far
+ * @param invalidated the cache entries invalidated so far
+ * @param elapsed     the time spent so far
+ * @param done        whether every batch was processed
+ */
+public record KinexisInvalidationProgress(
+        String entityType,
+        long scanned,
+        long invalidated,
+        Duration elapsed,
+        boolean done) {
+}
@@ -0,0 +1,82 @@
+package com.foogaro.kinexis.core.store;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Size and bit positions of a Bloom filter.
+ * <p>
+ * The number of bits and hash functions are derived from the expected number of insertions and the
+ * target false-positive probability. Bit positions are computed with double hashing over a 64-bit
+ * hash of the ID string, so {@code 42L} and {@code "42"} map to the same bits.
+ *
+ * @param bits          the number of bits of the filter
+ * @param hashFunctions the number of bits set per ID
+ */
+public record BloomFilterSpec(long bits, int hashFunctions) {
+
+    /**
+     * Largest filter that fits in a single Redis string.
+     */
+    public static final long MAXIMUM_BITS = 1L << 32;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public BloomFilterSpec {
+        if (bits <= 0 || bits > MAXIMUM_BITS) {
+            throw new IllegalArgumentException("bits must be between 1 and " + MAXIMUM_BITS);
+        }
+        if (hashFunctions <= 0) {
+            throw new IllegalArgumentException("hashFunctions must be greater than zero");
+        }
+    }
+
+    /**
+     * Sizes a filter for the given load.
+     *
+     * @param expectedInsertions       the number of IDs the filter is expected to hold
+     * @param falsePositiveProbability the target false-positive probability, between 0 and 1 exclusive
+     * @return the filter spec
+     */
+    public static BloomFilterSpec of(long expectedInsertions, double falsePositiveProbability) {
+        if (!(falsePositiveProbability > 0.0d && falsePositiveProbability < 1.0d)) {
+            throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1 exclusive");
+        }
+        long insertions = Math.max(1L, expectedInsertions);
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        bits = Math.min(Math.max(bits, Long.SIZE), MAXIMUM_BITS);
+        int hashFunctions = (int) Math.max(1L, Math.round((double) bits / insertions * ln2));
+        return new BloomFilterSpec(bits, hashFunctions);
+    }
+
+    /**
+     * Returns the bit positions of an ID.
+     *
+     * @param id the entity ID
+     * @return {@link #hashFunctions()} bit positions, each in {@code [0, bits)}
+     */
+    public long[] offsets(Object id) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte value : String.valueOf(id).getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xff;
+            hash *= FNV_PRIME;
+        }
+        long first = mix(hash);
+        long second = mix(first ^ FNV_OFFSET_BASIS) | 1L;
+        long[] offsets = new long[hashFunctions];
+        for (int i = 0; i < hashFunctions; i++) {
+            offsets[i] = Math.floorMod(first + i * second, bits);
+        }
+        return offsets;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
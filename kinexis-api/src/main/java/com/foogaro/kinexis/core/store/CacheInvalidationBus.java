@@ -0,0 +1,39 @@
+package com.foogaro.kinexis.core.store;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations so that every instance can evict its in-process copy of an entity.
+ * <p>
+ * {@link #publish(Class, Object)} notifies local subscribers synchronously and then forwards the
+ * invalidation to the other instances. Subscribers receive the entity ID as a string, or {@code null}
+ * when every entry of the entity type must be evicted.
+ * {@link #publish(Class, Collection)} invalidates many IDs, which transports forward as one message.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(Class<?> entityType, Object id);
+
+    void subscribe(Class<?> entityType, Consumer<String> listener);
+
+    default void publishAll(Class<?> entityType) {
+        publish(entityType, null);
+    }
+
+    default void publish(Class<?> entityType, Collection<?> ids) {
+        ids.forEach(id -> publish(entityType, id));
+    }
+
+    static CacheInvalidationBus noop() {
+        return new CacheInvalidationBus() {
+            @Override
+            public void publish(Class<?> entityType, Object id) {
+            }
+
+            @Override
+            public void subscribe(Class<?> entityType, Consumer<String> listener) {
+            }
+        };
+    }
+}
@@ -1,10 +1,142 @@
 package com.foogaro.kinexis.core.store;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface CacheStore<T> extends EntityStore<T> {
 
     default T save(T entity, Duration ttl) {
         return save(entity);
     }
+
+    default CompletionStage<T> saveAsync(T entity, Duration ttl) {
+        try {
+            return CompletableFuture.completedFuture(save(entity, ttl));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default List<T> saveAll(Collection<T> entities, Duration ttl) {
+        List<T> saved = new ArrayList<>();
+        if (entities != null) {
+            entities.forEach(entity -> saved.add(save(entity, ttl)));
+        }
+        return saved;
+    }
+
+    /**
+     * Records that an entity does not exist in the primary store, so that cache-aside reads can
+     * skip the primary store until the marker expires. Stores that cannot hold markers ignore it.
+     *
+     * @param id  the entity ID
+     * @param ttl how long the marker lives
+     */
+    default void markMissing(Object id, Duration ttl) {
+    }
+
+    default boolean isMarkedMissing(Object id) {
+        return false;
+    }
+
+    default void clearMissing(Object id) {
+    }
+
+    /**
+     * Deletes cached entities together with their not-found markers, for bulk invalidation. Redis-backed
+     * stores unlink every key with one pipeline.
+     *
+     * @param ids the entity IDs
+     */
+    default void invalidateAll(Collection<?> ids) {
+        if (ids != null) {
+            ids.forEach(id -> {
+                deleteById(id);
+                clearMissing(id);
+            });
+        }
+    }
+
+    /**
+     * Streams the ID of every cached entity whose ID starts with the given prefix, for bulk invalidation.
+     * Redis-backed stores iterate their keys with {@code SCAN}, which never blocks the server, so entries
+     * written or expiring during the scan may or may not be returned. The default filters {@link #streamIds()}.
+     *
+     * @param idPrefix the ID prefix, empty for every entry
+     * @return the IDs, to be closed by the caller
+     */
+    default Stream<Object> streamIds(String idPrefix) {
+        Stream<Object> ids = streamIds();
+        return idPrefix == null || idPrefix.isEmpty() ? ids : ids.filter(id -> String.valueOf(id).startsWith(idPrefix));
+    }
+
+    /**
+     * Returns how long a cached entity has left before it expires, for early refresh.
+     * Stores that cannot tell return empty, and their entries are only reloaded once expired.
+     *
+     * @param id the entity ID
+     * @return the remaining time to live, empty when unknown, missing or not expiring
+     */
+    default Optional<Duration> timeToLive(Object id) {
+        return Optional.empty();
+    }
+
+    /**
+     * Batch counterpart of {@link #timeToLive(Object)}. Redis-backed stores read every TTL with one
+     * pipelined {@code PTTL}.
+     *
+     * @param ids the entity IDs
+     * @return the remaining time to live of each ID, in the order of the IDs
+     */
+    default List<Optional<Duration>> timeToLiveAll(List<?> ids) {
+        return ids.stream().map(this::timeToLive).toList();
+    }
+
+    /**
+     * Reads a cached entity and restarts its TTL, for sliding expiration. Redis-backed stores do both
+     * in a single round trip where their format allows it, otherwise with a second command after the
+     * read. Stores that cannot restart a TTL only read the entity.
+     *
+     * @param id  the entity ID
+     * @param ttl the new time to live of the entry
+     * @return the cached entity
+     */
+    default Optional<T> findByIdAndTouch(Object id, Duration ttl) {
+        return findById(id);
+    }
+
+    /**
+     * Reads only the fields of a cached entity that a projection type declares. Stores that can read part
+     * of an entry, such as JSON documents, transfer and decode only those fields. The default reads the
+     * whole entity and maps it with {@code fullReadMapper}.
+     *
+     * @param id             the entity ID
+     * @param projection     the projection type, whose field names match entity fields
+     * @param fullReadMapper maps a fully read entity to the projection
+     * @return the projection of the cached entity
+     */
+    default <P> Optional<P> findProjectionById(Object id, Class<P> projection, Function<? super T, ? extends P> fullReadMapper) {
+        return findById(id).map(fullReadMapper);
+    }
+
+    /**
+     * Writes only the named fields of a cached entity. Stores that keep each field apart, such as hash
+     * layouts, leave the other fields untouched and write the whole entity when it is not cached yet.
+     * The default writes the whole entity.
+     *
+     * @param entity the entity, whose other fields match the cached ones
+     * @param fields the names of the changed fields
+     * @param ttl    the time to live of the entry, zero for none
+     * @return the entity
+     */
+    default T patch(T entity, Collection<String> fields, Duration ttl) {
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? save(entity) : save(entity, ttl);
+    }
 }
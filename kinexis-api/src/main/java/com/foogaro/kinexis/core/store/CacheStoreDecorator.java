@@ -0,0 +1,10 @@
+package com.foogaro.kinexis.core.store;
+
+/**
+ * Wraps the cache store resolved for an entity type, for example to put an in-process tier in front
+ * of it. {@link DefaultEntityStoreRegistry} decorates each cache store once and reuses the result.
+ */
+public interface CacheStoreDecorator {
+
+    <T> CacheStore<T> decorate(CacheStore<T> cacheStore);
+}
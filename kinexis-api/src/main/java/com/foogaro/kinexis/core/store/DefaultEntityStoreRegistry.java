@@ -2,21 +2,40 @@ package com.foogaro.kinexis.core.store;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DefaultEntityStoreRegistry implements EntityStoreRegistry {
 
     private final List<EntityStore<?>> explicitStores;
     private final EntityStoreRegistry fallbackRegistry;
+    private final CacheStoreDecorator cacheStoreDecorator;
+    private final Map<Class<?>, Optional<? extends CacheStore<?>>> decoratedCacheStores = new ConcurrentHashMap<>();
 
     public DefaultEntityStoreRegistry(Collection<EntityStore<?>> explicitStores, EntityStoreRegistry fallbackRegistry) {
+        this(explicitStores, fallbackRegistry, null);
+    }
+
+    public DefaultEntityStoreRegistry(Collection<EntityStore<?>> explicitStores, EntityStoreRegistry fallbackRegistry,
+                                      CacheStoreDecorator cacheStoreDecorator) {
         this.explicitStores = List.copyOf(explicitStores);
         this.fallbackRegistry = fallbackRegistry;
+        this.cacheStoreDecorator = cacheStoreDecorator;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> Optional<CacheStore<T>> findCacheStore(Class<T> entityType) {
+        if (cacheStoreDecorator == null) {
+            return resolveCacheStore(entityType);
+        }
+        return (Optional<CacheStore<T>>) decoratedCacheStores.computeIfAbsent(entityType,
+                type -> resolveCacheStore(entityType).map(cacheStoreDecorator::decorate));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<CacheStore<T>> resolveCacheStore(Class<T> entityType) {
         Optional<CacheStore<T>> explicit = explicitStores.stream()
                 .filter(store -> store instanceof CacheStore<?>)
                 .filter(store -> store.entityType().equals(entityType))
@@ -30,6 +49,7 @@ public class DefaultEntityStoreRegistry implements EntityStoreRegistry {
     public <T> Optional<EntityStore<T>> findPrimaryStore(Class<T> entityType) {
         Optional<EntityStore<T>> explicit = explicitStores.stream()
                 .filter(store -> !(store instanceof CacheStore<?>))
+                .filter(store -> !isReplica(store))
                 .filter(store -> store.entityType().equals(entityType))
                 .findFirst()
                 .map(store -> (EntityStore<T>) store);
@@ -42,11 +62,24 @@ public class DefaultEntityStoreRegistry implements EntityStoreRegistry {
         List<EntityStore<T>> explicit = explicitStores.stream()
                 .filter(store -> store.entityType().equals(entityType))
                 .filter(store -> !(store instanceof CacheStore<?>))
+                .filter(store -> !isReplica(store))
                 .map(store -> (EntityStore<T>) store)
                 .toList();
         return explicit.isEmpty() ? fallbackRegistry.findTargetStores(entityType) : explicit;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<EntityStore<T>> findReplicaStores(Class<T> entityType) {
+        List<EntityStore<T>> explicit = explicitStores.stream()
+                .filter(store -> store.entityType().equals(entityType))
+                .filter(store -> !(store instanceof CacheStore<?>))
+                .filter(DefaultEntityStoreRegistry::isReplica)
+                .map(store -> (EntityStore<T>) store)
+                .toList();
+        return explicit.isEmpty() ? fallbackRegistry.findReplicaStores(entityType) : explicit;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> List<EntityStore<T>> findTargetStores(Class<T> entityType, Collection<String> targets) {
@@ -56,12 +89,17 @@ public class DefaultEntityStoreRegistry implements EntityStoreRegistry {
         List<EntityStore<T>> explicit = explicitStores.stream()
                 .filter(store -> store.entityType().equals(entityType))
                 .filter(store -> !(store instanceof CacheStore<?>))
+                .filter(store -> !isReplica(store))
                 .filter(store -> matchesTarget(store, targets))
                 .map(store -> (EntityStore<T>) store)
                 .toList();
         return explicit.isEmpty() ? fallbackRegistry.findTargetStores(entityType, targets) : explicit;
     }
 
+    private static boolean isReplica(EntityStore<?> store) {
+        return store.targets().contains(EntityStore.REPLICA_TARGET);
+    }
+
     private boolean matchesTarget(EntityStore<?> store, Collection<String> targets) {
         return targets.contains(store.name()) || store.targets().stream().anyMatch(targets::contains);
     }
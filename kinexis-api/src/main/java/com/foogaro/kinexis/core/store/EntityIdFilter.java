@@ -0,0 +1,69 @@
+package com.foogaro.kinexis.core.store;
+
+import java.util.Collection;
+
+/**
+ * Bloom filter of the IDs that exist in the primary store, one per entity type.
+ * <p>
+ * A filter answers "definitely absent" or "maybe present", so cache-aside reads can skip the
+ * primary store for IDs it has never seen. It is only consulted once it is {@linkplain #isReady ready},
+ * that is after every existing ID has been added. IDs are never removed: a deleted ID stays
+ * "maybe present" and only costs a primary-store query, never a wrong answer.
+ */
+public interface EntityIdFilter {
+
+    /**
+     * Tells whether the filter holds every ID of the primary store and can be used to reject reads.
+     *
+     * @param entityType the entity type
+     * @return {@code true} once the filter was built
+     */
+    boolean isReady(Class<?> entityType);
+
+    /**
+     * Marks the filter as built.
+     *
+     * @param entityType the entity type
+     */
+    void markReady(Class<?> entityType);
+
+    /**
+     * @param entityType the entity type
+     * @param id         the entity ID
+     * @return {@code false} when the ID was never added, {@code true} when it may have been
+     */
+    boolean mightContain(Class<?> entityType, Object id);
+
+    void add(Class<?> entityType, Object id);
+
+    default void addAll(Class<?> entityType, Collection<?> ids) {
+        if (ids != null) {
+            ids.forEach(id -> add(entityType, id));
+        }
+    }
+
+    /**
+     * Returns a filter that is never ready, so every read goes to the primary store.
+     */
+    static EntityIdFilter noop() {
+        return new EntityIdFilter() {
+            @Override
+            public boolean isReady(Class<?> entityType) {
+                return false;
+            }
+
+            @Override
+            public void markReady(Class<?> entityType) {
+            }
+
+            @Override
+            public boolean mightContain(Class<?> entityType, Object id) {
+                return true;
+            }
+
+            @Override
+            public void add(Class<?> entityType, Object id) {
+            }
+        };
+    }
+}
@@ -1,10 +1,30 @@
 package com.foogaro.kinexis.core.store;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Stream;
 
+/**
+ * A place where entities of one type are stored: a primary database, a target of write-behind, or a cache.
+ * <p>
+ * The {@code *Async} methods run the blocking methods on the calling thread and return a completed stage.
+ * Stores backed by a non-blocking client should override them.
+ *
+ * @param <T> the stored entity type
+ */
 public interface EntityStore<T> {
 
+    /**
+     * Target group of the stores that are read replicas of the primary store. They serve cache-aside loads
+     * and are never resolved as the primary store nor written by write-behind.
+     */
+    String REPLICA_TARGET = "replica";
+
     String name();
 
     Class<T> entityType();
@@ -15,7 +35,71 @@ public interface EntityStore<T> {
 
     Optional<T> findById(Object id);
 
+    default CompletionStage<Optional<T>> findByIdAsync(Object id) {
+        try {
+            return CompletableFuture.completedFuture(findById(id));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Loads every entity matching the given identifiers. Missing identifiers are skipped, so the
+     * result can be shorter than the input. Stores backed by a batch-capable backend should
+     * override this to issue a single round trip.
+     */
+    default List<T> findAllById(Collection<?> ids) {
+        List<T> entities = new ArrayList<>();
+        if (ids != null) {
+            ids.forEach(id -> findById(id).ifPresent(entities::add));
+        }
+        return entities;
+    }
+
+    /**
+     * Streams the identifier of every stored entity, for example to build an {@link EntityIdFilter}.
+     * The caller closes the stream. Stores that cannot enumerate their content throw
+     * {@link UnsupportedOperationException}.
+     */
+    default Stream<Object> streamIds() {
+        throw new UnsupportedOperationException("Store " + name() + " cannot stream entity IDs");
+    }
+
+    /**
+     * Streams every stored entity, {@code pageSize} at a time, for example to warm up a cache without
+     * reading the entities a second time by ID. The caller closes the stream. Stores that cannot
+     * enumerate their content throw {@link UnsupportedOperationException}.
+     */
+    default Stream<List<T>> streamPages(int pageSize) {
+        throw new UnsupportedOperationException("Store " + name() + " cannot stream entities");
+    }
+
     T save(T entity);
 
+    default CompletionStage<T> saveAsync(T entity) {
+        try {
+            return CompletableFuture.completedFuture(save(entity));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    default List<T> saveAll(Collection<T> entities) {
+        List<T> saved = new ArrayList<>();
+        if (entities != null) {
+            entities.forEach(entity -> saved.add(save(entity)));
+        }
+        return saved;
+    }
+
     void deleteById(Object id);
+
+    default CompletionStage<Void> deleteByIdAsync(Object id) {
+        try {
+            deleteById(id);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -14,6 +14,13 @@ public interface EntityStoreRegistry {
         return List.of();
     }
 
+    /**
+     * Returns the read replicas of the primary store, the stores in the {@link EntityStore#REPLICA_TARGET} group.
+     */
+    default <T> List<EntityStore<T>> findReplicaStores(Class<T> entityType) {
+        return List.of();
+    }
+
     default <T> List<EntityStore<T>> findTargetStores(Class<T> entityType, Collection<String> targets) {
         return findTargetStores(entityType);
     }
@@ -0,0 +1,39 @@
+package com.foogaro.kinexis.core.store;
+
+import java.util.List;
+
+/**
+ * Persisted list of the most read IDs of each entity type, which survives restarts and Redis failovers
+ * so that the cache warm-up can load those entities first when {@code kinexis.cache.warm-up.source}
+ * is {@code HOT_KEYS}.
+ */
+public interface HotKeyList {
+
+    /**
+     * Replaces the hot IDs of an entity type.
+     *
+     * @param entityType the entity type
+     * @param ids        the IDs, hottest first
+     */
+    void save(Class<?> entityType, List<?> ids);
+
+    /**
+     * @param entityType the entity type
+     * @param limit      the largest number of IDs returned
+     * @return the hot IDs, hottest first
+     */
+    List<String> find(Class<?> entityType, int limit);
+
+    static HotKeyList noop() {
+        return new HotKeyList() {
+            @Override
+            public void save(Class<?> entityType, List<?> ids) {
+            }
+
+            @Override
+            public List<String> find(Class<?> entityType, int limit) {
+                return List.of();
+            }
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.model.KinexisHotKey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Approximate heavy-hitter tracker: which keys are used the most, and how often per second.
+ * <p>
+ * Every key is counted in a count-min sketch of four rows of {@code long} counters, and its estimate is the
+ * minimum of its four counters. Every half-life, all counters are halved, so the estimates follow recent
+ * traffic. The rate of a key is its estimate divided by the observation window, which is halved together
+ * with the counters, so a key used at a steady rate reads that rate at any time.
+ * <p>
+ * The sketch can hold millions of counters, so no single caller halves them all: each increment halves the
+ * next {@value #DECAY_SLICE} counters of the pending sweep. Only when fewer than one increment per slice
+ * happened in a half-life does the next half-life finish the previous sweep first.
+ * <p>
+ * The keys whose estimate is above the smallest one tracked are kept in a fixed array of {@code capacity}
+ * candidates, replaced with compare-and-set. Keys below that floor only touch the sketch. Every operation is
+ * lock-free and counting allocates nothing, except when a key enters the candidates. Two threads may add the
+ * same new key at once, so {@link #top(int)} merges duplicates. Keys are counted as given, and {@link #top(int)}
+ * adds up the keys with the same string form, such as {@code 42L} and {@code "42"}.
+ */
+public final class HotKeySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final int MAXIMUM_WIDTH = 1 << 26;
+    private static final long MIN_WINDOW_NANOS = 1_000_000_000L;
+    private static final int DECAY_SLICE = 64;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final AtomicReferenceArray<Candidate> candidates;
+    private final long halfLifeNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicLong nextDecay;
+    private final AtomicInteger decayCursor;
+    private volatile long floor;
+    private volatile long windowBase;
+    private volatile long windowStart;
+
+    /**
+     * @param capacity     the number of top keys tracked
+     * @param expectedKeys roughly the number of distinct keys, which sizes the sketch
+     * @param halfLife     how often the counts are halved
+     */
+    public HotKeySketch(int capacity, long expectedKeys, Duration halfLife) {
+        this(capacity, expectedKeys, halfLife, System::nanoTime);
+    }
+
+    HotKeySketch(int capacity, long expectedKeys, Duration halfLife, LongSupplier nanoTime) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        Objects.requireNonNull(halfLife, "halfLife cannot be null");
+        int width = tableSizeFor((int) Math.min(Math.max(expectedKeys, 16L), MAXIMUM_WIDTH));
+        this.table = new AtomicLongArray(width);
+        this.tableMask = width - 1;
+        this.candidates = new AtomicReferenceArray<>(capacity);
+        this.halfLifeNanos = Math.max(1L, halfLife.toNanos());
+        this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime cannot be null");
+        long now = nanoTime.getAsLong();
+        this.windowStart = now;
+        this.nextDecay = new AtomicLong(now + halfLifeNanos);
+        this.decayCursor = new AtomicInteger(width);
+    }
+
+    /**
+     * Records one use of the key.
+     *
+     * @param key the key, compared with {@link Object#equals}
+     */
+    public void increment(Object key) {
+        long now = nanoTime.getAsLong();
+        long next = nextDecay.get();
+        if (now - next >= 0 && nextDecay.compareAndSet(next, now + halfLifeNanos)) {
+            startDecay(now);
+        } else if (decayCursor.get() < table.length()) {
+            halveSlice(decayCursor.getAndAdd(DECAY_SLICE));
+        }
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < 4; row++) {
+            estimate = Math.min(estimate, table.incrementAndGet(indexOf(hash, row)));
+        }
+        if (estimate > floor || candidates.get(candidates.length() - 1) == null) {
+            offer(key, hash, estimate);
+        }
+    }
+
+    /**
+     * @param key the key
+     * @return the decayed number of uses of the key, never below the true one
+     */
+    public long estimate(Object key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < 4; row++) {
+            estimate = Math.min(estimate, table.get(indexOf(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * @param limit the largest number of keys returned
+     * @return the most used keys with their estimated rate, most used first
+     */
+    public List<KinexisHotKey> top(int limit) {
+        double windowSeconds = Math.max(MIN_WINDOW_NANOS, windowBase + nanoTime.getAsLong() - windowStart) / 1_000_000_000d;
+        Map<Object, Long> estimates = new HashMap<>();
+        for (int index = 0; index < candidates.length(); index++) {
+            Candidate candidate = candidates.get(index);
+            if (candidate != null) {
+                estimates.putIfAbsent(candidate.key, estimate(candidate.key));
+            }
+        }
+        Map<String, Long> byId = new HashMap<>();
+        estimates.forEach((key, estimate) -> byId.merge(String.valueOf(key), estimate, Long::sum));
+        List<KinexisHotKey> top = new ArrayList<>(byId.size());
+        byId.forEach((id, estimate) -> {
+            if (estimate > 0) {
+                top.add(new KinexisHotKey(id, estimate, estimate / windowSeconds));
+            }
+        });
+        top.sort(Comparator.comparingLong(KinexisHotKey::estimate).reversed().thenComparing(KinexisHotKey::id));
+        return top.size() > limit ? List.copyOf(top.subList(0, Math.max(0, limit))) : top;
+    }
+
+    private void offer(Object key, int hash, long estimate) {
+        int emptyIndex = -1;
+        int minIndex = -1;
+        Candidate min = null;
+        for (int index = 0; index < candidates.length(); index++) {
+            Candidate candidate = candidates.get(index);
+            if (candidate == null) {
+                if (emptyIndex < 0) {
+                    emptyIndex = index;
+                }
+            } else if (candidate.hash == hash && candidate.key.equals(key)) {
+                candidate.estimate = estimate;
+                return;
+            } else if (min == null || candidate.estimate < min.estimate) {
+                min = candidate;
+                minIndex = index;
+            }
+        }
+        if (emptyIndex >= 0) {
+            if (candidates.compareAndSet(emptyIndex, null, new Candidate(key, hash, estimate))) {
+                updateFloor();
+            }
+        } else if (min != null && estimate > min.estimate
+                && candidates.compareAndSet(minIndex, min, new Candidate(key, hash, estimate))) {
+            updateFloor();
+        }
+    }
+
+    private void updateFloor() {
+        long lowest = Long.MAX_VALUE;
+        for (int index = 0; index < candidates.length(); index++) {
+            Candidate candidate = candidates.get(index);
+            lowest = Math.min(lowest, candidate == null ? 0 : candidate.estimate);
+        }
+        floor = lowest;
+    }
+
+    private void startDecay(long now) {
+        int start;
+        while ((start = decayCursor.getAndAdd(DECAY_SLICE)) < table.length()) {
+            halveSlice(start);
+        }
+        windowBase = (windowBase + now - windowStart) / 2;
+        windowStart = now;
+        for (int index = 0; index < candidates.length(); index++) {
+            Candidate candidate = candidates.get(index);
+            if (candidate != null) {
+                candidate.estimate >>>= 1;
+            }
+        }
+        floor >>>= 1;
+        decayCursor.set(0);
+    }
+
+    private void halveSlice(int start) {
+        int end = Math.min(table.length(), start + DECAY_SLICE);
+        for (int index = start; index < end; index++) {
+            table.getAndUpdate(index, value -> value >>> 1);
+        }
+    }
+
+    private int indexOf(int hash, int row) {
+        long value = (hash + SEEDS[row]) * SEEDS[row];
+        value += value >>> 32;
+        return ((int) value) & tableMask;
+    }
+
+    private static int spread(int value) {
+        value = ((value >>> 16) ^ value) * 0x45d9f3b;
+        value = ((value >>> 16) ^ value) * 0x45d9f3b;
+        return (value >>> 16) ^ value;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static final class Candidate {
+
+        private final Object key;
+        private final int hash;
+        private volatile long estimate;
+
+        private Candidate(Object key, int hash, long estimate) {
+            this.key = key;
+            this.hash = hash;
+            this.estimate = estimate;
+        }
+    }
+}
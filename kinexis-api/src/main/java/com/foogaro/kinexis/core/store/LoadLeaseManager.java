@@ -0,0 +1,62 @@
+package com.foogaro.kinexis.core.store;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Grants short-lived, exclusive leases on reloading one entity, so that a single instance of the
+ * cluster loads it from the primary store while the others wait for the cache to fill.
+ * <p>
+ * A lease carries a fencing token that increases with every grant for the same entity. A holder
+ * must check {@link #isHeld(LoadLease)} before writing the loaded value to the cache: a lease that
+ * expired while the load was running may already have been granted to another instance.
+ */
+public interface LoadLeaseManager {
+
+    /**
+     * Tries to acquire the lease on reloading an entity.
+     *
+     * @param entityType the entity type
+     * @param id         the entity ID
+     * @param ttl        how long the lease is held before it expires on its own
+     * @return the lease, or empty when another holder owns it
+     */
+    Optional<LoadLease> tryAcquire(Class<?> entityType, Object id, Duration ttl);
+
+    boolean isHeld(LoadLease lease);
+
+    void release(LoadLease lease);
+
+    /**
+     * Returns a lease manager that grants every request, for single-instance deployments.
+     */
+    static LoadLeaseManager noop() {
+        AtomicLong tokens = new AtomicLong();
+        return new LoadLeaseManager() {
+            @Override
+            public Optional<LoadLease> tryAcquire(Class<?> entityType, Object id, Duration ttl) {
+                return Optional.of(new LoadLease(entityType, String.valueOf(id), tokens.incrementAndGet()));
+            }
+
+            @Override
+            public boolean isHeld(LoadLease lease) {
+                return true;
+            }
+
+            @Override
+            public void release(LoadLease lease) {
+            }
+        };
+    }
+
+    /**
+     * A granted lease.
+     *
+     * @param entityType   the entity type
+     * @param id           the entity ID
+     * @param fencingToken the fencing token of this grant
+     */
+    record LoadLease(Class<?> entityType, String id, long fencingToken) {
+    }
+}
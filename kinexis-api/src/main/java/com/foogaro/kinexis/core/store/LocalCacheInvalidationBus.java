@@ -0,0 +1,34 @@
+package com.foogaro.kinexis.core.store;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link CacheInvalidationBus}. It only reaches subscribers of the current JVM and is the
+ * base class for transports that also forward invalidations to other instances.
+ */
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(Class<?> entityType, Object id) {
+        Objects.requireNonNull(entityType, "entityType cannot be null");
+        deliver(entityType.getName(), id == null ? null : String.valueOf(id));
+    }
+
+    @Override
+    public void subscribe(Class<?> entityType, Consumer<String> listener) {
+        Objects.requireNonNull(entityType, "entityType cannot be null");
+        Objects.requireNonNull(listener, "listener cannot be null");
+        listeners.computeIfAbsent(entityType.getName(), ignored -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    protected void deliver(String entityType, String id) {
+        listeners.getOrDefault(entityType, List.of()).forEach(listener -> listener.accept(id));
+    }
+}
@@ -0,0 +1,231 @@
+package com.foogaro.kinexis.core.store;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded on-heap cache with a W-TinyLFU-style eviction policy.
+ * <p>
+ * New entries land in a small LRU admission window. When the window overflows, its oldest entry
+ * competes with the oldest entry of the main segmented LRU (probation and protected) and the one
+ * with the higher {@link FrequencySketch} estimate is kept. Reads are served from a concurrent map;
+ * policy bookkeeping for reads is skipped when another thread holds the policy lock, so hits never
+ * block. Entries expire lazily on read.
+ *
+ * @param <V> the cached value type
+ */
+final class NearCache<V> {
+
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private enum Segment {WINDOW, PROBATION, PROTECTED}
+
+    private static final class Node<V> {
+
+        private final String key;
+        private volatile V value;
+        private volatile long expiresAt;
+        private long weight;
+        private Segment segment;
+
+        private Node(String key, V value, long weight, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean hasExpired(long now) {
+            return expiresAt != NO_EXPIRY && now - expiresAt >= 0;
+        }
+    }
+
+    private final Map<String, Node<V>> data = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Node<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Node<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, Node<V>> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final ToLongFunction<V> weigher;
+    private final Runnable evictionListener;
+    private long totalWeight;
+
+    NearCache(long maximumSize, long maximumWeight, ToLongFunction<V> weigher, Runnable evictionListener) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be greater than zero");
+        }
+        this.maximumWeight = Math.max(0, maximumWeight);
+        this.windowMaximum = Math.max(1, maximumSize / 100);
+        this.mainMaximum = Math.max(0, maximumSize - windowMaximum);
+        this.protectedMaximum = mainMaximum * 80 / 100;
+        this.weigher = weigher == null ? value -> 1L : weigher;
+        this.evictionListener = evictionListener == null ? () -> { } : evictionListener;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    V get(String key) {
+        Node<V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.hasExpired(System.nanoTime())) {
+            expire(node);
+            return null;
+        }
+        sketch.increment(key);
+        if (lock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    void put(String key, V value, Duration ttl) {
+        long weight = Math.max(0, weigher.applyAsLong(value));
+        long expiresAt = ttl == null || ttl.isZero() || ttl.isNegative() ? NO_EXPIRY : System.nanoTime() + ttl.toNanos();
+        sketch.increment(key);
+        lock.lock();
+        try {
+            Node<V> existing = data.get(key);
+            if (existing != null) {
+                totalWeight += weight - existing.weight;
+                existing.value = value;
+                existing.weight = weight;
+                existing.expiresAt = expiresAt;
+                onAccess(existing);
+            } else {
+                Node<V> node = new Node<>(key, value, weight, expiresAt);
+                node.segment = Segment.WINDOW;
+                data.put(key, node);
+                window.put(key, node);
+                totalWeight += weight;
+            }
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidate(String key) {
+        lock.lock();
+        try {
+            Node<V> node = data.remove(key);
+            if (node != null) {
+                detach(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void expire(Node<V> node) {
+        lock.lock();
+        try {
+            if (data.remove(node.key, node)) {
+                detach(node);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void invalidateAll() {
+        lock.lock();
+        try {
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+            totalWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long size() {
+        return data.size();
+    }
+
+    private void onAccess(Node<V> node) {
+        if (node.segment == null) {
+            return;
+        }
+        switch (node.segment) {
+            case WINDOW -> window.get(node.key);
+            case PROTECTED -> protectedSegment.get(node.key);
+            case PROBATION -> {
+                probation.remove(node.key);
+                node.segment = Segment.PROTECTED;
+                protectedSegment.put(node.key, node);
+                if (protectedSegment.size() > protectedMaximum) {
+                    Node<V> demoted = removeEldest(protectedSegment);
+                    demoted.segment = Segment.PROBATION;
+                    probation.put(demoted.key, demoted);
+                }
+            }
+        }
+    }
+
+    private void evict() {
+        while (window.size() > windowMaximum) {
+            Node<V> candidate = removeEldest(window);
+            candidate.segment = Segment.PROBATION;
+            probation.put(candidate.key, candidate);
+            if (probation.size() + protectedSegment.size() > mainMaximum) {
+                Node<V> victim = eldest(probation);
+                if (victim == candidate || sketch.frequency(candidate.key) <= sketch.frequency(victim.key)) {
+                    evictNode(candidate);
+                } else {
+                    evictNode(victim);
+                }
+            }
+        }
+        while (maximumWeight > 0 && totalWeight > maximumWeight && !data.isEmpty()) {
+            LinkedHashMap<String, Node<V>> segment = !probation.isEmpty() ? probation
+                    : !protectedSegment.isEmpty() ? protectedSegment
+                    : window;
+            evictNode(eldest(segment));
+        }
+    }
+
+    private void evictNode(Node<V> node) {
+        data.remove(node.key, node);
+        detach(node);
+        evictionListener.run();
+    }
+
+    private void detach(Node<V> node) {
+        if (node.segment != null) {
+            switch (node.segment) {
+                case WINDOW -> window.remove(node.key);
+                case PROBATION -> probation.remove(node.key);
+                case PROTECTED -> protectedSegment.remove(node.key);
+            }
+            node.segment = null;
+            totalWeight -= node.weight;
+        }
+    }
+
+    private Node<V> eldest(LinkedHashMap<String, Node<V>> segment) {
+        return segment.values().iterator().next();
+    }
+
+    private Node<V> removeEldest(LinkedHashMap<String, Node<V>> segment) {
+        Iterator<Node<V>> iterator = segment.values().iterator();
+        Node<V> eldest = iterator.next();
+        iterator.remove();
+        return eldest;
+    }
+}
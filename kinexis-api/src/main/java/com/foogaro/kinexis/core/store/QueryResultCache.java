@@ -0,0 +1,56 @@
+package com.foogaro.kinexis.core.store;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cache of query results, kept as the ordered list of the IDs of the matching entities.
+ * <p>
+ * Each result is stored with a set of tags, and {@link #invalidate} drops every result carrying one
+ * of the given tags. Entity bodies are not stored here: they are resolved through the cache store
+ * of the entity type.
+ */
+public interface QueryResultCache {
+
+    /**
+     * @param entityType the entity type
+     * @param queryKey   the query name and parameters
+     * @return the IDs of the cached result, empty when the result is not cached
+     */
+    Optional<List<String>> find(Class<?> entityType, String queryKey);
+
+    void put(Class<?> entityType, String queryKey, List<String> ids, Set<String> tags, Duration ttl);
+
+    /**
+     * Drops every cached result carrying at least one of the tags.
+     *
+     * @param entityType the entity type
+     * @param tags       the tags
+     * @return the number of results dropped
+     */
+    long invalidate(Class<?> entityType, Collection<String> tags);
+
+    /**
+     * Returns a cache that never holds a result, so every query runs against the primary store.
+     */
+    static QueryResultCache noop() {
+        return new QueryResultCache() {
+            @Override
+            public Optional<List<String>> find(Class<?> entityType, String queryKey) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void put(Class<?> entityType, String queryKey, List<String> ids, Set<String> tags, Duration ttl) {
+            }
+
+            @Override
+            public long invalidate(Class<?> entityType, Collection<String> tags) {
+                return 0;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.foogaro.kinexis.core.store;
+
+/**
+ * Tells whether an entity store can be called, for example because its circuit breaker is not open.
+ */
+@FunctionalInterface
+public interface StoreAvailability {
+
+    /**
+     * @param entityType the entity type
+     * @param storeName  the store name
+     * @return {@code false} when calls to the store are expected to be rejected
+     */
+    boolean isAvailable(Class<?> entityType, String storeName);
+
+    /**
+     * Reports a successful call made outside write-behind processing, such as a read from a replica.
+     */
+    default void recordSuccess(Class<?> entityType, String storeName) {
+    }
+
+    /**
+     * Reports a failed call made outside write-behind processing, such as a read from a replica.
+     */
+    default void recordFailure(Class<?> entityType, String storeName, Throwable cause) {
+    }
+
+    /**
+     * Returns an availability that considers every store available.
+     */
+    static StoreAvailability always() {
+        return (entityType, storeName) -> true;
+    }
+}
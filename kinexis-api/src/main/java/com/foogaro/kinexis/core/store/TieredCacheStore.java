@@ -0,0 +1,428 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.Misc;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import com.foogaro.kinexis.core.telemetry.SimpleKinexisTelemetry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Two-tier {@link CacheStore}: a bounded on-heap L1 in front of any L2 cache store, usually Redis.
+ * <p>
+ * Reads are served from L1 when possible and fall through to L2 on a miss, filling L1 with the
+ * result. Writes and deletes go to L2 first, then publish an invalidation on the
+ * {@link CacheInvalidationBus} so that the other instances evict their L1 copy. L1 entries expire
+ * after the configured TTL, which is normally the entity {@code @CachingPatterns.ttl}.
+ * Not-found markers are kept in L1 as well and are evicted by the same invalidations.
+ * <p>
+ * An L1 copy filled from L2 never outlives the L2 entry: its TTL is capped at the remaining TTL that
+ * {@link CacheStore#timeToLive} reports, at the cost of one extra lookup per fill, or one
+ * {@link CacheStore#timeToLiveAll} per batch. Fills are stamped before the L2 read and dropped when an
+ * invalidation of the same ID, or of the whole tier, ran in between, so a read racing an invalidation
+ * cannot put the stale value back. Batch writes publish their invalidations with one
+ * {@link CacheInvalidationBus#publish(Class, Collection)}.
+ *
+ * @param <T> the cached entity type
+ */
+public class TieredCacheStore<T> implements CacheStore<T> {
+
+    public static final String L1 = "l1";
+    public static final String L2 = "l2";
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final CacheStore<T> delegate;
+    private final NearCache<T> nearCache;
+    private final NearCache<Boolean> missing;
+    private final Duration ttl;
+    private final CacheInvalidationBus invalidationBus;
+    private final KinexisTelemetry telemetry;
+    private final Map<String, String> l1Tags;
+    private final Map<String, String> l2Tags;
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+    private final AtomicLong clears = new AtomicLong();
+
+    public TieredCacheStore(CacheStore<T> delegate, long maximumSize, long maximumWeight, ToLongFunction<T> weigher,
+                            Duration ttl, CacheInvalidationBus invalidationBus, KinexisTelemetry telemetry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.ttl = ttl == null ? Duration.ZERO : ttl;
+        this.invalidationBus = invalidationBus == null ? CacheInvalidationBus.noop() : invalidationBus;
+        this.telemetry = telemetry == null ? new SimpleKinexisTelemetry() : telemetry;
+        String entity = delegate.entityType().getSimpleName();
+        this.l1Tags = Map.of("entity", entity, "tier", L1);
+        this.l2Tags = Map.of("entity", entity, "tier", L2);
+        this.nearCache = new NearCache<>(maximumSize, maximumWeight, weigher,
+                () -> this.telemetry.increment(KinexisTelemetry.CACHE_TIER_EVICTIONS, l1Tags));
+        this.missing = new NearCache<>(maximumSize, 0, null, null);
+        this.invalidationBus.subscribe(delegate.entityType(), this::invalidateLocal);
+    }
+
+    public static <T> Builder<T> builder(CacheStore<T> delegate) {
+        return new Builder<>(delegate);
+    }
+
+    @Override
+    public String name() {
+        return delegate.name();
+    }
+
+    @Override
+    public Class<T> entityType() {
+        return delegate.entityType();
+    }
+
+    @Override
+    public Set<String> targets() {
+        return delegate.targets();
+    }
+
+    public CacheStore<T> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<T> findById(Object id) {
+        String key = String.valueOf(id);
+        T cached = nearCache.get(key);
+        if (cached != null) {
+            telemetry.increment(KinexisTelemetry.CACHE_TIER_HITS, l1Tags);
+            return Optional.of(cached);
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_TIER_MISSES, l1Tags);
+        long stamp = stamp(key);
+        Optional<T> entity = delegate.findById(id);
+        telemetry.increment(entity.isPresent() ? KinexisTelemetry.CACHE_TIER_HITS : KinexisTelemetry.CACHE_TIER_MISSES, l2Tags);
+        entity.ifPresent(value -> fill(key, value, stamp, delegate.timeToLive(id)));
+        return entity;
+    }
+
+    /**
+     * Reads through to L2, which restarts the TTL of its entry, and refreshes the L1 copy.
+     * An L1 hit would leave the L2 entry to expire while the entity is still in use.
+     */
+    @Override
+    public Optional<T> findByIdAndTouch(Object id, Duration ttl) {
+        String key = String.valueOf(id);
+        long stamp = stamp(key);
+        Optional<T> entity = delegate.findByIdAndTouch(id, ttl);
+        telemetry.increment(entity.isPresent() ? KinexisTelemetry.CACHE_TIER_HITS : KinexisTelemetry.CACHE_TIER_MISSES, l2Tags);
+        entity.ifPresent(value -> fill(key, value, stamp, Optional.ofNullable(ttl)));
+        return entity;
+    }
+
+    /**
+     * Serves the projection from the L1 copy when there is one. Otherwise reads only the projected fields
+     * from L2, which leaves L1 untouched since it holds whole entities.
+     */
+    @Override
+    public <P> Optional<P> findProjectionById(Object id, Class<P> projection, Function<? super T, ? extends P> fullReadMapper) {
+        T cached = nearCache.get(String.valueOf(id));
+        if (cached != null) {
+            telemetry.increment(KinexisTelemetry.CACHE_TIER_HITS, l1Tags);
+            return Optional.of(fullReadMapper.apply(cached));
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_TIER_MISSES, l1Tags);
+        Optional<P> value = delegate.findProjectionById(id, projection, fullReadMapper);
+        telemetry.increment(value.isPresent() ? KinexisTelemetry.CACHE_TIER_HITS : KinexisTelemetry.CACHE_TIER_MISSES, l2Tags);
+        return value;
+    }
+
+    @Override
+    public List<T> findAllById(Collection<?> ids) {
+        List<T> entities = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            return entities;
+        }
+        List<Object> missingIds = new ArrayList<>();
+        for (Object id : ids) {
+            T cached = nearCache.get(String.valueOf(id));
+            if (cached != null) {
+                telemetry.increment(KinexisTelemetry.CACHE_TIER_HITS, l1Tags);
+                entities.add(cached);
+            } else {
+                telemetry.increment(KinexisTelemetry.CACHE_TIER_MISSES, l1Tags);
+                missingIds.add(id);
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            Map<String, Long> stamps = new HashMap<>();
+            missingIds.forEach(id -> stamps.put(String.valueOf(id), stamp(String.valueOf(id))));
+            List<T> loaded = delegate.findAllById(missingIds);
+            for (int i = 0; i < missingIds.size(); i++) {
+                telemetry.increment(i < loaded.size() ? KinexisTelemetry.CACHE_TIER_HITS : KinexisTelemetry.CACHE_TIER_MISSES, l2Tags);
+            }
+            fillAll(loaded, stamps);
+            entities.addAll(loaded);
+        }
+        return entities;
+    }
+
+    @Override
+    public T save(T entity) {
+        T saved = delegate.save(entity);
+        publishAndPut(saved);
+        return saved;
+    }
+
+    @Override
+    public T save(T entity, Duration ttl) {
+        T saved = delegate.save(entity, ttl);
+        publishAndPut(saved);
+        return saved;
+    }
+
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        List<T> saved = delegate.saveAll(entities);
+        publishAndPutAll(saved);
+        return saved;
+    }
+
+    @Override
+    public List<T> saveAll(Collection<T> entities, Duration ttl) {
+        List<T> saved = delegate.saveAll(entities, ttl);
+        publishAndPutAll(saved);
+        return saved;
+    }
+
+    @Override
+    public T patch(T entity, Collection<String> fields, Duration ttl) {
+        T saved = delegate.patch(entity, fields, ttl);
+        publishAndPut(saved);
+        return saved;
+    }
+
+    @Override
+    public void deleteById(Object id) {
+        delegate.deleteById(id);
+        invalidationBus.publish(entityType(), id);
+        String key = String.valueOf(id);
+        invalidated(key);
+        nearCache.invalidate(key);
+    }
+
+    /**
+     * Invalidates L2 first, then the L1 copies of these IDs only. Their invalidations are published as
+     * one message, so a bulk invalidation never empties the L1 tier of the other instances.
+     */
+    @Override
+    public void invalidateAll(Collection<?> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        delegate.invalidateAll(ids);
+        invalidationBus.publish(entityType(), ids);
+        for (Object id : ids) {
+            invalidateLocal(String.valueOf(id));
+        }
+    }
+
+    @Override
+    public Stream<Object> streamIds() {
+        return delegate.streamIds();
+    }
+
+    @Override
+    public Stream<Object> streamIds(String idPrefix) {
+        return delegate.streamIds(idPrefix);
+    }
+
+    @Override
+    public void markMissing(Object id, Duration ttl) {
+        delegate.markMissing(id, ttl);
+        missing.put(String.valueOf(id), Boolean.TRUE, ttl);
+    }
+
+    @Override
+    public boolean isMarkedMissing(Object id) {
+        return missing.get(String.valueOf(id)) != null || delegate.isMarkedMissing(id);
+    }
+
+    @Override
+    public void clearMissing(Object id) {
+        delegate.clearMissing(id);
+        missing.invalidate(String.valueOf(id));
+    }
+
+    /**
+     * Returns the remaining TTL of the L2 entry, which outlives the L1 copy.
+     */
+    @Override
+    public Optional<Duration> timeToLive(Object id) {
+        return delegate.timeToLive(id);
+    }
+
+    @Override
+    public List<Optional<Duration>> timeToLiveAll(List<?> ids) {
+        return delegate.timeToLiveAll(ids);
+    }
+
+    /**
+     * Evicts the L1 copy of an entity on this instance only. A {@code null} ID clears the whole L1 tier.
+     *
+     * @param id the entity ID, or {@code null} for every entry
+     */
+    public void invalidateLocal(String id) {
+        if (id == null) {
+            clears.incrementAndGet();
+            nearCache.invalidateAll();
+            missing.invalidateAll();
+        } else {
+            invalidated(id);
+            nearCache.invalidate(id);
+            missing.invalidate(id);
+        }
+    }
+
+    public long localSize() {
+        return nearCache.size();
+    }
+
+    private void publishAndPut(T saved) {
+        Optional<Object> entityId = Misc.getEntityId(saved);
+        entityId.ifPresent(id -> invalidationBus.publish(entityType(), id));
+        entityId.ifPresent(id -> invalidated(String.valueOf(id)));
+        entityId.ifPresent(id -> nearCache.put(String.valueOf(id), saved, ttl));
+        entityId.ifPresent(id -> missing.invalidate(String.valueOf(id)));
+    }
+
+    private void publishAndPutAll(List<T> saved) {
+        List<Object> ids = saved.stream()
+                .map(Misc::getEntityId)
+                .flatMap(Optional::stream)
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        invalidationBus.publish(entityType(), ids);
+        for (T entity : saved) {
+            Misc.getEntityId(entity).map(String::valueOf).ifPresent(key -> {
+                invalidated(key);
+                nearCache.put(key, entity, ttl);
+                missing.invalidate(key);
+            });
+        }
+    }
+
+    /**
+     * Fills L1 with entities read from L2 in one batch, with the stamps taken before the read and the
+     * remaining L2 TTLs read in one round trip.
+     */
+    private void fillAll(List<T> loaded, Map<String, Long> stamps) {
+        List<T> entities = new ArrayList<>(loaded.size());
+        List<Object> ids = new ArrayList<>(loaded.size());
+        for (T entity : loaded) {
+            Optional<Object> id = Misc.getEntityId(entity);
+            if (id.isPresent() && stamps.containsKey(String.valueOf(id.get()))) {
+                entities.add(entity);
+                ids.add(id.get());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Optional<Duration>> remaining = delegate.timeToLiveAll(ids);
+        for (int i = 0; i < entities.size(); i++) {
+            String key = String.valueOf(ids.get(i));
+            fill(key, entities.get(i), stamps.get(key), remaining.get(i));
+        }
+    }
+
+    /**
+     * Puts an entity read from L2 into L1, unless the ID was invalidated since {@code stamp} was taken.
+     * An invalidation landing between the check and the put evicts the entry again.
+     */
+    private void fill(String key, T entity, long stamp, Optional<Duration> remaining) {
+        Duration localTtl = localTtl(remaining);
+        if (localTtl == null || stamp(key) != stamp) {
+            return;
+        }
+        nearCache.put(key, entity, localTtl);
+        if (stamp(key) != stamp) {
+            nearCache.invalidate(key);
+        }
+    }
+
+    /**
+     * @return the L1 TTL capped at the remaining L2 TTL, or {@code null} when the L2 entry already expired
+     */
+    private Duration localTtl(Optional<Duration> remaining) {
+        if (remaining.isEmpty()) {
+            return ttl;
+        }
+        Duration l2Ttl = remaining.get();
+        if (l2Ttl.isZero() || l2Ttl.isNegative()) {
+            return null;
+        }
+        return ttl.isZero() || ttl.isNegative() || l2Ttl.compareTo(ttl) < 0 ? l2Ttl : ttl;
+    }
+
+    private long stamp(String key) {
+        return clears.get() + invalidations.get(stripe(key));
+    }
+
+    private void invalidated(String key) {
+        invalidations.incrementAndGet(stripe(key));
+    }
+
+    private static int stripe(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % INVALIDATION_STRIPES;
+    }
+
+    public static class Builder<T> {
+
+        private final CacheStore<T> delegate;
+        private long maximumSize = 10_000;
+        private long maximumWeight;
+        private ToLongFunction<T> weigher;
+        private Duration ttl = Duration.ZERO;
+        private CacheInvalidationBus invalidationBus;
+        private KinexisTelemetry telemetry;
+
+        private Builder(CacheStore<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        public Builder<T> maximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        public Builder<T> maximumWeight(long maximumWeight, ToLongFunction<T> weigher) {
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        public Builder<T> ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public Builder<T> invalidationBus(CacheInvalidationBus invalidationBus) {
+            this.invalidationBus = invalidationBus;
+            return this;
+        }
+
+        public Builder<T> telemetry(KinexisTelemetry telemetry) {
+            this.telemetry = telemetry;
+            return this;
+        }
+
+        public TieredCacheStore<T> build() {
+            return new TieredCacheStore<>(delegate, maximumSize, maximumWeight, weigher, ttl, invalidationBus, telemetry);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.foogaro.kinexis.core.store;
+
+import java.util.stream.Stream;
+
+/**
+ * Supplies the IDs of the entities that the cache warm-up loads when
+ * {@code kinexis.cache.warm-up.source} is {@code ID_SOURCE}, for example the IDs of the active tenants.
+ */
+public interface WarmUpIdSource {
+
+    /**
+     * @param entityType the entity type
+     * @return the IDs to load, hottest first, to be closed by the caller; empty for entity types the source does not know
+     */
+    Stream<Object> ids(Class<?> entityType);
+}
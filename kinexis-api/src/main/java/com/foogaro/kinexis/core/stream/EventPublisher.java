@@ -2,7 +2,38 @@ package com.foogaro.kinexis.core.stream;
 
 import com.foogaro.kinexis.core.model.KinexisEvent;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 public interface EventPublisher {
 
     String append(Class<?> entityType, KinexisEvent event);
+
+    /**
+     * Appends an event without blocking the caller. The default runs {@link #append} on the calling
+     * thread and returns a completed stage.
+     *
+     * @return the ID of the appended record
+     */
+    default CompletionStage<String> appendAsync(Class<?> entityType, KinexisEvent event) {
+        try {
+            return CompletableFuture.completedFuture(append(entityType, event));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Appends events in order, for batch writes. The default calls {@link #append} for each event; publishers
+     * that can send many appends in one round trip override it.
+     *
+     * @return the IDs of the appended records, in the order of the events
+     */
+    default List<String> appendAll(Class<?> entityType, List<KinexisEvent> events) {
+        List<String> recordIds = new ArrayList<>(events.size());
+        events.forEach(event -> recordIds.add(append(entityType, event)));
+        return recordIds;
+    }
 }
@@ -22,16 +22,29 @@ public class CompositeKinexisTelemetry implements KinexisTelemetry {
         delegates.forEach(delegate -> delegate.recordDuration(name, duration, tags));
     }
 
+    @Override
+    public void recordNanos(String name, long nanos, Map<String, String> tags) {
+        for (KinexisTelemetry delegate : delegates) {
+            delegate.recordNanos(name, nanos, tags);
+        }
+    }
+
     @Override
     public void recordGauge(String name, long value, Map<String, String> tags) {
         delegates.forEach(delegate -> delegate.recordGauge(name, value, tags));
     }
 
+    @Override
+    public void recordValue(String name, long value, Map<String, String> tags) {
+        delegates.forEach(delegate -> delegate.recordValue(name, value, tags));
+    }
+
     @Override
     public KinexisTelemetrySnapshot snapshot() {
         return delegates.stream()
                 .map(KinexisTelemetry::snapshot)
-                .filter(snapshot -> !snapshot.counters().isEmpty() || !snapshot.timers().isEmpty() || !snapshot.gauges().isEmpty())
+                .filter(snapshot -> !snapshot.counters().isEmpty() || !snapshot.timers().isEmpty() || !snapshot.gauges().isEmpty()
+                        || !snapshot.distributions().isEmpty())
                 .findFirst()
                 .orElseGet(KinexisTelemetrySnapshot::empty);
     }
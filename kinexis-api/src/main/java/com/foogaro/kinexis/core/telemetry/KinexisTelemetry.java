@@ -10,12 +10,56 @@ public interface KinexisTelemetry {
     String STREAM_EVENTS_UPCASTED = "kinexis.stream.events.upcasted";
     String STORE_WRITE_LATENCY = "kinexis.store.write.latency";
     String STORE_FAILURES = "kinexis.store.failures";
+    String STORE_REPLICA_READS = "kinexis.store.replica.reads";
+    String STORE_REPLICA_FALLBACKS = "kinexis.store.replica.fallbacks";
     String PENDING_RETRIES = "kinexis.pending.retries";
     String DLQ_RECORDS = "kinexis.dlq.records";
     String DLQ_REPLAYS = "kinexis.dlq.replays";
     String DLQ_REPLAY_FAILURES = "kinexis.dlq.replay.failures";
     String CACHE_HITS = "kinexis.cache.hits";
     String CACHE_MISSES = "kinexis.cache.misses";
+    String CACHE_TIER_HITS = "kinexis.cache.tier.hits";
+    String CACHE_TIER_MISSES = "kinexis.cache.tier.misses";
+    String CACHE_TIER_EVICTIONS = "kinexis.cache.tier.evictions";
+    String CACHE_INVALIDATIONS_RECEIVED = "kinexis.cache.invalidations.received";
+    String CACHE_LOADS_LEADER = "kinexis.cache.loads.leader";
+    String CACHE_LOADS_COALESCED = "kinexis.cache.loads.coalesced";
+    String CACHE_LOADS_COALESCING_TIMEOUTS = "kinexis.cache.loads.coalescing.timeouts";
+    String CACHE_LEASE_ACQUIRED = "kinexis.cache.lease.acquired";
+    String CACHE_LEASE_CONTENDED = "kinexis.cache.lease.contended";
+    String CACHE_LEASE_TIMEOUTS = "kinexis.cache.lease.timeouts";
+    String CACHE_LEASE_LOST = "kinexis.cache.lease.lost";
+    String CACHE_NEGATIVE_HITS = "kinexis.cache.negative.hits";
+    String CACHE_NEGATIVE_MISSES = "kinexis.cache.negative.misses";
+    String CACHE_ID_FILTER_PASSED = "kinexis.cache.idfilter.passed";
+    String CACHE_ID_FILTER_REJECTED = "kinexis.cache.idfilter.rejected";
+    String CACHE_ID_FILTER_FALSE_POSITIVES = "kinexis.cache.idfilter.false.positives";
+    String CACHE_ID_FILTER_CONFIGURED_FPP = "kinexis.cache.idfilter.configured.fpp.ppm";
+    String CACHE_ID_FILTER_LOADED_IDS = "kinexis.cache.idfilter.loaded.ids";
+    String CACHE_EARLY_REFRESHES = "kinexis.cache.early.refreshes";
+    String CACHE_STALE_SERVED = "kinexis.cache.stale.served";
+    String CACHE_BATCH_LOADS = "kinexis.cache.batch.loads";
+    String CACHE_BATCH_REQUESTS = "kinexis.cache.batch.requests";
+    String CACHE_ADMISSION_ADMITTED = "kinexis.cache.admission.admitted";
+    String CACHE_ADMISSION_REJECTED = "kinexis.cache.admission.rejected";
+    String CACHE_QUERY_HITS = "kinexis.cache.query.hits";
+    String CACHE_QUERY_MISSES = "kinexis.cache.query.misses";
+    String CACHE_QUERY_INVALIDATIONS = "kinexis.cache.query.invalidations";
+    String CACHE_HEDGES_ISSUED = "kinexis.cache.hedges.issued";
+    String CACHE_HEDGES_WON = "kinexis.cache.hedges.won";
+    String CACHE_HEDGES_REJECTED = "kinexis.cache.hedges.rejected";
+    String CACHE_BULK_INVALIDATIONS = "kinexis.cache.bulk.invalidations";
+    String CACHE_BULK_INVALIDATED_KEYS = "kinexis.cache.bulk.invalidated.keys";
+    String CACHE_WARMUPS = "kinexis.cache.warmups";
+    String CACHE_WARMUP_LOADED = "kinexis.cache.warmup.loaded";
+    String READ_CACHE_LATENCY = "kinexis.read.cache.latency";
+    String READ_LOAD_LATENCY = "kinexis.read.load.latency";
+    String READ_POPULATE_LATENCY = "kinexis.read.populate.latency";
+    String PUBLISH_SERIALIZE_LATENCY = "kinexis.publish.serialize.latency";
+    String PUBLISH_VALIDATE_LATENCY = "kinexis.publish.validate.latency";
+    String PUBLISH_APPEND_LATENCY = "kinexis.publish.append.latency";
+    String PUBLISH_BATCH_SIZE = "kinexis.publish.batch.size";
+    String PUBLISH_BATCH_WAIT = "kinexis.publish.batch.wait";
     String PROCESSING_STORE_TASKS_SUBMITTED = "kinexis.processing.store.tasks.submitted";
     String PROCESSING_STORE_TASKS_COMPLETED = "kinexis.processing.store.tasks.completed";
     String PROCESSING_STORE_TASKS_FAILED = "kinexis.processing.store.tasks.failed";
@@ -37,9 +81,32 @@ public interface KinexisTelemetry {
 
     void recordDuration(String name, Duration duration, Map<String, String> tags);
 
+    /**
+     * Records a duration measured with {@link System#nanoTime()}, on the hot path of every read and write.
+     * Implementations should avoid allocating when the timer already exists; callers should pass tag maps
+     * they reuse. The default delegates to {@link #recordDuration}.
+     *
+     * @param name  the timer name
+     * @param nanos the duration in nanoseconds
+     * @param tags  the timer tags
+     */
+    default void recordNanos(String name, long nanos, Map<String, String> tags) {
+        recordDuration(name, Duration.ofNanos(nanos), tags);
+    }
+
     default void recordGauge(String name, long value, Map<String, String> tags) {
     }
 
+    /**
+     * Records a value on a distribution, such as the size of a batch. The default ignores it.
+     *
+     * @param name  the distribution name
+     * @param value the recorded value
+     * @param tags  the distribution tags
+     */
+    default void recordValue(String name, long value, Map<String, String> tags) {
+    }
+
     default KinexisTelemetrySnapshot snapshot() {
         return KinexisTelemetrySnapshot.empty();
     }
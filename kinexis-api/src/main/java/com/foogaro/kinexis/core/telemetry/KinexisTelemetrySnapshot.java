@@ -3,12 +3,20 @@ package com.foogaro.kinexis.core.telemetry;
 import java.util.List;
 import java.util.Map;
 
-public record KinexisTelemetrySnapshot(List<CounterSample> counters, List<TimerSample> timers, List<GaugeSample> gauges) {
+public record KinexisTelemetrySnapshot(List<CounterSample> counters,
+                                       List<TimerSample> timers,
+                                       List<GaugeSample> gauges,
+                                       List<DistributionSample> distributions) {
 
     public KinexisTelemetrySnapshot {
         counters = List.copyOf(counters);
         timers = List.copyOf(timers);
         gauges = List.copyOf(gauges);
+        distributions = List.copyOf(distributions);
+    }
+
+    public KinexisTelemetrySnapshot(List<CounterSample> counters, List<TimerSample> timers, List<GaugeSample> gauges) {
+        this(counters, timers, gauges, List.of());
     }
 
     public KinexisTelemetrySnapshot(List<CounterSample> counters, List<TimerSample> timers) {
@@ -16,7 +24,7 @@ public record KinexisTelemetrySnapshot(List<CounterSample> counters, List<TimerS
     }
 
     public static KinexisTelemetrySnapshot empty() {
-        return new KinexisTelemetrySnapshot(List.of(), List.of(), List.of());
+        return new KinexisTelemetrySnapshot(List.of(), List.of(), List.of(), List.of());
     }
 
     public record CounterSample(String name, Map<String, String> tags, long count) {
@@ -40,4 +48,10 @@ public record KinexisTelemetrySnapshot(List<CounterSample> counters, List<TimerS
             tags = Map.copyOf(tags);
         }
     }
+
+    public record DistributionSample(String name, Map<String, String> tags, long count, long total, long max) {
+        public DistributionSample {
+            tags = Map.copyOf(tags);
+        }
+    }
 }
@@ -13,8 +13,9 @@ import java.util.concurrent.atomic.LongAdder;
 public class SimpleKinexisTelemetry implements KinexisTelemetry {
 
     private final ConcurrentMap<MetricKey, LongAdder> counters = new ConcurrentHashMap<>();
-    private final ConcurrentMap<MetricKey, TimerState> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricKey, SampleState> timers = new ConcurrentHashMap<>();
     private final ConcurrentMap<MetricKey, AtomicLong> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricKey, SampleState> distributions = new ConcurrentHashMap<>();
 
     @Override
     public void increment(String name, Map<String, String> tags) {
@@ -26,16 +27,38 @@ public class SimpleKinexisTelemetry implements KinexisTelemetry {
         if (duration == null || duration.isNegative()) {
             return;
         }
-        timers.computeIfAbsent(MetricKey.of(name, tags), ignored -> new TimerState())
+        timers.computeIfAbsent(MetricKey.of(name, tags), ignored -> new SampleState())
                 .record(duration.toNanos());
     }
 
+    @Override
+    public void recordNanos(String name, long nanos, Map<String, String> tags) {
+        if (nanos < 0) {
+            return;
+        }
+        // maps with the same entries are equal whatever their order, so the lookup needs no sorted copy
+        SampleState timer = timers.get(new MetricKey(name, tags == null ? Map.of() : tags));
+        if (timer == null) {
+            timer = timers.computeIfAbsent(MetricKey.of(name, tags), ignored -> new SampleState());
+        }
+        timer.record(nanos);
+    }
+
     @Override
     public void recordGauge(String name, long value, Map<String, String> tags) {
         gauges.computeIfAbsent(MetricKey.of(name, tags), ignored -> new AtomicLong())
                 .set(value);
     }
 
+    @Override
+    public void recordValue(String name, long value, Map<String, String> tags) {
+        SampleState distribution = distributions.get(new MetricKey(name, tags == null ? Map.of() : tags));
+        if (distribution == null) {
+            distribution = distributions.computeIfAbsent(MetricKey.of(name, tags), ignored -> new SampleState());
+        }
+        distribution.record(value);
+    }
+
     @Override
     public KinexisTelemetrySnapshot snapshot() {
         ArrayList<KinexisTelemetrySnapshot.CounterSample> counterSamples = new ArrayList<>();
@@ -50,8 +73,8 @@ public class SimpleKinexisTelemetry implements KinexisTelemetry {
                         key.name(),
                         key.tags(),
                         value.count.sum(),
-                        value.totalNanos.sum(),
-                        value.maxNanos.get())));
+                        value.total.sum(),
+                        value.max.get())));
         timerSamples.sort(Comparator.comparing(KinexisTelemetrySnapshot.TimerSample::name)
                 .thenComparing(sample -> sample.tags().toString()));
 
@@ -61,7 +84,18 @@ public class SimpleKinexisTelemetry implements KinexisTelemetry {
         gaugeSamples.sort(Comparator.comparing(KinexisTelemetrySnapshot.GaugeSample::name)
                 .thenComparing(sample -> sample.tags().toString()));
 
-        return new KinexisTelemetrySnapshot(counterSamples, timerSamples, gaugeSamples);
+        ArrayList<KinexisTelemetrySnapshot.DistributionSample> distributionSamples = new ArrayList<>();
+        distributions.forEach((key, value) -> distributionSamples.add(
+                new KinexisTelemetrySnapshot.DistributionSample(
+                        key.name(),
+                        key.tags(),
+                        value.count.sum(),
+                        value.total.sum(),
+                        value.max.get())));
+        distributionSamples.sort(Comparator.comparing(KinexisTelemetrySnapshot.DistributionSample::name)
+                .thenComparing(sample -> sample.tags().toString()));
+
+        return new KinexisTelemetrySnapshot(counterSamples, timerSamples, gaugeSamples, distributionSamples);
     }
 
     private record MetricKey(String name, Map<String, String> tags) {
@@ -71,16 +105,16 @@ public class SimpleKinexisTelemetry implements KinexisTelemetry {
         }
     }
 
-    private static final class TimerState {
+    private static final class SampleState {
 
         private final LongAdder count = new LongAdder();
-        private final LongAdder totalNanos = new LongAdder();
-        private final AtomicLong maxNanos = new AtomicLong();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
 
-        private void record(long nanos) {
+        private void record(long value) {
             count.increment();
-            totalNanos.add(nanos);
-            maxNanos.accumulateAndGet(nanos, Math::max);
+            total.add(value);
+            max.accumulateAndGet(value, Math::max);
         }
     }
 }
@@ -2,6 +2,7 @@ package com.foogaro.kinexis.core;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.foogaro.kinexis.core.annotation.CachingPatterns;
+import com.foogaro.kinexis.core.annotation.QueryTag;
 import com.foogaro.kinexis.core.config.KinexisProperties;
 import com.foogaro.kinexis.core.exception.AcknowledgeMessageException;
 import com.foogaro.kinexis.core.exception.KinexisBackpressureException;
@@ -9,10 +10,13 @@ import com.foogaro.kinexis.core.exception.ProcessMessageException;
 import com.foogaro.kinexis.core.handler.AbstractPendingMessageHandler;
 import com.foogaro.kinexis.core.handler.KinexisDlqWriter;
 import com.foogaro.kinexis.core.listener.AbstractStreamListener;
+import com.foogaro.kinexis.core.model.CachingFormat;
 import com.foogaro.kinexis.core.model.CachingPattern;
 import com.foogaro.kinexis.core.model.KinexisDlqRecord;
 import com.foogaro.kinexis.core.model.KinexisEvent;
 import com.foogaro.kinexis.core.model.KinexisEventEnvelope;
+import com.foogaro.kinexis.core.model.KinexisHotKey;
+import com.foogaro.kinexis.core.model.KinexisInvalidationProgress;
 import com.foogaro.kinexis.core.model.KinexisReplayOptions;
 import com.foogaro.kinexis.core.model.KinexisReplayPlan;
 import com.foogaro.kinexis.core.model.KinexisReplayResult;
@@ -26,8 +30,10 @@ import com.foogaro.kinexis.core.processor.KinexisProcessingMetrics;
 import com.foogaro.kinexis.core.processor.KinexisStoreExecutor;
 import com.foogaro.kinexis.core.processor.Processor;
 import com.foogaro.kinexis.core.service.AnnotationFinder;
+import com.foogaro.kinexis.core.store.AdaptingReactiveEntityStoreRegistry;
 import com.foogaro.kinexis.core.store.CacheStore;
 import com.foogaro.kinexis.core.store.BeanFinderEntityStoreRegistry;
+import com.foogaro.kinexis.core.store.BloomFilterSpec;
 import com.foogaro.kinexis.core.store.CrudRepositoryCacheStore;
 import com.foogaro.kinexis.core.store.CrudRepositoryEntityStore;
 import com.foogaro.kinexis.core.service.DefaultKinexisEventSchemaRegistry;
@@ -35,20 +41,48 @@ import com.foogaro.kinexis.core.store.DefaultEntityStoreRegistry;
 import com.foogaro.kinexis.core.store.EmptyEntityStoreRegistry;
 import com.foogaro.kinexis.core.store.EntityStore;
 import com.foogaro.kinexis.core.store.EntityStoreRegistry;
+import com.foogaro.kinexis.core.store.EntityIdFilter;
+import com.foogaro.kinexis.core.store.LocalCacheInvalidationBus;
+import com.foogaro.kinexis.core.store.LoadLeaseManager;
+import com.foogaro.kinexis.core.store.RedisLoadLeaseManager;
+import com.foogaro.kinexis.core.store.RedisHashCacheStore;
+import com.foogaro.kinexis.core.store.RedisHashEntityStoreRegistry;
+import com.foogaro.kinexis.core.store.RedisHotKeyList;
+import com.foogaro.kinexis.core.store.ReactiveCacheStore;
+import com.foogaro.kinexis.core.store.ReactiveCacheStoreProvider;
+import com.foogaro.kinexis.core.store.QueryResultCache;
 import com.foogaro.kinexis.core.store.RedisOmCacheStore;
 import com.foogaro.kinexis.core.store.StoreHealthCheck;
+import com.foogaro.kinexis.core.store.TieredCacheStore;
+import com.foogaro.kinexis.core.store.TieredCacheStoreDecorator;
 import com.foogaro.kinexis.core.service.BeanFinder;
 import com.foogaro.kinexis.core.service.KinexisDlqService;
 import com.foogaro.kinexis.core.service.KinexisDiagnosticsService;
 import com.foogaro.kinexis.core.service.KinexisEntityRegistry;
 import com.foogaro.kinexis.core.service.KinexisEventSchemaRegistry;
+import com.foogaro.kinexis.core.service.KinexisAdaptiveTtl;
+import com.foogaro.kinexis.core.service.KinexisBatchLoader;
+import com.foogaro.kinexis.core.service.KinexisBulkInvalidator;
+import com.foogaro.kinexis.core.service.KinexisCacheAdmission;
+import com.foogaro.kinexis.core.service.KinexisCacheWarmer;
+import com.foogaro.kinexis.core.service.KinexisQuery;
+import com.foogaro.kinexis.core.service.KinexisQueryCache;
 import com.foogaro.kinexis.core.service.KinexisEventUpcaster;
+import com.foogaro.kinexis.core.service.KinexisExpiration;
+import com.foogaro.kinexis.core.service.KinexisHedgedReads;
+import com.foogaro.kinexis.core.service.KinexisHotKeys;
+import com.foogaro.kinexis.core.service.KinexisIdFilterLoader;
+import com.foogaro.kinexis.core.service.KinexisLeasedLoader;
+import com.foogaro.kinexis.core.service.KinexisReplicaRouter;
 import com.foogaro.kinexis.core.service.KinexisStoreControl;
 import com.foogaro.kinexis.core.service.KinexisStoreValidator;
+import com.foogaro.kinexis.core.service.ReactiveKinexisService;
 import com.foogaro.kinexis.core.stream.RedisStreamEventPublisher;
 import com.foogaro.kinexis.core.service.KinexisService;
 import com.foogaro.kinexis.core.stream.EventPublisher;
+import com.foogaro.kinexis.core.stream.GroupCommitEventPublisher;
 import com.foogaro.kinexis.core.stream.KinexisStreamLifecycle;
+import com.foogaro.kinexis.core.stream.ReactiveRedisStreamEventPublisher;
 import com.foogaro.kinexis.core.stream.StreamPartitioner;
 import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
 import com.foogaro.kinexis.core.telemetry.KinexisTelemetrySnapshot;
@@ -61,29 +95,48 @@ import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.data.repository.CrudRepository;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
+import reactor.core.scheduler.Schedulers;
 
 import java.lang.reflect.Field;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.foogaro.kinexis.core.Misc.EVENT_CONTENT_KEY;
 import static com.foogaro.kinexis.core.Misc.EVENT_OPERATION_KEY;
@@ -520,6 +573,37 @@ class RedisStreamsIntegrationTest {
         assertEquals(List.of(explicitBackingStore), registry.findTargetStores(TestEntity.class, TestRepository.class));
     }
 
+    @Test
+    void tieredCacheStoreServesL1HitsAndEvictsOnBroadcastInvalidation() {
+        KinexisProperties properties = new KinexisProperties();
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        TieredCacheStoreDecorator decorator = new TieredCacheStoreDecorator(
+                properties.getCache().getNearCache(), new AnnotationFinder(), bus, telemetry);
+        EntityStoreRegistry firstInstance = new DefaultEntityStoreRegistry(List.of(backingStore, cacheStore), new EmptyEntityStoreRegistry(), decorator);
+        EntityStoreRegistry secondInstance = new DefaultEntityStoreRegistry(List.of(backingStore, cacheStore), new EmptyEntityStoreRegistry(), decorator);
+        CacheStore<TestEntity> first = firstInstance.findCacheStore(TestEntity.class).orElseThrow();
+        CacheStore<TestEntity> second = secondInstance.findCacheStore(TestEntity.class).orElseThrow();
+        cacheStore.save(new TestEntity(41L, "Original"));
+
+        assertInstanceOf(TieredCacheStore.class, first);
+        assertSame(first, firstInstance.findCacheStore(TestEntity.class).orElseThrow());
+        assertEquals(Optional.of(new TestEntity(41L, "Original")), second.findById(41L));
+        cacheStore.save(new TestEntity(41L, "Changed behind L1"));
+        assertEquals(Optional.of(new TestEntity(41L, "Original")), second.findById(41L));
+
+        first.save(new TestEntity(41L, "Saved"), Duration.ofSeconds(5));
+        assertEquals(Optional.of(new TestEntity(41L, "Saved")), second.findById(41L));
+        bus.publish(TestEntity.class, 41L);
+        cacheStore.deleteById(41L);
+        assertTrue(second.findById(41L).isEmpty());
+
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_TIER_HITS, "tier", TieredCacheStore.L1));
+        assertEquals(2, counter(snapshot, KinexisTelemetry.CACHE_TIER_HITS, "tier", TieredCacheStore.L2));
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_TIER_MISSES, "tier", TieredCacheStore.L2));
+    }
+
     @Test
     void repositoryDiscoveryIsDisabledByDefault() {
         KinexisProperties properties = new KinexisProperties();
@@ -641,12 +725,57 @@ class RedisStreamsIntegrationTest {
         assertTrue(diagnostics.enabled());
         assertEquals(Set.of(CachingPattern.CACHE_ASIDE), diagnostics.patterns());
         assertEquals(5, diagnostics.ttl());
+        assertEquals(5, diagnostics.effectiveTtl());
         assertEquals("explicitCache", diagnostics.cacheStore().orElseThrow().name());
         assertEquals("explicitBacking", diagnostics.primaryStore().orElseThrow().name());
         assertEquals(List.of("explicitBacking"), diagnostics.targetStores().stream().map(KinexisDiagnosticsService.StoreDiagnostics::name).toList());
         assertEquals(KinexisStoreHealthState.PAUSED, diagnostics.primaryStore().orElseThrow().health().state());
     }
 
+    @Test
+    void hotKeysRankTheMostReadAndWrittenIdsAndFeedTheWarmUpList() throws Exception {
+        KinexisProperties.HotKeys properties = new KinexisProperties().getCache().getHotKeys();
+        properties.setEnabled(true);
+        properties.setTopK(2);
+        RedisHotKeyList hotKeyList = new RedisHotKeyList(redisTemplate);
+        KinexisHotKeys hotKeys = new KinexisHotKeys(properties, hotKeyList, Runnable::run);
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(service, "hotKeys", hotKeys);
+        inject(processor, "hotKeys", hotKeys);
+        for (long id = 1; id <= 40; id++) {
+            backingStore.save(new TestEntity(id, "Entity " + id));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            service.findById(7L);
+            service.findById(i % 3 == 0 ? 8L : 10L + i % 30);
+        }
+        service.findAllById(List.of(8L, 9L));
+        for (int i = 0; i < 3; i++) {
+            processor.process(streamRecord(KinexisEvent.save(TestEntity.class, 21L,
+                    objectMapper.writeValueAsString(new TestEntity(21L, "Written " + i)))));
+        }
+        processor.process(streamRecord(KinexisEvent.save(TestEntity.class, 22L,
+                objectMapper.writeValueAsString(new TestEntity(22L, "Written once")))));
+
+        KinexisDiagnosticsService diagnosticsService = new KinexisDiagnosticsService(
+                List.of(), List.of(processor), List.of(service), List.of(),
+                new TestStoreRegistry(cacheStore, backingStore), new AnnotationFinder(), null, null, hotKeys);
+        KinexisDiagnosticsService.HotKeyDiagnostics diagnostics = diagnosticsService.entity(TestEntity.class).hotKeys();
+        assertEquals(List.of("7", "8"), diagnostics.reads().stream().map(KinexisHotKey::id).toList());
+        assertEquals(50, diagnostics.reads().getFirst().estimate());
+        assertEquals(18, diagnostics.reads().get(1).estimate());
+        assertTrue(diagnostics.reads().getFirst().perSecond() > 0);
+        assertEquals(List.of("21", "22"), diagnostics.writes().stream().map(KinexisHotKey::id).toList());
+        assertEquals(3, diagnostics.writes().getFirst().estimate());
+
+        hotKeys.persist();
+        assertEquals(List.of("7", "8"), hotKeyList.find(TestEntity.class, 10));
+        properties.setEnabled(false);
+        assertEquals(List.of(), diagnosticsService.hotKeys(TestEntity.class).reads());
+    }
+
     @Test
     void diagnosticsIncludeGeneratedEntityRegistries() {
         KinexisEntityRegistry entityRegistry = () -> Set.of(RegistryOnlyEntity.class);
@@ -738,6 +867,239 @@ class RedisStreamsIntegrationTest {
         assertEquals(List.of("primary"), publisher.lastEvent.targets());
     }
 
+    @Test
+    void serviceTimesEachLayerOfReadsAndWriteBehindPublishesByOutcome() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        TestService readService = new TestService();
+        injectService(readService, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(readService, "telemetry", telemetry);
+        backingStore.save(new TestEntity(93L, "Timed"));
+
+        assertEquals(Optional.of(new TestEntity(93L, "Timed")), readService.findById(93L));
+        assertEquals(Optional.of(new TestEntity(93L, "Timed")), readService.findById(93L));
+        assertEquals(Optional.empty(), readService.findById(94L));
+        assertEquals(List.of(new TestEntity(93L, "Timed")), readService.findAllById(List.of(93L, 95L)));
+
+        KinexisTelemetrySnapshot reads = telemetry.snapshot();
+        assertEquals(1, timerCount(reads, KinexisTelemetry.READ_CACHE_LATENCY, Map.of("entity", "TestEntity", "outcome", "hit")));
+        assertEquals(3, timerCount(reads, KinexisTelemetry.READ_CACHE_LATENCY, Map.of("entity", "TestEntity", "outcome", "miss")));
+        assertEquals(1, timerCount(reads, KinexisTelemetry.READ_LOAD_LATENCY, Map.of("entity", "TestEntity", "outcome", "found")));
+        assertEquals(2, timerCount(reads, KinexisTelemetry.READ_LOAD_LATENCY, Map.of("entity", "TestEntity", "outcome", "not_found")));
+        assertEquals(1, timerCount(reads, KinexisTelemetry.READ_POPULATE_LATENCY, Map.of("entity", "TestEntity", "outcome", "success")));
+
+        WriteBehindService writeService = new WriteBehindService();
+        injectService(writeService, new WriteBehindRegistry(List.of(new WriteBehindStore("primaryStore", "primary"))),
+                new CountingEventPublisher());
+        inject(writeService, "telemetry", telemetry);
+        writeService.save(new WriteBehindEntity(96L, "timed"), "primary");
+        writeService.saveAsync(new WriteBehindEntity(97L, "timed")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        writeService.delete(96L);
+        assertThrows(IllegalArgumentException.class, () -> writeService.save(new WriteBehindEntity(98L, "timed"), "missing"));
+
+        KinexisTelemetrySnapshot publishes = telemetry.snapshot();
+        Map<String, String> success = Map.of("entity", "WriteBehindEntity", "outcome", "success");
+        assertEquals(2, timerCount(publishes, KinexisTelemetry.PUBLISH_SERIALIZE_LATENCY, success));
+        assertEquals(3, timerCount(publishes, KinexisTelemetry.PUBLISH_VALIDATE_LATENCY, success));
+        assertEquals(1, timerCount(publishes, KinexisTelemetry.PUBLISH_VALIDATE_LATENCY, Map.of("entity", "WriteBehindEntity", "outcome", "error")));
+        assertEquals(3, timerCount(publishes, KinexisTelemetry.PUBLISH_APPEND_LATENCY, success));
+    }
+
+    @Test
+    void batchWritesValidateTargetsOnceAndAppendEveryEventWithOnePipelinePerPartition() throws Exception {
+        KinexisProperties properties = new KinexisProperties();
+        properties.getStream().setPartitions(4);
+        StreamPartitioner streamPartitioner = new StreamPartitioner(properties);
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        WriteBehindService service = new WriteBehindService();
+        injectService(service, new WriteBehindRegistry(List.of(new WriteBehindStore("primaryStore", "primary"))),
+                new RedisStreamEventPublisher(redisTemplate, streamPartitioner, telemetry));
+        inject(service, "telemetry", telemetry);
+        LocalEntityIdFilter idFilter = new LocalEntityIdFilter(BloomFilterSpec.of(1_000, 0.01d));
+        inject(service, "idFilter", idFilter);
+
+        List<String> saved = service.saveAll(List.of(new WriteBehindEntity(101L, "a"), new WriteBehindEntity(102L, "b"),
+                new WriteBehindEntity(103L, "c")), "primary");
+        List<String> batched = service.batch(() -> {
+            service.save(new WriteBehindEntity(104L, "d"), "primary");
+            service.save(new WriteBehindEntity(101L, "e"), "primary");
+            service.deleteAll(List.of(102L, 103L));
+        });
+        assertThrows(IllegalStateException.class, () -> service.batch(() -> {
+            service.save(new WriteBehindEntity(105L, "lost"));
+            assertFalse(idFilter.mightContain(WriteBehindEntity.class, 105L));
+            throw new IllegalStateException("rolled back");
+        }));
+        assertTrue(idFilter.mightContain(WriteBehindEntity.class, 104L));
+        assertFalse(idFilter.mightContain(WriteBehindEntity.class, 105L));
+
+        assertEquals(3, saved.size());
+        assertEquals(4, batched.size());
+        assertTrue(saved.stream().allMatch(Objects::nonNull));
+        assertTrue(batched.stream().allMatch(Objects::nonNull));
+        long appended = streamPartitioner.streamKeys(WriteBehindEntity.class).stream()
+                .map(redisTemplate.opsForStream()::size)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sum();
+        assertEquals(7, appended);
+        String partition = streamPartitioner.streamKey(WriteBehindEntity.class, KinexisEvent.delete(WriteBehindEntity.class, 101L));
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().range(partition, Range.unbounded());
+        assertNotNull(records);
+        assertEquals(List.of(saved.get(0), batched.get(1)), records.stream()
+                .filter(record -> "101".equals(record.getValue().get(KinexisEvent.EVENT_ENTITY_ID_KEY)))
+                .map(record -> record.getId().getValue())
+                .toList());
+
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        Map<String, String> success = Map.of("entity", "WriteBehindEntity", "outcome", "success");
+        assertEquals(4, timerCount(snapshot, KinexisTelemetry.PUBLISH_VALIDATE_LATENCY, success));
+        assertEquals(2, timerCount(snapshot, KinexisTelemetry.PUBLISH_APPEND_LATENCY, success));
+    }
+
+    @Test
+    void groupCommitPublisherPipelinesAppendsFromManyThreadsInBatches() throws Exception {
+        KinexisProperties properties = new KinexisProperties();
+        properties.getStream().setPartitions(2);
+        properties.getStream().getGroupCommit().setBatchSize(32);
+        properties.getStream().getGroupCommit().setLinger(Duration.ofMillis(20));
+        StreamPartitioner streamPartitioner = new StreamPartitioner(properties);
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        try (GroupCommitEventPublisher publisher = new GroupCommitEventPublisher(
+                new RedisStreamEventPublisher(redisTemplate, streamPartitioner, telemetry),
+                properties.getStream().getGroupCommit(), telemetry)) {
+            List<CompletableFuture<String>> appends = new ArrayList<>();
+            for (long id = 0; id < 64; id++) {
+                KinexisEvent event = KinexisEvent.save(TestEntity.class, id,
+                        objectMapper.writeValueAsString(new TestEntity(id, "Grouped")));
+                appends.add(id % 2 == 0
+                        ? CompletableFuture.supplyAsync(() -> publisher.append(TestEntity.class, event), writers)
+                        : publisher.appendAsync(TestEntity.class, event).toCompletableFuture());
+            }
+            List<String> recordIds = new ArrayList<>();
+            for (CompletableFuture<String> append : appends) {
+                recordIds.add(append.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(64, new HashSet<>(recordIds).size());
+            assertTrue(recordIds.stream().allMatch(Objects::nonNull));
+            assertEquals(64L, streamPartitioner.streamKeys(TestEntity.class).stream()
+                    .map(redisTemplate.opsForStream()::size)
+                    .filter(Objects::nonNull)
+                    .mapToLong(Long::longValue)
+                    .sum());
+            assertEquals(0, publisher.queued());
+        } finally {
+            writers.shutdownNow();
+        }
+
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        KinexisTelemetrySnapshot.DistributionSample batchSizes = snapshot.distributions().stream()
+                .filter(sample -> KinexisTelemetry.PUBLISH_BATCH_SIZE.equals(sample.name()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(64, batchSizes.total());
+        assertTrue(batchSizes.count() < 64);
+        assertTrue(batchSizes.max() <= 32);
+        assertEquals(64, timerCount(snapshot, KinexisTelemetry.PUBLISH_BATCH_WAIT, Map.of()));
+        assertEquals(64, snapshot.counters().stream()
+                .filter(sample -> KinexisTelemetry.STREAM_EVENTS_PUBLISHED.equals(sample.name()))
+                .mapToLong(KinexisTelemetrySnapshot.CounterSample::count)
+                .sum());
+    }
+
+    @Test
+    void groupCommitTimeoutsTakeBackEventsThatAreStillQueued() throws Exception {
+        KinexisProperties properties = new KinexisProperties();
+        properties.getStream().getGroupCommit().setBatchSize(1);
+        properties.getStream().getGroupCommit().setLinger(Duration.ZERO);
+        properties.getStream().getGroupCommit().setTimeout(Duration.ofMillis(300));
+        StreamPartitioner streamPartitioner = new StreamPartitioner(properties);
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RedisTemplate<String, String> slowTemplate = new RedisTemplate<>() {
+            @Override
+            public List<Object> executePipelined(RedisCallback<?> action) {
+                flushing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.executePipelined(action);
+            }
+        };
+        slowTemplate.setConnectionFactory(connectionFactory);
+        slowTemplate.setKeySerializer(new StringRedisSerializer());
+        slowTemplate.setValueSerializer(new StringRedisSerializer());
+        slowTemplate.afterPropertiesSet();
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        GroupCommitEventPublisher publisher = new GroupCommitEventPublisher(
+                new RedisStreamEventPublisher(slowTemplate, streamPartitioner, telemetry),
+                properties.getStream().getGroupCommit(), telemetry);
+        try {
+            KinexisEvent flushed = KinexisEvent.save(TestEntity.class, 1L, objectMapper.writeValueAsString(new TestEntity(1L, "Flushed")));
+            KinexisEvent queued = KinexisEvent.save(TestEntity.class, 2L, objectMapper.writeValueAsString(new TestEntity(2L, "Queued")));
+
+            IllegalStateException inFlight = assertThrows(IllegalStateException.class, () -> publisher.append(TestEntity.class, flushed));
+            assertTrue(flushing.await(1, TimeUnit.SECONDS));
+            assertTrue(inFlight.getMessage().contains("may still be appended"));
+            IllegalStateException withdrawn = assertThrows(IllegalStateException.class,
+                    () -> publisher.appendAll(TestEntity.class, List.of(queued)));
+            assertTrue(withdrawn.getMessage().contains("was not appended"));
+            assertEquals(0, publisher.queued());
+        } finally {
+            release.countDown();
+            publisher.close();
+        }
+
+        assertEquals(1L, streamPartitioner.streamKeys(TestEntity.class).stream()
+                .map(redisTemplate.opsForStream()::size)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sum());
+    }
+
+    @Test
+    void groupCommitAppendsRacingCloseAreEitherAppendedOrFailed() throws Exception {
+        KinexisProperties properties = new KinexisProperties();
+        StreamPartitioner streamPartitioner = new StreamPartitioner(properties);
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        GroupCommitEventPublisher publisher = new GroupCommitEventPublisher(
+                new RedisStreamEventPublisher(redisTemplate, streamPartitioner, telemetry),
+                properties.getStream().getGroupCommit(), telemetry);
+        String json = objectMapper.writeValueAsString(new TestEntity(1L, "Racing"));
+        List<CompletableFuture<String>> appends = Collections.synchronizedList(new ArrayList<>());
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        for (int writer = 0; writer < 4; writer++) {
+            writers.execute(() -> {
+                while (!stop.get()) {
+                    appends.add(publisher.appendAsync(TestEntity.class, KinexisEvent.save(TestEntity.class, 1L, json)).toCompletableFuture());
+                }
+            });
+        }
+        Thread.sleep(50);
+        publisher.close();
+        stop.set(true);
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(5, TimeUnit.SECONDS));
+
+        long appended = 0;
+        for (CompletableFuture<String> append : appends) {
+            String recordId = append.handle((value, failure) -> value).get(5, TimeUnit.SECONDS);
+            appended += recordId == null ? 0 : 1;
+        }
+        assertTrue(appended > 0);
+        assertTrue(appends.stream().anyMatch(CompletableFuture::isCompletedExceptionally));
+        assertEquals(0, publisher.queued());
+        assertEquals(appended, streamPartitioner.streamKeys(TestEntity.class).stream()
+                .map(redisTemplate.opsForStream()::size)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .sum());
+    }
+
     @Test
     void redisOmCacheStoreAppliesRedisTtlToResolvedEntityKey() {
         BeanFinder beanFinder = new BeanFinder(new StaticListableBeanFactory());
@@ -902,6 +1264,947 @@ class RedisStreamsIntegrationTest {
         assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_MISSES, "entity", "TestEntity"));
     }
 
+    @Test
+    void serviceFindAllByIdBatchesCacheAndPrimaryStoreRoundTrips() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        cacheStore.save(new TestEntity(24L, "Cached"));
+        backingStore.save(new TestEntity(25L, "Loaded"));
+        backingStore.save(new TestEntity(26L, "Loaded too"));
+
+        List<TestEntity> found = service.findAllById(List.of(26L, "24", 25L, 27L));
+
+        assertEquals(List.of(new TestEntity(26L, "Loaded too"), new TestEntity(24L, "Cached"), new TestEntity(25L, "Loaded")), found);
+        assertEquals(1, cacheStore.batchReads.get());
+        assertEquals(1, backingStore.batchReads.get());
+        assertEquals(1, cacheStore.batchWrites);
+        assertEquals(Duration.ofSeconds(5), cacheStore.lastTtl);
+        assertEquals(Optional.of(new TestEntity(25L, "Loaded")), cacheStore.findById(25L));
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_HITS, "entity", "TestEntity"));
+        assertEquals(3, counter(snapshot, KinexisTelemetry.CACHE_MISSES, "entity", "TestEntity"));
+    }
+
+    @Test
+    void serviceCoalescesConcurrentCacheMissesIntoOneLoad() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        LatchedLoadStore primary = new LatchedLoadStore("primary");
+        primary.save(new TestEntity(28L, "Stampede"));
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, primary), new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture<Optional<TestEntity>> leader = CompletableFuture.supplyAsync(() -> service.findById(28L), callers);
+            assertTrue(primary.entered.await(2, TimeUnit.SECONDS));
+            List<CompletableFuture<Optional<TestEntity>>> waiters = List.of(
+                    CompletableFuture.supplyAsync(() -> service.findById(28L), callers),
+                    CompletableFuture.supplyAsync(() -> service.findById("28"), callers));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (counter(telemetry.snapshot(), KinexisTelemetry.CACHE_LOADS_COALESCED, "entity", "TestEntity") < 2
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            primary.release.countDown();
+
+            assertEquals(Optional.of(new TestEntity(28L, "Stampede")), leader.get(2, TimeUnit.SECONDS));
+            for (CompletableFuture<Optional<TestEntity>> waiter : waiters) {
+                assertEquals(Optional.of(new TestEntity(28L, "Stampede")), waiter.get(2, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, primary.loads.get());
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_LOADS_LEADER, "entity", "TestEntity"));
+        assertEquals(2, counter(snapshot, KinexisTelemetry.CACHE_LOADS_COALESCED, "entity", "TestEntity"));
+    }
+
+    @Test
+    void serviceBatchesConcurrentFindByIdCallsIntoOneMultiGetAndOneLoad() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        KinexisProperties.Batching batching = new KinexisProperties().getCache().getBatching();
+        batching.setEnabled(true);
+        batching.setWindow(Duration.ofSeconds(5));
+        batching.setMaxBatchSize(4);
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "batchLoader", new KinexisBatchLoader(batching, telemetry));
+        cacheStore.save(new TestEntity(90L, "Cached"));
+        backingStore.save(new TestEntity(91L, "Loaded"));
+        backingStore.save(new TestEntity(92L, "Other"));
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Optional<TestEntity>>> results = List.of(90L, 91L, 92L, 93L).stream()
+                    .map(id -> CompletableFuture.supplyAsync(() -> service.findById(id), callers))
+                    .toList();
+
+            assertEquals(Optional.of(new TestEntity(90L, "Cached")), results.get(0).get(2, TimeUnit.SECONDS));
+            assertEquals(Optional.of(new TestEntity(91L, "Loaded")), results.get(1).get(2, TimeUnit.SECONDS));
+            assertEquals(Optional.of(new TestEntity(92L, "Other")), results.get(2).get(2, TimeUnit.SECONDS));
+            assertEquals(Optional.empty(), results.get(3).get(2, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, cacheStore.batchReads.get());
+        assertEquals(1, backingStore.batchReads.get());
+        assertEquals(Optional.of(new TestEntity(91L, "Loaded")), cacheStore.findById(91L));
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_BATCH_LOADS, "entity", "TestEntity"));
+        assertEquals(4, counter(snapshot, KinexisTelemetry.CACHE_BATCH_REQUESTS, "entity", "TestEntity"));
+    }
+
+    @Test
+    void adaptiveTtlFollowsTheReadWriteMixAndIsReportedByDiagnostics() throws Exception {
+        KinexisProperties.AdaptiveTtl properties = new KinexisProperties().getCache().getAdaptiveTtl();
+        properties.setEnabled(true);
+        properties.setMinTtl(Duration.ofSeconds(10));
+        properties.setMaxTtl(Duration.ofSeconds(1000));
+        properties.setHalfLife(Duration.ZERO);
+        properties.setMinSamples(10);
+        KinexisAdaptiveTtl adaptiveTtl = new KinexisAdaptiveTtl(properties);
+        TestStoreRegistry registry = new TestStoreRegistry(cacheStore, backingStore);
+        TestService service = new TestService();
+        injectService(service, registry, new CountingEventPublisher());
+        inject(service, "adaptiveTtl", adaptiveTtl);
+
+        service.save(new TestEntity(95L, "First"));
+        assertEquals(Duration.ofSeconds(10), cacheStore.lastTtl);
+
+        for (int i = 0; i < 99; i++) {
+            service.findById(95L);
+        }
+        service.save(new TestEntity(95L, "ReadMostly"));
+        assertTrue(cacheStore.lastTtl.compareTo(Duration.ofSeconds(500)) > 0);
+
+        for (int i = 0; i < 200; i++) {
+            service.save(new TestEntity(95L, "WriteMostly"));
+        }
+        assertTrue(cacheStore.lastTtl.compareTo(Duration.ofSeconds(60)) < 0);
+        assertTrue(cacheStore.lastTtl.compareTo(Duration.ofSeconds(10)) >= 0);
+
+        KinexisDiagnosticsService diagnosticsService = new KinexisDiagnosticsService(
+                List.of(), List.of(), List.of(service), List.of(), registry, new AnnotationFinder(), null, adaptiveTtl);
+        KinexisDiagnosticsService.EntityDiagnostics diagnostics = diagnosticsService.entity(TestEntity.class);
+        assertEquals(5, diagnostics.ttl());
+        assertEquals(adaptiveTtl.effectiveTtl(TestEntity.class, Duration.ofSeconds(5)).orElseThrow().toSeconds(),
+                diagnostics.effectiveTtl());
+        assertTrue(diagnostics.effectiveTtl() < 60);
+    }
+
+    @Test
+    void admissionCachesLoadedEntitiesOnlyOnceTheirIdsAreReadAgain() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        KinexisProperties.Admission admission = new KinexisProperties().getCache().getAdmission();
+        admission.setEnabled(true);
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "cacheAdmission", new KinexisCacheAdmission(admission, telemetry));
+        backingStore.save(new TestEntity(97L, "Hot"));
+        backingStore.save(new TestEntity(98L, "Scanned"));
+        backingStore.save(new TestEntity(99L, "Scanned"));
+
+        assertEquals(Optional.of(new TestEntity(97L, "Hot")), service.findById(97L));
+        assertTrue(cacheStore.findById(97L).isEmpty());
+        assertEquals(Optional.of(new TestEntity(97L, "Hot")), service.findById(97L));
+        assertEquals(Optional.of(new TestEntity(97L, "Hot")), cacheStore.findById(97L));
+
+        assertEquals(List.of(new TestEntity(98L, "Scanned"), new TestEntity(99L, "Scanned")), service.findAllById(List.of(98L, 99L)));
+        assertTrue(cacheStore.findById(98L).isEmpty());
+        assertTrue(cacheStore.findById(99L).isEmpty());
+        assertEquals(List.of(new TestEntity(99L, "Scanned")), service.findAllById(List.of(99L)));
+        assertEquals(Optional.of(new TestEntity(99L, "Scanned")), cacheStore.findById(99L));
+        assertTrue(cacheStore.findById(98L).isEmpty());
+
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(2, counter(snapshot, KinexisTelemetry.CACHE_ADMISSION_ADMITTED, "entity", "TestEntity"));
+        assertEquals(3, counter(snapshot, KinexisTelemetry.CACHE_ADMISSION_REJECTED, "entity", "TestEntity"));
+    }
+
+    @Test
+    void admissionCountsAsyncReadsLikeBlockingOnes() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        KinexisProperties.Admission admission = new KinexisProperties().getCache().getAdmission();
+        admission.setEnabled(true);
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "cacheAdmission", new KinexisCacheAdmission(admission, telemetry));
+        backingStore.save(new TestEntity(87L, "Async"));
+
+        assertEquals(Optional.of(new TestEntity(87L, "Async")), service.findByIdAsync(87L).toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertTrue(cacheStore.findById(87L).isEmpty());
+        assertEquals(Optional.of(new TestEntity(87L, "Async")), service.findByIdAsync(87L).toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(new TestEntity(87L, "Async")), cacheStore.findById(87L));
+        backingStore.deleteById(87L);
+        assertEquals(Optional.of(new TestEntity(87L, "Async")), service.findByIdAsync(87L).toCompletableFuture().get(5, TimeUnit.SECONDS));
+
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_ADMISSION_ADMITTED, "entity", "TestEntity"));
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_ADMISSION_REJECTED, "entity", "TestEntity"));
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_HITS, "entity", "TestEntity"));
+    }
+
+    @Test
+    void queryCacheResolvesCachedIdsThroughTheCacheAndDropsResultsByTag() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        KinexisProperties.QueryCache query = new KinexisProperties().getCache().getQuery();
+        query.setEnabled(true);
+        CityStore primary = new CityStore("primary");
+        CityCacheStore cache = new CityCacheStore("cache");
+        CityRegistry registry = new CityRegistry(primary, cache);
+        KinexisQueryCache queryCache = new KinexisQueryCache(query, new LocalQueryResultCache(), telemetry);
+        CityService service = new CityService();
+        injectService(service, registry, new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "queryCache", queryCache);
+        primary.save(new CityEntity(101L, "Paris"));
+        primary.save(new CityEntity(102L, "Paris"));
+        primary.save(new CityEntity(103L, "Rome"));
+        AtomicInteger loads = new AtomicInteger();
+        KinexisQuery byParis = KinexisQuery.named("byCity").param("city", "Paris");
+        KinexisQuery all = KinexisQuery.named("all");
+        Function<String, List<CityEntity>> byCity = city -> {
+            loads.incrementAndGet();
+            return primary.entities.values().stream()
+                    .filter(entity -> city == null || city.equals(entity.city()))
+                    .sorted(Comparator.comparing(CityEntity::id))
+                    .toList();
+        };
+
+        List<CityEntity> paris = List.of(new CityEntity(101L, "Paris"), new CityEntity(102L, "Paris"));
+        assertEquals(paris, service.findByQuery(byParis, () -> byCity.apply("Paris")));
+        assertEquals(Optional.of(new CityEntity(102L, "Paris")), cache.findById(102L));
+        assertEquals(paris, service.findByQuery(byParis, () -> byCity.apply("Paris")));
+        assertEquals(3, service.findByQuery(all, () -> byCity.apply(null)).size());
+        assertEquals(2, loads.get());
+
+        primary.save(new CityEntity(104L, "Rome"));
+        service.save(new CityEntity(104L, "Rome"));
+        assertEquals(paris, service.findByQuery(byParis, () -> byCity.apply("Paris")));
+        assertEquals(4, service.findByQuery(all, () -> byCity.apply(null)).size());
+        assertEquals(3, loads.get());
+
+        primary.save(new CityEntity(103L, "Paris"));
+        service.save(new CityEntity(103L, "Paris"));
+        assertEquals(3, service.findByQuery(byParis, () -> byCity.apply("Paris")).size());
+        assertEquals(4, loads.get());
+
+        primary.deleteById(101L);
+        service.delete(101L);
+        assertEquals(List.of(new CityEntity(102L, "Paris"), new CityEntity(103L, "Paris")),
+                service.findByQuery(byParis, () -> byCity.apply("Paris")));
+        assertEquals(5, loads.get());
+
+        ReactiveCityService reactiveService = new ReactiveCityService();
+        inject(reactiveService, "objectMapper", new ObjectMapper());
+        inject(reactiveService, "annotationFinder", new AnnotationFinder());
+        inject(reactiveService, "entityStoreRegistry", registry);
+        inject(reactiveService, "reactiveStoreRegistry", new AdaptingReactiveEntityStoreRegistry(registry, List.of(), Schedulers.boundedElastic()));
+        inject(reactiveService, "queryCache", queryCache);
+        primary.save(new CityEntity(106L, "Paris"));
+        reactiveService.save(new CityEntity(106L, "Paris")).block(Duration.ofSeconds(5));
+        assertEquals(3, service.findByQuery(byParis, () -> byCity.apply("Paris")).size());
+        assertEquals(6, loads.get());
+        primary.deleteById(106L);
+        reactiveService.delete(106L).block(Duration.ofSeconds(5));
+        assertEquals(2, service.findByQuery(byParis, () -> byCity.apply("Paris")).size());
+        assertEquals(7, loads.get());
+
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(2, counter(snapshot, KinexisTelemetry.CACHE_QUERY_HITS, Map.of("entity", "CityEntity", "query", "byCity")));
+        assertEquals(5, counter(snapshot, KinexisTelemetry.CACHE_QUERY_MISSES, Map.of("entity", "CityEntity", "query", "byCity")));
+        assertEquals(5, counter(snapshot, KinexisTelemetry.CACHE_QUERY_INVALIDATIONS, "entity", "CityEntity"));
+    }
+
+    @Test
+    void projectionReadsGoThroughTheCacheStoreAndFallBackToFullReads() throws Exception {
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        backingStore.save(new TestEntity(105L, "Projected"));
+
+        assertEquals(Optional.of(new TestName("Projected")), service.findById(105L, TestName.class));
+        assertEquals(Optional.of(new TestEntity(105L, "Projected")), cacheStore.findById(105L));
+        assertEquals(1, cacheStore.projectionReads);
+
+        backingStore.failReads = true;
+        assertEquals(Optional.of(new TestName("Projected")), service.findById(105L, TestName.class));
+        assertEquals(2, cacheStore.projectionReads);
+        assertEquals(Optional.of(new TestEntity(105L, "Projected")), service.findById(105L, TestEntity.class));
+
+        TieredCacheStoreDecorator decorator = new TieredCacheStoreDecorator(new KinexisProperties().getCache().getNearCache(),
+                new AnnotationFinder(), new LocalCacheInvalidationBus(), new SimpleKinexisTelemetry());
+        CacheStore<TestEntity> tiered = new DefaultEntityStoreRegistry(List.of(backingStore, cacheStore), new EmptyEntityStoreRegistry(), decorator)
+                .findCacheStore(TestEntity.class).orElseThrow();
+        int projectionReads = cacheStore.projectionReads;
+        assertEquals(Optional.of(new TestEntity(105L, "Projected")), tiered.findById(105L));
+        assertEquals(Optional.of(new TestName("Projected")),
+                tiered.findProjectionById(105L, TestName.class, entity -> new TestName(entity.name())));
+        assertEquals(projectionReads, cacheStore.projectionReads);
+    }
+
+    @Test
+    void cacheMissesAreLoadedFromAvailableReplicasWhichWriteBehindIgnores() throws Exception {
+        InMemoryStore replica = new InMemoryStore("replica-a", EntityStore.REPLICA_TARGET);
+        DefaultEntityStoreRegistry registry = new DefaultEntityStoreRegistry(List.of(replica, backingStore, cacheStore),
+                new EmptyEntityStoreRegistry());
+        assertEquals(Optional.of(backingStore), registry.findPrimaryStore(TestEntity.class));
+        assertEquals(List.of(backingStore), registry.findTargetStores(TestEntity.class));
+        assertTrue(registry.findTargetStores(TestEntity.class, List.of(EntityStore.REPLICA_TARGET)).isEmpty());
+        assertEquals(List.of(replica), registry.findReplicaStores(TestEntity.class));
+
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        KinexisStoreControl storeControl = new KinexisStoreControl(new KinexisProperties(), telemetry);
+        TestService service = new TestService();
+        injectService(service, registry, new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "storeAvailability", storeControl);
+        replica.save(new TestEntity(110L, "Replica"));
+        backingStore.save(new TestEntity(110L, "Primary"));
+        backingStore.save(new TestEntity(111L, "Lagging"));
+        backingStore.save(new TestEntity(112L, "Failed over"));
+        backingStore.save(new TestEntity(113L, "Paused"));
+        replica.save(new TestEntity(114L, "Batched"));
+
+        assertEquals(Optional.of(new TestEntity(110L, "Replica")), service.findById(110L));
+        assertEquals(Optional.of(new TestEntity(111L, "Lagging")), service.findById(111L));
+        assertFalse(cacheStore.isMarkedMissing(111L));
+        assertEquals(List.of(new TestEntity(114L, "Batched"), new TestEntity(112L, "Failed over")),
+                service.findAllById(List.of(114L, 112L)));
+        assertEquals(3, counter(telemetry.snapshot(), KinexisTelemetry.STORE_REPLICA_READS,
+                Map.of("entity", "TestEntity", "store", "replica-a")));
+
+        cacheStore.deleteById(112L);
+        replica.failReads = true;
+        assertEquals(Optional.of(new TestEntity(112L, "Failed over")), service.findById(112L));
+        assertEquals(KinexisStoreHealthState.DEGRADED, storeControl.status(TestEntity.class, "replica-a").state());
+        storeControl.pause(TestEntity.class, "replica-a");
+        assertEquals(Optional.of(new TestEntity(113L, "Paused")), service.findById(113L));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.STORE_REPLICA_FALLBACKS,
+                Map.of("entity", "TestEntity", "reason", "error")));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.STORE_REPLICA_FALLBACKS,
+                Map.of("entity", "TestEntity", "reason", "unavailable")));
+    }
+
+    @Test
+    void slowReplicaReadsAreHedgedOnTheNextStoreAndTheFirstAnswerWins() throws Exception {
+        InMemoryStore replica = new InMemoryStore("replica-a", EntityStore.REPLICA_TARGET);
+        DefaultEntityStoreRegistry registry = new DefaultEntityStoreRegistry(List.of(replica, backingStore, cacheStore),
+                new EmptyEntityStoreRegistry());
+        KinexisProperties properties = new KinexisProperties();
+        properties.getCache().getHedging().setEnabled(true);
+        properties.getCache().getHedging().setInitialDelay(Duration.ofMillis(100));
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        TestService service = new TestService();
+        injectService(service, registry, new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "hedgedReads", new KinexisHedgedReads(properties.getCache().getHedging(), telemetry));
+        replica.save(new TestEntity(120L, "Replica"));
+        replica.save(new TestEntity(121L, "Slow replica"));
+        backingStore.save(new TestEntity(121L, "Primary"));
+        backingStore.save(new TestEntity(122L, "Lagging"));
+
+        assertEquals(Optional.of(new TestEntity(120L, "Replica")), service.findById(120L));
+        assertEquals(Optional.of(new TestEntity(122L, "Lagging")), service.findById(122L));
+        Map<String, String> tags = Map.of("entity", "TestEntity", "store", "backing");
+        assertEquals(0, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_HEDGES_ISSUED, tags));
+
+        replica.readDelay = Duration.ofSeconds(2);
+        long started = System.nanoTime();
+        assertEquals(Optional.of(new TestEntity(121L, "Primary")), service.findById(121L));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_HEDGES_ISSUED, tags));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_HEDGES_WON, tags));
+    }
+
+    @Test
+    void slowPrimaryReadsAreHedgedOnAReplicaOrOnThePrimaryAgain() throws Exception {
+        InMemoryStore replica = new InMemoryStore("replica-a", EntityStore.REPLICA_TARGET);
+        KinexisProperties properties = new KinexisProperties();
+        properties.getStores().getReplicas().setEnabled(false);
+        properties.getCache().getHedging().setEnabled(true);
+        properties.getCache().getHedging().setInitialDelay(Duration.ofMillis(100));
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        TestService service = new TestService();
+        injectService(service, new DefaultEntityStoreRegistry(List.of(replica, backingStore, cacheStore),
+                new EmptyEntityStoreRegistry()), new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "replicaRouter", new KinexisReplicaRouter(properties.getStores().getReplicas(), telemetry));
+        inject(service, "hedgedReads", new KinexisHedgedReads(properties.getCache().getHedging(), telemetry));
+        replica.save(new TestEntity(123L, "Replica"));
+        backingStore.save(new TestEntity(123L, "Primary"));
+        backingStore.save(new TestEntity(124L, "Primary only"));
+
+        backingStore.readDelay = Duration.ofSeconds(2);
+        long started = System.nanoTime();
+        assertEquals(Optional.of(new TestEntity(123L, "Replica")), service.findById(123L));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        Map<String, String> replicaTags = Map.of("entity", "TestEntity", "store", "replica-a");
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_HEDGES_ISSUED, replicaTags));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_HEDGES_WON, replicaTags));
+
+        TestService primaryOnly = new TestService();
+        injectService(primaryOnly, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(primaryOnly, "telemetry", telemetry);
+        inject(primaryOnly, "hedgedReads", new KinexisHedgedReads(properties.getCache().getHedging(), telemetry));
+        CompletableFuture.runAsync(() -> backingStore.readDelay = Duration.ZERO,
+                CompletableFuture.delayedExecutor(30, TimeUnit.MILLISECONDS));
+        started = System.nanoTime();
+        assertEquals(Optional.of(new TestEntity(124L, "Primary only")), primaryOnly.findById(124L));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        Map<String, String> primaryTags = Map.of("entity", "TestEntity", "store", "backing");
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_HEDGES_ISSUED, primaryTags));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_HEDGES_WON, primaryTags));
+    }
+
+    @Test
+    void hashLayoutIsChosenForHashEntitiesAndPatchesOnlyTheGivenFields() throws Exception {
+        EntityStoreRegistry registry = new RedisHashEntityStoreRegistry(new EmptyEntityStoreRegistry(), new AnnotationFinder(),
+                redisTemplate, objectMapper);
+        assertTrue(registry.findCacheStore(TestEntity.class).isEmpty());
+        CacheStore<HashEntity> store = registry.findCacheStore(HashEntity.class).orElseThrow();
+        assertTrue(store instanceof RedisHashCacheStore<?>);
+
+        String key = Misc.getEntityKeyPrefix(HashEntity.class) + Misc.KEY_SEPARATOR + 1;
+        store.save(new HashEntity(1L, "Ada", 3, List.of("math")), Duration.ofSeconds(30));
+        assertEquals(Map.of("id", "1", "name", "Ada", "visits", "3", "tags", "[\"math\"]"), redisTemplate.opsForHash().entries(key));
+        assertTrue(redisTemplate.getExpire(key) > 0);
+
+        redisTemplate.opsForHash().put(key, "name", "Grace");
+        store.patch(new HashEntity(1L, "Ada", 4, null), List.of("visits", "tags"), Duration.ZERO);
+        assertEquals(Optional.of(new HashEntity(1L, "Grace", 4, null)), store.findById(1L));
+        assertEquals(Optional.of(new TestName("Grace")),
+                store.findProjectionById(1L, TestName.class, entity -> new TestName(entity.name())));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.patch(new HashEntity(1L, "Ada", 4, null), List.of("unknown"), Duration.ZERO));
+
+        HashEntityService service = new HashEntityService();
+        injectService(service, registry, new CountingEventPublisher());
+        service.update(new HashEntity(2L, "Alan", 1, List.of()), "visits");
+        assertEquals(Map.of("id", "2", "name", "Alan", "visits", "1", "tags", "[]"),
+                redisTemplate.opsForHash().entries(Misc.getEntityKeyPrefix(HashEntity.class) + Misc.KEY_SEPARATOR + 2));
+        service.update(new HashEntity(2L, "Ignored", 2, List.of()), "visits");
+        assertEquals(Optional.of(new HashEntity(2L, "Alan", 2, List.of())), service.findById(2L));
+        assertEquals(List.of(new HashEntity(1L, "Grace", 4, null), new HashEntity(2L, "Alan", 2, List.of())),
+                store.findAllById(List.of(1L, 3L, 2L)));
+
+        store.saveAll(List.of(new HashEntity(1L, "Ada", 5, null), new HashEntity(4L, "Edsger", 1, List.of())), Duration.ofSeconds(30));
+        assertEquals(Map.of("id", "1", "name", "Ada", "visits", "5"), redisTemplate.opsForHash().entries(key));
+        assertTrue(redisTemplate.getExpire(key) > 0);
+        assertTrue(redisTemplate.getExpire(Misc.getEntityKeyPrefix(HashEntity.class) + Misc.KEY_SEPARATOR + 4) > 0);
+    }
+
+    @Test
+    void bulkInvalidationScansRedisInBatchesAndEvictsMarkersAndL1Copies() throws Exception {
+        RedisHashCacheStore<HashEntity> hashStore = RedisHashCacheStore.builder(HashEntity.class, redisTemplate, objectMapper).build();
+        TieredCacheStore<HashEntity> tiered = TieredCacheStore.builder(hashStore)
+                .invalidationBus(new LocalCacheInvalidationBus())
+                .build();
+        for (long id : List.of(11L, 12L, 13L, 21L, 22L)) {
+            tiered.save(new HashEntity(id, "Entity " + id, (int) id, List.of()));
+        }
+        tiered.markMissing(14L, Duration.ofMinutes(1));
+        redisTemplate.opsForValue().set(Misc.getEntityKeyPrefix(HashEntity.class) + Misc.KEY_SEPARATOR + "11:idx", "1");
+        try (Stream<Object> ids = tiered.streamIds("1")) {
+            assertEquals(Set.of("11", "12", "13"), ids.map(String::valueOf).collect(java.util.stream.Collectors.toSet()));
+        }
+
+        KinexisProperties properties = new KinexisProperties();
+        properties.getCache().getBulkInvalidation().setBatchSize(2);
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        HashEntityService service = new HashEntityService();
+        injectService(service, new DefaultEntityStoreRegistry(List.of(tiered), new EmptyEntityStoreRegistry()), new CountingEventPublisher());
+        inject(service, "bulkInvalidator", new KinexisBulkInvalidator(properties.getCache().getBulkInvalidation(), telemetry));
+
+        List<KinexisInvalidationProgress> progress = new ArrayList<>();
+        KinexisInvalidationProgress byPrefix = service.invalidateCacheByPrefix("1", entity -> entity.visits() != 12, progress::add);
+        assertEquals(3, byPrefix.scanned());
+        assertEquals(2, byPrefix.invalidated());
+        assertTrue(byPrefix.done());
+        assertEquals(2, progress.size());
+        assertFalse(progress.getFirst().done());
+        assertTrue(tiered.findById(11L).isEmpty());
+        assertTrue(tiered.findById(13L).isEmpty());
+        assertTrue(tiered.findById(12L).isPresent());
+
+        KinexisInvalidationProgress byIds = service.invalidateCache(List.of(12L, 14L, 21L));
+        assertEquals(3, byIds.invalidated());
+        assertTrue(tiered.findById(12L).isEmpty());
+        assertTrue(tiered.findById(21L).isEmpty());
+        assertFalse(tiered.isMarkedMissing(14L));
+        assertEquals(Optional.of(new HashEntity(22L, "Entity 22", 22, List.of())), tiered.findById(22L));
+        long localEntries = tiered.localSize();
+        tiered.invalidateAll(java.util.stream.LongStream.range(1_000, 1_500).boxed().toList());
+        assertEquals(localEntries, tiered.localSize());
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_BULK_INVALIDATIONS,
+                Map.of("entity", "HashEntity", "mode", KinexisBulkInvalidator.MODE_PREFIX)));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_BULK_INVALIDATIONS,
+                Map.of("entity", "HashEntity", "mode", KinexisBulkInvalidator.MODE_IDS)));
+    }
+
+    @Test
+    void cacheWarmUpLoadsOnlyMissingEntitiesFromTheChosenSourceInPages() throws Exception {
+        for (long id = 1; id <= 5; id++) {
+            backingStore.save(new TestEntity(id, "Stored " + id));
+        }
+        cacheStore.save(new TestEntity(2L, "Newer in cache"));
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        KinexisProperties.WarmUp warmUp = new KinexisProperties().getCache().getWarmUp();
+        warmUp.setPageSize(2);
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        RedisHotKeyList hotKeyList = new RedisHotKeyList(redisTemplate);
+        KinexisCacheWarmer warmer = new KinexisCacheWarmer(warmUp, new TestStoreRegistry(cacheStore, backingStore),
+                new AnnotationFinder(), null, hotKeyList, telemetry, List.of(service));
+
+        int batchReads = backingStore.batchReads.get();
+        assertEquals(Map.of(TestEntity.class, 4L), warmer.warmUpAll());
+        assertEquals(0, backingStore.batchReads.get() - batchReads);
+        assertEquals(Optional.of(new TestEntity(2L, "Newer in cache")), cacheStore.findById(2L));
+        assertEquals(Optional.of(new TestEntity(5L, "Stored 5")), cacheStore.findById(5L));
+        assertEquals(Duration.ofSeconds(5), cacheStore.lastTtl);
+        assertEquals(0, warmer.warmUp(service));
+
+        hotKeyList.save(TestEntity.class, List.of(4L, 1L));
+        assertEquals(List.of("4", "1"), hotKeyList.find(TestEntity.class, 10));
+        cacheStore.deleteById(1L);
+        cacheStore.deleteById(3L);
+        warmUp.setSource(KinexisProperties.WarmUpSource.HOT_KEYS);
+        assertEquals(1, warmer.warmUp(service));
+        assertTrue(cacheStore.findById(1L).isPresent());
+        assertTrue(cacheStore.findById(3L).isEmpty());
+
+        warmUp.setSource(KinexisProperties.WarmUpSource.ID_SOURCE);
+        assertEquals(-1, warmer.warmUp(service));
+        assertEquals(3, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_WARMUPS, Map.of("entity", "TestEntity", "outcome", "done")));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_WARMUPS, Map.of("entity", "TestEntity", "outcome", "unsupported")));
+    }
+
+    @Test
+    void slidingTtlRestartsTheTtlOnCacheHitsThroughEveryTier() throws Exception {
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(service, "annotationFinder", new AnnotationFinder() {
+            @Override
+            public boolean hasSlidingTtl(Class<?> entityClass) {
+                return true;
+            }
+
+            @Override
+            public long staleWhileRevalidate(Class<?> entityClass) {
+                return 10;
+            }
+        });
+        inject(service, "asyncExecutor", (Executor) Runnable::run);
+        backingStore.save(new TestEntity(96L, "Session"));
+
+        assertEquals(Optional.of(new TestEntity(96L, "Session")), service.findById(96L));
+        assertEquals(Duration.ofSeconds(5), cacheStore.lastTtl);
+        assertNull(cacheStore.touchedTtl);
+
+        cacheStore.remainingTtl = Duration.ofSeconds(1);
+        backingStore.failReads = true;
+        assertEquals(Optional.of(new TestEntity(96L, "Session")), service.findById(96L));
+        assertEquals(Duration.ofSeconds(5), cacheStore.touchedTtl);
+
+        cacheStore.touchedTtl = null;
+        assertEquals(Optional.of(new TestEntity(96L, "Session")), service.findByIdAsync(96L).toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals(Duration.ofSeconds(5), cacheStore.touchedTtl);
+
+        TieredCacheStoreDecorator decorator = new TieredCacheStoreDecorator(new KinexisProperties().getCache().getNearCache(),
+                new AnnotationFinder(), new LocalCacheInvalidationBus(), new SimpleKinexisTelemetry());
+        CacheStore<TestEntity> tiered = new DefaultEntityStoreRegistry(List.of(backingStore, cacheStore), new EmptyEntityStoreRegistry(), decorator)
+                .findCacheStore(TestEntity.class).orElseThrow();
+        assertEquals(Optional.of(new TestEntity(96L, "Session")), tiered.findById(96L));
+        cacheStore.save(new TestEntity(96L, "Changed behind L1"));
+        cacheStore.touchedTtl = null;
+        assertEquals(Optional.of(new TestEntity(96L, "Changed behind L1")), tiered.findByIdAndTouch(96L, Duration.ofSeconds(7)));
+        assertEquals(Duration.ofSeconds(7), cacheStore.touchedTtl);
+        assertEquals(Optional.of(new TestEntity(96L, "Changed behind L1")), tiered.findById(96L));
+    }
+
+    @Test
+    void tieredBatchFillSkipsIdsInvalidatedDuringTheL2Read() {
+        LocalCacheInvalidationBus bus = new LocalCacheInvalidationBus();
+        AtomicInteger published = new AtomicInteger();
+        bus.subscribe(TestEntity.class, id -> published.incrementAndGet());
+        TieredCacheStore<TestEntity> tiered = TieredCacheStore.<TestEntity>builder(cacheStore)
+                .ttl(Duration.ofSeconds(30))
+                .invalidationBus(bus)
+                .build();
+        cacheStore.save(new TestEntity(130L, "Stale"));
+        cacheStore.save(new TestEntity(131L, "Kept"));
+        cacheStore.remainingTtl = Duration.ofSeconds(10);
+        cacheStore.duringBatchRead = () -> tiered.invalidateLocal("130");
+
+        assertEquals(2, tiered.findAllById(List.of(130L, 131L)).size());
+        cacheStore.duringBatchRead = () -> {
+        };
+        assertEquals(1, tiered.localSize());
+        cacheStore.save(new TestEntity(130L, "Fresh"));
+        cacheStore.save(new TestEntity(131L, "Changed behind L1"));
+        assertEquals(List.of(new TestEntity(131L, "Kept"), new TestEntity(130L, "Fresh")), tiered.findAllById(List.of(130L, 131L)));
+
+        int before = published.get();
+        tiered.saveAll(List.of(new TestEntity(132L, "Batch"), new TestEntity(133L, "Batch")), Duration.ofSeconds(5));
+        assertEquals(2, published.get() - before);
+        assertEquals(Optional.of(new TestEntity(133L, "Batch")), tiered.findById(133L));
+    }
+
+    @Test
+    void loadLeaseLetsOneInstanceReloadWhileOthersWaitOrSkipRefresh() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        LatchedLoadStore primary = new LatchedLoadStore("primary");
+        primary.save(new TestEntity(29L, "Leased"));
+        KinexisProperties.Lease lease = new KinexisProperties().getCache().getLease();
+        lease.setEnabled(true);
+        lease.setWaitTimeout(Duration.ofSeconds(2));
+        lease.setPollInterval(Duration.ofMillis(5));
+        RedisLoadLeaseManager leaseManager = new RedisLoadLeaseManager(redisTemplate);
+        TestService instanceA = new TestService();
+        TestService instanceB = new TestService();
+        for (TestService instance : List.of(instanceA, instanceB)) {
+            injectService(instance, new TestStoreRegistry(cacheStore, primary), new CountingEventPublisher());
+            inject(instance, "telemetry", telemetry);
+            inject(instance, "leasedLoader", new KinexisLeasedLoader(lease, leaseManager, telemetry));
+        }
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Optional<TestEntity>> holder = CompletableFuture.supplyAsync(() -> instanceA.findById(29L), callers);
+            assertTrue(primary.entered.await(2, TimeUnit.SECONDS));
+
+            assertTrue(instanceB.refreshAhead(29L).isEmpty());
+            CompletableFuture<Optional<TestEntity>> waiter = CompletableFuture.supplyAsync(() -> instanceB.findById(29L), callers);
+            Map<String, String> loadTags = Map.of("entity", "TestEntity", "operation", "load");
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (counter(telemetry.snapshot(), KinexisTelemetry.CACHE_LEASE_CONTENDED, loadTags) < 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            primary.release.countDown();
+
+            assertEquals(Optional.of(new TestEntity(29L, "Leased")), holder.get(2, TimeUnit.SECONDS));
+            assertEquals(Optional.of(new TestEntity(29L, "Leased")), waiter.get(2, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, primary.loads.get());
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_LEASE_ACQUIRED, "entity", "TestEntity"));
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_LEASE_CONTENDED, "operation", "refresh"));
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_LEASE_CONTENDED, "operation", "load"));
+        assertEquals(0, counter(snapshot, KinexisTelemetry.CACHE_LEASE_TIMEOUTS, "entity", "TestEntity"));
+
+        LoadLeaseManager.LoadLease first = leaseManager.tryAcquire(TestEntity.class, 29L, Duration.ofSeconds(5)).orElseThrow();
+        assertTrue(leaseManager.tryAcquire(TestEntity.class, 29L, Duration.ofSeconds(5)).isEmpty());
+        leaseManager.release(first);
+        LoadLeaseManager.LoadLease second = leaseManager.tryAcquire(TestEntity.class, 29L, Duration.ofSeconds(5)).orElseThrow();
+        assertTrue(second.fencingToken() > first.fencingToken());
+        assertFalse(leaseManager.isHeld(first));
+        assertTrue(leaseManager.isHeld(second));
+        Set<String> fenceKeys = new HashSet<>();
+        for (long id = 0; id < 32; id++) {
+            leaseManager.tryAcquire(TestEntity.class, id, Duration.ofSeconds(5)).ifPresent(leaseManager::release);
+        }
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match("kinexis:lease:fence:*").build())) {
+            keys.forEachRemaining(fenceKeys::add);
+        }
+        assertTrue(fenceKeys.size() > 1);
+        assertTrue(fenceKeys.size() <= 64);
+    }
+
+    @Test
+    void batchingKeepsNotFoundMarkersOfEntityTypesThatUseThem() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        KinexisProperties.Batching batching = new KinexisProperties().getCache().getBatching();
+        batching.setEnabled(true);
+        NegativeCacheStore primary = new NegativeCacheStore("primary");
+        NegativeCacheCacheStore cache = new NegativeCacheCacheStore("cache");
+        NegativeCacheService service = new NegativeCacheService();
+        injectService(service, new NegativeCacheRegistry(primary, cache), new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "batchLoader", new KinexisBatchLoader(batching, telemetry));
+
+        assertTrue(service.findById(33L).isEmpty());
+        assertEquals(Duration.ofSeconds(5), cache.missing.get(33L));
+        primary.save(new NegativeCacheEntity(33L, "Late"));
+        assertTrue(service.findById(33L).isEmpty());
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_NEGATIVE_HITS, "entity", "NegativeCacheEntity"));
+        assertEquals(0, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_BATCH_REQUESTS, "entity", "NegativeCacheEntity"));
+    }
+
+    @Test
+    void serviceCachesNotFoundIdsUntilTheyAreSaved() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        NegativeCacheStore primary = new NegativeCacheStore("primary");
+        NegativeCacheCacheStore cache = new NegativeCacheCacheStore("cache");
+        NegativeCacheRegistry registry = new NegativeCacheRegistry(primary, cache);
+        NegativeCacheService service = new NegativeCacheService();
+        injectService(service, registry, new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        NegativeCacheProcessor negativeProcessor = new NegativeCacheProcessor(redisTemplate, objectMapper);
+        inject(negativeProcessor, "entityStoreRegistry", registry);
+
+        assertTrue(service.findById(30L).isEmpty());
+        assertEquals(Duration.ofSeconds(5), cache.missing.get(30L));
+        primary.save(new NegativeCacheEntity(30L, "Late"));
+        assertTrue(service.findById(30L).isEmpty());
+
+        MapRecord<String, String, String> record = enqueueAndRead(KinexisEvent.save(NegativeCacheEntity.class, 30L,
+                objectMapper.writeValueAsString(new NegativeCacheEntity(30L, "Late"))), NegativeCacheEntity.class);
+        negativeProcessor.process(record);
+        assertFalse(cache.isMarkedMissing(30L));
+        assertEquals(Optional.of(new NegativeCacheEntity(30L, "Late")), service.findById(30L));
+
+        assertTrue(service.findById(31L).isEmpty());
+        service.save(new NegativeCacheEntity(31L, "Saved"));
+        assertFalse(cache.isMarkedMissing(31L));
+
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_NEGATIVE_HITS, "entity", "NegativeCacheEntity"));
+        assertEquals(3, counter(snapshot, KinexisTelemetry.CACHE_NEGATIVE_MISSES, "entity", "NegativeCacheEntity"));
+
+        assertTrue(service.findByIdAsync(32L).toCompletableFuture().get(5, TimeUnit.SECONDS).isEmpty());
+        assertTrue(cache.isMarkedMissing(32L));
+        service.saveAsync(new NegativeCacheEntity(32L, "Saved")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertFalse(cache.isMarkedMissing(32L));
+
+        ReactiveNegativeCacheService reactiveService = new ReactiveNegativeCacheService();
+        inject(reactiveService, "objectMapper", new ObjectMapper());
+        inject(reactiveService, "annotationFinder", new AnnotationFinder());
+        inject(reactiveService, "entityStoreRegistry", registry);
+        inject(reactiveService, "reactiveStoreRegistry", new AdaptingReactiveEntityStoreRegistry(registry, List.of(), Schedulers.boundedElastic()));
+        assertNull(reactiveService.findById(33L).block(Duration.ofSeconds(5)));
+        assertTrue(cache.isMarkedMissing(33L));
+    }
+
+    @Test
+    void idFilterSkipsLoadsOfUnknownIdsOnceBuiltFromPrimaryStore() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        TestStoreRegistry registry = new TestStoreRegistry(cacheStore, backingStore);
+        LocalEntityIdFilter idFilter = new LocalEntityIdFilter(BloomFilterSpec.of(1_000, 0.01d));
+        TestService service = new TestService();
+        injectService(service, registry, new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "idFilter", idFilter);
+        inject(processor, "idFilter", idFilter);
+        backingStore.save(new TestEntity(40L, "Known"));
+        KinexisIdFilterLoader loader = new KinexisIdFilterLoader(new KinexisProperties().getCache().getIdFilter(),
+                idFilter, registry, new AnnotationFinder(), telemetry, List.of(TestEntity.class));
+
+        assertEquals(1, loader.load(TestEntity.class));
+        assertTrue(idFilter.isReady(TestEntity.class));
+        backingStore.save(new TestEntity(41L, "Outside Kinexis"));
+
+        assertTrue(service.findById(41L).isEmpty());
+        assertEquals(Optional.of(new TestEntity(40L, "Known")), service.findById(40L));
+        processor.process(enqueueAndRead(KinexisEvent.save(TestEntity.class, 42L,
+                objectMapper.writeValueAsString(new TestEntity(42L, "Streamed")))));
+        assertEquals(Optional.of(new TestEntity(42L, "Streamed")), service.findById(42L));
+
+        KinexisTelemetrySnapshot snapshot = telemetry.snapshot();
+        Map<String, String> tags = Map.of("entity", "TestEntity");
+        assertEquals(1, counter(snapshot, KinexisTelemetry.CACHE_ID_FILTER_REJECTED, tags));
+        assertEquals(2, counter(snapshot, KinexisTelemetry.CACHE_ID_FILTER_PASSED, tags));
+        assertEquals(0, counter(snapshot, KinexisTelemetry.CACHE_ID_FILTER_FALSE_POSITIVES, tags));
+        assertEquals(10_000, gauge(snapshot, KinexisTelemetry.CACHE_ID_FILTER_CONFIGURED_FPP, tags));
+        assertEquals(1, gauge(snapshot, KinexisTelemetry.CACHE_ID_FILTER_LOADED_IDS, tags));
+
+        service.save(new TestEntity(43L, "Cache only"));
+        service.saveAll(List.of(new TestEntity(44L, "Cache only batch")));
+        assertTrue(idFilter.mightContain(TestEntity.class, 43L));
+        assertTrue(idFilter.mightContain(TestEntity.class, 44L));
+
+        assertEquals(3, loader.rebuild(TestEntity.class));
+        assertEquals(Optional.of(new TestEntity(41L, "Outside Kinexis")), service.findById(41L));
+        assertEquals(3, gauge(telemetry.snapshot(), KinexisTelemetry.CACHE_ID_FILTER_LOADED_IDS, tags));
+    }
+
+    @Test
+    void asyncServiceApiFollowsCacheAsideRulesAndPublishesWithLettuceAsyncXadd() throws Exception {
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        backingStore.save(new TestEntity(50L, "Loaded"));
+
+        assertEquals(Optional.of(new TestEntity(50L, "Loaded")),
+                service.findByIdAsync(50L).toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(new TestEntity(50L, "Loaded")), cacheStore.findById(50L));
+        assertTrue(service.findByIdAsync(51L).toCompletableFuture().get(5, TimeUnit.SECONDS).isEmpty());
+        service.saveAsync(new TestEntity(51L, "Saved")).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(Optional.of(new TestEntity(51L, "Saved")), cacheStore.findById(51L));
+        service.deleteAsync(51L).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertTrue(cacheStore.findById(51L).isEmpty());
+
+        RedisStreamEventPublisher publisher = new RedisStreamEventPublisher(redisTemplate);
+        String recordId = publisher.appendAsync(TestEntity.class, KinexisEvent.save(TestEntity.class, 52L,
+                objectMapper.writeValueAsString(new TestEntity(52L, "Async")))).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(Misc.getStreamKey(TestEntity.class), Range.unbounded());
+        assertNotNull(records);
+        assertEquals(1, records.size());
+        assertEquals(recordId, records.getFirst().getId().getValue());
+        assertEquals("52", records.getFirst().getValue().get(KinexisEvent.EVENT_ENTITY_ID_KEY));
+        assertEquals(KinexisEvent.CURRENT_SCHEMA_VERSION, records.getFirst().getValue().get(EVENT_SCHEMA_VERSION_KEY));
+    }
+
+    @Test
+    void reactiveServiceSharesCachingPatternsAndStoresWithBlockingService() throws Exception {
+        TestStoreRegistry registry = new TestStoreRegistry(cacheStore, backingStore);
+        ReactiveRedisStreamEventPublisher publisher = new ReactiveRedisStreamEventPublisher(
+                new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext.string()),
+                new StreamPartitioner(new KinexisProperties()), new SimpleKinexisTelemetry(), KinexisEventSchemaRegistry.noop());
+        ReactiveTestService reactiveService = new ReactiveTestService();
+        inject(reactiveService, "objectMapper", new ObjectMapper());
+        inject(reactiveService, "annotationFinder", new AnnotationFinder());
+        inject(reactiveService, "entityStoreRegistry", registry);
+        inject(reactiveService, "reactiveStoreRegistry", new AdaptingReactiveEntityStoreRegistry(registry, List.of(), Schedulers.boundedElastic()));
+        inject(reactiveService, "eventPublisher", publisher);
+        TestService blockingService = new TestService();
+        injectService(blockingService, registry, new CountingEventPublisher());
+        backingStore.save(new TestEntity(60L, "Loaded"));
+        backingStore.save(new TestEntity(62L, "Batch"));
+
+        assertEquals(new TestEntity(60L, "Loaded"), reactiveService.findById(60L).block(Duration.ofSeconds(5)));
+        assertEquals(Optional.of(new TestEntity(60L, "Loaded")), cacheStore.findById(60L));
+        assertNull(reactiveService.findById(61L).block(Duration.ofSeconds(5)));
+        reactiveService.save(new TestEntity(61L, "Saved")).block(Duration.ofSeconds(5));
+        assertEquals(Optional.of(new TestEntity(61L, "Saved")), blockingService.findById(61L));
+        assertEquals(List.of(new TestEntity(62L, "Batch"), new TestEntity(60L, "Loaded"), new TestEntity(61L, "Saved")),
+                reactiveService.findAllById(List.of(62L, 60L, 61L, 63L)).collectList().block(Duration.ofSeconds(5)));
+        reactiveService.delete(61L).block(Duration.ofSeconds(5));
+        assertTrue(cacheStore.findById(61L).isEmpty());
+
+        String recordId = publisher.append(TestEntity.class, KinexisEvent.save(TestEntity.class, 64L,
+                objectMapper.writeValueAsString(new TestEntity(64L, "Reactive")))).block(Duration.ofSeconds(5));
+
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(Misc.getStreamKey(TestEntity.class), Range.unbounded());
+        assertNotNull(records);
+        assertEquals(1, records.size());
+        assertEquals(recordId, records.getFirst().getId().getValue());
+        assertEquals("64", records.getFirst().getValue().get(KinexisEvent.EVENT_ENTITY_ID_KEY));
+    }
+
+    @Test
+    void reactiveRegistryPrefersNativeCacheStoresAndAdaptsOnlyTheRest() throws Exception {
+        NativeReactiveCacheStore nativeCache = new NativeReactiveCacheStore("cache");
+        AdaptingReactiveEntityStoreRegistry reactiveRegistry = new AdaptingReactiveEntityStoreRegistry(
+                new TestStoreRegistry(nativeCache, backingStore), List.of(), Schedulers.boundedElastic());
+
+        assertSame(nativeCache.reactive, reactiveRegistry.findCacheStore(TestEntity.class).orElseThrow());
+        assertEquals("backing", reactiveRegistry.findPrimaryStore(TestEntity.class).orElseThrow().name());
+
+        RedisOmCacheStore<TestEntity> redisOmStore = RedisOmCacheStore
+                .builder(TestEntity.class, new InMemoryCrudRepository(), new BeanFinder(new StaticListableBeanFactory()))
+                .redisTemplate(redisTemplate)
+                .build();
+        assertTrue(redisOmStore.reactiveCacheStore().isEmpty());
+    }
+
+    @Test
+    void earlyRefreshReloadsEntriesCloseToExpiryAndJitterSpreadsTtls() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        KinexisProperties.Expiration properties = new KinexisProperties().getCache().getExpiration();
+        properties.setEarlyRefresh(true);
+        properties.setBeta(1_000_000_000d);
+        KinexisExpiration expiration = new KinexisExpiration(properties, telemetry);
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(service, "telemetry", telemetry);
+        inject(service, "expiration", expiration);
+        inject(service, "asyncExecutor", (Executor) Runnable::run);
+        cacheStore.save(new TestEntity(70L, "Old"));
+        backingStore.save(new TestEntity(70L, "New"));
+
+        cacheStore.remainingTtl = Duration.ofMillis(1);
+        assertEquals(Optional.of(new TestEntity(70L, "Old")), service.findById(70L));
+        assertEquals(Optional.of(new TestEntity(70L, "New")), cacheStore.findById(70L));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_EARLY_REFRESHES, "entity", "TestEntity"));
+        assertTrue(expiration.loadTime(TestEntity.class).compareTo(properties.getDefaultLoadTime()) < 0);
+
+        KinexisProperties.Expiration calm = new KinexisProperties().getCache().getExpiration();
+        calm.setEarlyRefresh(true);
+        assertFalse(new KinexisExpiration(calm, telemetry).shouldRefreshEarly(TestEntity.class, Duration.ofHours(1)));
+
+        KinexisProperties.Expiration jittered = new KinexisProperties().getCache().getExpiration();
+        jittered.setJitter(0.5d);
+        KinexisExpiration jitter = new KinexisExpiration(jittered, telemetry);
+        Set<Duration> ttls = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            Duration ttl = jitter.jitter(Duration.ofSeconds(100));
+            assertTrue(ttl.compareTo(Duration.ofSeconds(50)) >= 0 && ttl.compareTo(Duration.ofSeconds(150)) <= 0);
+            ttls.add(ttl);
+        }
+        assertTrue(ttls.size() > 1);
+        assertEquals(Duration.ZERO, jitter.jitter(Duration.ZERO));
+    }
+
+    @Test
+    void staleEntriesAreRevalidatedInBackgroundAndServedWhileThePrimaryStoreFails() throws Exception {
+        SimpleKinexisTelemetry telemetry = new SimpleKinexisTelemetry();
+        KinexisStoreControl storeControl = new KinexisStoreControl(new KinexisProperties(), telemetry);
+        TestService service = new TestService();
+        injectService(service, new TestStoreRegistry(cacheStore, backingStore), new CountingEventPublisher());
+        inject(service, "annotationFinder", new AnnotationFinder() {
+            @Override
+            public long staleWhileRevalidate(Class<?> entityClass) {
+                return 10;
+            }
+
+            @Override
+            public long staleIfError(Class<?> entityClass) {
+                return 20;
+            }
+        });
+        inject(service, "telemetry", telemetry);
+        inject(service, "asyncExecutor", (Executor) Runnable::run);
+        inject(service, "storeAvailability", storeControl);
+        backingStore.save(new TestEntity(80L, "Loaded"));
+
+        assertEquals(Optional.of(new TestEntity(80L, "Loaded")), service.findById(80L));
+        assertEquals(Duration.ofSeconds(35), cacheStore.lastTtl);
+
+        backingStore.save(new TestEntity(80L, "Updated"));
+        cacheStore.remainingTtl = Duration.ofSeconds(31);
+        assertEquals(Optional.of(new TestEntity(80L, "Loaded")), service.findById(80L));
+        assertEquals(Optional.of(new TestEntity(80L, "Loaded")), cacheStore.findById(80L));
+
+        cacheStore.remainingTtl = Duration.ofSeconds(25);
+        assertEquals(Optional.of(new TestEntity(80L, "Loaded")), service.findById(80L));
+        assertEquals(Optional.of(new TestEntity(80L, "Updated")), cacheStore.findById(80L));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_STALE_SERVED,
+                Map.of("entity", "TestEntity", "reason", "revalidate")));
+
+        backingStore.save(new TestEntity(80L, "Newest"));
+        backingStore.failReads = true;
+        cacheStore.remainingTtl = Duration.ofSeconds(10);
+        assertEquals(Optional.of(new TestEntity(80L, "Updated")), service.findById(80L));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_STALE_SERVED,
+                Map.of("entity", "TestEntity", "reason", "error")));
+
+        backingStore.failReads = false;
+        storeControl.openCircuit(TestEntity.class, "backing");
+        assertEquals(Optional.of(new TestEntity(80L, "Updated")), service.findById(80L));
+        assertEquals(1, counter(telemetry.snapshot(), KinexisTelemetry.CACHE_STALE_SERVED,
+                Map.of("entity", "TestEntity", "reason", "unavailable")));
+
+        storeControl.resume(TestEntity.class, "backing");
+        assertEquals(Optional.of(new TestEntity(80L, "Newest")), service.findById(80L));
+        assertEquals(Optional.of(new TestEntity(80L, "Newest")), cacheStore.findById(80L));
+
+        backingStore.deleteById(80L);
+        assertEquals(Optional.empty(), service.findById(80L));
+        assertEquals(Optional.empty(), cacheStore.findById(80L));
+    }
+
     @Test
     void disabledAnnotationBypassesCacheAndStreams() throws Exception {
         DisabledStore primary = new DisabledStore("primary");
@@ -2017,6 +3320,15 @@ class RedisStreamsIntegrationTest {
                 .sum();
     }
 
+    private long timerCount(KinexisTelemetrySnapshot snapshot, String name, Map<String, String> tags) {
+        return snapshot.timers()
+                .stream()
+                .filter(sample -> sample.name().equals(name))
+                .filter(sample -> sample.tags().entrySet().containsAll(tags.entrySet()))
+                .mapToLong(KinexisTelemetrySnapshot.TimerSample::count)
+                .sum();
+    }
+
     private long gauge(KinexisTelemetrySnapshot snapshot, String name, Map<String, String> tags) {
         return snapshot.gauges()
                 .stream()
@@ -2094,6 +3406,27 @@ class RedisStreamsIntegrationTest {
         }
     }
 
+    private static final class NegativeCacheProcessor extends AbstractProcessor<NegativeCacheEntity> {
+
+        private final RedisTemplate<String, String> redisTemplate;
+        private final ObjectMapper objectMapper;
+
+        private NegativeCacheProcessor(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+            this.redisTemplate = redisTemplate;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public RedisTemplate<String, String> getRedisTemplate() {
+            return redisTemplate;
+        }
+
+        @Override
+        public ObjectMapper getObjectMapper() {
+            return objectMapper;
+        }
+    }
+
     private static final class TestPendingMessageHandler extends AbstractPendingMessageHandler<TestEntity> {
 
         private final TestProcessor processor;
@@ -2186,6 +3519,24 @@ class RedisStreamsIntegrationTest {
     private static final class DisabledService extends KinexisService<DisabledEntity> {
     }
 
+    private static final class HashEntityService extends KinexisService<HashEntity> {
+    }
+
+    private static final class ReactiveTestService extends ReactiveKinexisService<TestEntity> {
+    }
+
+    private static final class NegativeCacheService extends KinexisService<NegativeCacheEntity> {
+    }
+
+    private static final class ReactiveNegativeCacheService extends ReactiveKinexisService<NegativeCacheEntity> {
+    }
+
+    private static final class CityService extends KinexisService<CityEntity> {
+    }
+
+    private static final class ReactiveCityService extends ReactiveKinexisService<CityEntity> {
+    }
+
     private static final class RefreshAheadService extends KinexisService<RefreshAheadEntity> {
     }
 
@@ -2224,10 +3575,10 @@ class RedisStreamsIntegrationTest {
 
     private static final class TestStoreRegistry implements EntityStoreRegistry {
 
-        private final InMemoryCacheStore cacheStore;
+        private final CacheStore<TestEntity> cacheStore;
         private final InMemoryStore backingStore;
 
-        private TestStoreRegistry(InMemoryCacheStore cacheStore, InMemoryStore backingStore) {
+        private TestStoreRegistry(CacheStore<TestEntity> cacheStore, InMemoryStore backingStore) {
             this.cacheStore = cacheStore;
             this.backingStore = backingStore;
         }
@@ -2256,7 +3607,10 @@ class RedisStreamsIntegrationTest {
         private final String name;
         private final Set<String> targets;
         private final Map<Object, TestEntity> entities = new ConcurrentHashMap<>();
+        protected final AtomicInteger batchReads = new AtomicInteger();
         protected boolean failSaves;
+        protected boolean failReads;
+        protected volatile Duration readDelay = Duration.ZERO;
 
         private InMemoryStore(String name) {
             this(name, name);
@@ -2273,18 +3627,48 @@ class RedisStreamsIntegrationTest {
         }
 
         @Override
-        public Class<TestEntity> entityType() {
-            return TestEntity.class;
+        public Class<TestEntity> entityType() {
+            return TestEntity.class;
+        }
+
+        @Override
+        public Set<String> targets() {
+            return targets;
+        }
+
+        @Override
+        public Optional<TestEntity> findById(Object id) {
+            if (failReads) {
+                throw new IllegalStateException("store failure");
+            }
+            if (!readDelay.isZero()) {
+                try {
+                    Thread.sleep(readDelay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Optional.ofNullable(entities.get(normalizeId(id)));
+        }
+
+        @Override
+        public List<TestEntity> findAllById(Collection<?> ids) {
+            batchReads.incrementAndGet();
+            return EntityStore.super.findAllById(ids);
         }
 
         @Override
-        public Set<String> targets() {
-            return targets;
+        public Stream<Object> streamIds() {
+            return entities.keySet().stream();
         }
 
         @Override
-        public Optional<TestEntity> findById(Object id) {
-            return Optional.ofNullable(entities.get(normalizeId(id)));
+        public Stream<List<TestEntity>> streamPages(int pageSize) {
+            List<TestEntity> sorted = entities.values().stream()
+                    .sorted(Comparator.comparing(TestEntity::id))
+                    .toList();
+            return IntStream.range(0, (sorted.size() + pageSize - 1) / pageSize)
+                    .mapToObj(page -> sorted.subList(page * pageSize, Math.min(sorted.size(), (page + 1) * pageSize)));
         }
 
         @Override
@@ -2312,16 +3696,83 @@ class RedisStreamsIntegrationTest {
     private static final class InMemoryCacheStore extends InMemoryStore implements CacheStore<TestEntity> {
 
         private Duration lastTtl = Duration.ZERO;
+        private Duration remainingTtl;
+        private Duration touchedTtl;
+        private int projectionReads;
+        private int batchWrites;
+        private Runnable duringBatchRead = () -> {
+        };
+        private final Map<Long, Duration> missing = new ConcurrentHashMap<>();
 
         private InMemoryCacheStore(String name) {
             super(name);
         }
 
+        @Override
+        public List<TestEntity> findAllById(Collection<?> ids) {
+            duringBatchRead.run();
+            return super.findAllById(ids);
+        }
+
         @Override
         public TestEntity save(TestEntity entity, Duration ttl) {
             lastTtl = ttl;
             return save(entity);
         }
+
+        @Override
+        public List<TestEntity> saveAll(Collection<TestEntity> entities, Duration ttl) {
+            batchWrites++;
+            return CacheStore.super.saveAll(entities, ttl);
+        }
+
+        @Override
+        public void markMissing(Object id, Duration ttl) {
+            missing.put(Long.valueOf(String.valueOf(id)), ttl);
+        }
+
+        @Override
+        public boolean isMarkedMissing(Object id) {
+            return missing.containsKey(Long.valueOf(String.valueOf(id)));
+        }
+
+        @Override
+        public void clearMissing(Object id) {
+            missing.remove(Long.valueOf(String.valueOf(id)));
+        }
+
+        @Override
+        public Optional<Duration> timeToLive(Object id) {
+            return Optional.ofNullable(remainingTtl);
+        }
+
+        @Override
+        public <P> Optional<P> findProjectionById(Object id, Class<P> projection, Function<? super TestEntity, ? extends P> fullReadMapper) {
+            projectionReads++;
+            return CacheStore.super.findProjectionById(id, projection, fullReadMapper);
+        }
+
+        @Override
+        public Optional<TestEntity> findByIdAndTouch(Object id, Duration ttl) {
+            Optional<TestEntity> entity = findById(id);
+            entity.ifPresent(ignored -> touchedTtl = ttl);
+            return entity;
+        }
+    }
+
+    private static final class NativeReactiveCacheStore extends InMemoryStore
+            implements CacheStore<TestEntity>, ReactiveCacheStoreProvider<TestEntity> {
+
+        private final ReactiveCacheStore<TestEntity> reactive = ReactiveCacheStore.of(this, Schedulers.immediate());
+
+        private NativeReactiveCacheStore(String name) {
+            super(name);
+        }
+
+        @Override
+        public Optional<ReactiveCacheStore<TestEntity>> reactiveCacheStore() {
+            return Optional.of(reactive);
+        }
     }
 
     private static final class BlockingStore extends InMemoryStore {
@@ -2348,6 +3799,32 @@ class RedisStreamsIntegrationTest {
         }
     }
 
+    private static final class LatchedLoadStore extends InMemoryStore {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private LatchedLoadStore(String name) {
+            super(name);
+        }
+
+        @Override
+        public Optional<TestEntity> findById(Object id) {
+            loads.incrementAndGet();
+            entered.countDown();
+            try {
+                if (!release.await(2, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Timed out waiting to release load");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting to release load", e);
+            }
+            return super.findById(id);
+        }
+    }
+
     private static class CountingStore extends InMemoryStore {
 
         private final AtomicInteger saveCount = new AtomicInteger();
@@ -2495,6 +3972,21 @@ class RedisStreamsIntegrationTest {
     private record TestEntity(Long id, String name) {
     }
 
+    @CachingPatterns(patterns = {CachingPattern.CACHE_ASIDE}, ttl = 5, negativeTtl = 5)
+    private record NegativeCacheEntity(Long id, String name) {
+    }
+
+    @CachingPatterns(patterns = {CachingPattern.CACHE_ASIDE}, ttl = 5)
+    private record CityEntity(Long id, @QueryTag String city) {
+    }
+
+    private record TestName(String name) {
+    }
+
+    @CachingPatterns(patterns = {CachingPattern.CACHE_ASIDE}, format = CachingFormat.HASH)
+    private record HashEntity(Long id, String name, Integer visits, List<String> tags) {
+    }
+
     @CachingPatterns(patterns = {CachingPattern.WRITE_BEHIND, CachingPattern.CACHE_ASIDE}, enabled = false, ttl = 5)
     private record DisabledEntity(Long id, String name) {
     }
@@ -2617,6 +4109,64 @@ class RedisStreamsIntegrationTest {
         }
     }
 
+    private static final class NegativeCacheRegistry implements EntityStoreRegistry {
+
+        private final NegativeCacheStore primary;
+        private final NegativeCacheCacheStore cache;
+
+        private NegativeCacheRegistry(NegativeCacheStore primary, NegativeCacheCacheStore cache) {
+            this.primary = primary;
+            this.cache = cache;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Optional<CacheStore<T>> findCacheStore(Class<T> entityType) {
+            return Optional.of((CacheStore<T>) cache);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Optional<EntityStore<T>> findPrimaryStore(Class<T> entityType) {
+            return Optional.of((EntityStore<T>) primary);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<EntityStore<T>> findTargetStores(Class<T> entityType) {
+            return List.of((EntityStore<T>) primary);
+        }
+    }
+
+    private static final class CityRegistry implements EntityStoreRegistry {
+
+        private final CityStore primary;
+        private final CityCacheStore cache;
+
+        private CityRegistry(CityStore primary, CityCacheStore cache) {
+            this.primary = primary;
+            this.cache = cache;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Optional<CacheStore<T>> findCacheStore(Class<T> entityType) {
+            return Optional.of((CacheStore<T>) cache);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Optional<EntityStore<T>> findPrimaryStore(Class<T> entityType) {
+            return Optional.of((EntityStore<T>) primary);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<EntityStore<T>> findTargetStores(Class<T> entityType) {
+            return List.of((EntityStore<T>) primary);
+        }
+    }
+
     private static final class WriteBehindRegistry implements EntityStoreRegistry {
 
         private final List<EntityStore<WriteBehindEntity>> stores;
@@ -2742,4 +4292,227 @@ class RedisStreamsIntegrationTest {
             super(name);
         }
     }
+
+    private static class NegativeCacheStore implements EntityStore<NegativeCacheEntity> {
+
+        private final String name;
+        private final Map<Object, NegativeCacheEntity> entities = new ConcurrentHashMap<>();
+
+        private NegativeCacheStore(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Class<NegativeCacheEntity> entityType() {
+            return NegativeCacheEntity.class;
+        }
+
+        @Override
+        public Optional<NegativeCacheEntity> findById(Object id) {
+            return Optional.ofNullable(entities.get(normalizeId(id)));
+        }
+
+        @Override
+        public NegativeCacheEntity save(NegativeCacheEntity entity) {
+            entities.put(entity.id(), entity);
+            return entity;
+        }
+
+        @Override
+        public void deleteById(Object id) {
+            entities.remove(normalizeId(id));
+        }
+
+        private Object normalizeId(Object id) {
+            if (id instanceof String value) {
+                return Long.valueOf(value);
+            }
+            return id;
+        }
+    }
+
+    private static final class NegativeCacheCacheStore extends NegativeCacheStore implements CacheStore<NegativeCacheEntity> {
+
+        private final Map<Long, Duration> missing = new ConcurrentHashMap<>();
+
+        private NegativeCacheCacheStore(String name) {
+            super(name);
+        }
+
+        @Override
+        public void markMissing(Object id, Duration ttl) {
+            missing.put(Long.valueOf(String.valueOf(id)), ttl);
+        }
+
+        @Override
+        public boolean isMarkedMissing(Object id) {
+            return missing.containsKey(Long.valueOf(String.valueOf(id)));
+        }
+
+        @Override
+        public void clearMissing(Object id) {
+            missing.remove(Long.valueOf(String.valueOf(id)));
+        }
+    }
+
+    private static class CityStore implements EntityStore<CityEntity> {
+
+        private final String name;
+        private final Map<Object, CityEntity> entities = new ConcurrentHashMap<>();
+
+        private CityStore(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Class<CityEntity> entityType() {
+            return CityEntity.class;
+        }
+
+        @Override
+        public Optional<CityEntity> findById(Object id) {
+            return Optional.ofNullable(entities.get(Long.valueOf(String.valueOf(id))));
+        }
+
+        @Override
+        public CityEntity save(CityEntity entity) {
+            entities.put(entity.id(), entity);
+            return entity;
+        }
+
+        @Override
+        public void deleteById(Object id) {
+            entities.remove(Long.valueOf(String.valueOf(id)));
+        }
+    }
+
+    private static final class CityCacheStore extends CityStore implements CacheStore<CityEntity> {
+
+        private CityCacheStore(String name) {
+            super(name);
+        }
+    }
+
+    private static final class LocalEntityIdFilter implements EntityIdFilter {
+
+        private final BloomFilterSpec spec;
+        private final Map<Class<?>, Filter> filters = new ConcurrentHashMap<>();
+
+        private LocalEntityIdFilter(BloomFilterSpec spec) {
+            this.spec = Objects.requireNonNull(spec, "spec cannot be null");
+        }
+
+        @Override
+        public boolean isReady(Class<?> entityType) {
+            Filter filter = filters.get(entityType);
+            return filter != null && filter.ready;
+        }
+
+        @Override
+        public void markReady(Class<?> entityType) {
+            filter(entityType).ready = true;
+        }
+
+        @Override
+        public boolean mightContain(Class<?> entityType, Object id) {
+            Filter filter = filters.get(entityType);
+            if (filter == null) {
+                return false;
+            }
+            for (long offset : spec.offsets(id)) {
+                if ((filter.words.get((int) (offset >>> 6)) & (1L << offset)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void add(Class<?> entityType, Object id) {
+            Filter filter = filter(entityType);
+            for (long offset : spec.offsets(id)) {
+                long mask = 1L << offset;
+                filter.words.getAndUpdate((int) (offset >>> 6), word -> word | mask);
+            }
+        }
+
+        private Filter filter(Class<?> entityType) {
+            Objects.requireNonNull(entityType, "entityType cannot be null");
+            return filters.computeIfAbsent(entityType, ignored -> new Filter(new AtomicLongArray((int) ((spec.bits() + 63) >>> 6))));
+        }
+
+        private static final class Filter {
+
+            private final AtomicLongArray words;
+            private volatile boolean ready;
+
+            private Filter(AtomicLongArray words) {
+                this.words = words;
+            }
+        }
+    }
+
+    private static final class LocalQueryResultCache implements QueryResultCache {
+
+        private final Map<String, Result> results = new HashMap<>();
+        private final Map<String, Set<String>> tagged = new HashMap<>();
+
+        @Override
+        public synchronized Optional<List<String>> find(Class<?> entityType, String queryKey) {
+            String key = key(entityType, queryKey);
+            Result result = results.get(key);
+            if (result == null) {
+                return Optional.empty();
+            }
+            if (result.expiring() && System.nanoTime() - result.expiresAt() >= 0) {
+                results.remove(key);
+                return Optional.empty();
+            }
+            return Optional.of(result.ids());
+        }
+
+        @Override
+        public synchronized void put(Class<?> entityType, String queryKey, List<String> ids, Set<String> tags, Duration ttl) {
+            String key = key(entityType, queryKey);
+            boolean expiring = ttl != null && !ttl.isZero() && !ttl.isNegative();
+            results.put(key, new Result(List.copyOf(ids), expiring ? System.nanoTime() + ttl.toNanos() : 0L, expiring));
+            for (String tag : tags) {
+                tagged.computeIfAbsent(key(entityType, tag), ignored -> new HashSet<>()).add(key);
+            }
+        }
+
+        @Override
+        public synchronized long invalidate(Class<?> entityType, Collection<String> tags) {
+            long dropped = 0;
+            for (String tag : tags) {
+                Set<String> keys = tagged.remove(key(entityType, tag));
+                if (keys != null) {
+                    for (String key : keys) {
+                        if (results.remove(key) != null) {
+                            dropped++;
+                        }
+                    }
+                }
+            }
+            return dropped;
+        }
+
+        private static String key(Class<?> entityType, String value) {
+            Objects.requireNonNull(entityType, "entityType cannot be null");
+            return entityType.getName() + '\u0000' + value;
+        }
+
+        private record Result(List<String> ids, long expiresAt, boolean expiring) {
+        }
+    }
 }
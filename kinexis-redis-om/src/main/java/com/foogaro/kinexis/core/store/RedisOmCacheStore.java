@@ -2,19 +2,54 @@ package com.foogaro.kinexis.core.store;
 
 import com.foogaro.kinexis.core.Misc;
 import com.foogaro.kinexis.core.service.BeanFinder;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.redis.om.spring.annotations.Document;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
-public class RedisOmCacheStore<T> implements CacheStore<T> {
+public class RedisOmCacheStore<T> implements CacheStore<T>, ReactiveCacheStoreProvider<T> {
+
+    private static final String MISSING_KEY_PREFIX = "kinexis:missing";
+    private static final int SCAN_COUNT = 500;
+    private static final Map<Class<?>, List<String>> PROJECTION_FIELDS = new ConcurrentHashMap<>();
+    static final RedisScript<String> GET_AND_TOUCH_SCRIPT = RedisScript.of(
+            "local document = redis.call('JSON.GET', KEYS[1]) "
+                    + "if document then redis.call('PEXPIRE', KEYS[1], ARGV[1]) end "
+                    + "return document",
+            String.class);
 
     private final CrudRepositoryCacheStore<T> delegate;
     private final RedisTemplate<String, String> redisTemplate;
+    private final Gson gson;
+    private volatile Optional<ReactiveCacheStore<T>> reactiveCacheStore;
 
     public RedisOmCacheStore(String name, Class<T> entityType, CrudRepository<T, ?> repository, BeanFinder beanFinder) {
         this(name, entityType, repository, beanFinder, Set.of(name), null);
@@ -28,6 +63,7 @@ public class RedisOmCacheStore<T> implements CacheStore<T> {
                              Set<String> targets, RedisTemplate<String, String> redisTemplate) {
         this.delegate = new CrudRepositoryCacheStore<>(name, entityType, repository, beanFinder, targets);
         this.redisTemplate = redisTemplate;
+        this.gson = beanFinder == null ? null : beanFinder.findBean(GsonBuilder.class).map(GsonBuilder::create).orElse(null);
     }
 
     public static <T> Builder<T> builder(Class<T> entityType, CrudRepository<T, ?> repository, BeanFinder beanFinder) {
@@ -101,21 +137,112 @@ public class RedisOmCacheStore<T> implements CacheStore<T> {
         return delegate.targets();
     }
 
+    /**
+     * Returns a {@link RedisOmReactiveCacheStore} over the same documents, for {@code @Document} entities whose
+     * {@code RedisTemplate} uses a reactive connection factory, such as Lettuce, when the Redis OM
+     * {@code GsonBuilder} bean is available.
+     */
+    @Override
+    public Optional<ReactiveCacheStore<T>> reactiveCacheStore() {
+        Optional<ReactiveCacheStore<T>> store = reactiveCacheStore;
+        if (store == null) {
+            store = redisTemplate != null && gson != null && entityType().isAnnotationPresent(Document.class)
+                    && redisTemplate.getConnectionFactory() instanceof ReactiveRedisConnectionFactory connectionFactory
+                    ? Optional.of(new RedisOmReactiveCacheStore<>(name(), entityType(), targets(),
+                            new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext.string()), gson))
+                    : Optional.empty();
+            reactiveCacheStore = store;
+        }
+        return store;
+    }
+
     @Override
     public Optional<T> findById(Object id) {
         return delegate.findById(id);
     }
 
+    @Override
+    public List<T> findAllById(Collection<?> ids) {
+        return delegate.findAllById(ids);
+    }
+
     @Override
     public T save(T entity) {
         return delegate.save(entity);
     }
 
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        return delegate.saveAll(entities);
+    }
+
     @Override
     public T save(T entity, Duration ttl) {
-        T saved = save(entity);
-        if (redisTemplate != null && ttl != null && !ttl.isZero() && !ttl.isNegative()) {
-            Misc.getEntityKey(saved).ifPresent(key -> redisTemplate.expire(key, ttl));
+        return saveAll(List.of(entity), ttl).get(0);
+    }
+
+    /**
+     * Writes {@code @Document} entities and their TTL with one {@code MULTI}/{@code EXEC} pipeline: a
+     * {@code JSON.SET} and a {@code PEXPIRE} per entity, serialized with the Redis OM {@code GsonBuilder}.
+     * No key is ever visible without its TTL, and the batch costs a single round trip. This path needs a
+     * {@code RedisTemplate}, the Redis OM {@code GsonBuilder} bean and entities whose IDs are set. Otherwise,
+     * and for hash entities, the entities are saved through the repository and expired with a second
+     * pipeline. If that pipeline fails, the saved keys are unlinked so that none is left without a TTL.
+     */
+    @Override
+    public List<T> saveAll(Collection<T> entities, Duration ttl) {
+        if (redisTemplate == null || ttl == null || ttl.isZero() || ttl.isNegative() || entities.isEmpty()) {
+            return saveAll(entities);
+        }
+        byte[][] keys = new byte[entities.size()][];
+        int index = 0;
+        for (T entity : entities) {
+            Optional<String> key = Misc.getEntityKey(entity);
+            if (key.isEmpty()) {
+                return saveAllThenExpire(entities, ttl);
+            }
+            keys[index++] = key.get().getBytes(StandardCharsets.UTF_8);
+        }
+        if (gson == null || !entityType().isAnnotationPresent(Document.class)) {
+            return saveAllThenExpire(entities, ttl);
+        }
+        byte[] root = "$".getBytes(StandardCharsets.UTF_8);
+        long ttlMillis = ttl.toMillis();
+        List<T> saved = List.copyOf(entities);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.multi();
+            for (int i = 0; i < keys.length; i++) {
+                connection.execute("JSON.SET", keys[i], root, gson.toJson(saved.get(i)).getBytes(StandardCharsets.UTF_8));
+                connection.keyCommands().pExpire(keys[i], ttlMillis);
+            }
+            connection.exec();
+            return null;
+        });
+        return saved;
+    }
+
+    private List<T> saveAllThenExpire(Collection<T> entities, Duration ttl) {
+        List<T> saved = saveAll(entities);
+        byte[][] keys = saved.stream()
+                .map(Misc::getEntityKey)
+                .flatMap(Optional::stream)
+                .map(key -> key.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        long ttlMillis = ttl.toMillis();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (byte[] key : keys) {
+                    connection.keyCommands().pExpire(key, ttlMillis);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            try {
+                redisTemplate.execute((RedisCallback<Object>) connection -> connection.keyCommands().unlink(keys));
+            } catch (RuntimeException unlinkFailure) {
+                e.addSuppressed(unlinkFailure);
+            }
+            throw e;
         }
         return saved;
     }
@@ -124,4 +251,183 @@ public class RedisOmCacheStore<T> implements CacheStore<T> {
     public void deleteById(Object id) {
         delegate.deleteById(id);
     }
+
+    /**
+     * Unlinks the documents and the not-found markers with one pipeline, so that Redis frees them in the
+     * background. Without a {@code RedisTemplate}, entities are deleted through the repository.
+     */
+    @Override
+    public void invalidateAll(Collection<?> ids) {
+        if (redisTemplate == null) {
+            CacheStore.super.invalidateAll(ids);
+            return;
+        }
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Object id : ids) {
+                connection.keyCommands().unlink(entityKey(id).getBytes(StandardCharsets.UTF_8));
+                connection.keyCommands().unlink(missingKey(id).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Stream<Object> streamIds() {
+        return streamIds("");
+    }
+
+    /**
+     * Iterates the document keys with {@code SCAN MATCH}. Keys whose ID part holds a {@code :} are skipped,
+     * since they belong to other structures under the same prefix.
+     */
+    @Override
+    public Stream<Object> streamIds(String idPrefix) {
+        if (redisTemplate == null) {
+            throw new UnsupportedOperationException("Store " + name() + " cannot stream entity IDs without a RedisTemplate");
+        }
+        String keyPrefix = Misc.getEntityKeyPrefix(entityType()) + Misc.KEY_SEPARATOR;
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(keyPrefix + escapeGlob(idPrefix) + "*")
+                .count(SCAN_COUNT)
+                .build();
+        return redisTemplate.scan(options).stream()
+                .map(key -> key.substring(keyPrefix.length()))
+                .filter(id -> !id.isEmpty() && !id.contains(Misc.KEY_SEPARATOR))
+                .map(Object.class::cast);
+    }
+
+    @Override
+    public void markMissing(Object id, Duration ttl) {
+        if (redisTemplate != null && ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+            redisTemplate.opsForValue().set(missingKey(id), "1", ttl);
+        }
+    }
+
+    @Override
+    public boolean isMarkedMissing(Object id) {
+        return redisTemplate != null && Boolean.TRUE.equals(redisTemplate.hasKey(missingKey(id)));
+    }
+
+    @Override
+    public void clearMissing(Object id) {
+        if (redisTemplate != null) {
+            redisTemplate.delete(missingKey(id));
+        }
+    }
+
+    @Override
+    public Optional<Duration> timeToLive(Object id) {
+        if (redisTemplate == null) {
+            return Optional.empty();
+        }
+        Long ttlMillis = redisTemplate.getExpire(entityKey(id), TimeUnit.MILLISECONDS);
+        return ttlMillis != null && ttlMillis > 0 ? Optional.of(Duration.ofMillis(ttlMillis)) : Optional.empty();
+    }
+
+    @Override
+    public List<Optional<Duration>> timeToLiveAll(List<?> ids) {
+        if (redisTemplate == null || ids.isEmpty()) {
+            return CacheStore.super.timeToLiveAll(ids);
+        }
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            ids.forEach(id -> connection.keyCommands().pTtl(entityKey(id).getBytes(StandardCharsets.UTF_8)));
+            return null;
+        });
+        return values.stream()
+                .map(value -> value instanceof Long ttlMillis && ttlMillis > 0
+                        ? Optional.of(Duration.ofMillis(ttlMillis)) : Optional.<Duration>empty())
+                .toList();
+    }
+
+    /**
+     * Reads a {@code @Document} entity and restarts its TTL with one script of {@code JSON.GET} and
+     * {@code PEXPIRE}, decoded with the Redis OM {@code GsonBuilder}, so a hit costs a single round trip.
+     * Hash entities, and stores without that bean, read through the repository and then restart the TTL
+     * with a second command.
+     */
+    @Override
+    public Optional<T> findByIdAndTouch(Object id, Duration ttl) {
+        if (redisTemplate == null || ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return findById(id);
+        }
+        if (gson != null && entityType().isAnnotationPresent(Document.class)) {
+            String document = redisTemplate.execute(GET_AND_TOUCH_SCRIPT, List.of(entityKey(id)), String.valueOf(ttl.toMillis()));
+            return Optional.ofNullable(document).map(json -> gson.fromJson(json, entityType()));
+        }
+        Optional<T> entity = findById(id);
+        entity.ifPresent(ignored -> redisTemplate.expire(entityKey(id), ttl));
+        return entity;
+    }
+
+    /**
+     * Reads the projected fields of a JSON document with one {@code JSON.GET} of their paths, so only those
+     * fields are transferred and decoded. They are decoded with the Redis OM {@code GsonBuilder} that wrote
+     * the document, so dates and other adapted types read back as they were saved. Fields missing from the
+     * document are left unset. Hash entities, and stores without a {@code RedisTemplate} or the
+     * {@code GsonBuilder} bean, read the whole entity.
+     */
+    @Override
+    public <P> Optional<P> findProjectionById(Object id, Class<P> projection, Function<? super T, ? extends P> fullReadMapper) {
+        List<String> fields = projectionFields(projection);
+        if (redisTemplate == null || gson == null || fields.isEmpty() || !entityType().isAnnotationPresent(Document.class)) {
+            return CacheStore.super.findProjectionById(id, projection, fullReadMapper);
+        }
+        byte[][] args = new byte[fields.size() + 1][];
+        args[0] = entityKey(id).getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < fields.size(); i++) {
+            args[i + 1] = ("$." + fields.get(i)).getBytes(StandardCharsets.UTF_8);
+        }
+        Object reply = redisTemplate.execute((RedisCallback<Object>) connection -> connection.execute("JSON.GET", args));
+        if (!(reply instanceof byte[] json)) {
+            return Optional.empty();
+        }
+        try {
+            JsonElement matches = JsonParser.parseString(new String(json, StandardCharsets.UTF_8));
+            JsonObject values = new JsonObject();
+            for (String field : fields) {
+                JsonElement match = fields.size() == 1 ? matches : matches.getAsJsonObject().get("$." + field);
+                if (match != null && match.isJsonArray() && !match.getAsJsonArray().isEmpty()) {
+                    values.add(field, match.getAsJsonArray().get(0));
+                }
+            }
+            return Optional.ofNullable(gson.fromJson(values, projection));
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new IllegalStateException("Unable to read " + projection.getSimpleName() + " of " + entityType().getSimpleName() + " " + id, e);
+        }
+    }
+
+    private static List<String> projectionFields(Class<?> projection) {
+        return PROJECTION_FIELDS.computeIfAbsent(projection, type -> {
+            List<String> fields = new ArrayList<>();
+            if (type.isRecord()) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    fields.add(component.getName());
+                }
+                return List.copyOf(fields);
+            }
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        fields.add(field.getName());
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        });
+    }
+
+    private static String escapeGlob(String value) {
+        return value == null ? "" : value.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+
+    private String entityKey(Object id) {
+        return Misc.getEntityKeyPrefix(entityType()) + Misc.KEY_SEPARATOR + id;
+    }
+
+    private String missingKey(Object id) {
+        return MISSING_KEY_PREFIX + Misc.KEY_SEPARATOR + entityType().getName() + Misc.KEY_SEPARATOR + id;
+    }
 }
@@ -0,0 +1,164 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.Misc;
+import com.google.gson.Gson;
+import com.redis.om.spring.annotations.Document;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Non-blocking {@link ReactiveCacheStore} of Redis OM {@code @Document} entities, over the Lettuce reactive
+ * driver. Documents are read and written with {@code JSON.GET} and {@code JSON.SET}, serialized with the
+ * Redis OM {@code Gson}, so they stay readable by the Redis OM repository and by {@link RedisOmCacheStore}.
+ * <p>
+ * A write and its {@code PEXPIRE}, or a read and the {@code PEXPIRE} of a sliding TTL, run in one script, so
+ * each entity costs a single round trip and is never left without its TTL. Batches send one script per entity
+ * without waiting, which the shared connection pipelines, so they also work on a cluster. Not-found markers use
+ * the keys of {@link RedisOmCacheStore}. Entities must have their ID set, since Redis OM generates IDs only
+ * when saving through its repository.
+ *
+ * @param <T> the cached entity type
+ */
+public class RedisOmReactiveCacheStore<T> implements ReactiveCacheStore<T> {
+
+    private static final String MISSING_KEY_PREFIX = "kinexis:missing";
+    private static final RedisScript<String> GET_SCRIPT = RedisScript.of(
+            "return redis.call('JSON.GET', KEYS[1])", String.class);
+    private static final RedisScript<Long> SET_SCRIPT = RedisScript.of(
+            "redis.call('JSON.SET', KEYS[1], '$', ARGV[1]) "
+                    + "if tonumber(ARGV[2]) > 0 then redis.call('PEXPIRE', KEYS[1], ARGV[2]) end "
+                    + "return 1",
+            Long.class);
+
+    private final String name;
+    private final Class<T> entityType;
+    private final Set<String> targets;
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final Gson gson;
+
+    public RedisOmReactiveCacheStore(String name, Class<T> entityType, Set<String> targets,
+                                     ReactiveRedisTemplate<String, String> redisTemplate, Gson gson) {
+        this.name = CrudRepositoryEntityStore.requireText(name, "name");
+        this.entityType = Objects.requireNonNull(entityType, "entityType cannot be null");
+        if (!entityType.isAnnotationPresent(Document.class)) {
+            throw new IllegalArgumentException(entityType.getSimpleName() + " is not a Redis OM @Document entity");
+        }
+        this.targets = CrudRepositoryEntityStore.normalizeTargets(targets, this.name);
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+        this.gson = Objects.requireNonNull(gson, "gson cannot be null");
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Class<T> entityType() {
+        return entityType;
+    }
+
+    @Override
+    public Set<String> targets() {
+        return targets;
+    }
+
+    @Override
+    public Mono<T> findById(Object id) {
+        return redisTemplate.execute(GET_SCRIPT, List.of(entityKey(id)), List.of())
+                .next()
+                .map(this::fromJson);
+    }
+
+    @Override
+    public Flux<T> findAllById(Collection<?> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(ids)
+                .filter(Objects::nonNull)
+                .flatMapSequential(this::findById);
+    }
+
+    @Override
+    public Mono<T> save(T entity) {
+        return save(entity, Duration.ZERO);
+    }
+
+    @Override
+    public Mono<T> save(T entity, Duration ttl) {
+        return Mono.defer(() -> {
+            String key = Misc.getEntityKey(entity).orElseThrow(() -> new IllegalArgumentException(
+                    "Cannot cache " + entityType.getSimpleName() + " without an ID"));
+            long ttlMillis = ttl == null || ttl.isNegative() ? 0 : ttl.toMillis();
+            return redisTemplate.execute(SET_SCRIPT, List.of(key), List.of(gson.toJson(entity), String.valueOf(ttlMillis)))
+                    .then(Mono.just(entity));
+        });
+    }
+
+    @Override
+    public Flux<T> saveAll(Collection<T> entities) {
+        return saveAll(entities, Duration.ZERO);
+    }
+
+    @Override
+    public Flux<T> saveAll(Collection<T> entities, Duration ttl) {
+        if (entities == null || entities.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(entities).flatMapSequential(entity -> save(entity, ttl));
+    }
+
+    @Override
+    public Mono<Void> deleteById(Object id) {
+        return redisTemplate.unlink(entityKey(id)).then();
+    }
+
+    @Override
+    public Mono<T> findByIdAndTouch(Object id, Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return findById(id);
+        }
+        return redisTemplate.execute(RedisOmCacheStore.GET_AND_TOUCH_SCRIPT, List.of(entityKey(id)), List.of(String.valueOf(ttl.toMillis())))
+                .next()
+                .map(this::fromJson);
+    }
+
+    @Override
+    public Mono<Void> markMissing(Object id, Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().set(missingKey(id), "1", ttl).then();
+    }
+
+    @Override
+    public Mono<Boolean> isMarkedMissing(Object id) {
+        return redisTemplate.hasKey(missingKey(id));
+    }
+
+    @Override
+    public Mono<Void> clearMissing(Object id) {
+        return redisTemplate.unlink(missingKey(id)).then();
+    }
+
+    private T fromJson(String json) {
+        return gson.fromJson(json, entityType);
+    }
+
+    private String entityKey(Object id) {
+        return Misc.getEntityKeyPrefix(entityType) + Misc.KEY_SEPARATOR + id;
+    }
+
+    private String missingKey(Object id) {
+        return MISSING_KEY_PREFIX + Misc.KEY_SEPARATOR + entityType.getName() + Misc.KEY_SEPARATOR + id;
+    }
+}
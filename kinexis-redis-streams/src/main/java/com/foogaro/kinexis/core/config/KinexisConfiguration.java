@@ -11,6 +11,19 @@ import com.foogaro.kinexis.core.service.KinexisDiagnosticsService;
 import com.foogaro.kinexis.core.service.KinexisEntityRegistry;
 import com.foogaro.kinexis.core.service.KinexisEventSchemaRegistry;
 import com.foogaro.kinexis.core.service.KinexisEventUpcaster;
+import com.foogaro.kinexis.core.service.KinexisAdaptiveTtl;
+import com.foogaro.kinexis.core.service.KinexisBatchLoader;
+import com.foogaro.kinexis.core.service.KinexisBulkInvalidator;
+import com.foogaro.kinexis.core.service.KinexisCacheAdmission;
+import com.foogaro.kinexis.core.service.KinexisCacheWarmer;
+import com.foogaro.kinexis.core.service.KinexisQueryCache;
+import com.foogaro.kinexis.core.service.KinexisReplicaRouter;
+import com.foogaro.kinexis.core.service.KinexisExpiration;
+import com.foogaro.kinexis.core.service.KinexisHedgedReads;
+import com.foogaro.kinexis.core.service.KinexisHotKeys;
+import com.foogaro.kinexis.core.service.KinexisIdFilterLoader;
+import com.foogaro.kinexis.core.service.KinexisLeasedLoader;
+import com.foogaro.kinexis.core.service.KinexisLoadCoalescer;
 import com.foogaro.kinexis.core.service.KinexisService;
 import com.foogaro.kinexis.core.service.KinexisStoreControl;
 import com.foogaro.kinexis.core.service.KinexisStoreValidator;
@@ -18,14 +31,34 @@ import com.foogaro.kinexis.core.processor.KinexisProcessingCoordinator;
 import com.foogaro.kinexis.core.processor.KinexisProcessingMetrics;
 import com.foogaro.kinexis.core.processor.KinexisStoreExecutor;
 import com.foogaro.kinexis.core.processor.Processor;
+import com.foogaro.kinexis.core.store.AdaptingReactiveEntityStoreRegistry;
 import com.foogaro.kinexis.core.store.BeanFinderEntityStoreRegistry;
+import com.foogaro.kinexis.core.store.BloomFilterSpec;
+import com.foogaro.kinexis.core.store.CacheInvalidationBus;
 import com.foogaro.kinexis.core.store.DefaultEntityStoreRegistry;
 import com.foogaro.kinexis.core.store.EmptyEntityStoreRegistry;
+import com.foogaro.kinexis.core.store.EntityIdFilter;
 import com.foogaro.kinexis.core.store.EntityStore;
 import com.foogaro.kinexis.core.store.EntityStoreRegistry;
+import com.foogaro.kinexis.core.store.HotKeyList;
+import com.foogaro.kinexis.core.store.LoadLeaseManager;
+import com.foogaro.kinexis.core.store.QueryResultCache;
+import com.foogaro.kinexis.core.store.ReactiveEntityStore;
+import com.foogaro.kinexis.core.store.ReactiveEntityStoreRegistry;
+import com.foogaro.kinexis.core.store.RedisCacheInvalidationBus;
+import com.foogaro.kinexis.core.store.RedisEntityIdFilter;
+import com.foogaro.kinexis.core.store.RedisHashEntityStoreRegistry;
+import com.foogaro.kinexis.core.store.RedisHotKeyList;
+import com.foogaro.kinexis.core.store.RedisLoadLeaseManager;
+import com.foogaro.kinexis.core.store.RedisQueryResultCache;
 import com.foogaro.kinexis.core.store.StoreHealthCheck;
+import com.foogaro.kinexis.core.store.TieredCacheStoreDecorator;
+import com.foogaro.kinexis.core.store.WarmUpIdSource;
 import com.foogaro.kinexis.core.stream.EventPublisher;
+import com.foogaro.kinexis.core.stream.GroupCommitEventPublisher;
 import com.foogaro.kinexis.core.stream.KinexisStreamLifecycle;
+import com.foogaro.kinexis.core.stream.ReactiveEventPublisher;
+import com.foogaro.kinexis.core.stream.ReactiveRedisStreamEventPublisher;
 import com.foogaro.kinexis.core.stream.RedisStreamEventPublisher;
 import com.foogaro.kinexis.core.stream.StreamPartitioner;
 import com.foogaro.kinexis.core.telemetry.CompositeKinexisTelemetry;
@@ -53,15 +86,20 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -201,13 +239,36 @@ public class KinexisConfiguration {
     @SuppressWarnings("deprecation")
     public EntityStoreRegistry entityStoreRegistry(BeanFinder beanFinder, ObjectProvider<EntityStore<?>> entityStores,
                                                    @Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
-                                                   KinexisProperties properties) {
-        EntityStoreRegistry fallbackRegistry = properties.getStores().getRepositoryDiscovery().isEnabled()
-                ? new BeanFinderEntityStoreRegistry(beanFinder, redisTemplate)
-                : new EmptyEntityStoreRegistry();
+                                                   KinexisProperties properties,
+                                                   AnnotationFinder annotationFinder,
+                                                   CacheInvalidationBus cacheInvalidationBus,
+                                                   KinexisTelemetry telemetry,
+                                                   ObjectMapper objectMapper) {
+        EntityStoreRegistry fallbackRegistry = new RedisHashEntityStoreRegistry(
+                properties.getStores().getRepositoryDiscovery().isEnabled()
+                        ? new BeanFinderEntityStoreRegistry(beanFinder, redisTemplate)
+                        : new EmptyEntityStoreRegistry(),
+                annotationFinder, redisTemplate, objectMapper);
+        if (properties.getCache().getNearCache().isEnabled()) {
+            return new DefaultEntityStoreRegistry(entityStores.orderedStream().toList(), fallbackRegistry,
+                    new TieredCacheStoreDecorator(properties.getCache().getNearCache(), annotationFinder, cacheInvalidationBus, telemetry));
+        }
         return new DefaultEntityStoreRegistry(entityStores.orderedStream().toList(), fallbackRegistry);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public CacheInvalidationBus cacheInvalidationBus(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                                     KinexisProperties properties,
+                                                     KinexisTelemetry telemetry) {
+        if (!properties.getCache().getNearCache().isEnabled()) {
+            return CacheInvalidationBus.noop();
+        }
+        return new RedisCacheInvalidationBus(redisTemplate, redisMessageListenerContainer,
+                properties.getCache().getNearCache().getInvalidationChannel(), telemetry);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public StreamPartitioner streamPartitioner(KinexisProperties properties) {
@@ -219,8 +280,162 @@ public class KinexisConfiguration {
     public EventPublisher eventPublisher(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
                                          StreamPartitioner streamPartitioner,
                                          KinexisTelemetry telemetry,
-                                         KinexisEventSchemaRegistry eventSchemaRegistry) {
-        return new RedisStreamEventPublisher(redisTemplate, streamPartitioner, telemetry, eventSchemaRegistry);
+                                         KinexisEventSchemaRegistry eventSchemaRegistry,
+                                         KinexisProperties properties) {
+        RedisStreamEventPublisher publisher = new RedisStreamEventPublisher(redisTemplate, streamPartitioner, telemetry, eventSchemaRegistry);
+        KinexisProperties.GroupCommit groupCommit = properties.getStream().getGroupCommit();
+        return groupCommit.isEnabled() ? new GroupCommitEventPublisher(publisher, groupCommit, telemetry) : publisher;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveEventPublisher reactiveEventPublisher(LettuceConnectionFactory connectionFactory,
+                                                         StreamPartitioner streamPartitioner,
+                                                         KinexisTelemetry telemetry,
+                                                         KinexisEventSchemaRegistry eventSchemaRegistry) {
+        return new ReactiveRedisStreamEventPublisher(new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext.string()),
+                streamPartitioner, telemetry, eventSchemaRegistry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactiveEntityStoreRegistry reactiveEntityStoreRegistry(EntityStoreRegistry entityStoreRegistry,
+                                                                   ObjectProvider<ReactiveEntityStore<?>> reactiveStores) {
+        return new AdaptingReactiveEntityStoreRegistry(entityStoreRegistry, reactiveStores.orderedStream().toList(),
+                Schedulers.boundedElastic());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisExpiration kinexisExpiration(KinexisProperties properties, KinexisTelemetry telemetry) {
+        return new KinexisExpiration(properties.getCache().getExpiration(), telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisAdaptiveTtl kinexisAdaptiveTtl(KinexisProperties properties) {
+        return new KinexisAdaptiveTtl(properties.getCache().getAdaptiveTtl());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisBatchLoader kinexisBatchLoader(KinexisProperties properties, KinexisTelemetry telemetry) {
+        return new KinexisBatchLoader(properties.getCache().getBatching(), telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisCacheAdmission kinexisCacheAdmission(KinexisProperties properties, KinexisTelemetry telemetry) {
+        return new KinexisCacheAdmission(properties.getCache().getAdmission(), telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisReplicaRouter kinexisReplicaRouter(KinexisProperties properties, KinexisTelemetry telemetry) {
+        return new KinexisReplicaRouter(properties.getStores().getReplicas(), telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisHedgedReads kinexisHedgedReads(KinexisProperties properties, KinexisTelemetry telemetry) {
+        return new KinexisHedgedReads(properties.getCache().getHedging(), telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisBulkInvalidator kinexisBulkInvalidator(KinexisProperties properties, KinexisTelemetry telemetry) {
+        return new KinexisBulkInvalidator(properties.getCache().getBulkInvalidation(), telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HotKeyList hotKeyList(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate) {
+        return new RedisHotKeyList(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisHotKeys kinexisHotKeys(KinexisProperties properties,
+                                         HotKeyList hotKeyList,
+                                         @Qualifier("kinexisAsyncExecutor") Executor asyncExecutor) {
+        return new KinexisHotKeys(properties.getCache().getHotKeys(), hotKeyList, asyncExecutor);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisCacheWarmer kinexisCacheWarmer(KinexisProperties properties,
+                                                 EntityStoreRegistry entityStoreRegistry,
+                                                 AnnotationFinder annotationFinder,
+                                                 ObjectProvider<WarmUpIdSource> warmUpIdSource,
+                                                 HotKeyList hotKeyList,
+                                                 KinexisTelemetry telemetry,
+                                                 ObjectProvider<KinexisService<?>> services) {
+        return new KinexisCacheWarmer(properties.getCache().getWarmUp(), entityStoreRegistry, annotationFinder,
+                warmUpIdSource.getIfAvailable(), hotKeyList, telemetry, services.orderedStream().toList());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public QueryResultCache queryResultCache(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                                             KinexisProperties properties) {
+        if (!properties.getCache().getQuery().isEnabled()) {
+            return QueryResultCache.noop();
+        }
+        return new RedisQueryResultCache(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisQueryCache kinexisQueryCache(KinexisProperties properties, QueryResultCache queryResultCache,
+                                               KinexisTelemetry telemetry) {
+        return new KinexisQueryCache(properties.getCache().getQuery(), queryResultCache, telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisLoadCoalescer kinexisLoadCoalescer(KinexisProperties properties, KinexisTelemetry telemetry) {
+        return new KinexisLoadCoalescer(properties.getCache().getCoalescing(), telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LoadLeaseManager loadLeaseManager(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                                             KinexisProperties properties) {
+        if (!properties.getCache().getLease().isEnabled()) {
+            return LoadLeaseManager.noop();
+        }
+        return new RedisLoadLeaseManager(redisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisLeasedLoader kinexisLeasedLoader(KinexisProperties properties, LoadLeaseManager loadLeaseManager,
+                                                   KinexisTelemetry telemetry) {
+        return new KinexisLeasedLoader(properties.getCache().getLease(), loadLeaseManager, telemetry);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EntityIdFilter entityIdFilter(@Qualifier("redisTemplate") RedisTemplate<String, String> redisTemplate,
+                                         KinexisProperties properties) {
+        KinexisProperties.IdFilter idFilter = properties.getCache().getIdFilter();
+        if (!idFilter.isEnabled()) {
+            return EntityIdFilter.noop();
+        }
+        return new RedisEntityIdFilter(redisTemplate,
+                BloomFilterSpec.of(idFilter.getExpectedInsertions(), idFilter.getFalsePositiveProbability()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public KinexisIdFilterLoader kinexisIdFilterLoader(KinexisProperties properties,
+                                                       EntityIdFilter entityIdFilter,
+                                                       EntityStoreRegistry entityStoreRegistry,
+                                                       AnnotationFinder annotationFinder,
+                                                       KinexisTelemetry telemetry,
+                                                       ObjectProvider<KinexisService<?>> services) {
+        return new KinexisIdFilterLoader(properties.getCache().getIdFilter(), entityIdFilter, entityStoreRegistry,
+                annotationFinder, telemetry, services.orderedStream().<Class<?>>map(KinexisService::getEntityClass).toList());
     }
 
     @Bean
@@ -303,6 +518,12 @@ public class KinexisConfiguration {
         });
     }
 
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = "kinexisAsyncExecutor")
+    public ExecutorService kinexisAsyncExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("kinexis-async-", 1).factory());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public KinexisDiagnosticsService kinexisDiagnosticsService(ObjectProvider<EntityStore<?>> entityStores,
@@ -311,7 +532,9 @@ public class KinexisConfiguration {
                                                                ObjectProvider<KinexisEntityRegistry> entityRegistries,
                                                                EntityStoreRegistry entityStoreRegistry,
                                                                AnnotationFinder annotationFinder,
-                                                               KinexisStoreControl storeControl) {
+                                                               KinexisStoreControl storeControl,
+                                                               KinexisAdaptiveTtl adaptiveTtl,
+                                                               KinexisHotKeys hotKeys) {
         return new KinexisDiagnosticsService(
                 entityStores.orderedStream().toList(),
                 processors.orderedStream().toList(),
@@ -319,7 +542,9 @@ public class KinexisConfiguration {
                 entityRegistries.orderedStream().toList(),
                 entityStoreRegistry,
                 annotationFinder,
-                storeControl);
+                storeControl,
+                adaptiveTtl,
+                hotKeys);
     }
 
     @Bean
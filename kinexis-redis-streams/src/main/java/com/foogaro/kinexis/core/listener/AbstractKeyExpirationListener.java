@@ -57,7 +57,8 @@ public abstract class AbstractKeyExpirationListener<T> implements MessageListene
     /**
      * Handles Redis key expiration events.
      * When a key expires, this method checks if the key matches the configured prefix.
-     * If it matches, the corresponding entity is reloaded using the service.
+     * If it matches, the corresponding entity is reloaded using {@link KinexisService#refreshAhead(Object)},
+     * so that only one instance of the cluster reloads it when the load lease is enabled.
      * If it doesn't match, the event is ignored.
      *
      * @param message the Redis message containing the expired key information
@@ -71,7 +72,7 @@ public abstract class AbstractKeyExpirationListener<T> implements MessageListene
         if (key.startsWith(getKeyPrefix())) {
             logger.debug("Processing expired key: {}", key);
             String id = key.substring(getKeyPrefix().length());
-            Optional<T> reloadedEntity = getService().findById(id);
+            Optional<T> reloadedEntity = getService().refreshAhead(id);
             logger.debug("Expired entity({}) reloaded: {}", key, reloadedEntity);
         } else {
             logger.debug("Ignoring expired key (prefix {} do not match with the key): {}", getKeyPrefix(), key);
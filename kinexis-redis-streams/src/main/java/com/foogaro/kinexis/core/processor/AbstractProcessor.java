@@ -11,10 +11,17 @@ import com.foogaro.kinexis.core.exception.ProcessMessageException;
 import com.foogaro.kinexis.core.model.KinexisEventEnvelope;
 import com.foogaro.kinexis.core.model.KinexisEvent;
 import com.foogaro.kinexis.core.model.KinexisStoreHealthState;
+import com.foogaro.kinexis.core.service.AnnotationFinder;
+import com.foogaro.kinexis.core.service.KinexisAdaptiveTtl;
 import com.foogaro.kinexis.core.service.KinexisEventSchemaRegistry;
+import com.foogaro.kinexis.core.service.KinexisHotKeys;
+import com.foogaro.kinexis.core.service.KinexisQueryCache;
 import com.foogaro.kinexis.core.service.KinexisStoreControl;
+import com.foogaro.kinexis.core.store.CacheInvalidationBus;
+import com.foogaro.kinexis.core.store.EntityIdFilter;
 import com.foogaro.kinexis.core.store.EntityStore;
 import com.foogaro.kinexis.core.store.EntityStoreRegistry;
+import com.foogaro.kinexis.core.store.QueryResultCache;
 import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
 import com.foogaro.kinexis.core.telemetry.SimpleKinexisTelemetry;
 import org.slf4j.Logger;
@@ -77,6 +84,24 @@ public abstract class AbstractProcessor<T> implements Processor<T> {
     @Autowired(required = false)
     private KinexisTelemetry telemetry;
 
+    @Autowired(required = false)
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired(required = false)
+    private AnnotationFinder annotationFinder;
+
+    @Autowired(required = false)
+    private EntityIdFilter idFilter;
+
+    @Autowired(required = false)
+    private KinexisAdaptiveTtl adaptiveTtl;
+
+    @Autowired(required = false)
+    private KinexisQueryCache queryCache;
+
+    @Autowired(required = false)
+    private KinexisHotKeys hotKeys;
+
     /**
      * Returns the Redis template used for Redis operations.
      *
@@ -180,6 +205,7 @@ public abstract class AbstractProcessor<T> implements Processor<T> {
                 logger.trace("Saved message {} in store {}", record.getId(), store.name());
             }, "save");
         }
+        onEntityChanged(context);
         telemetry().increment(KinexisTelemetry.STREAM_EVENTS_PROCESSED, Map.of(
                 "entity", getEntityClass().getSimpleName(),
                 "operation", context.operation(),
@@ -187,6 +213,25 @@ public abstract class AbstractProcessor<T> implements Processor<T> {
         logger.info("Processed message: {}", record.getId());
     }
 
+    private void onEntityChanged(ProcessingContext<T> context) {
+        if (context.entityId() == null) {
+            return;
+        }
+        cacheInvalidationBus().publish(getEntityClass(), context.entityId());
+        adaptiveTtl().recordWrite(getEntityClass(), context.entityId());
+        hotKeys().recordWrite(getEntityClass(), context.entityId());
+        if (Misc.Operation.DELETE.getValue().equals(context.operation())) {
+            queryCache().onDeleted(getEntityClass(), context.entityId());
+            return;
+        }
+        queryCache().onSaved(getEntityClass(), context.entity());
+        idFilter().add(getEntityClass(), context.entityId());
+        if (annotationFinder().negativeTtl(getEntityClass()) > 0) {
+            entityStoreRegistry.findCacheStore(getEntityClass())
+                    .ifPresent(store -> store.clearMissing(context.entityId()));
+        }
+    }
+
     private ProcessingContext<T> processingContext(MapRecord<String, String, String> record) throws JsonProcessingException {
         KinexisEventEnvelope envelope = eventSchemaRegistry().upcast(KinexisEventEnvelope.from(
                 record.getValue(),
@@ -370,6 +415,48 @@ public abstract class AbstractProcessor<T> implements Processor<T> {
         return eventSchemaRegistry;
     }
 
+    private CacheInvalidationBus cacheInvalidationBus() {
+        if (cacheInvalidationBus == null) {
+            cacheInvalidationBus = CacheInvalidationBus.noop();
+        }
+        return cacheInvalidationBus;
+    }
+
+    private EntityIdFilter idFilter() {
+        if (idFilter == null) {
+            idFilter = EntityIdFilter.noop();
+        }
+        return idFilter;
+    }
+
+    private KinexisAdaptiveTtl adaptiveTtl() {
+        if (adaptiveTtl == null) {
+            adaptiveTtl = new KinexisAdaptiveTtl(new KinexisProperties().getCache().getAdaptiveTtl());
+        }
+        return adaptiveTtl;
+    }
+
+    private KinexisHotKeys hotKeys() {
+        if (hotKeys == null) {
+            hotKeys = new KinexisHotKeys(new KinexisProperties().getCache().getHotKeys());
+        }
+        return hotKeys;
+    }
+
+    private KinexisQueryCache queryCache() {
+        if (queryCache == null) {
+            queryCache = new KinexisQueryCache(new KinexisProperties().getCache().getQuery(), QueryResultCache.noop(), telemetry());
+        }
+        return queryCache;
+    }
+
+    private AnnotationFinder annotationFinder() {
+        if (annotationFinder == null) {
+            annotationFinder = new AnnotationFinder();
+        }
+        return annotationFinder;
+    }
+
     private KinexisTelemetry telemetry() {
         if (telemetry == null) {
             telemetry = new SimpleKinexisTelemetry();
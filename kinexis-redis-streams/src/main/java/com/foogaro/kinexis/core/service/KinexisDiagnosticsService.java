@@ -1,12 +1,14 @@
 package com.foogaro.kinexis.core.service;
 
 import com.foogaro.kinexis.core.model.CachingPattern;
+import com.foogaro.kinexis.core.model.KinexisHotKey;
 import com.foogaro.kinexis.core.model.KinexisStoreHealthStatus;
 import com.foogaro.kinexis.core.processor.Processor;
 import com.foogaro.kinexis.core.store.CacheStore;
 import com.foogaro.kinexis.core.store.EntityStore;
 import com.foogaro.kinexis.core.store.EntityStoreRegistry;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
@@ -23,6 +25,8 @@ public class KinexisDiagnosticsService {
     private final EntityStoreRegistry entityStoreRegistry;
     private final AnnotationFinder annotationFinder;
     private final KinexisStoreControl storeControl;
+    private final KinexisAdaptiveTtl adaptiveTtl;
+    private final KinexisHotKeys hotKeys;
 
     public KinexisDiagnosticsService(Collection<EntityStore<?>> explicitStores,
                                      Collection<Processor<?>> processors,
@@ -40,6 +44,30 @@ public class KinexisDiagnosticsService {
                                      EntityStoreRegistry entityStoreRegistry,
                                      AnnotationFinder annotationFinder,
                                      KinexisStoreControl storeControl) {
+        this(explicitStores, processors, services, entityRegistries, entityStoreRegistry, annotationFinder, storeControl, null);
+    }
+
+    public KinexisDiagnosticsService(Collection<EntityStore<?>> explicitStores,
+                                     Collection<Processor<?>> processors,
+                                     Collection<KinexisService<?>> services,
+                                     Collection<KinexisEntityRegistry> entityRegistries,
+                                     EntityStoreRegistry entityStoreRegistry,
+                                     AnnotationFinder annotationFinder,
+                                     KinexisStoreControl storeControl,
+                                     KinexisAdaptiveTtl adaptiveTtl) {
+        this(explicitStores, processors, services, entityRegistries, entityStoreRegistry, annotationFinder, storeControl,
+                adaptiveTtl, null);
+    }
+
+    public KinexisDiagnosticsService(Collection<EntityStore<?>> explicitStores,
+                                     Collection<Processor<?>> processors,
+                                     Collection<KinexisService<?>> services,
+                                     Collection<KinexisEntityRegistry> entityRegistries,
+                                     EntityStoreRegistry entityStoreRegistry,
+                                     AnnotationFinder annotationFinder,
+                                     KinexisStoreControl storeControl,
+                                     KinexisAdaptiveTtl adaptiveTtl,
+                                     KinexisHotKeys hotKeys) {
         this.explicitStores = List.copyOf(explicitStores);
         this.processors = List.copyOf(processors);
         this.services = List.copyOf(services);
@@ -47,6 +75,8 @@ public class KinexisDiagnosticsService {
         this.entityStoreRegistry = entityStoreRegistry;
         this.annotationFinder = annotationFinder;
         this.storeControl = storeControl;
+        this.adaptiveTtl = adaptiveTtl;
+        this.hotKeys = hotKeys;
     }
 
     public List<EntityDiagnostics> stores() {
@@ -71,7 +101,37 @@ public class KinexisDiagnosticsService {
                 cacheStore.map(this::store),
                 primaryStore.map(this::store),
                 targetStores.stream().map(this::store).toList(),
-                stores);
+                stores,
+                effectiveTtl(entityType),
+                hotKeys(entityType));
+    }
+
+    /**
+     * Returns the most read and most written IDs of an entity type with their estimated rates, as tracked by
+     * {@link KinexisHotKeys} when {@code kinexis.cache.hot-keys.enabled} is set.
+     *
+     * @param entityType the entity type
+     * @return the hot keys, empty when tracking is disabled
+     */
+    public HotKeyDiagnostics hotKeys(Class<?> entityType) {
+        if (hotKeys == null || !hotKeys.isEnabled()) {
+            return new HotKeyDiagnostics(List.of(), List.of());
+        }
+        return new HotKeyDiagnostics(hotKeys.reads(entityType), hotKeys.writes(entityType));
+    }
+
+    /**
+     * @return the TTL in seconds currently written to the cache, which is the {@code ttl} unless adaptive TTL
+     * is enabled
+     */
+    private long effectiveTtl(Class<?> entityType) {
+        long ttl = annotationFinder.ttl(entityType);
+        if (adaptiveTtl == null || ttl <= 0) {
+            return ttl;
+        }
+        return adaptiveTtl.effectiveTtl(entityType, Duration.ofSeconds(ttl))
+                .map(Duration::toSeconds)
+                .orElse(ttl);
     }
 
     private Stream<Class<?>> entityTypes() {
@@ -118,7 +178,41 @@ public class KinexisDiagnosticsService {
                                     Optional<StoreDiagnostics> cacheStore,
                                     Optional<StoreDiagnostics> primaryStore,
                                     List<StoreDiagnostics> targetStores,
-                                    List<StoreDiagnostics> stores) {
+                                    List<StoreDiagnostics> stores,
+                                    long effectiveTtl,
+                                    HotKeyDiagnostics hotKeys) {
+
+        public EntityDiagnostics(Class<?> entityType,
+                                 String entityName,
+                                 boolean annotated,
+                                 boolean enabled,
+                                 Set<CachingPattern> patterns,
+                                 long ttl,
+                                 Optional<StoreDiagnostics> cacheStore,
+                                 Optional<StoreDiagnostics> primaryStore,
+                                 List<StoreDiagnostics> targetStores,
+                                 List<StoreDiagnostics> stores) {
+            this(entityType, entityName, annotated, enabled, patterns, ttl, cacheStore, primaryStore, targetStores, stores, ttl);
+        }
+
+        public EntityDiagnostics(Class<?> entityType,
+                                 String entityName,
+                                 boolean annotated,
+                                 boolean enabled,
+                                 Set<CachingPattern> patterns,
+                                 long ttl,
+                                 Optional<StoreDiagnostics> cacheStore,
+                                 Optional<StoreDiagnostics> primaryStore,
+                                 List<StoreDiagnostics> targetStores,
+                                 List<StoreDiagnostics> stores,
+                                 long effectiveTtl) {
+            this(entityType, entityName, annotated, enabled, patterns, ttl, cacheStore, primaryStore, targetStores, stores,
+                    effectiveTtl, new HotKeyDiagnostics(List.of(), List.of()));
+        }
+    }
+
+    public record HotKeyDiagnostics(List<KinexisHotKey> reads,
+                                    List<KinexisHotKey> writes) {
     }
 
     public record StoreDiagnostics(String name,
@@ -6,6 +6,7 @@ import com.foogaro.kinexis.core.model.KinexisStoreHealthState;
 import com.foogaro.kinexis.core.model.KinexisStoreHealthStatus;
 import com.foogaro.kinexis.core.model.StoreHealthCheckResult;
 import com.foogaro.kinexis.core.store.EntityStore;
+import com.foogaro.kinexis.core.store.StoreAvailability;
 import com.foogaro.kinexis.core.store.StoreHealthCheck;
 import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
 import com.foogaro.kinexis.core.telemetry.SimpleKinexisTelemetry;
@@ -23,7 +24,7 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
-public class KinexisStoreControl {
+public class KinexisStoreControl implements StoreAvailability {
 
     private final KinexisProperties properties;
     private final KinexisTelemetry telemetry;
@@ -117,6 +118,20 @@ public class KinexisStoreControl {
         }
     }
 
+    /**
+     * Tells whether the store accepts calls, without running its health check.
+     *
+     * @return {@code false} when the store is paused or its circuit is open
+     */
+    @Override
+    public boolean isAvailable(Class<?> entityType, String storeName) {
+        if (!properties.getStoreHealth().isEnabled()) {
+            return true;
+        }
+        KinexisStoreHealthState state = status(entityType, storeName).state();
+        return state != KinexisStoreHealthState.PAUSED && state != KinexisStoreHealthState.OPEN_CIRCUIT;
+    }
+
     public KinexisStoreHealthStatus checkStatus(Class<?> entityType, String storeName) {
         check(entityType, storeName);
         return status(entityType, storeName);
@@ -223,6 +238,7 @@ public class KinexisStoreControl {
         }
     }
 
+    @Override
     public void recordSuccess(Class<?> entityType, String storeName) {
         if (!properties.getStoreHealth().isEnabled()) {
             return;
@@ -249,6 +265,7 @@ public class KinexisStoreControl {
         }
     }
 
+    @Override
     public void recordFailure(Class<?> entityType, String storeName, Throwable cause) {
         if (!properties.getStoreHealth().isEnabled()) {
             return;
@@ -64,6 +64,21 @@ public class KinexisStoreValidator implements SmartInitializingSingleton {
         if (properties.getStream().getPartitions() < 1) {
             errors.add("kinexis.stream.partitions must be greater than or equal to 1");
         }
+        KinexisProperties.GroupCommit groupCommit = properties.getStream().getGroupCommit();
+        if (groupCommit.isEnabled()) {
+            if (groupCommit.getBatchSize() < 1) {
+                errors.add("kinexis.stream.group-commit.batch-size must be greater than or equal to 1");
+            }
+            if (groupCommit.getQueueDepth() < groupCommit.getBatchSize()) {
+                errors.add("kinexis.stream.group-commit.queue-depth must be greater than or equal to kinexis.stream.group-commit.batch-size");
+            }
+            if (groupCommit.getLinger() == null || groupCommit.getLinger().isNegative()) {
+                errors.add("kinexis.stream.group-commit.linger must be greater than or equal to 0");
+            }
+            if (groupCommit.getTimeout() == null || groupCommit.getTimeout().isNegative() || groupCommit.getTimeout().isZero()) {
+                errors.add("kinexis.stream.group-commit.timeout must be greater than 0");
+            }
+        }
         if (properties.getStores().getRepositoryDiscovery().isEnabled()) {
             warnings.add("kinexis.stores.repository-discovery.enabled is true; repository-name discovery is deprecated and should be used only as a migration bridge");
         }
@@ -0,0 +1,96 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * {@link CacheInvalidationBus} that forwards invalidations to the other instances through Redis pub/sub.
+ * Messages published by this instance are ignored when they come back from Redis, because local
+ * subscribers were already notified synchronously. A message holds the instance, the entity type and
+ * one ID per line, so a batch of IDs costs a single {@code PUBLISH}.
+ */
+public class RedisCacheInvalidationBus extends LocalCacheInvalidationBus {
+
+    private static final String SEPARATOR = "\n";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final String channel;
+    private final KinexisTelemetry telemetry;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public RedisCacheInvalidationBus(RedisTemplate<String, String> redisTemplate,
+                                     RedisMessageListenerContainer listenerContainer,
+                                     String channel,
+                                     KinexisTelemetry telemetry) {
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+        this.channel = Objects.requireNonNull(channel, "channel cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+        Objects.requireNonNull(listenerContainer, "listenerContainer cannot be null")
+                .addMessageListener(this::onMessage, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void publish(Class<?> entityType, Object id) {
+        super.publish(entityType, id);
+        send(entityType, id == null ? "" : String.valueOf(id), id);
+    }
+
+    @Override
+    public void publish(Class<?> entityType, Collection<?> ids) {
+        List<String> values = ids.stream()
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
+                .toList();
+        if (values.isEmpty()) {
+            return;
+        }
+        values.forEach(id -> super.publish(entityType, id));
+        send(entityType, String.join(SEPARATOR, values), values.size() + " IDs");
+    }
+
+    private void send(Class<?> entityType, String ids, Object description) {
+        String message = instanceId + SEPARATOR + entityType.getName() + SEPARATOR + ids;
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            logger.warn("Unable to broadcast cache invalidation for {} {}: {}", entityType.getSimpleName(), description, e.getMessage());
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, -1);
+        if (parts.length < 3) {
+            logger.warn("Ignoring malformed cache invalidation message on channel {}", channel);
+            return;
+        }
+        if (instanceId.equals(parts[0])) {
+            return;
+        }
+        String entityType = parts[1];
+        if (parts.length == 3 && parts[2].isEmpty()) {
+            deliver(entityType, null);
+        } else {
+            for (int index = 2; index < parts.length; index++) {
+                if (!parts[index].isEmpty()) {
+                    deliver(entityType, parts[index]);
+                }
+            }
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_INVALIDATIONS_RECEIVED, Map.of(
+                "entity", entityType.substring(Math.max(entityType.lastIndexOf('.'), entityType.lastIndexOf('$')) + 1)));
+    }
+}
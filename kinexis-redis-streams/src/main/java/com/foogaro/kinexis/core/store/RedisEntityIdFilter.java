@@ -0,0 +1,97 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.Misc;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link EntityIdFilter} backed by one Redis bitmap per entity type, shared by every instance.
+ * The bits of an ID are set and read with pipelined {@code SETBIT}/{@code GETBIT}. Readiness is a
+ * separate key holding the filter size, so a filter built with another size is built again. It is
+ * cached locally once seen because a built filter never becomes unbuilt.
+ */
+public class RedisEntityIdFilter implements EntityIdFilter {
+
+    private static final String FILTER_KEY_PREFIX = "kinexis:idfilter";
+    private static final String READY_KEY_PREFIX = "kinexis:idfilter:ready";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final BloomFilterSpec spec;
+    private final Set<Class<?>> ready = ConcurrentHashMap.newKeySet();
+
+    public RedisEntityIdFilter(RedisTemplate<String, String> redisTemplate, BloomFilterSpec spec) {
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+        this.spec = Objects.requireNonNull(spec, "spec cannot be null");
+    }
+
+    @Override
+    public boolean isReady(Class<?> entityType) {
+        if (ready.contains(entityType)) {
+            return true;
+        }
+        if (sizeTag().equals(redisTemplate.opsForValue().get(readyKey(entityType)))) {
+            ready.add(entityType);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void markReady(Class<?> entityType) {
+        redisTemplate.opsForValue().set(readyKey(entityType), sizeTag());
+        ready.add(entityType);
+    }
+
+    @Override
+    public boolean mightContain(Class<?> entityType, Object id) {
+        byte[] key = filterKey(entityType);
+        long[] offsets = spec.offsets(id);
+        List<Object> bits = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (long offset : offsets) {
+                connection.stringCommands().getBit(key, offset);
+            }
+            return null;
+        });
+        return bits.stream().allMatch(Boolean.TRUE::equals);
+    }
+
+    @Override
+    public void add(Class<?> entityType, Object id) {
+        addAll(entityType, List.of(id));
+    }
+
+    @Override
+    public void addAll(Class<?> entityType, Collection<?> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        byte[] key = filterKey(entityType);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Object id : ids) {
+                for (long offset : spec.offsets(id)) {
+                    connection.stringCommands().setBit(key, offset, true);
+                }
+            }
+            return null;
+        });
+    }
+
+    private String sizeTag() {
+        return spec.bits() + Misc.KEY_SEPARATOR + spec.hashFunctions();
+    }
+
+    private static byte[] filterKey(Class<?> entityType) {
+        return (FILTER_KEY_PREFIX + Misc.KEY_SEPARATOR + entityType.getName()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readyKey(Class<?> entityType) {
+        return READY_KEY_PREFIX + Misc.KEY_SEPARATOR + entityType.getName();
+    }
+}
@@ -0,0 +1,457 @@
+package com.foogaro.kinexis.core.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.foogaro.kinexis.core.Misc;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * {@link CacheStore} keeping each entity as a Redis hash with one field per property, the layout of
+ * {@link com.foogaro.kinexis.core.model.CachingFormat#HASH}.
+ * <p>
+ * Properties are the ones Jackson serializes, and each is encoded on its own: strings as they are, other
+ * values as JSON, while {@code null} values are left out of the hash. A save replaces the whole hash with
+ * {@code DEL}, {@code HSET} and {@code PEXPIRE} in one {@code MULTI}/{@code EXEC} per entity, all pipelined,
+ * so readers see the old entry or the new one and a saved hash always has its TTL. {@link #patch} writes only the given fields of an existing entry with one script, and
+ * {@link #findProjectionById} reads only the projected fields with {@code HMGET}.
+ *
+ * @param <T> the cached entity type
+ */
+public class RedisHashCacheStore<T> implements CacheStore<T> {
+
+    private static final String MISSING_KEY_PREFIX = "kinexis:missing";
+    private static final int SCAN_COUNT = 500;
+    private static final RedisScript<Long> PATCH_SCRIPT = RedisScript.of("""
+            if redis.call('exists', KEYS[1]) == 0 then return 0 end
+            local sets = tonumber(ARGV[2])
+            for i = 1, sets do redis.call('hset', KEYS[1], ARGV[1 + i * 2], ARGV[2 + i * 2]) end
+            for i = 3 + sets * 2, #ARGV do redis.call('hdel', KEYS[1], ARGV[i]) end
+            if tonumber(ARGV[1]) > 0 then redis.call('pexpire', KEYS[1], ARGV[1]) end
+            return 1
+            """, Long.class);
+
+    private final String name;
+    private final Class<T> entityType;
+    private final Set<String> targets;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Set<String> fields;
+    private final Set<String> textFields;
+
+    public RedisHashCacheStore(String name, Class<T> entityType, Set<String> targets,
+                               RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+        this.name = Objects.requireNonNull(name, "name cannot be null");
+        this.entityType = Objects.requireNonNull(entityType, "entityType cannot be null");
+        this.targets = targets == null || targets.isEmpty() ? Set.of(name) : Set.copyOf(targets);
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper cannot be null");
+        this.fields = new LinkedHashSet<>();
+        this.textFields = new LinkedHashSet<>();
+        for (BeanPropertyDefinition property : properties(entityType)) {
+            fields.add(property.getName());
+            if (property.getRawPrimaryType() == String.class) {
+                textFields.add(property.getName());
+            }
+        }
+    }
+
+    public static <T> Builder<T> builder(Class<T> entityType, RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+        return new Builder<>(entityType, redisTemplate, objectMapper);
+    }
+
+    public static class Builder<T> {
+
+        private final Class<T> entityType;
+        private final RedisTemplate<String, String> redisTemplate;
+        private final ObjectMapper objectMapper;
+        private String name;
+        private final Set<String> targets = new LinkedHashSet<>();
+
+        private Builder(Class<T> entityType, RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+            this.entityType = entityType;
+            this.redisTemplate = redisTemplate;
+            this.objectMapper = objectMapper;
+        }
+
+        public Builder<T> name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder<T> targets(String... targets) {
+            if (targets != null) {
+                this.targets.addAll(List.of(targets));
+            }
+            return this;
+        }
+
+        public RedisHashCacheStore<T> build() {
+            String storeName = name == null ? entityType.getSimpleName() + "RedisHashStore" : name;
+            return new RedisHashCacheStore<>(storeName, entityType, targets, redisTemplate, objectMapper);
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public Class<T> entityType() {
+        return entityType;
+    }
+
+    @Override
+    public Set<String> targets() {
+        return targets;
+    }
+
+    @Override
+    public Optional<T> findById(Object id) {
+        Map<Object, Object> values = redisTemplate.opsForHash().entries(entityKey(id));
+        return values.isEmpty() ? Optional.empty() : Optional.of(decode(values));
+    }
+
+    /**
+     * Reads the entities with one pipeline of {@code HGETALL}.
+     */
+    @Override
+    public List<T> findAllById(Collection<?> ids) {
+        List<T> entities = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            return entities;
+        }
+        List<byte[]> keys = ids.stream().map(id -> bytes(entityKey(id))).toList();
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> connection.hashCommands().hGetAll(key));
+            return null;
+        });
+        for (Object value : values) {
+            if (value instanceof Map<?, ?> hash && !hash.isEmpty()) {
+                entities.add(decode(hash));
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Restarts the TTL and reads the hash with one pipeline of {@code PEXPIRE} and {@code HGETALL}.
+     */
+    @Override
+    public Optional<T> findByIdAndTouch(Object id, Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return findById(id);
+        }
+        byte[] key = bytes(entityKey(id));
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.keyCommands().pExpire(key, ttl.toMillis());
+            connection.hashCommands().hGetAll(key);
+            return null;
+        });
+        return values.get(1) instanceof Map<?, ?> hash && !hash.isEmpty() ? Optional.of(decode(hash)) : Optional.empty();
+    }
+
+    /**
+     * Reads the fields of the entry named like the projection properties with one {@code HMGET}. When none
+     * of them is set, the whole entry is read, so that an entry holding only {@code null} values is told
+     * apart from a missing one.
+     */
+    @Override
+    public <P> Optional<P> findProjectionById(Object id, Class<P> projection, Function<? super T, ? extends P> fullReadMapper) {
+        List<String> projected = properties(projection).stream()
+                .map(BeanPropertyDefinition::getName)
+                .filter(fields::contains)
+                .toList();
+        if (projected.isEmpty()) {
+            return CacheStore.super.findProjectionById(id, projection, fullReadMapper);
+        }
+        List<Object> values = redisTemplate.opsForHash().multiGet(entityKey(id), new ArrayList<>(projected));
+        Map<Object, Object> hash = new LinkedHashMap<>();
+        for (int i = 0; i < projected.size(); i++) {
+            if (values.get(i) != null) {
+                hash.put(projected.get(i), values.get(i));
+            }
+        }
+        if (hash.isEmpty()) {
+            return CacheStore.super.findProjectionById(id, projection, fullReadMapper);
+        }
+        return Optional.of(read(projection, tree(hash)));
+    }
+
+    @Override
+    public T save(T entity) {
+        return save(entity, null);
+    }
+
+    @Override
+    public T save(T entity, Duration ttl) {
+        saveAll(List.of(entity), ttl);
+        return entity;
+    }
+
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        return saveAll(entities, null);
+    }
+
+    /**
+     * Replaces every hash with one pipeline, holding one transaction per entity.
+     */
+    @Override
+    public List<T> saveAll(Collection<T> entities, Duration ttl) {
+        if (entities == null || entities.isEmpty()) {
+            return List.of();
+        }
+        long ttlMillis = ttlMillis(ttl);
+        Map<byte[], Map<byte[], byte[]>> hashes = new LinkedHashMap<>();
+        for (T entity : entities) {
+            Map<byte[], byte[]> hash = new LinkedHashMap<>();
+            encode(entity, fields).forEach((field, value) -> {
+                if (value != null) {
+                    hash.put(bytes(field), bytes(value));
+                }
+            });
+            hashes.put(bytes(keyOf(entity)), hash);
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            hashes.forEach((key, hash) -> {
+                connection.multi();
+                connection.keyCommands().del(key);
+                if (!hash.isEmpty()) {
+                    connection.hashCommands().hMSet(key, hash);
+                    if (ttlMillis > 0) {
+                        connection.keyCommands().pExpire(key, ttlMillis);
+                    }
+                }
+                connection.exec();
+            });
+            return null;
+        });
+        return List.copyOf(entities);
+    }
+
+    /**
+     * Sets the given fields of an existing entry and removes those that are now {@code null}, leaving the
+     * other fields as they are. When the entity is not cached, the whole entity is saved instead, so that
+     * the hash never holds only part of an entity.
+     *
+     * @throws IllegalArgumentException when a field is not a property of the entity
+     */
+    @Override
+    public T patch(T entity, Collection<String> fields, Duration ttl) {
+        if (fields == null || fields.isEmpty()) {
+            return save(entity, ttl);
+        }
+        for (String field : fields) {
+            if (!this.fields.contains(field)) {
+                throw new IllegalArgumentException("Unknown field " + field + " of " + entityType.getSimpleName());
+            }
+        }
+        Map<String, String> values = encode(entity, fields);
+        List<String> sets = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        values.forEach((field, value) -> {
+            if (value == null) {
+                deletes.add(field);
+            } else {
+                sets.add(field);
+                sets.add(value);
+            }
+        });
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(ttlMillis(ttl)));
+        args.add(String.valueOf(sets.size() / 2));
+        args.addAll(sets);
+        args.addAll(deletes);
+        Long patched = redisTemplate.execute(PATCH_SCRIPT, List.of(keyOf(entity)), args.toArray());
+        if (!Long.valueOf(1).equals(patched)) {
+            return save(entity, ttl);
+        }
+        return entity;
+    }
+
+    @Override
+    public void deleteById(Object id) {
+        redisTemplate.delete(entityKey(id));
+    }
+
+    /**
+     * Unlinks the hashes and the not-found markers with one pipeline, so that Redis frees them in the background.
+     */
+    @Override
+    public void invalidateAll(Collection<?> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Object id : ids) {
+                connection.keyCommands().unlink(bytes(entityKey(id)));
+                connection.keyCommands().unlink(bytes(missingKey(id)));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Stream<Object> streamIds() {
+        return streamIds("");
+    }
+
+    /**
+     * Iterates the entity keys with {@code SCAN MATCH}. Keys whose ID part holds a {@code :} are skipped,
+     * since they belong to other structures under the same prefix.
+     */
+    @Override
+    public Stream<Object> streamIds(String idPrefix) {
+        String keyPrefix = Misc.getEntityKeyPrefix(entityType) + Misc.KEY_SEPARATOR;
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(keyPrefix + escapeGlob(idPrefix) + "*")
+                .count(SCAN_COUNT)
+                .build();
+        return redisTemplate.scan(options).stream()
+                .map(key -> key.substring(keyPrefix.length()))
+                .filter(id -> !id.isEmpty() && !id.contains(Misc.KEY_SEPARATOR))
+                .map(Object.class::cast);
+    }
+
+    @Override
+    public void markMissing(Object id, Duration ttl) {
+        if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+            redisTemplate.opsForValue().set(missingKey(id), "1", ttl);
+        }
+    }
+
+    @Override
+    public boolean isMarkedMissing(Object id) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(missingKey(id)));
+    }
+
+    @Override
+    public void clearMissing(Object id) {
+        redisTemplate.delete(missingKey(id));
+    }
+
+    @Override
+    public Optional<Duration> timeToLive(Object id) {
+        Long ttlMillis = redisTemplate.getExpire(entityKey(id), TimeUnit.MILLISECONDS);
+        return ttlMillis != null && ttlMillis > 0 ? Optional.of(Duration.ofMillis(ttlMillis)) : Optional.empty();
+    }
+
+    @Override
+    public List<Optional<Duration>> timeToLiveAll(List<?> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            ids.forEach(id -> connection.keyCommands().pTtl(bytes(entityKey(id))));
+            return null;
+        });
+        return values.stream()
+                .map(value -> value instanceof Long ttlMillis && ttlMillis > 0
+                        ? Optional.of(Duration.ofMillis(ttlMillis)) : Optional.<Duration>empty())
+                .toList();
+    }
+
+    private Map<String, String> encode(T entity, Collection<String> names) {
+        JsonNode tree = objectMapper.valueToTree(entity);
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String field : names) {
+            JsonNode value = tree.get(field);
+            if (value == null || value.isNull()) {
+                values.put(field, null);
+            } else {
+                values.put(field, value.isTextual() && textFields.contains(field) ? value.asText() : value.toString());
+            }
+        }
+        return values;
+    }
+
+    private T decode(Map<?, ?> hash) {
+        return read(entityType, tree(hash));
+    }
+
+    private ObjectNode tree(Map<?, ?> hash) {
+        ObjectNode tree = objectMapper.createObjectNode();
+        hash.forEach((key, value) -> {
+            String field = String.valueOf(key);
+            if (!fields.contains(field)) {
+                return;
+            }
+            if (textFields.contains(field)) {
+                tree.set(field, TextNode.valueOf(String.valueOf(value)));
+            } else {
+                try {
+                    tree.set(field, objectMapper.readTree(String.valueOf(value)));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Unable to decode field " + field + " of " + entityType.getSimpleName(), e);
+                }
+            }
+        });
+        return tree;
+    }
+
+    private <R> R read(Class<R> type, ObjectNode tree) {
+        try {
+            return objectMapper.readerFor(type)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(tree);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read " + type.getSimpleName() + " from hash of " + entityType.getSimpleName(), e);
+        }
+    }
+
+    private List<BeanPropertyDefinition> properties(Class<?> type) {
+        return objectMapper.getSerializationConfig()
+                .introspect(objectMapper.constructType(type))
+                .findProperties();
+    }
+
+    private String keyOf(T entity) {
+        return Misc.getEntityKey(entity)
+                .orElseThrow(() -> new IllegalArgumentException("Entity " + entityType.getSimpleName() + " has no ID"));
+    }
+
+    private String entityKey(Object id) {
+        return Misc.getEntityKeyPrefix(entityType) + Misc.KEY_SEPARATOR + id;
+    }
+
+    private String missingKey(Object id) {
+        return MISSING_KEY_PREFIX + Misc.KEY_SEPARATOR + entityType.getName() + Misc.KEY_SEPARATOR + id;
+    }
+
+    private static String escapeGlob(String value) {
+        return value == null ? "" : value.replaceAll("([*?\\[\\]\\\\])", "\\\\$1");
+    }
+
+    private static long ttlMillis(Duration ttl) {
+        return ttl == null || ttl.isZero() || ttl.isNegative() ? 0L : ttl.toMillis();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
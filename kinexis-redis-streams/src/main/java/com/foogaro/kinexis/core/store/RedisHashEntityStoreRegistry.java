@@ -0,0 +1,75 @@
+package com.foogaro.kinexis.core.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foogaro.kinexis.core.model.CachingFormat;
+import com.foogaro.kinexis.core.service.AnnotationFinder;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a {@link RedisHashCacheStore} as the cache store of entities annotated with
+ * {@code @CachingPatterns(format = CachingFormat.HASH)}, and delegates every other lookup.
+ * It is used as the fallback registry, so cache stores declared as beans take precedence.
+ */
+public class RedisHashEntityStoreRegistry implements EntityStoreRegistry {
+
+    private final EntityStoreRegistry delegate;
+    private final AnnotationFinder annotationFinder;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, CacheStore<?>> hashStores = new ConcurrentHashMap<>();
+
+    public RedisHashEntityStoreRegistry(EntityStoreRegistry delegate, AnnotationFinder annotationFinder,
+                                        RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.annotationFinder = Objects.requireNonNull(annotationFinder, "annotationFinder cannot be null");
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper cannot be null");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<CacheStore<T>> findCacheStore(Class<T> entityType) {
+        if (!annotationFinder.hasCachingPatterns(entityType) || annotationFinder.format(entityType) != CachingFormat.HASH) {
+            return delegate.findCacheStore(entityType);
+        }
+        return Optional.of((CacheStore<T>) hashStores.computeIfAbsent(entityType,
+                type -> RedisHashCacheStore.builder(entityType, redisTemplate, objectMapper).build()));
+    }
+
+    @Override
+    public <T> Optional<EntityStore<T>> findPrimaryStore(Class<T> entityType) {
+        return delegate.findPrimaryStore(entityType);
+    }
+
+    @Override
+    public <T> List<EntityStore<T>> findTargetStores(Class<T> entityType) {
+        return delegate.findTargetStores(entityType);
+    }
+
+    @Override
+    public <T> List<EntityStore<T>> findReplicaStores(Class<T> entityType) {
+        return delegate.findReplicaStores(entityType);
+    }
+
+    @Override
+    public <T> List<EntityStore<T>> findTargetStores(Class<T> entityType, Collection<String> targets) {
+        return delegate.findTargetStores(entityType, targets);
+    }
+
+    @Override
+    public <T, R> List<EntityStore<T>> findTargetStores(Class<T> entityType, Class<R> repositoryType) {
+        return delegate.findTargetStores(entityType, repositoryType);
+    }
+
+    @Override
+    public <T, R> List<EntityStore<T>> findTargetStores(Class<T> entityType, Class<R> repositoryType, Collection<String> targets) {
+        return delegate.findTargetStores(entityType, repositoryType, targets);
+    }
+}
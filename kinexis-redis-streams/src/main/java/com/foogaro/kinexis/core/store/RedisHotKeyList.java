@@ -0,0 +1,63 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.Misc;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link HotKeyList} kept in Redis as one list per entity type, hottest ID first.
+ * <p>
+ * A save writes the new list under a temporary key and renames it over the previous one in the same
+ * pipeline, so readers see either list whole. Both keys share the entity type as hash tag, so that the
+ * rename also works on Redis Cluster.
+ */
+public class RedisHotKeyList implements HotKeyList {
+
+    private static final String KEY_PREFIX = "kinexis:hot-keys";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public RedisHotKeyList(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+    }
+
+    @Override
+    public void save(Class<?> entityType, List<?> ids) {
+        byte[] key = bytes(key(entityType));
+        if (ids == null || ids.isEmpty()) {
+            redisTemplate.delete(key(entityType));
+            return;
+        }
+        byte[] pending = bytes(key(entityType) + Misc.KEY_SEPARATOR + "pending");
+        byte[][] values = ids.stream()
+                .map(id -> bytes(String.valueOf(id)))
+                .toArray(byte[][]::new);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.keyCommands().del(pending);
+            connection.listCommands().rPush(pending, values);
+            connection.keyCommands().rename(pending, key);
+            return null;
+        });
+    }
+
+    @Override
+    public List<String> find(Class<?> entityType, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<String> ids = redisTemplate.opsForList().range(key(entityType), 0, limit - 1L);
+        return ids == null ? List.of() : List.copyOf(ids);
+    }
+
+    private static String key(Class<?> entityType) {
+        return KEY_PREFIX + Misc.KEY_SEPARATOR + "{" + entityType.getName() + "}";
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
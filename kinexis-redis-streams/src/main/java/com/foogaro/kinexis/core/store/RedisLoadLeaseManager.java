@@ -0,0 +1,79 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.Misc;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link LoadLeaseManager} backed by a short-lived Redis key per entity. One script checks the key,
+ * takes the fencing token of the grant from an {@code INCR} counter and sets the key with {@code PX},
+ * so an acquisition costs a single round trip and contended attempts do not burn tokens. The IDs of an
+ * entity type are spread over 64 counters by hash, and each lease key shares the
+ * {@code {entityType:shard}} hash tag of its counter, so the script runs on a cluster while the leases
+ * of one entity type still spread over many slots.
+ * The lease is released with a compare-and-delete script so that a holder whose lease expired cannot
+ * release the lease of the next holder.
+ * <p>
+ * The fence is advisory: the cache does not reject writes carrying an old token. The holder checks
+ * {@link #isHeld} before it writes, which narrows but does not close the window in which a lease
+ * expires between that check and the write.
+ */
+public class RedisLoadLeaseManager implements LoadLeaseManager {
+
+    private static final String LEASE_KEY_PREFIX = "kinexis:lease";
+    private static final String FENCE_KEY_PREFIX = "kinexis:lease:fence";
+    private static final int SHARDS = 64;
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = RedisScript.of(
+            "if redis.call('exists', KEYS[1]) == 1 then return 0 end "
+                    + "local token = redis.call('incr', KEYS[2]) "
+                    + "redis.call('set', KEYS[1], token, 'PX', ARGV[1]) "
+                    + "return token",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public RedisLoadLeaseManager(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+    }
+
+    @Override
+    public Optional<LoadLease> tryAcquire(Class<?> entityType, Object id, Duration ttl) {
+        Objects.requireNonNull(entityType, "entityType cannot be null");
+        if (ttl == null || ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("ttl must be greater than zero");
+        }
+        String leaseId = String.valueOf(id);
+        Long token = redisTemplate.execute(ACQUIRE_SCRIPT,
+                List.of(leaseKey(entityType, leaseId), FENCE_KEY_PREFIX + Misc.KEY_SEPARATOR + hashTag(entityType, leaseId)),
+                String.valueOf(Math.max(1L, ttl.toMillis())));
+        return token != null && token > 0 ? Optional.of(new LoadLease(entityType, leaseId, token)) : Optional.empty();
+    }
+
+    @Override
+    public boolean isHeld(LoadLease lease) {
+        return String.valueOf(lease.fencingToken())
+                .equals(redisTemplate.opsForValue().get(leaseKey(lease.entityType(), lease.id())));
+    }
+
+    @Override
+    public void release(LoadLease lease) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey(lease.entityType(), lease.id())),
+                String.valueOf(lease.fencingToken()));
+    }
+
+    private static String leaseKey(Class<?> entityType, String id) {
+        return LEASE_KEY_PREFIX + Misc.KEY_SEPARATOR + hashTag(entityType, id) + Misc.KEY_SEPARATOR + id;
+    }
+
+    private static String hashTag(Class<?> entityType, String id) {
+        return "{" + entityType.getName() + Misc.KEY_SEPARATOR + Math.floorMod(id.hashCode(), SHARDS) + "}";
+    }
+}
@@ -0,0 +1,117 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.Misc;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * {@link QueryResultCache} shared by every instance through Redis.
+ * <p>
+ * A result is a list holding a header element followed by the IDs, so that an empty result can be told
+ * apart from a missing key. Each tag is a set of the result keys carrying it. Results and tag sets are
+ * written with one pipeline and expire after the query TTL. Invalidation reads the tag sets with one
+ * pipeline, then deletes the results and removes exactly the members it read with another, so a result
+ * tagged in between keeps its tag.
+ */
+public class RedisQueryResultCache implements QueryResultCache {
+
+    private static final String RESULT_KEY_PREFIX = "kinexis:query";
+    private static final String TAG_KEY_PREFIX = "kinexis:query:tag";
+    private static final byte[] HEADER = "#".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public RedisQueryResultCache(RedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+    }
+
+    @Override
+    public Optional<List<String>> find(Class<?> entityType, String queryKey) {
+        List<String> values = redisTemplate.opsForList().range(resultKey(entityType, queryKey), 0, -1);
+        if (values == null || values.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(List.copyOf(values.subList(1, values.size())));
+    }
+
+    @Override
+    public void put(Class<?> entityType, String queryKey, List<String> ids, Set<String> tags, Duration ttl) {
+        String resultKey = resultKey(entityType, queryKey);
+        byte[] key = bytes(resultKey);
+        long ttlMillis = ttl == null || ttl.isNegative() ? 0L : ttl.toMillis();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.keyCommands().del(key);
+            byte[][] values = new byte[ids.size() + 1][];
+            values[0] = HEADER;
+            for (int i = 0; i < ids.size(); i++) {
+                values[i + 1] = bytes(ids.get(i));
+            }
+            connection.listCommands().rPush(key, values);
+            if (ttlMillis > 0) {
+                connection.keyCommands().pExpire(key, ttlMillis);
+            }
+            for (String tag : tags) {
+                byte[] tagKey = bytes(tagKey(entityType, tag));
+                connection.setCommands().sAdd(tagKey, key);
+                if (ttlMillis > 0) {
+                    connection.keyCommands().pExpire(tagKey, ttlMillis);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public long invalidate(Class<?> entityType, Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return 0;
+        }
+        List<String> tagKeys = tags.stream().distinct().map(tag -> tagKey(entityType, tag)).toList();
+        List<Object> members = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            tagKeys.forEach(tagKey -> connection.setCommands().sMembers(bytes(tagKey)));
+            return null;
+        });
+        Set<String> resultKeys = new LinkedHashSet<>();
+        Map<String, List<String>> readMembers = new LinkedHashMap<>();
+        for (int i = 0; i < tagKeys.size(); i++) {
+            if (members.get(i) instanceof Set<?> keys && !keys.isEmpty()) {
+                List<String> read = keys.stream().map(String::valueOf).toList();
+                resultKeys.addAll(read);
+                readMembers.put(tagKeys.get(i), read);
+            }
+        }
+        if (resultKeys.isEmpty()) {
+            return 0;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.keyCommands().del(resultKeys.stream().map(RedisQueryResultCache::bytes).toArray(byte[][]::new));
+            readMembers.forEach((tagKey, read) -> connection.setCommands()
+                    .sRem(bytes(tagKey), read.stream().map(RedisQueryResultCache::bytes).toArray(byte[][]::new)));
+            return null;
+        });
+        return resultKeys.size();
+    }
+
+    private static String resultKey(Class<?> entityType, String queryKey) {
+        return RESULT_KEY_PREFIX + Misc.KEY_SEPARATOR + entityType.getName() + Misc.KEY_SEPARATOR + queryKey;
+    }
+
+    private static String tagKey(Class<?> entityType, String tag) {
+        return TAG_KEY_PREFIX + Misc.KEY_SEPARATOR + entityType.getName() + Misc.KEY_SEPARATOR + tag;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
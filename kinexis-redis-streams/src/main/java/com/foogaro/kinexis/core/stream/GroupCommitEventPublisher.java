@@ -0,0 +1,263 @@
+package com.foogaro.kinexis.core.stream;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.model.KinexisEvent;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Appends events to Redis Streams with group commit: the appends of every thread go to a bounded queue, and one
+ * flusher thread sends them to Redis in pipelined batches, so hundreds of writers share a few round trips instead
+ * of each waiting for its own {@code XADD}.
+ * <p>
+ * A batch is flushed once it holds {@code batch-size} events, or {@code linger} after its first event was queued,
+ * whichever comes first. With a zero linger, the flusher sends whatever was queued during the previous flush.
+ * Events keep their queue order, hence the order of each thread within a stream partition. When a pipeline fails,
+ * every append of the batch fails with it.
+ * <p>
+ * {@link #appendAsync} returns at once and fails when the queue is full. {@link #append} and {@link #appendAll}
+ * wait up to {@code timeout} for room in the queue and again for the record IDs. An event whose record ID did not
+ * come in time is taken back from the queue when it is still there, so a retry does not append it twice; once the
+ * flusher took it, the timeout says that it may still be appended. Stages complete on the flusher
+ * thread, so blocking callbacks should be chained with an executor. Every flush records its size on
+ * {@value KinexisTelemetry#PUBLISH_BATCH_SIZE} and the time each event waited in the queue on
+ * {@value KinexisTelemetry#PUBLISH_BATCH_WAIT}. {@link #close()} flushes the queued events and stops the flusher.
+ * Appends queued while it closes, and events still queued when the flusher stops, fail as closed.
+ */
+public class GroupCommitEventPublisher implements EventPublisher, AutoCloseable {
+
+    private static final Map<String, String> NO_TAGS = Map.of();
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final RedisStreamEventPublisher delegate;
+    private final KinexisProperties.GroupCommit properties;
+    private final KinexisTelemetry telemetry;
+    private final BlockingQueue<PendingAppend> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public GroupCommitEventPublisher(RedisStreamEventPublisher delegate,
+                                     KinexisProperties.GroupCommit properties,
+                                     KinexisTelemetry telemetry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate cannot be null");
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueDepth()));
+        this.flusher = Thread.ofPlatform().name("kinexis-group-commit").daemon().start(this::flushUntilClosed);
+    }
+
+    @Override
+    public String append(Class<?> entityType, KinexisEvent event) {
+        return await(enqueue(entityType, event));
+    }
+
+    @Override
+    public CompletionStage<String> appendAsync(Class<?> entityType, KinexisEvent event) {
+        PendingAppend pending = new PendingAppend(entityType, event, System.nanoTime());
+        if (!running) {
+            pending.recordId.completeExceptionally(closed());
+        } else if (!queue.offer(pending)) {
+            pending.recordId.completeExceptionally(new RejectedExecutionException(
+                    "Group commit queue is full (" + properties.getQueueDepth() + " events)"));
+        } else {
+            failIfClosedMeanwhile(pending);
+        }
+        return pending.recordId;
+    }
+
+    @Override
+    public List<String> appendAll(Class<?> entityType, List<KinexisEvent> events) {
+        List<PendingAppend> pendings = new ArrayList<>(events.size());
+        List<String> values = new ArrayList<>(events.size());
+        try {
+            events.forEach(event -> pendings.add(enqueue(entityType, event)));
+            pendings.forEach(pending -> values.add(await(pending)));
+        } catch (RuntimeException e) {
+            // the events not appended yet are taken back, so that a retry of the whole list does not duplicate them
+            pendings.subList(values.size(), pendings.size()).forEach(this::withdraw);
+            throw e;
+        }
+        return values;
+    }
+
+    /**
+     * @return the number of events waiting to be flushed
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            flusher.join(properties.getTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failQueued();
+    }
+
+    private PendingAppend enqueue(Class<?> entityType, KinexisEvent event) {
+        if (!running) {
+            throw closed();
+        }
+        PendingAppend pending = new PendingAppend(entityType, event, System.nanoTime());
+        try {
+            if (!queue.offer(pending, properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new RejectedExecutionException("Group commit queue still full after " + properties.getTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing an event of " + entityType.getSimpleName(), e);
+        }
+        failIfClosedMeanwhile(pending);
+        return pending;
+    }
+
+    /**
+     * An append can pass the {@code running} check, then be queued after the flusher drained the queue for
+     * the last time. Whoever removes it from the queue fails it, so it never waits forever.
+     */
+    private void failIfClosedMeanwhile(PendingAppend pending) {
+        if (!running && queue.remove(pending)) {
+            pending.recordId.completeExceptionally(closed());
+        }
+    }
+
+    /**
+     * Removes an append from the queue and fails it, unless the flusher already took it.
+     *
+     * @return whether the event will never be appended
+     */
+    private boolean withdraw(PendingAppend pending) {
+        if (queue.remove(pending)) {
+            pending.recordId.completeExceptionally(new CancellationException("Append withdrawn before it was flushed"));
+            return true;
+        }
+        return false;
+    }
+
+    private String await(PendingAppend pending) {
+        try {
+            return pending.recordId.get(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            if (withdraw(pending)) {
+                throw new IllegalStateException("No record ID after " + properties.getTimeout() + ", the event was not appended", e);
+            }
+            throw new IllegalStateException("No record ID after " + properties.getTimeout()
+                    + ", the event is being flushed and may still be appended", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a record ID", e);
+        }
+    }
+
+    private void flushUntilClosed() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        List<PendingAppend> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAppend first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch, batchSize, first.enqueuedAt + properties.getLinger().toNanos());
+            } catch (InterruptedException e) {
+                // only close() stops the flusher: send what was collected
+            }
+            flush(batch);
+            batch.clear();
+        }
+        failQueued();
+    }
+
+    private void collect(List<PendingAppend> batch, int batchSize, long deadline) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        while (batch.size() < batchSize && running) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingAppend next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(List<PendingAppend> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long flushedAt = System.nanoTime();
+        List<Class<?>> entityTypes = new ArrayList<>(batch.size());
+        List<KinexisEvent> events = new ArrayList<>(batch.size());
+        for (PendingAppend pending : batch) {
+            entityTypes.add(pending.entityType);
+            events.add(pending.event);
+            telemetry.recordNanos(KinexisTelemetry.PUBLISH_BATCH_WAIT, flushedAt - pending.enqueuedAt, NO_TAGS);
+        }
+        telemetry.recordValue(KinexisTelemetry.PUBLISH_BATCH_SIZE, batch.size(), NO_TAGS);
+        List<String> recordIds;
+        try {
+            recordIds = delegate.appendPipelined(entityTypes, events);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to append a batch of {} events: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.recordId.completeExceptionally(e));
+            return;
+        }
+        for (int index = 0; index < batch.size(); index++) {
+            batch.get(index).recordId.complete(recordIds.get(index));
+        }
+    }
+
+    private void failQueued() {
+        List<PendingAppend> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.recordId.completeExceptionally(closed()));
+    }
+
+    private static IllegalStateException closed() {
+        return new IllegalStateException("Group commit publisher is closed");
+    }
+
+    private static final class PendingAppend {
+
+        private final Class<?> entityType;
+        private final KinexisEvent event;
+        private final long enqueuedAt;
+        private final CompletableFuture<String> recordId = new CompletableFuture<>();
+
+        private PendingAppend(Class<?> entityType, KinexisEvent event, long enqueuedAt) {
+            this.entityType = Objects.requireNonNull(entityType, "entityType cannot be null");
+            this.event = Objects.requireNonNull(event, "event cannot be null");
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
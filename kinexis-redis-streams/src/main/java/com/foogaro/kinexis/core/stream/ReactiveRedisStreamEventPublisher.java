@@ -0,0 +1,60 @@
+package com.foogaro.kinexis.core.stream;
+
+import com.foogaro.kinexis.core.model.KinexisEvent;
+import com.foogaro.kinexis.core.service.KinexisEventSchemaRegistry;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Appends events to Redis Streams with a reactive {@code XADD}. It writes the same records, to the same
+ * partitioned streams, as {@link RedisStreamEventPublisher}, so the stream listeners cannot tell them apart.
+ */
+public class ReactiveRedisStreamEventPublisher implements ReactiveEventPublisher {
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final StreamPartitioner streamPartitioner;
+    private final KinexisTelemetry telemetry;
+    private final KinexisEventSchemaRegistry eventSchemaRegistry;
+
+    public ReactiveRedisStreamEventPublisher(ReactiveRedisTemplate<String, String> redisTemplate,
+                                             StreamPartitioner streamPartitioner,
+                                             KinexisTelemetry telemetry,
+                                             KinexisEventSchemaRegistry eventSchemaRegistry) {
+        this.redisTemplate = Objects.requireNonNull(redisTemplate, "redisTemplate cannot be null");
+        this.streamPartitioner = Objects.requireNonNull(streamPartitioner, "streamPartitioner cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+        this.eventSchemaRegistry = Objects.requireNonNull(eventSchemaRegistry, "eventSchemaRegistry cannot be null");
+    }
+
+    @Override
+    public Mono<String> append(Class<?> entityType, KinexisEvent event) {
+        return Mono.defer(() -> {
+            String streamKey = streamPartitioner.streamKey(entityType, event);
+            Map<String, String> eventRecord = event.toRecordMap();
+            eventRecord.put(KinexisEvent.EVENT_SCHEMA_VERSION_KEY, currentSchemaVersion(entityType));
+            return redisTemplate.opsForStream().add(StreamRecords.newRecord()
+                            .withId(RecordId.autoGenerate())
+                            .ofMap(eventRecord)
+                            .withStreamKey(streamKey))
+                    .doOnNext(recordId -> telemetry.increment(KinexisTelemetry.STREAM_EVENTS_PUBLISHED, Map.of(
+                            "entity", entityType.getSimpleName(),
+                            "operation", event.operation().getValue(),
+                            "stream", streamKey)))
+                    .map(RecordId::getValue);
+        });
+    }
+
+    private String currentSchemaVersion(Class<?> entityType) {
+        String schemaVersion = eventSchemaRegistry.currentVersion(entityType.getName());
+        if (schemaVersion == null || schemaVersion.isBlank()) {
+            return KinexisEvent.CURRENT_SCHEMA_VERSION;
+        }
+        return schemaVersion.trim();
+    }
+}
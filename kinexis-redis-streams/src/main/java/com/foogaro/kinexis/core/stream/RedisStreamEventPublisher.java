@@ -5,13 +5,36 @@ import com.foogaro.kinexis.core.model.KinexisEvent;
 import com.foogaro.kinexis.core.service.KinexisEventSchemaRegistry;
 import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
 import com.foogaro.kinexis.core.telemetry.SimpleKinexisTelemetry;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.stream.RecordId;
 import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionStage;
 
+/**
+ * Appends events to Redis Streams with {@code XADD}.
+ * <p>
+ * {@link #appendAsync} sends the {@code XADD} through the shared native Lettuce connection and completes
+ * on the Lettuce I/O thread, without holding a caller thread for the round trip. With another client,
+ * or when the native connection is not shared, it falls back to the blocking {@link #append}.
+ * <p>
+ * {@link #appendAll} groups the events by stream partition and sends the {@code XADD}s of each partition
+ * in one pipeline, so a batch costs one round trip per partition and keeps the order of the events within
+ * each partition. When a pipeline fails, the partitions flushed before it stay appended.
+ */
 public class RedisStreamEventPublisher implements EventPublisher {
 
     private final RedisTemplate<String, String> redisTemplate;
@@ -46,21 +69,116 @@ public class RedisStreamEventPublisher implements EventPublisher {
     @Override
     public String append(Class<?> entityType, KinexisEvent event) {
         String streamKey = streamPartitioner.streamKey(entityType, event);
-        Map<String, String> eventRecord = event.toRecordMap();
-        eventRecord.put(KinexisEvent.EVENT_SCHEMA_VERSION_KEY, currentSchemaVersion(entityType));
         RecordId recordId = redisTemplate.opsForStream().add(StreamRecords.newRecord()
                 .withId(RecordId.autoGenerate())
-                .ofMap(eventRecord)
+                .ofMap(eventRecord(entityType, event))
                 .withStreamKey(streamKey));
         if (recordId != null) {
-            telemetry.increment(KinexisTelemetry.STREAM_EVENTS_PUBLISHED, Map.of(
-                    "entity", entityType.getSimpleName(),
-                    "operation", event.operation().getValue(),
-                    "stream", streamKey));
+            recordPublished(entityType, event, streamKey);
         }
         return Objects.nonNull(recordId) ? recordId.getValue() : null;
     }
 
+    @Override
+    public CompletionStage<String> appendAsync(Class<?> entityType, KinexisEvent event) {
+        if (!(redisTemplate.getConnectionFactory() instanceof LettuceConnectionFactory connectionFactory)
+                || !connectionFactory.getShareNativeConnection()) {
+            return EventPublisher.super.appendAsync(entityType, event);
+        }
+        String streamKey = streamPartitioner.streamKey(entityType, event);
+        Map<byte[], byte[]> body = new LinkedHashMap<>();
+        eventRecord(entityType, event).forEach((field, value) -> body.put(bytes(field), bytes(value)));
+        CompletionStage<String> recordId;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            RedisClusterAsyncCommands<byte[], byte[]> commands = ((LettuceConnection) connection).getNativeConnection();
+            recordId = commands.xadd(bytes(streamKey), body);
+        }
+        return recordId.thenApply(value -> {
+            if (value != null) {
+                recordPublished(entityType, event, streamKey);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public List<String> appendAll(Class<?> entityType, List<KinexisEvent> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<Integer>> partitions = new LinkedHashMap<>();
+        for (int index = 0; index < events.size(); index++) {
+            partitions.computeIfAbsent(streamPartitioner.streamKey(entityType, events.get(index)), ignored -> new ArrayList<>())
+                    .add(index);
+        }
+        String[] recordIds = new String[events.size()];
+        partitions.forEach((streamKey, indexes) -> {
+            List<String> partitionRecordIds = appendPipelined(
+                    Collections.nCopies(indexes.size(), entityType),
+                    indexes.stream().map(events::get).toList());
+            for (int position = 0; position < indexes.size(); position++) {
+                recordIds[indexes.get(position)] = partitionRecordIds.get(position);
+            }
+        });
+        return Arrays.asList(recordIds);
+    }
+
+    /**
+     * Sends the {@code XADD}s of events of any entity type in one pipeline, in order.
+     *
+     * @return the IDs of the appended records, in the order of the events
+     */
+    List<String> appendPipelined(List<? extends Class<?>> entityTypes, List<KinexisEvent> events) {
+        List<String> streamKeys = new ArrayList<>(events.size());
+        for (int index = 0; index < events.size(); index++) {
+            streamKeys.add(streamPartitioner.streamKey(entityTypes.get(index), events.get(index)));
+        }
+        List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int index = 0; index < events.size(); index++) {
+                Map<byte[], byte[]> body = new LinkedHashMap<>();
+                eventRecord(entityTypes.get(index), events.get(index)).forEach((field, value) -> body.put(bytes(field), bytes(value)));
+                connection.streamCommands().xAdd(StreamRecords.rawBytes(body).withStreamKey(bytes(streamKeys.get(index))));
+            }
+            return null;
+        });
+        List<String> recordIds = new ArrayList<>(events.size());
+        for (int index = 0; index < events.size(); index++) {
+            String recordId = index < values.size() ? recordId(values.get(index)) : null;
+            recordIds.add(recordId);
+            if (recordId != null) {
+                recordPublished(entityTypes.get(index), events.get(index), streamKeys.get(index));
+            }
+        }
+        return recordIds;
+    }
+
+    private static String recordId(Object value) {
+        if (value instanceof RecordId recordId) {
+            return recordId.getValue();
+        }
+        if (value instanceof byte[] raw) {
+            return new String(raw, StandardCharsets.UTF_8);
+        }
+        return value == null ? null : value.toString();
+    }
+
+    private Map<String, String> eventRecord(Class<?> entityType, KinexisEvent event) {
+        Map<String, String> eventRecord = event.toRecordMap();
+        eventRecord.put(KinexisEvent.EVENT_SCHEMA_VERSION_KEY, currentSchemaVersion(entityType));
+        return eventRecord;
+    }
+
+    private void recordPublished(Class<?> entityType, KinexisEvent event, String streamKey) {
+        telemetry.increment(KinexisTelemetry.STREAM_EVENTS_PUBLISHED, Map.of(
+                "entity", entityType.getSimpleName(),
+                "operation", event.operation().getValue(),
+                "stream", streamKey));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
     private String currentSchemaVersion(Class<?> entityType) {
         String schemaVersion = eventSchemaRegistry.currentVersion(entityType.getName());
         if (schemaVersion == null || schemaVersion.isBlank()) {
@@ -1,6 +1,7 @@
 package com.foogaro.kinexis.core.service;
 
 import com.foogaro.kinexis.core.annotation.CachingPatterns;
+import com.foogaro.kinexis.core.model.CachingFormat;
 import com.foogaro.kinexis.core.model.CachingPattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -85,6 +86,26 @@ public class AnnotationFinder {
         return metadata(entityClass).ttl();
     }
 
+    public long negativeTtl(Class<?> entityClass) {
+        return metadata(entityClass).negativeTtl();
+    }
+
+    public long staleWhileRevalidate(Class<?> entityClass) {
+        return metadata(entityClass).staleWhileRevalidate();
+    }
+
+    public long staleIfError(Class<?> entityClass) {
+        return metadata(entityClass).staleIfError();
+    }
+
+    public boolean hasSlidingTtl(Class<?> entityClass) {
+        return metadata(entityClass).slidingTtl();
+    }
+
+    public CachingFormat format(Class<?> entityClass) {
+        return metadata(entityClass).format();
+    }
+
     /**
      * Analyzes the caching patterns for an entity class and caches the result.
      * If the class has not been analyzed before, it checks for the {@link CachingPatterns} annotation
@@ -98,17 +119,27 @@ public class AnnotationFinder {
             int cacheType = CachingPattern.NONE.getValue();
             boolean enabled = true;
             long ttl = 0;
+            long negativeTtl = 0;
+            long staleWhileRevalidate = 0;
+            long staleIfError = 0;
+            boolean slidingTtl = false;
+            CachingFormat format = CachingFormat.JSON;
             if (entityClass.isAnnotationPresent(CachingPatterns.class)) {
                 CachingPatterns cachingPatterns = entityClass.getAnnotation(CachingPatterns.class);
                 enabled = cachingPatterns.enabled();
                 ttl = cachingPatterns.ttl();
+                negativeTtl = cachingPatterns.negativeTtl();
+                staleWhileRevalidate = cachingPatterns.staleWhileRevalidate();
+                staleIfError = cachingPatterns.staleIfError();
+                slidingTtl = cachingPatterns.slidingTtl();
+                format = cachingPatterns.format();
                 for (CachingPattern pattern : cachingPatterns.patterns()) {
                     cacheType = cacheType + pattern.getValue();
                 }
             }
-            logger.debug("Resolved Kinexis metadata for {}: enabled={}, ttl={}, patterns={}",
-                    entityClass.getSimpleName(), enabled, ttl, cacheType);
-            return new CachingMetadata(cacheType, enabled, ttl);
+            logger.debug("Resolved Kinexis metadata for {}: enabled={}, ttl={}, negativeTtl={}, staleWhileRevalidate={}, staleIfError={}, slidingTtl={}, format={}, patterns={}",
+                    entityClass.getSimpleName(), enabled, ttl, negativeTtl, staleWhileRevalidate, staleIfError, slidingTtl, format, cacheType);
+            return new CachingMetadata(cacheType, enabled, ttl, negativeTtl, staleWhileRevalidate, staleIfError, slidingTtl, format);
         });
     }
 
@@ -124,6 +155,8 @@ public class AnnotationFinder {
         return (cacheType & entityCacheType) > 0;
     }
 
-    private record CachingMetadata(int patterns, boolean enabled, long ttl) {
+    private record CachingMetadata(int patterns, boolean enabled, long ttl, long negativeTtl,
+                                   long staleWhileRevalidate, long staleIfError, boolean slidingTtl,
+                                   CachingFormat format) {
     }
 }
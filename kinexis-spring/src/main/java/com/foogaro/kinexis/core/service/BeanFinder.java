@@ -37,6 +37,21 @@ public class BeanFinder {
         logger.debug("Initialized BeanFinder with {} beans", allBeans.size());
     }
 
+    /**
+     * Finds the first bean assignable to the given type.
+     *
+     * @param type the type of the bean to find
+     * @param <B> the type of the bean
+     * @return the bean, or empty if the context has none
+     */
+    public <B> Optional<B> findBean(Class<B> type) {
+        return allBeans.values()
+                .stream()
+                .filter(type::isInstance)
+                .map(type::cast)
+                .findFirst();
+    }
+
     /**
      * Finds all repositories that match a specific repository class name.
      * Handles both proxy and non-proxy repository instances.
@@ -0,0 +1,150 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache TTL adapted to the observed read/write mix of each entity type.
+ * <p>
+ * Reads come from {@link KinexisService} and {@link ReactiveKinexisService}; writes from their cache-only
+ * saves and deletes and from the write-behind processors. Both are counted with an exponential decay of
+ * {@code kinexis.cache.adaptive-ttl.half-life}. With {@code w} the share of writes, the TTL is
+ * {@code minTtl * (maxTtl / minTtl) ^ (1 - w)}: read-only entities get {@code max-ttl}, write-only ones
+ * {@code min-ttl}. Until {@code min-samples} operations are seen, the {@code @CachingPatterns.ttl} is used,
+ * clamped to the same bounds.
+ * <p>
+ * With {@code buckets} above 1, IDs are hashed into that many buckets per type, each with its own mix.
+ * Batch writes use the mix of the whole type.
+ */
+public class KinexisAdaptiveTtl {
+
+    private final KinexisProperties.AdaptiveTtl properties;
+    private final LongSupplier nanoTime;
+    private final Map<Class<?>, Rates[]> rates = new ConcurrentHashMap<>();
+
+    public KinexisAdaptiveTtl(KinexisProperties.AdaptiveTtl properties) {
+        this(properties, System::nanoTime);
+    }
+
+    KinexisAdaptiveTtl(KinexisProperties.AdaptiveTtl properties, LongSupplier nanoTime) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.nanoTime = Objects.requireNonNull(nanoTime, "nanoTime cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void recordRead(Class<?> entityType, Object id) {
+        if (properties.isEnabled()) {
+            bucket(entityType, id).add(1.0d, 0.0d, nanoTime.getAsLong(), halfLifeNanos());
+        }
+    }
+
+    public void recordWrite(Class<?> entityType, Object id) {
+        if (properties.isEnabled()) {
+            bucket(entityType, id).add(0.0d, 1.0d, nanoTime.getAsLong(), halfLifeNanos());
+        }
+    }
+
+    /**
+     * @param entityType the entity type
+     * @param id         the entity ID, or {@code null} for the mix of the whole type
+     * @param configured the {@code @CachingPatterns.ttl}
+     * @return the TTL to write, or {@code configured} when adaptive TTL is disabled or {@code configured} is zero
+     */
+    public Duration ttl(Class<?> entityType, Object id, Duration configured) {
+        if (!properties.isEnabled() || configured == null || configured.isZero() || configured.isNegative()) {
+            return configured;
+        }
+        double[] mix = id == null ? mix(entityType) : bucket(entityType, id).decayed(nanoTime.getAsLong(), halfLifeNanos());
+        long minNanos = Math.max(1L, properties.getMinTtl().toNanos());
+        long maxNanos = Math.max(minNanos, properties.getMaxTtl().toNanos());
+        double samples = mix[0] + mix[1];
+        if (samples < Math.max(1, properties.getMinSamples())) {
+            return Duration.ofNanos(Math.clamp(configured.toNanos(), minNanos, maxNanos));
+        }
+        double readShare = mix[0] / samples;
+        double ttl = minNanos * Math.pow((double) maxNanos / minNanos, readShare);
+        return Duration.ofSeconds(Math.max(1L, Math.round(ttl / 1_000_000_000d)));
+    }
+
+    /**
+     * Returns the TTL currently chosen for the whole entity type, for diagnostics.
+     */
+    public Optional<Duration> effectiveTtl(Class<?> entityType, Duration configured) {
+        if (!properties.isEnabled() || configured == null || configured.isZero() || configured.isNegative()) {
+            return Optional.empty();
+        }
+        return Optional.of(ttl(entityType, null, configured));
+    }
+
+    private double[] mix(Class<?> entityType) {
+        double[] mix = new double[2];
+        Rates[] buckets = rates.get(entityType);
+        if (buckets == null) {
+            return mix;
+        }
+        long now = nanoTime.getAsLong();
+        for (Rates bucket : buckets) {
+            double[] decayed = bucket.decayed(now, halfLifeNanos());
+            mix[0] += decayed[0];
+            mix[1] += decayed[1];
+        }
+        return mix;
+    }
+
+    private Rates bucket(Class<?> entityType, Object id) {
+        Objects.requireNonNull(entityType, "entityType cannot be null");
+        Rates[] buckets = rates.computeIfAbsent(entityType, ignored -> {
+            Rates[] created = new Rates[Math.max(1, properties.getBuckets())];
+            for (int i = 0; i < created.length; i++) {
+                created[i] = new Rates(nanoTime.getAsLong());
+            }
+            return created;
+        });
+        return buckets[Math.floorMod(String.valueOf(id).hashCode(), buckets.length)];
+    }
+
+    private long halfLifeNanos() {
+        Duration halfLife = properties.getHalfLife();
+        return halfLife == null || halfLife.isNegative() ? 0L : halfLife.toNanos();
+    }
+
+    private static final class Rates {
+
+        private double reads;
+        private double writes;
+        private long updatedAt;
+
+        private Rates(long now) {
+            this.updatedAt = now;
+        }
+
+        private synchronized void add(double read, double write, long now, long halfLifeNanos) {
+            double weight = weight(now, halfLifeNanos);
+            reads = reads * weight + read;
+            writes = writes * weight + write;
+            updatedAt = now;
+        }
+
+        private synchronized double[] decayed(long now, long halfLifeNanos) {
+            double weight = weight(now, halfLifeNanos);
+            return new double[]{reads * weight, writes * weight};
+        }
+
+        private double weight(long now, long halfLifeNanos) {
+            long elapsed = now - updatedAt;
+            if (halfLifeNanos <= 0 || elapsed <= 0) {
+                return 1.0d;
+            }
+            return Math.pow(0.5d, (double) elapsed / halfLifeNanos);
+        }
+    }
+}
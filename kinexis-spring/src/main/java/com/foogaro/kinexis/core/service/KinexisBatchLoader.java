@@ -0,0 +1,124 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Micro-batching of concurrent single-entity reads inside one JVM, in the style of a DataLoader.
+ * <p>
+ * The first caller for an entity type opens a batch and waits up to {@code kinexis.cache.batching.window}
+ * for other callers to join it, or until it holds {@code kinexis.cache.batching.max-batch-size} IDs. It then
+ * loads every ID of the batch with one call of the batch loader and hands each caller its own entity.
+ * Callers asking for the same ID share one slot. If the batch loader fails, every caller of the batch fails.
+ */
+public class KinexisBatchLoader {
+
+    private final KinexisProperties.Batching properties;
+    private final KinexisTelemetry telemetry;
+    private final Map<Class<?>, Batch> open = new HashMap<>();
+
+    public KinexisBatchLoader(KinexisProperties.Batching properties, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Loads one entity as part of the current batch of its type.
+     *
+     * @param entityType the entity type
+     * @param id         the entity ID
+     * @param loader     loads the entities of a batch of IDs, skipping the IDs it cannot find
+     * @return the entity with that ID, if the batch loader returned it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> load(Class<T> entityType, Object id, Function<List<Object>, List<T>> loader) {
+        Objects.requireNonNull(id, "id cannot be null");
+        Batch batch;
+        boolean leader;
+        CompletableFuture<Optional<?>> result;
+        synchronized (open) {
+            batch = open.get(entityType);
+            leader = batch == null;
+            if (leader) {
+                batch = new Batch();
+                open.put(entityType, batch);
+            }
+            result = batch.add(id);
+            if (batch.slots.size() >= Math.max(1, properties.getMaxBatchSize())) {
+                open.remove(entityType, batch);
+                batch.full.countDown();
+            }
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_BATCH_REQUESTS, Map.of("entity", entityType.getSimpleName()));
+        if (leader) {
+            awaitWindow(batch);
+            synchronized (open) {
+                open.remove(entityType, batch);
+            }
+            dispatch(entityType, batch, loader);
+        }
+        try {
+            return (Optional<T>) result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Batch load of " + entityType.getSimpleName() + " " + id + " failed", e.getCause());
+        }
+    }
+
+    private void awaitWindow(Batch batch) {
+        Duration window = properties.getWindow();
+        if (window == null || window.isNegative() || window.isZero()) {
+            return;
+        }
+        try {
+            batch.full.await(window.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> void dispatch(Class<T> entityType, Batch batch, Function<List<Object>, List<T>> loader) {
+        telemetry.increment(KinexisTelemetry.CACHE_BATCH_LOADS, Map.of("entity", entityType.getSimpleName()));
+        try {
+            Map<String, T> found = new HashMap<>();
+            KinexisService.indexById(loader.apply(new ArrayList<>(batch.ids.values())), found);
+            batch.slots.forEach((key, slot) -> slot.complete(Optional.ofNullable(found.get(key))));
+        } catch (RuntimeException | Error e) {
+            batch.slots.values().forEach(slot -> slot.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private static final class Batch {
+
+        private final Map<String, Object> ids = new LinkedHashMap<>();
+        private final Map<String, CompletableFuture<Optional<?>>> slots = new HashMap<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        private CompletableFuture<Optional<?>> add(Object id) {
+            String key = String.valueOf(id);
+            ids.putIfAbsent(key, id);
+            return slots.computeIfAbsent(key, ignored -> new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.Misc;
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.model.KinexisInvalidationProgress;
+import com.foogaro.kinexis.core.store.CacheStore;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Invalidates many cache entries of an entity type, for example after a backfill written straight to the
+ * database.
+ * <p>
+ * IDs are taken {@code kinexis.cache.bulk-invalidation.batch-size} at a time and each batch is invalidated
+ * with {@link CacheStore#invalidateAll}, which also drops the not-found markers and the L1 copies. With a
+ * predicate, the cached entities of a batch are read first and only the matching ones are invalidated.
+ * Batches are paced so that no more than {@code max-keys-per-second} IDs are examined per second, and
+ * progress is reported after each one. The caller's thread runs the invalidation; an interrupt stops it
+ * after the current batch.
+ */
+public class KinexisBulkInvalidator {
+
+    public static final String MODE_IDS = "ids";
+    public static final String MODE_PREFIX = "prefix";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final KinexisProperties.BulkInvalidation properties;
+    private final KinexisTelemetry telemetry;
+
+    public KinexisBulkInvalidator(KinexisProperties.BulkInvalidation properties, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    /**
+     * @param cacheStore the cache store of the entity type
+     * @param ids        the IDs to invalidate, closed by the caller
+     * @param mode       how the IDs were chosen, {@link #MODE_IDS} or {@link #MODE_PREFIX}
+     * @param filter     selects the cached entities to invalidate, {@code null} for every ID
+     * @param progress   receives the progress after each batch, may be {@code null}
+     * @return the final progress, not {@code done} when interrupted
+     */
+    public <T> KinexisInvalidationProgress invalidate(CacheStore<T> cacheStore, Stream<?> ids, String mode,
+                                                      Predicate<? super T> filter,
+                                                      Consumer<KinexisInvalidationProgress> progress) {
+        String entity = cacheStore.entityType().getSimpleName();
+        Map<String, String> tags = Map.of("entity", entity, "mode", mode);
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long started = System.nanoTime();
+        long scanned = 0;
+        long invalidated = 0;
+        List<Object> batch = new ArrayList<>(batchSize);
+        for (Object id : (Iterable<Object>) ids.map(Object.class::cast)::iterator) {
+            batch.add(id);
+            if (batch.size() < batchSize) {
+                continue;
+            }
+            scanned += batch.size();
+            invalidated += invalidateBatch(cacheStore, batch, filter);
+            batch.clear();
+            report(entity, tags, scanned, invalidated, started, false, progress);
+            if (!pace(started, scanned)) {
+                logger.warn("Bulk invalidation of {} interrupted after {} of {} scanned IDs", entity, invalidated, scanned);
+                return new KinexisInvalidationProgress(entity, scanned, invalidated, elapsed(started), false);
+            }
+        }
+        scanned += batch.size();
+        invalidated += invalidateBatch(cacheStore, batch, filter);
+        telemetry.increment(KinexisTelemetry.CACHE_BULK_INVALIDATIONS, tags);
+        KinexisInvalidationProgress done = report(entity, tags, scanned, invalidated, started, true, progress);
+        logger.info("Bulk invalidation of {} done: {} of {} scanned IDs invalidated in {} ms",
+                entity, invalidated, scanned, done.elapsed().toMillis());
+        return done;
+    }
+
+    private <T> int invalidateBatch(CacheStore<T> cacheStore, List<Object> batch, Predicate<? super T> filter) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<?> selected = filter == null ? batch : cacheStore.findAllById(batch).stream()
+                .filter(filter)
+                .map(Misc::getEntityId)
+                .flatMap(Optional::stream)
+                .toList();
+        cacheStore.invalidateAll(selected);
+        return selected.size();
+    }
+
+    private KinexisInvalidationProgress report(String entity, Map<String, String> tags, long scanned, long invalidated,
+                                               long started, boolean done, Consumer<KinexisInvalidationProgress> progress) {
+        KinexisInvalidationProgress current = new KinexisInvalidationProgress(entity, scanned, invalidated, elapsed(started), done);
+        telemetry.recordGauge(KinexisTelemetry.CACHE_BULK_INVALIDATED_KEYS, invalidated, tags);
+        logger.debug("Bulk invalidation of {}: {} of {} scanned IDs invalidated", entity, invalidated, scanned);
+        if (progress != null) {
+            progress.accept(current);
+        }
+        return current;
+    }
+
+    /**
+     * Sleeps until the scanned IDs fit the rate limit.
+     *
+     * @return {@code false} when interrupted
+     */
+    private boolean pace(long started, long scanned) {
+        if (properties.getMaxKeysPerSecond() <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        long due = started + scanned * 1_000_000_000L / properties.getMaxKeysPerSecond();
+        long wait = due - System.nanoTime();
+        try {
+            if (wait > 0) {
+                Thread.sleep(Duration.ofNanos(wait));
+            }
+            return !Thread.currentThread().isInterrupted();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Duration elapsed(long started) {
+        return Duration.ofNanos(System.nanoTime() - started);
+    }
+}
@@ -0,0 +1,62 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.store.FrequencySketch;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Frequency-based admission of cache-aside loads into the cache store, in the style of TinyLFU.
+ * <p>
+ * Every cache read of an ID is counted in a {@link FrequencySketch} of its entity type, which halves its
+ * counters periodically so that old popularity fades out. An entity loaded from the primary store is written
+ * to the cache only once its ID was read at least {@code kinexis.cache.admission.min-frequency} times, so
+ * one-off lookups and scans are served from the primary store without taking a cache slot.
+ * Writes made by saves and write-behind are always applied.
+ */
+public class KinexisCacheAdmission {
+
+    private final KinexisProperties.Admission properties;
+    private final KinexisTelemetry telemetry;
+    private final Map<Class<?>, FrequencySketch> sketches = new ConcurrentHashMap<>();
+
+    public KinexisCacheAdmission(KinexisProperties.Admission properties, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void recordAccess(Class<?> entityType, Object id) {
+        if (properties.isEnabled() && id != null) {
+            sketch(entityType).increment(String.valueOf(id));
+        }
+    }
+
+    /**
+     * Decides whether an entity loaded on a cache miss is written to the cache.
+     *
+     * @param entityType the entity type
+     * @param id         the entity ID
+     * @return true when admission is disabled or the ID is read often enough
+     */
+    public boolean admit(Class<?> entityType, Object id) {
+        if (!properties.isEnabled() || id == null) {
+            return true;
+        }
+        boolean admitted = sketch(entityType).frequency(String.valueOf(id)) >= properties.getMinFrequency();
+        telemetry.increment(admitted ? KinexisTelemetry.CACHE_ADMISSION_ADMITTED : KinexisTelemetry.CACHE_ADMISSION_REJECTED,
+                Map.of("entity", entityType.getSimpleName()));
+        return admitted;
+    }
+
+    private FrequencySketch sketch(Class<?> entityType) {
+        Objects.requireNonNull(entityType, "entityType cannot be null");
+        return sketches.computeIfAbsent(entityType, ignored -> new FrequencySketch(properties.getExpectedKeys()));
+    }
+}
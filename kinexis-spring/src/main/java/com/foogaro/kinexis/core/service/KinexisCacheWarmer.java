@@ -0,0 +1,236 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.store.EntityStore;
+import com.foogaro.kinexis.core.store.EntityStoreRegistry;
+import com.foogaro.kinexis.core.store.HotKeyList;
+import com.foogaro.kinexis.core.store.WarmUpIdSource;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Fills the cache of each cache-aside entity at startup, so that a fresh deploy or a Redis failover does
+ * not send the first minutes of traffic to the primary store.
+ * <p>
+ * The warm-up runs once every singleton is created and before the context finishes refreshing, so web
+ * servers and stream listeners start, and the application reports ready, only after it completes or after
+ * {@code kinexis.cache.warm-up.timeout}. Up to {@code parallelism} entity types are warmed at once. For
+ * each, the entities of the primary store, or the IDs chosen by {@code source}, are read {@code page-size}
+ * at a time. {@link KinexisService#warmUpEntities} writes a page of entities as it is, and
+ * {@link KinexisService#warmUp} loads a page of IDs, both skipping the entities already cached and writing
+ * the others with one batch write. Pages are paced so that all entity types together load at most
+ * {@code max-entities-per-second}. The warm-up can also be run later,
+ * for example after a failover, with {@link #warmUpAll()}.
+ */
+public class KinexisCacheWarmer implements SmartInitializingSingleton {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final KinexisProperties.WarmUp properties;
+    private final EntityStoreRegistry entityStoreRegistry;
+    private final AnnotationFinder annotationFinder;
+    private final WarmUpIdSource idSource;
+    private final HotKeyList hotKeyList;
+    private final KinexisTelemetry telemetry;
+    private final List<KinexisService<?>> services;
+    private final AtomicLong nextPage = new AtomicLong(System.nanoTime());
+
+    public KinexisCacheWarmer(KinexisProperties.WarmUp properties, EntityStoreRegistry entityStoreRegistry,
+                              AnnotationFinder annotationFinder, WarmUpIdSource idSource, HotKeyList hotKeyList,
+                              KinexisTelemetry telemetry, Collection<? extends KinexisService<?>> services) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.entityStoreRegistry = Objects.requireNonNull(entityStoreRegistry, "entityStoreRegistry cannot be null");
+        this.annotationFinder = Objects.requireNonNull(annotationFinder, "annotationFinder cannot be null");
+        this.idSource = idSource;
+        this.hotKeyList = hotKeyList == null ? HotKeyList.noop() : hotKeyList;
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+        this.services = services == null ? List.of() : List.copyOf(services);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            logger.debug("Kinexis cache warm-up disabled");
+            return;
+        }
+        warmUpAll();
+    }
+
+    /**
+     * Warms up the cache of every selected entity type and waits for it, at most {@code timeout}.
+     *
+     * @return the number of entities written to the cache, by entity type
+     */
+    public Map<Class<?>, Long> warmUpAll() {
+        List<KinexisService<?>> selected = services.stream()
+                .filter(service -> isSelected(service.getEntityClass()))
+                .toList();
+        Map<Class<?>, Long> loaded = new ConcurrentHashMap<>();
+        if (selected.isEmpty()) {
+            return loaded;
+        }
+        Duration timeout = properties.getTimeout();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()),
+                Thread.ofVirtual().name("kinexis-warm-up-", 0).factory());
+        try {
+            selected.forEach(service -> executor.execute(() -> loaded.put(service.getEntityClass(), warmUp(service))));
+            executor.shutdown();
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Cache warm-up not finished after {}, continuing without it", timeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded;
+    }
+
+    /**
+     * Loads the entities of one entity type into its cache, page by page.
+     *
+     * @param service the service of the entity type
+     * @return the number of entities written to the cache, or {@code -1} when the entities cannot be listed
+     */
+    public long warmUp(KinexisService<?> service) {
+        Class<?> entityType = service.getEntityClass();
+        long started = System.nanoTime();
+        Progress progress = new Progress();
+        try {
+            if (properties.getSource() == KinexisProperties.WarmUpSource.PRIMARY_STORE) {
+                warmUpFromPrimaryStore(service, progress);
+            } else {
+                try (Stream<Object> ids = ids(entityType)) {
+                    warmUpPages(pagesOf(ids.iterator()), service::warmUp, service, progress);
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            logger.warn("Cache of {} not warmed up: {}", entityType.getSimpleName(), e.getMessage());
+            progress.outcome = "unsupported";
+            progress.loaded = -1;
+        } catch (RuntimeException e) {
+            logger.warn("Cache warm-up of {} stopped after {} entities: {}", entityType.getSimpleName(), progress.loaded, e.getMessage());
+            progress.outcome = "failed";
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_WARMUPS, Map.of("entity", entityType.getSimpleName(), "outcome", progress.outcome));
+        logger.info("Cache warm-up of {} {}: {} entities loaded out of {} read in {} ms", entityType.getSimpleName(), progress.outcome,
+                Math.max(0, progress.loaded), progress.read, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return progress.loaded;
+    }
+
+    /**
+     * Streams whole entities from the primary store and writes each page to the cache as it is, so the
+     * table is read once instead of once for the IDs and again for the entities.
+     */
+    private <T> void warmUpFromPrimaryStore(KinexisService<T> service, Progress progress) {
+        EntityStore<T> primaryStore = entityStoreRegistry.findPrimaryStore(service.getEntityClass())
+                .orElseThrow(() -> new UnsupportedOperationException("No primary store"));
+        try (Stream<List<T>> pages = primaryStore.streamPages(Math.max(1, properties.getPageSize()))) {
+            warmUpPages(pages.iterator(), service::warmUpEntities, service, progress);
+        }
+    }
+
+    private <E> void warmUpPages(Iterator<List<E>> pages, ToIntFunction<List<E>> writer,
+                                 KinexisService<?> service, Progress progress) {
+        long remaining = Math.max(0, properties.getMaxEntities());
+        while (remaining > 0 && pages.hasNext()) {
+            List<E> page = pages.next();
+            if (page.size() > remaining) {
+                page = page.subList(0, (int) remaining);
+            }
+            if (!pace(page.size())) {
+                progress.outcome = "interrupted";
+                return;
+            }
+            progress.read += page.size();
+            progress.loaded += writer.applyAsInt(page);
+            telemetry.recordGauge(KinexisTelemetry.CACHE_WARMUP_LOADED, progress.loaded,
+                    Map.of("entity", service.getEntityClass().getSimpleName()));
+            remaining -= page.size();
+        }
+    }
+
+    private Iterator<List<Object>> pagesOf(Iterator<Object> ids) {
+        int pageSize = Math.max(1, properties.getPageSize());
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return ids.hasNext();
+            }
+
+            @Override
+            public List<Object> next() {
+                List<Object> page = new ArrayList<>(pageSize);
+                while (page.size() < pageSize && ids.hasNext()) {
+                    page.add(ids.next());
+                }
+                return page;
+            }
+        };
+    }
+
+    private Stream<Object> ids(Class<?> entityType) {
+        if (properties.getSource() == KinexisProperties.WarmUpSource.HOT_KEYS) {
+            return hotKeyList.find(entityType, (int) Math.min(Integer.MAX_VALUE, properties.getMaxEntities()))
+                    .stream()
+                    .map(Object.class::cast);
+        }
+        if (idSource == null) {
+            throw new UnsupportedOperationException("No WarmUpIdSource bean");
+        }
+        return idSource.ids(entityType);
+    }
+
+    /**
+     * Waits for the turn of a page, so that pages of every entity type together respect the rate limit.
+     *
+     * @return {@code false} when interrupted
+     */
+    private boolean pace(int entities) {
+        int rate = properties.getMaxEntitiesPerSecond();
+        if (rate > 0) {
+            long cost = entities * 1_000_000_000L / rate;
+            long now = System.nanoTime();
+            long turn = Math.max(nextPage.getAndAccumulate(cost, (next, pageCost) -> Math.max(next, now) + pageCost), now);
+            try {
+                if (turn > now) {
+                    Thread.sleep(Duration.ofNanos(turn - now));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private boolean isSelected(Class<?> entityType) {
+        return annotationFinder.isEnabled(entityType)
+                && (annotationFinder.hasCacheAside(entityType) || annotationFinder.hasRefreshAhead(entityType))
+                && (properties.getEntities().isEmpty() || properties.getEntities().contains(entityType.getName()));
+    }
+
+    private static final class Progress {
+
+        private long read;
+        private long loaded;
+        private String outcome = "done";
+    }
+}
@@ -0,0 +1,127 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expiration policy of cache entries: TTL jitter and probabilistic early refresh.
+ * <p>
+ * With {@code kinexis.cache.expiration.jitter} set to {@code j}, each TTL is drawn uniformly from
+ * {@code [ttl * (1 - j), ttl * (1 + j)]}, so entries written together do not expire together.
+ * <p>
+ * With {@code kinexis.cache.expiration.early-refresh}, a cache hit reloads the entity in the background
+ * when {@code -loadTime * beta * ln(u) >= remainingTtl}, with {@code u} uniform in {@code (0, 1]} and
+ * {@code loadTime} the moving average of the primary-store load time of the entity type (XFetch).
+ * Entries close to expiry and slow to load are the most likely to be refreshed before they expire.
+ */
+public class KinexisExpiration {
+
+    private static final double LOAD_TIME_WEIGHT = 0.2d;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final KinexisProperties.Expiration properties;
+    private final KinexisTelemetry telemetry;
+    private final Map<Class<?>, AtomicLong> loadTimes = new ConcurrentHashMap<>();
+    private final Set<RefreshKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    public KinexisExpiration(KinexisProperties.Expiration properties, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    /**
+     * @param ttl the configured TTL
+     * @return the TTL with jitter applied, or {@code ttl} itself when it is zero or jitter is disabled
+     */
+    public Duration jitter(Duration ttl) {
+        double jitter = Math.min(properties.getJitter(), 1.0d);
+        if (ttl == null || ttl.isZero() || ttl.isNegative() || !(jitter > 0.0d)) {
+            return ttl;
+        }
+        long millis = ttl.toMillis();
+        long spread = (long) (millis * jitter);
+        long jittered = millis + ThreadLocalRandom.current().nextLong(-spread, spread + 1);
+        return Duration.ofMillis(Math.max(1L, jittered));
+    }
+
+    public boolean isEarlyRefreshEnabled() {
+        return properties.isEarlyRefresh();
+    }
+
+    /**
+     * Records how long a primary-store load of the entity type took.
+     */
+    public void recordLoad(Class<?> entityType, Duration elapsed) {
+        long nanos = elapsed.toNanos();
+        loadTimes.computeIfAbsent(entityType, ignored -> new AtomicLong(-1L))
+                .updateAndGet(average -> average < 0 ? nanos : average + (long) (LOAD_TIME_WEIGHT * (nanos - average)));
+    }
+
+    /**
+     * @return the moving average of the load time of the entity type, or
+     * {@code kinexis.cache.expiration.default-load-time} before the first load
+     */
+    public Duration loadTime(Class<?> entityType) {
+        AtomicLong average = loadTimes.get(entityType);
+        if (average == null || average.get() < 0) {
+            return properties.getDefaultLoadTime();
+        }
+        return Duration.ofNanos(average.get());
+    }
+
+    /**
+     * Draws whether a cache hit with the given remaining TTL should refresh the entity early.
+     */
+    public boolean shouldRefreshEarly(Class<?> entityType, Duration remainingTtl) {
+        if (!properties.isEarlyRefresh() || remainingTtl == null || remainingTtl.isNegative()) {
+            return false;
+        }
+        double u = 1.0d - ThreadLocalRandom.current().nextDouble();
+        double headroom = -loadTime(entityType).toNanos() * properties.getBeta() * Math.log(u);
+        return headroom >= remainingTtl.toNanos();
+    }
+
+    /**
+     * Runs an early refresh on the executor, unless one is already running in this JVM for the same entity.
+     *
+     * @return {@code true} when the refresh was started
+     */
+    public boolean refreshInBackground(Class<?> entityType, Object id, Executor executor, Runnable refresh) {
+        RefreshKey key = new RefreshKey(entityType, String.valueOf(id));
+        if (!refreshing.add(key)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Early refresh of {} {} failed: {}", entityType.getSimpleName(), id, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+            logger.debug("Early refresh of {} {} not scheduled: {}", entityType.getSimpleName(), id, e.getMessage());
+            return false;
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_EARLY_REFRESHES, Map.of("entity", entityType.getSimpleName()));
+        return true;
+    }
+
+    private record RefreshKey(Class<?> entityType, String id) {
+    }
+}
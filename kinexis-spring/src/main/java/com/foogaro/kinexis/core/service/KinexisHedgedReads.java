@@ -0,0 +1,185 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.store.EntityStore;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Hedged reads for cache-aside loads: when a store does not answer within its recent latency percentile,
+ * the same read is sent to an equivalent store and the first successful answer wins.
+ * <p>
+ * The hedge delay of a store is the {@code kinexis.cache.hedging.percentile} of its last 256 read latencies,
+ * recomputed every 16 reads and never below {@code kinexis.cache.hedging.min-delay}. Until a store has
+ * 16 reads, {@code kinexis.cache.hedging.initial-delay} applies. Hedges are paid from a budget that every load
+ * credits with {@code kinexis.cache.hedging.budget} of a hedge, so they stay below that share of the loads
+ * once the burst allowance of 10 hedges is spent. The losing read is not interrupted; its answer is ignored.
+ */
+public class KinexisHedgedReads {
+
+    private static final int SAMPLES = 256;
+    private static final int RECOMPUTE_EVERY = 16;
+    private static final long HEDGE_COST = 1_000_000;
+    private static final long MAX_BUDGET = 10 * HEDGE_COST;
+
+    private final KinexisProperties.Hedging properties;
+    private final KinexisTelemetry telemetry;
+    private final Map<String, LatencySamples> latencies = new ConcurrentHashMap<>();
+    private long budget = MAX_BUDGET;
+
+    public KinexisHedgedReads(KinexisProperties.Hedging properties, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Reads from {@code first} on the executor and, if it has not answered after its hedge delay and the budget
+     * allows it, from {@code second} as well.
+     *
+     * @param entityType the entity type
+     * @param first      the store read first
+     * @param second     the equivalent store read by the hedge, which may be {@code first} itself
+     * @param read       the read
+     * @param executor   the executor running the reads
+     * @return the first successful answer and the store that gave it
+     * @throws RuntimeException the failure of the first read when it fails before the hedge, or of the last read
+     *                          when both fail
+     */
+    public <T, R> HedgedRead<T, R> read(Class<T> entityType, EntityStore<T> first, EntityStore<T> second,
+                                        Function<EntityStore<T>, R> read, Executor executor) {
+        credit();
+        CompletableFuture<R> firstRead = CompletableFuture.supplyAsync(() -> timed(entityType, first, read), executor);
+        try {
+            return new HedgedRead<>(first, firstRead.get(delay(entityType, first.name()).toNanos(), TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            // the first store is slower than usual: hedge below
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading " + entityType.getSimpleName() + " from " + first.name(), e);
+        }
+        Map<String, String> tags = Map.of("entity", entityType.getSimpleName(), "store", second.name());
+        if (!withdraw()) {
+            telemetry.increment(KinexisTelemetry.CACHE_HEDGES_REJECTED, tags);
+            return new HedgedRead<>(first, join(firstRead));
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_HEDGES_ISSUED, tags);
+        CompletableFuture<R> hedge = CompletableFuture.supplyAsync(() -> timed(entityType, second, read), executor);
+        CompletableFuture<Answer<R>> winner = new CompletableFuture<>();
+        firstRead.whenComplete((value, failure) -> complete(winner, false, value, failure, hedge));
+        hedge.whenComplete((value, failure) -> complete(winner, true, value, failure, firstRead));
+        Answer<R> answer = join(winner);
+        if (answer.hedge()) {
+            telemetry.increment(KinexisTelemetry.CACHE_HEDGES_WON, tags);
+            firstRead.cancel(false);
+            return new HedgedRead<>(second, answer.value());
+        }
+        hedge.cancel(false);
+        return new HedgedRead<>(first, answer.value());
+    }
+
+    /**
+     * @return the delay after which a read of the store is hedged
+     */
+    Duration delay(Class<?> entityType, String storeName) {
+        LatencySamples samples = latencies.get(key(entityType, storeName));
+        long percentile = samples == null ? -1 : samples.percentile();
+        Duration delay = percentile < 0 ? properties.getInitialDelay() : Duration.ofNanos(percentile);
+        return delay.compareTo(properties.getMinDelay()) < 0 ? properties.getMinDelay() : delay;
+    }
+
+    private <T, R> R timed(Class<T> entityType, EntityStore<T> store, Function<EntityStore<T>, R> read) {
+        long started = System.nanoTime();
+        R value = read.apply(store);
+        latencies.computeIfAbsent(key(entityType, store.name()), ignored -> new LatencySamples())
+                .record(System.nanoTime() - started, properties.getPercentile());
+        return value;
+    }
+
+    private static <R> void complete(CompletableFuture<Answer<R>> winner, boolean hedge, R value,
+                                     Throwable failure, CompletableFuture<R> other) {
+        if (failure == null) {
+            winner.complete(new Answer<>(hedge, value));
+        } else if (other.isCompletedExceptionally()) {
+            winner.completeExceptionally(failure);
+        }
+    }
+
+    private synchronized void credit() {
+        budget = Math.min(MAX_BUDGET, budget + Math.round(properties.getBudget() * HEDGE_COST));
+    }
+
+    private synchronized boolean withdraw() {
+        if (budget < HEDGE_COST) {
+            return false;
+        }
+        budget -= HEDGE_COST;
+        return true;
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+
+    private static String key(Class<?> entityType, String storeName) {
+        return entityType.getName() + '\u0000' + storeName;
+    }
+
+    /**
+     * @param store the store that answered
+     * @param value the answer
+     */
+    public record HedgedRead<T, R>(EntityStore<T> store, R value) {
+    }
+
+    private record Answer<R>(boolean hedge, R value) {
+    }
+
+    private static final class LatencySamples {
+
+        private final long[] samples = new long[SAMPLES];
+        private int count;
+        private volatile long percentile = -1;
+
+        private synchronized void record(long nanos, double quantile) {
+            samples[count % SAMPLES] = nanos;
+            count++;
+            if (count % RECOMPUTE_EVERY == 0) {
+                long[] sorted = Arrays.copyOf(samples, Math.min(count, SAMPLES));
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * sorted.length) - 1;
+                percentile = sorted[Math.max(0, index)];
+            }
+        }
+
+        private long percentile() {
+            return percentile;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.model.KinexisHotKey;
+import com.foogaro.kinexis.core.store.HotKeyList;
+import com.foogaro.kinexis.core.store.HotKeySketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the most read and the most written IDs of each entity type, to spot IDs that are hammered.
+ * <p>
+ * Reads come from the cache lookups of {@link KinexisService} and {@link ReactiveKinexisService}; writes from
+ * the write-behind processors. Each entity type has one {@link HotKeySketch} for reads and one for writes,
+ * with the {@code top-k} IDs and their estimated rates over {@code half-life}. Counting is lock-free and
+ * costs a few atomic increments per call. With {@code persist}, the top read IDs are saved to the
+ * {@link HotKeyList} once per half-life, on the executor, for the {@code HOT_KEYS} cache warm-up.
+ */
+public class KinexisHotKeys {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final KinexisProperties.HotKeys properties;
+    private final HotKeyList hotKeyList;
+    private final Executor executor;
+    private final Map<Class<?>, HotKeySketch> reads = new ConcurrentHashMap<>();
+    private final Map<Class<?>, HotKeySketch> writes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, AtomicLong> nextPersist = new ConcurrentHashMap<>();
+
+    public KinexisHotKeys(KinexisProperties.HotKeys properties) {
+        this(properties, HotKeyList.noop(), Runnable::run);
+    }
+
+    public KinexisHotKeys(KinexisProperties.HotKeys properties, HotKeyList hotKeyList, Executor executor) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.hotKeyList = Objects.requireNonNull(hotKeyList, "hotKeyList cannot be null");
+        this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void recordRead(Class<?> entityType, Object id) {
+        if (properties.isEnabled() && id != null) {
+            sketch(reads, entityType).increment(id);
+            persistIfDue(entityType);
+        }
+    }
+
+    public void recordWrite(Class<?> entityType, Object id) {
+        if (properties.isEnabled() && id != null) {
+            sketch(writes, entityType).increment(id);
+        }
+    }
+
+    /**
+     * @param entityType the entity type
+     * @return the most read IDs, most read first
+     */
+    public List<KinexisHotKey> reads(Class<?> entityType) {
+        HotKeySketch sketch = reads.get(entityType);
+        return sketch == null ? List.of() : sketch.top(properties.getTopK());
+    }
+
+    /**
+     * @param entityType the entity type
+     * @return the most written IDs, most written first
+     */
+    public List<KinexisHotKey> writes(Class<?> entityType) {
+        HotKeySketch sketch = writes.get(entityType);
+        return sketch == null ? List.of() : sketch.top(properties.getTopK());
+    }
+
+    /**
+     * @return the entity types read or written since startup
+     */
+    public Set<Class<?>> entityTypes() {
+        Set<Class<?>> entityTypes = new HashSet<>(reads.keySet());
+        entityTypes.addAll(writes.keySet());
+        return entityTypes;
+    }
+
+    /**
+     * Saves the most read IDs of every entity type to the {@link HotKeyList} now.
+     */
+    public void persist() {
+        reads.keySet().forEach(this::persist);
+    }
+
+    private void persist(Class<?> entityType) {
+        List<String> ids = reads(entityType).stream().map(KinexisHotKey::id).toList();
+        try {
+            hotKeyList.save(entityType, ids);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to save the hot keys of {}: {}", entityType.getSimpleName(), e.getMessage());
+        }
+    }
+
+    private void persistIfDue(Class<?> entityType) {
+        if (!properties.isPersist()) {
+            return;
+        }
+        long now = System.nanoTime();
+        AtomicLong next = nextPersist.get(entityType);
+        if (next == null) {
+            next = nextPersist.computeIfAbsent(entityType, ignored -> new AtomicLong(now + halfLifeNanos()));
+        }
+        long due = next.get();
+        if (now - due >= 0 && next.compareAndSet(due, now + halfLifeNanos())) {
+            executor.execute(() -> persist(entityType));
+        }
+    }
+
+    private HotKeySketch sketch(Map<Class<?>, HotKeySketch> sketches, Class<?> entityType) {
+        Objects.requireNonNull(entityType, "entityType cannot be null");
+        HotKeySketch sketch = sketches.get(entityType);
+        if (sketch == null) {
+            sketch = sketches.computeIfAbsent(entityType, ignored ->
+                    new HotKeySketch(Math.max(1, properties.getTopK()), properties.getExpectedKeys(), properties.getHalfLife()));
+        }
+        return sketch;
+    }
+
+    private long halfLifeNanos() {
+        return Math.max(1L, properties.getHalfLife().toNanos());
+    }
+}
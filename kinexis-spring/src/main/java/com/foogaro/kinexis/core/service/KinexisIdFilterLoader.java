@@ -0,0 +1,171 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.store.EntityIdFilter;
+import com.foogaro.kinexis.core.store.EntityStore;
+import com.foogaro.kinexis.core.store.EntityStoreRegistry;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Builds the {@link EntityIdFilter} of each cache-aside entity at startup, by streaming every ID from
+ * its primary store in a background thread.
+ * <p>
+ * Reads are not gated until the build of an entity completes. Entities whose filter is already ready,
+ * for example because another instance built the shared Redis filter, are skipped. If the primary
+ * store cannot stream its IDs, the filter of that entity is never marked ready.
+ * <p>
+ * {@link #rebuild} streams the IDs again into a filter that is already ready, so that IDs written to the
+ * primary store outside Kinexis become visible. The filter stays in use meanwhile, since IDs are only
+ * ever added. With {@code kinexis.cache.id-filter.rebuild-interval}, the background thread rebuilds
+ * every selected filter at that interval.
+ */
+public class KinexisIdFilterLoader implements SmartInitializingSingleton {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final KinexisProperties.IdFilter properties;
+    private final EntityIdFilter idFilter;
+    private final EntityStoreRegistry entityStoreRegistry;
+    private final AnnotationFinder annotationFinder;
+    private final KinexisTelemetry telemetry;
+    private final List<Class<?>> entityTypes;
+
+    public KinexisIdFilterLoader(KinexisProperties.IdFilter properties, EntityIdFilter idFilter,
+                                 EntityStoreRegistry entityStoreRegistry, AnnotationFinder annotationFinder,
+                                 KinexisTelemetry telemetry, Collection<Class<?>> entityTypes) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.idFilter = Objects.requireNonNull(idFilter, "idFilter cannot be null");
+        this.entityStoreRegistry = Objects.requireNonNull(entityStoreRegistry, "entityStoreRegistry cannot be null");
+        this.annotationFinder = Objects.requireNonNull(annotationFinder, "annotationFinder cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+        this.entityTypes = entityTypes == null ? List.of() : entityTypes.stream().distinct().toList();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isEnabled()) {
+            logger.debug("Kinexis ID filter disabled");
+            return;
+        }
+        List<Class<?>> selected = entityTypes.stream()
+                .filter(this::isSelected)
+                .toList();
+        if (selected.isEmpty()) {
+            return;
+        }
+        Thread loader = new Thread(() -> {
+            selected.forEach(this::load);
+            rebuildPeriodically(selected);
+        }, "kinexis-id-filter-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Adds every ID of the primary store to the filter of an entity and marks it ready.
+     *
+     * @param entityType the entity type
+     * @return the number of IDs added, or {@code -1} when the filter was not built
+     */
+    public long load(Class<?> entityType) {
+        recordConfiguredFpp(entityType);
+        if (idFilter.isReady(entityType)) {
+            logger.debug("ID filter of {} already built", entityType.getSimpleName());
+            return 0;
+        }
+        return build(entityType);
+    }
+
+    /**
+     * Adds every ID of the primary store to the filter of an entity, even when it is already built.
+     *
+     * @param entityType the entity type
+     * @return the number of IDs added, or {@code -1} when the filter could not be rebuilt
+     */
+    public long rebuild(Class<?> entityType) {
+        recordConfiguredFpp(entityType);
+        return build(entityType);
+    }
+
+    /**
+     * Rebuilds the filter of every selected entity, see {@link #rebuild}.
+     */
+    public void rebuildAll() {
+        entityTypes.stream()
+                .filter(this::isSelected)
+                .forEach(this::rebuild);
+    }
+
+    private void rebuildPeriodically(List<Class<?>> selected) {
+        Duration interval = properties.getRebuildInterval();
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            selected.forEach(this::rebuild);
+        }
+    }
+
+    private void recordConfiguredFpp(Class<?> entityType) {
+        telemetry.recordGauge(KinexisTelemetry.CACHE_ID_FILTER_CONFIGURED_FPP,
+                Math.round(properties.getFalsePositiveProbability() * 1_000_000d), Map.of("entity", entityType.getSimpleName()));
+    }
+
+    private long build(Class<?> entityType) {
+        Map<String, String> tags = Map.of("entity", entityType.getSimpleName());
+        Optional<? extends EntityStore<?>> primaryStore = entityStoreRegistry.findPrimaryStore(entityType);
+        if (primaryStore.isEmpty()) {
+            logger.warn("No primary store for {}, ID filter not built", entityType.getSimpleName());
+            return -1;
+        }
+        int batchSize = Math.max(1, properties.getLoadBatchSize());
+        long loaded = 0;
+        try (Stream<Object> ids = primaryStore.get().streamIds()) {
+            List<Object> batch = new ArrayList<>(batchSize);
+            for (Object id : (Iterable<Object>) ids::iterator) {
+                batch.add(id);
+                if (batch.size() == batchSize) {
+                    idFilter.addAll(entityType, batch);
+                    loaded += batch.size();
+                    batch.clear();
+                }
+            }
+            idFilter.addAll(entityType, batch);
+            loaded += batch.size();
+        } catch (UnsupportedOperationException e) {
+            logger.warn("ID filter of {} not built: {}", entityType.getSimpleName(), e.getMessage());
+            return -1;
+        } catch (RuntimeException e) {
+            logger.warn("ID filter of {} not built after {} IDs: {}", entityType.getSimpleName(), loaded, e.getMessage());
+            return -1;
+        }
+        idFilter.markReady(entityType);
+        telemetry.recordGauge(KinexisTelemetry.CACHE_ID_FILTER_LOADED_IDS, loaded, tags);
+        logger.info("ID filter of {} built with {} IDs", entityType.getSimpleName(), loaded);
+        return loaded;
+    }
+
+    private boolean isSelected(Class<?> entityType) {
+        return annotationFinder.isEnabled(entityType)
+                && (annotationFinder.hasCacheAside(entityType) || annotationFinder.hasRefreshAhead(entityType))
+                && (properties.getEntities().isEmpty() || properties.getEntities().contains(entityType.getName()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.store.LoadLeaseManager;
+import com.foogaro.kinexis.core.store.LoadLeaseManager.LoadLease;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cluster-wide single-flight of entity reloads, on top of a {@link LoadLeaseManager}.
+ * <p>
+ * The instance that acquires the lease runs the loader. On a cache-aside miss the other instances
+ * poll the cache until {@code kinexis.cache.lease.wait-timeout} and then load the entity themselves.
+ * They stop waiting as soon as the entity is cached, or marked as missing by the lease holder;
+ * on a refresh-ahead reload they skip the reload. Loaders receive a check that tells whether the
+ * lease is still held and must not write to the cache when it returns {@code false}.
+ * If the lease manager fails, the load runs without a lease.
+ */
+public class KinexisLeasedLoader {
+
+    private static final BooleanSupplier ALWAYS_HELD = () -> true;
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final KinexisProperties.Lease properties;
+    private final LoadLeaseManager leaseManager;
+    private final KinexisTelemetry telemetry;
+
+    public KinexisLeasedLoader(KinexisProperties.Lease properties, LoadLeaseManager leaseManager, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.leaseManager = Objects.requireNonNull(leaseManager, "leaseManager cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Loads an entity on a cache miss, without checking for not-found markers while waiting.
+     *
+     * @param entityType  the entity type
+     * @param id          the entity ID
+     * @param cacheReader reads the entity from the cache while another instance holds the lease
+     * @param loader      loads the entity and writes it to the cache if the lease is still held
+     * @return the entity
+     */
+    public <T> Optional<T> load(Class<T> entityType, Object id, Supplier<Optional<T>> cacheReader,
+                                Function<BooleanSupplier, Optional<T>> loader) {
+        return load(entityType, id, cacheReader, () -> false, loader);
+    }
+
+    /**
+     * Loads an entity on a cache miss.
+     *
+     * @param entityType    the entity type
+     * @param id            the entity ID
+     * @param cacheReader   reads the entity from the cache while another instance holds the lease
+     * @param missingReader tells whether the lease holder marked the entity as missing in the cache
+     * @param loader        loads the entity and writes it to the cache if the lease is still held
+     * @return the entity
+     */
+    public <T> Optional<T> load(Class<T> entityType, Object id, Supplier<Optional<T>> cacheReader,
+                                BooleanSupplier missingReader, Function<BooleanSupplier, Optional<T>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(ALWAYS_HELD);
+        }
+        Map<String, String> tags = Map.of("entity", entityType.getSimpleName(), "operation", "load");
+        Optional<LoadLease> lease;
+        try {
+            lease = leaseManager.tryAcquire(entityType, id, properties.getTtl());
+        } catch (RuntimeException e) {
+            logger.warn("Unable to acquire load lease for {} {}, loading without lease: {}", entityType.getSimpleName(), id, e.getMessage());
+            return loader.apply(ALWAYS_HELD);
+        }
+        if (lease.isPresent()) {
+            return loadHolding(lease.get(), loader, tags);
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_LEASE_CONTENDED, tags);
+        long deadline = System.nanoTime() + nonNegative(properties.getWaitTimeout()).toNanos();
+        long pollNanos = Math.max(1L, nonNegative(properties.getPollInterval()).toNanos());
+        while (System.nanoTime() - deadline < 0) {
+            LockSupport.parkNanos(Math.min(pollNanos, deadline - System.nanoTime()));
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            Optional<T> cached = cacheReader.get();
+            if (cached.isPresent()) {
+                return cached;
+            }
+            if (missingReader.getAsBoolean()) {
+                return Optional.empty();
+            }
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_LEASE_TIMEOUTS, tags);
+        logger.debug("Timed out waiting for the lease holder to load {} {}, loading directly", entityType.getSimpleName(), id);
+        return loader.apply(ALWAYS_HELD);
+    }
+
+    /**
+     * Reloads an entity ahead of use, unless another instance holds the lease.
+     *
+     * @param entityType the entity type
+     * @param id         the entity ID
+     * @param loader     loads the entity and writes it to the cache if the lease is still held
+     * @return the reloaded entity, or empty when the reload was skipped
+     */
+    public <T> Optional<T> refresh(Class<T> entityType, Object id, Function<BooleanSupplier, Optional<T>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.apply(ALWAYS_HELD);
+        }
+        Map<String, String> tags = Map.of("entity", entityType.getSimpleName(), "operation", "refresh");
+        Optional<LoadLease> lease;
+        try {
+            lease = leaseManager.tryAcquire(entityType, id, properties.getTtl());
+        } catch (RuntimeException e) {
+            logger.warn("Unable to acquire refresh lease for {} {}, refreshing without lease: {}", entityType.getSimpleName(), id, e.getMessage());
+            return loader.apply(ALWAYS_HELD);
+        }
+        if (lease.isEmpty()) {
+            telemetry.increment(KinexisTelemetry.CACHE_LEASE_CONTENDED, tags);
+            logger.debug("Skipping refresh of {} {}, another instance holds the lease", entityType.getSimpleName(), id);
+            return Optional.empty();
+        }
+        return loadHolding(lease.get(), loader, tags);
+    }
+
+    private <T> Optional<T> loadHolding(LoadLease lease, Function<BooleanSupplier, Optional<T>> loader, Map<String, String> tags) {
+        telemetry.increment(KinexisTelemetry.CACHE_LEASE_ACQUIRED, tags);
+        try {
+            return loader.apply(() -> {
+                if (leaseManager.isHeld(lease)) {
+                    return true;
+                }
+                telemetry.increment(KinexisTelemetry.CACHE_LEASE_LOST, tags);
+                logger.debug("Lease {} on {} {} expired before the load completed", lease.fencingToken(),
+                        lease.entityType().getSimpleName(), lease.id());
+                return false;
+            });
+        } finally {
+            try {
+                leaseManager.release(lease);
+            } catch (RuntimeException e) {
+                logger.warn("Unable to release lease on {} {}: {}", lease.entityType().getSimpleName(), lease.id(), e.getMessage());
+            }
+        }
+    }
+
+    private static Duration nonNegative(Duration duration) {
+        return duration == null || duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
@@ -0,0 +1,87 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of concurrent cache-aside loads inside one JVM.
+ * <p>
+ * The first caller for an {@code (entityClass, id)} pair becomes the leader and runs the loader;
+ * concurrent callers for the same pair wait for the leader's result instead of hitting the primary
+ * store. A waiter that does not get a result within {@code kinexis.cache.coalescing.wait-timeout}
+ * runs the loader itself.
+ */
+public class KinexisLoadCoalescer {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<LoadKey, CompletableFuture<Optional<?>>> inFlight = new ConcurrentHashMap<>();
+    private final KinexisProperties.Coalescing properties;
+    private final KinexisTelemetry telemetry;
+
+    public KinexisLoadCoalescer(KinexisProperties.Coalescing properties, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> load(Class<T> entityType, Object id, Supplier<Optional<T>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+        LoadKey key = new LoadKey(entityType, String.valueOf(id));
+        Map<String, String> tags = Map.of("entity", entityType.getSimpleName());
+        CompletableFuture<Optional<?>> leader = new CompletableFuture<>();
+        CompletableFuture<Optional<?>> existing = inFlight.putIfAbsent(key, leader);
+        if (existing == null) {
+            telemetry.increment(KinexisTelemetry.CACHE_LOADS_LEADER, tags);
+            try {
+                Optional<T> result = loader.get();
+                leader.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                leader.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, leader);
+            }
+        }
+        telemetry.increment(KinexisTelemetry.CACHE_LOADS_COALESCED, tags);
+        try {
+            return (Optional<T>) existing.get(waitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            telemetry.increment(KinexisTelemetry.CACHE_LOADS_COALESCING_TIMEOUTS, tags);
+            logger.debug("Timed out waiting for in-flight load of {} {}, loading directly", entityType.getSimpleName(), id);
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("In-flight load of " + entityType.getSimpleName() + " " + id + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for in-flight load of " + entityType.getSimpleName() + " " + id, e);
+        }
+    }
+
+    private Duration waitTimeout() {
+        Duration waitTimeout = properties.getWaitTimeout();
+        return waitTimeout == null || waitTimeout.isNegative() ? Duration.ZERO : waitTimeout;
+    }
+
+    private record LoadKey(Class<?> entityType, String id) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.foogaro.kinexis.core.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * A named finder query and its parameters, the key of a result in the query cache.
+ * Parameters named like a {@link com.foogaro.kinexis.core.annotation.QueryTag} field of the entity tag the
+ * cached result with their value. Instances are immutable; {@link #param} returns a copy.
+ * <pre>
+ * KinexisQuery.named("employersByCity").param("city", city)
+ * </pre>
+ */
+public final class KinexisQuery {
+
+    private final String name;
+    private final Map<String, Object> parameters;
+
+    private KinexisQuery(String name, Map<String, Object> parameters) {
+        this.name = name;
+        this.parameters = parameters;
+    }
+
+    public static KinexisQuery named(String name) {
+        Objects.requireNonNull(name, "name cannot be null");
+        if (name.isBlank()) {
+            throw new IllegalArgumentException("name cannot be blank");
+        }
+        return new KinexisQuery(name, Map.of());
+    }
+
+    public KinexisQuery param(String name, Object value) {
+        Objects.requireNonNull(name, "name cannot be null");
+        Map<String, Object> parameters = new TreeMap<>(this.parameters);
+        parameters.put(name, value);
+        return new KinexisQuery(this.name, Collections.unmodifiableMap(parameters));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns the cache key of the query: its name and its parameters sorted by name.
+     */
+    public String key() {
+        StringJoiner key = new StringJoiner(",", name + "(", ")");
+        parameters.forEach((parameter, value) -> key.add(parameter + "=" + value));
+        return key.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof KinexisQuery query && key().equals(query.key());
+    }
+
+    @Override
+    public int hashCode() {
+        return key().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return key();
+    }
+}
@@ -0,0 +1,169 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.Misc;
+import com.foogaro.kinexis.core.annotation.QueryTag;
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.store.QueryResultCache;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the results of finder queries as lists of entity IDs, and drops them when the entities they
+ * may contain change.
+ * <p>
+ * A cached result is tagged with:
+ * <ul>
+ *     <li>{@code @id=<id>} for every entity it holds, so that any write of one of them drops it;</li>
+ *     <li>{@code <tag>=<value>} for every query parameter named like a {@link QueryTag} field, so that a write
+ *     of an entity with that value, which may now match the query, drops it;</li>
+ *     <li>{@code *} when no parameter is a tag, so that any write of the entity type drops it.</li>
+ * </ul>
+ * Writes come from the cache-only saves and deletes of {@link KinexisService} and from the write-behind
+ * processors. A write applied while a query is being loaded is not seen by that load's result, which stays
+ * cached until the next write that matches it or {@code kinexis.cache.query.ttl}.
+ */
+public class KinexisQueryCache {
+
+    static final String ALL_TAG = "*";
+    static final String ID_TAG = "@id";
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final KinexisProperties.QueryCache properties;
+    private final QueryResultCache resultCache;
+    private final KinexisTelemetry telemetry;
+    private final Map<Class<?>, List<TagField>> tagFields = new ConcurrentHashMap<>();
+
+    public KinexisQueryCache(KinexisProperties.QueryCache properties, QueryResultCache resultCache, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.resultCache = Objects.requireNonNull(resultCache, "resultCache cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @param entityType the entity type
+     * @param query      the query
+     * @return the IDs of the cached result, empty when it is not cached
+     */
+    public Optional<List<String>> find(Class<?> entityType, KinexisQuery query) {
+        Optional<List<String>> ids = resultCache.find(entityType, query.key());
+        telemetry.increment(ids.isPresent() ? KinexisTelemetry.CACHE_QUERY_HITS : KinexisTelemetry.CACHE_QUERY_MISSES,
+                Map.of("entity", entityType.getSimpleName(), "query", query.name()));
+        return ids;
+    }
+
+    /**
+     * Caches the result of a query, unless it holds more than {@code kinexis.cache.query.max-results} entities.
+     *
+     * @param entityType the entity type
+     * @param query      the query
+     * @param entities   the entities the query returned, in order
+     */
+    public void put(Class<?> entityType, KinexisQuery query, Collection<?> entities) {
+        if (entities.size() > properties.getMaxResults()) {
+            logger.debug("Query {} of {} returned {} entities, not cached", query, entityType.getSimpleName(), entities.size());
+            return;
+        }
+        List<String> ids = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            Optional<Object> id = Misc.getEntityId(entity);
+            if (id.isEmpty()) {
+                logger.debug("Query {} of {} returned an entity without ID, not cached", query, entityType.getSimpleName());
+                return;
+            }
+            ids.add(String.valueOf(id.get()));
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        for (TagField field : tagFields(entityType)) {
+            if (query.parameters().containsKey(field.name())) {
+                tags.add(tag(field.name(), query.parameters().get(field.name())));
+            }
+        }
+        if (tags.isEmpty()) {
+            tags.add(ALL_TAG);
+        }
+        ids.forEach(id -> tags.add(tag(ID_TAG, id)));
+        resultCache.put(entityType, query.key(), ids, tags, properties.getTtl());
+    }
+
+    /**
+     * Drops the cached results that a save of the entity may change.
+     */
+    public void onSaved(Class<?> entityType, Object entity) {
+        if (!properties.isEnabled() || entity == null) {
+            return;
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        tags.add(ALL_TAG);
+        Misc.getEntityId(entity).ifPresent(id -> tags.add(tag(ID_TAG, id)));
+        for (TagField field : tagFields(entityType)) {
+            tags.add(tag(field.name(), field.value(entity)));
+        }
+        invalidate(entityType, tags);
+    }
+
+    /**
+     * Drops the cached results holding the entity, and those of queries without tags.
+     */
+    public void onDeleted(Class<?> entityType, Object id) {
+        if (!properties.isEnabled() || id == null) {
+            return;
+        }
+        invalidate(entityType, List.of(ALL_TAG, tag(ID_TAG, id)));
+    }
+
+    private void invalidate(Class<?> entityType, Collection<String> tags) {
+        long dropped = resultCache.invalidate(entityType, tags);
+        if (dropped > 0) {
+            logger.debug("{} cached queries of {} dropped", dropped, entityType.getSimpleName());
+            telemetry.increment(KinexisTelemetry.CACHE_QUERY_INVALIDATIONS, Map.of("entity", entityType.getSimpleName()));
+        }
+    }
+
+    private List<TagField> tagFields(Class<?> entityType) {
+        return tagFields.computeIfAbsent(entityType, type -> {
+            List<TagField> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    QueryTag queryTag = field.getAnnotation(QueryTag.class);
+                    if (queryTag != null) {
+                        field.setAccessible(true);
+                        fields.add(new TagField(queryTag.value().isBlank() ? field.getName() : queryTag.value(), field));
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        });
+    }
+
+    private static String tag(String name, Object value) {
+        return name + "=" + value;
+    }
+
+    private record TagField(String name, Field field) {
+
+        private Object value(Object entity) {
+            try {
+                return field.get(entity);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Unable to read query tag " + name + " of " + entity.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
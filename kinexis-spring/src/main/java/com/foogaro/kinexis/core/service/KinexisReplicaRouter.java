@@ -0,0 +1,101 @@
+package com.foogaro.kinexis.core.service;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.store.EntityStore;
+import com.foogaro.kinexis.core.store.StoreAvailability;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the read replica that serves a cache-aside load.
+ * <p>
+ * Replicas that {@link StoreAvailability} reports as paused or with an open circuit are skipped. Among the
+ * others, two are picked at random and the one with the lower average read latency wins, so load spreads
+ * over every healthy replica while slow ones get less of it. The average weighs the last read by 1/5, and a
+ * failed read counts as {@code kinexis.stores.replicas.failure-penalty}. Replicas not read yet have no
+ * latency and are tried first.
+ */
+public class KinexisReplicaRouter {
+
+    private static final int WEIGHT_DIVISOR = 5;
+
+    private final KinexisProperties.Replicas properties;
+    private final KinexisTelemetry telemetry;
+    private final Map<String, AtomicLong> latencies = new ConcurrentHashMap<>();
+
+    public KinexisReplicaRouter(KinexisProperties.Replicas properties, KinexisTelemetry telemetry) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @param entityType   the entity type
+     * @param replicas     the replicas of the entity type
+     * @param availability the availability of the stores
+     * @return the replica to read, empty when none is available
+     */
+    public <T> Optional<EntityStore<T>> select(Class<T> entityType, List<EntityStore<T>> replicas, StoreAvailability availability) {
+        List<EntityStore<T>> available = replicas.stream()
+                .filter(replica -> availability.isAvailable(entityType, replica.name()))
+                .toList();
+        if (available.isEmpty()) {
+            if (!replicas.isEmpty()) {
+                telemetry.increment(KinexisTelemetry.STORE_REPLICA_FALLBACKS,
+                        Map.of("entity", entityType.getSimpleName(), "reason", "unavailable"));
+            }
+            return Optional.empty();
+        }
+        if (available.size() == 1) {
+            return Optional.of(available.getFirst());
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(available.size());
+        int second = random.nextInt(available.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        EntityStore<T> one = available.get(first);
+        EntityStore<T> other = available.get(second);
+        return Optional.of(latency(entityType, one.name()) <= latency(entityType, other.name()) ? one : other);
+    }
+
+    public void recordSuccess(Class<?> entityType, String storeName, Duration latency) {
+        record(entityType, storeName, latency.toNanos());
+        telemetry.increment(KinexisTelemetry.STORE_REPLICA_READS, Map.of("entity", entityType.getSimpleName(), "store", storeName));
+    }
+
+    public void recordFailure(Class<?> entityType, String storeName) {
+        record(entityType, storeName, properties.getFailurePenalty().toNanos());
+        telemetry.increment(KinexisTelemetry.STORE_REPLICA_FALLBACKS, Map.of("entity", entityType.getSimpleName(), "reason", "error"));
+    }
+
+    /**
+     * @return the average read latency of the replica in nanoseconds, 0 when it was not read yet
+     */
+    long latency(Class<?> entityType, String storeName) {
+        AtomicLong latency = latencies.get(key(entityType, storeName));
+        return latency == null ? 0 : latency.get();
+    }
+
+    private void record(Class<?> entityType, String storeName, long nanos) {
+        long sample = Math.max(1, nanos);
+        latencies.computeIfAbsent(key(entityType, storeName), ignored -> new AtomicLong())
+                .accumulateAndGet(sample, (average, value) -> average == 0 ? value : average + (value - average) / WEIGHT_DIVISOR);
+    }
+
+    private static String key(Class<?> entityType, String storeName) {
+        return entityType.getName() + '\u0000' + storeName;
+    }
+}
@@ -1,24 +1,50 @@
 package com.foogaro.kinexis.core.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foogaro.kinexis.core.config.KinexisProperties;
 import com.foogaro.kinexis.core.model.KinexisEvent;
+import com.foogaro.kinexis.core.model.KinexisInvalidationProgress;
 import com.foogaro.kinexis.core.store.CacheStore;
+import com.foogaro.kinexis.core.store.EntityIdFilter;
+import com.foogaro.kinexis.core.store.EntityStore;
 import com.foogaro.kinexis.core.store.EntityStoreRegistry;
+import com.foogaro.kinexis.core.store.LoadLeaseManager;
+import com.foogaro.kinexis.core.store.QueryResultCache;
+import com.foogaro.kinexis.core.store.StoreAvailability;
 import com.foogaro.kinexis.core.stream.EventPublisher;
 import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
 import com.foogaro.kinexis.core.telemetry.SimpleKinexisTelemetry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 
+import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Abstract base class for Kinexis services that handle entity operations through Kinexis store abstractions.
@@ -27,13 +53,27 @@ import java.util.Optional;
  * through {@link EntityStoreRegistry}, {@link CacheStore}, and {@link com.foogaro.kinexis.core.store.EntityStore}
  * instead of depending on database-specific repositories directly.
  *
+ * <p>
+ * Every read and write-behind publish is timed layer by layer through {@link KinexisTelemetry#recordNanos}:
+ * the cache lookup, primary store load and cache populate of reads, and the JSON serialization, target
+ * validation and stream append of publishes, each tagged with the entity and the outcome.
+ *
  * @param <T> the type of entity that this service handles
  */
 public abstract class KinexisService<T> {
 
+    private static final String OUTCOME_HIT = "hit";
+    private static final String OUTCOME_MISS = "miss";
+    private static final String OUTCOME_FOUND = "found";
+    private static final String OUTCOME_NOT_FOUND = "not_found";
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_ERROR = "error";
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final Class<T> entityClass;
+    private final Map<String, Map<String, String>> latencyTags = new ConcurrentHashMap<>();
+    private final ThreadLocal<WriteBehindBatch<T>> currentBatch = new ThreadLocal<>();
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -46,6 +86,35 @@ public abstract class KinexisService<T> {
     private EventPublisher eventPublisher;
     @Autowired(required = false)
     private KinexisTelemetry telemetry;
+    @Autowired(required = false)
+    private KinexisLoadCoalescer loadCoalescer;
+    @Autowired(required = false)
+    private KinexisLeasedLoader leasedLoader;
+    @Autowired(required = false)
+    private EntityIdFilter idFilter;
+    @Autowired(required = false)
+    @Qualifier("kinexisAsyncExecutor")
+    private Executor asyncExecutor;
+    @Autowired(required = false)
+    private KinexisExpiration expiration;
+    @Autowired(required = false)
+    private StoreAvailability storeAvailability;
+    @Autowired(required = false)
+    private KinexisBatchLoader batchLoader;
+    @Autowired(required = false)
+    private KinexisAdaptiveTtl adaptiveTtl;
+    @Autowired(required = false)
+    private KinexisCacheAdmission cacheAdmission;
+    @Autowired(required = false)
+    private KinexisQueryCache queryCache;
+    @Autowired(required = false)
+    private KinexisReplicaRouter replicaRouter;
+    @Autowired(required = false)
+    private KinexisHedgedReads hedgedReads;
+    @Autowired(required = false)
+    private KinexisBulkInvalidator bulkInvalidator;
+    @Autowired(required = false)
+    private KinexisHotKeys hotKeys;
 
     /**
      * No-args constructor for KinexisService.
@@ -79,12 +148,60 @@ public abstract class KinexisService<T> {
             } else if (annotationFinder.hasWriteBehind(entityClass)) {
                 writeBehindForInsert(entity, targets);
             } else {
-                writeToCache(entity);
+                recordWrite(entity);
+                addToIdFilter(List.of(entity));
+                writeToCache(entity).ifPresent(this::clearMissing);
                 logger.debug("Pattern WriteBehind not enabled for Entity {}", entityClass.getSimpleName());
             }
         }
     }
 
+    /**
+     * Non-blocking counterpart of {@link #save(Object, String...)}.
+     * With write-behind, the stage completes once the event is appended to the stream; otherwise once the
+     * entity is written to the cache, or to the primary store when Kinexis is disabled for the entity.
+     *
+     * @param entity  the entity to save
+     * @param targets the write-behind targets, all of them when empty
+     * @return a stage that completes when the write is acknowledged
+     */
+    public CompletionStage<Void> saveAsync(T entity, String... targets) {
+        if (Objects.isNull(entity)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            if (!annotationFinder.isEnabled(entityClass)) {
+                logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+                return entityStoreRegistry.findPrimaryStore(entityClass)
+                        .map(store -> store.saveAsync(entity).thenAccept(value -> logger.debug("Entity written to database: {}", value)))
+                        .orElseGet(() -> CompletableFuture.completedFuture(null));
+            }
+            CompletionStage<Void> written;
+            if (annotationFinder.hasWriteBehind(entityClass)) {
+                validateWriteBehindTargets(targets);
+                String json = serialize(entity);
+                Object entityId = com.foogaro.kinexis.core.Misc.getEntityId(entity).orElse(null);
+                addToIdFilter(List.of(entity));
+                written = appendAsync(KinexisEvent.save(entityClass, entityId, json, targets))
+                        .thenAccept(recordId -> logger.debug("RecordId {} added for ingestion to the Stream for entity {}", recordId, entityClass.getSimpleName()));
+            } else {
+                recordWrite(entity);
+                addToIdFilter(List.of(entity));
+                Duration ttl = cacheEntryTtl(com.foogaro.kinexis.core.Misc.getEntityId(entity).orElse(null));
+                written = entityStoreRegistry.findCacheStore(entityClass)
+                        .map(store -> (ttl.isZero() ? store.saveAsync(entity) : store.saveAsync(entity, ttl))
+                                .thenAccept(value -> logger.debug("Entity written to cache: {}", value)))
+                        .orElseGet(() -> CompletableFuture.completedFuture(null));
+            }
+            if (negativeTtl().isZero()) {
+                return written;
+            }
+            return written.thenRunAsync(() -> clearMissing(entity), asyncExecutor());
+        } catch (JsonProcessingException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     /**
      * Updates an entity to the cache or initiates a write-behind operation.
      * If write-behind is enabled for the entity type, the operation is queued for asynchronous processing.
@@ -96,12 +213,53 @@ public abstract class KinexisService<T> {
         save(entity);
     }
 
+    /**
+     * Updates the given fields of an entity. Without write-behind, only those fields are written to the cache
+     * through {@link CacheStore#patch}, which saves the whole entity on stores that keep entities whole or when
+     * the entity is not cached yet. With write-behind, the whole entity is queued as by {@link #save(Object)},
+     * since the target stores are written whole.
+     *
+     * @param entity the entity to update, whose other fields are unchanged
+     * @param fields the names of the changed fields, every field when empty
+     */
+    public void update(T entity, String... fields) {
+        if (Objects.isNull(entity)) {
+            return;
+        }
+        if (fields == null || fields.length == 0 || !annotationFinder.isEnabled(entityClass)
+                || annotationFinder.hasWriteBehind(entityClass)) {
+            save(entity);
+            return;
+        }
+        recordWrite(entity);
+        addToIdFilter(List.of(entity));
+        Duration ttl = cacheEntryTtl(com.foogaro.kinexis.core.Misc.getEntityId(entity).orElse(null));
+        Optional<T> patched = entityStoreRegistry.findCacheStore(entityClass)
+                .map(store -> store.patch(entity, List.of(fields), ttl));
+        patched.ifPresent(value -> logger.debug("Fields {} of entity written to cache: {}", Arrays.toString(fields), value));
+        patched.ifPresent(this::clearMissing);
+    }
+
     /**
      * Finds an entity by its identifier.
      * This method implements a combination of Cache-Aside and Refresh-Ahead patterns:
      * 1. First attempts to read from cache
      * 2. If not found and Cache-Aside or Refresh-Ahead is enabled, loads from database
      * 3. Updates cache with the loaded entity
+     * With {@code @CachingPatterns.negativeTtl}, IDs that the database does not know are remembered in the cache
+     * for that many seconds and return empty without querying the database again.
+     * With {@code kinexis.cache.id-filter.enabled}, IDs that the {@link EntityIdFilter} has never seen return empty
+     * without querying the database.
+     * With {@code @CachingPatterns.staleWhileRevalidate}, entries past their TTL are returned at once and reloaded
+     * in the background; with {@code @CachingPatterns.staleIfError}, entries past that window are returned only
+     * when the reload fails or the primary store is unavailable.
+     * With {@code kinexis.cache.batching.enabled}, concurrent calls are collected by {@link KinexisBatchLoader}
+     * and served together by {@link #findAllById(Collection)}, unless the entity type relies on one of the
+     * per-ID rules above, load leases or early refresh, which a batch would skip.
+     * With {@code @CachingPatterns.slidingTtl}, a cache hit restarts the TTL of the entry through
+     * {@link CacheStore#findByIdAndTouch}; such entries are never refreshed early nor served stale.
+     * When stores in the {@link EntityStore#REPLICA_TARGET} group are registered, cache misses are loaded from one
+     * of them, chosen by {@link KinexisReplicaRouter}, and from the primary store otherwise.
      *
      * @param id the identifier of the entity to find
      * @return an Optional containing the found entity
@@ -113,13 +271,15 @@ public abstract class KinexisService<T> {
                 logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
                 return readFromDatabase(id);
             }
+            if (batchLoader().isEnabled() && isBatchable()) {
+                return batchLoader().load(entityClass, id, this::findAllById);
+            }
             entity = readFromCache(id);
             if (entity.isPresent()) {
-                return entity;
+                return onCacheHit(id, entity);
             } else {
                 if (annotationFinder.hasCacheAside(entityClass) || annotationFinder.hasRefreshAhead(entityClass)) {
-                    entity = cacheAside(id);
-                    return entity;
+                    return loadOnMiss(id);
                 } else {
                     logger.debug("Pattern CacheAside not enabled for Entity {}", entityClass.getSimpleName());
                 }
@@ -128,6 +288,267 @@ public abstract class KinexisService<T> {
         return entity;
     }
 
+    /**
+     * Finds an entity by its identifier and returns only the fields a projection type declares.
+     * On a cache hit, {@link CacheStore#findProjectionById} reads only those fields when the cache store supports
+     * it, such as Redis OM JSON documents, and the whole entity otherwise. On a miss, the entity is loaded and
+     * cached like {@link #findById(Object)}, then mapped to the projection. Projection hits are not refreshed
+     * early, served stale, batched, nor do they restart a sliding TTL.
+     *
+     * @param id         the identifier of the entity to find
+     * @param projection a type whose fields are named like fields of the entity, such as a record
+     * @return an Optional containing the projection of the found entity
+     */
+    public <P> Optional<P> findById(Object id, Class<P> projection) {
+        Objects.requireNonNull(projection, "projection cannot be null");
+        if (Objects.isNull(id)) {
+            return Optional.empty();
+        }
+        if (annotationFinder.isEnabled(entityClass)) {
+            Optional<P> cached = entityStoreRegistry.findCacheStore(entityClass)
+                    .flatMap(store -> store.findProjectionById(id, projection, entity -> project(entity, projection)));
+            if (cached.isPresent()) {
+                recordRead(id);
+                telemetry().increment(KinexisTelemetry.CACHE_HITS, Map.of("entity", entityClass.getSimpleName()));
+                logger.debug("Projection {} read from cache: {}", projection.getSimpleName(), id);
+                return cached;
+            }
+        }
+        return findById(id).map(entity -> project(entity, projection));
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #findById(Object)}.
+     * The cache read goes through {@link com.foogaro.kinexis.core.store.EntityStore#findByIdAsync}, so many
+     * reads can be in flight at once. On a miss, the cache-aside load runs on the {@code kinexisAsyncExecutor}
+     * with the same negative caching, ID filter, coalescing and lease rules as {@link #findById(Object)},
+     * never on the thread that completed the cache read.
+     *
+     * @param id the identifier of the entity to find
+     * @return a stage that completes with the found entity
+     */
+    public CompletionStage<Optional<T>> findByIdAsync(Object id) {
+        if (Objects.isNull(id)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        try {
+            if (!annotationFinder.isEnabled(entityClass)) {
+                logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+                return entityStoreRegistry.findPrimaryStore(entityClass)
+                        .map(store -> store.findByIdAsync(id))
+                        .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+            }
+            recordRead(id);
+            long started = System.nanoTime();
+            CompletionStage<Optional<T>> cached = entityStoreRegistry.findCacheStore(entityClass)
+                    .map(store -> slidingTtl()
+                            ? CompletableFuture.supplyAsync(() -> store.findByIdAndTouch(id, cacheEntryTtl(id)), asyncExecutor())
+                            : store.findByIdAsync(id))
+                    .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()));
+            CompletionStage<Optional<T>> timed = cached.whenComplete((entity, failure) -> recordLatency(KinexisTelemetry.READ_CACHE_LATENCY,
+                    started, failure != null ? OUTCOME_ERROR : entity.isPresent() ? OUTCOME_HIT : OUTCOME_MISS));
+            return timed.thenCompose(entity -> {
+                telemetry().increment(entity.isPresent() ? KinexisTelemetry.CACHE_HITS : KinexisTelemetry.CACHE_MISSES,
+                        Map.of("entity", entityClass.getSimpleName()));
+                if (entity.isPresent()) {
+                    logger.debug("Entity read from cache: {}", entity.get());
+                    if (!staleWindow().isZero()) {
+                        return CompletableFuture.supplyAsync(() -> onCacheHit(id, entity), asyncExecutor());
+                    }
+                    if (expiration().isEarlyRefreshEnabled()) {
+                        asyncExecutor().execute(() -> onCacheHit(id, entity));
+                    }
+                    return CompletableFuture.completedFuture(entity);
+                }
+                if (!annotationFinder.hasCacheAside(entityClass) && !annotationFinder.hasRefreshAhead(entityClass)) {
+                    logger.debug("Pattern CacheAside not enabled for Entity {}", entityClass.getSimpleName());
+                    return CompletableFuture.completedFuture(entity);
+                }
+                return CompletableFuture.supplyAsync(() -> loadOnMiss(id), asyncExecutor());
+            });
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Finds all entities matching the given identifiers.
+     * This is the batch counterpart of {@link #findById(Object)}:
+     * 1. Reads every identifier from cache with a single multi-get
+     * 2. If Cache-Aside or Refresh-Ahead is enabled, loads all misses from the primary store in a single batch
+     * 3. Writes the loaded entities back to cache in a single batch
+     * Identifiers that cannot be found are skipped; the result follows the order of the requested identifiers.
+     *
+     * @param ids the identifiers of the entities to find
+     * @return the found entities
+     */
+    public List<T> findAllById(Collection<?> ids) {
+        if (Objects.isNull(ids) || ids.isEmpty()) {
+            return List.of();
+        }
+        List<?> requestedIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (!annotationFinder.isEnabled(entityClass)) {
+            logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+            return inRequestOrder(requestedIds, readAllFromDatabase(requestedIds));
+        }
+        Map<String, T> found = new HashMap<>();
+        indexById(readAllFromCache(requestedIds), found);
+        List<?> missingIds = requestedIds.stream()
+                .filter(id -> !found.containsKey(String.valueOf(id)))
+                .toList();
+        if (!missingIds.isEmpty()) {
+            if (annotationFinder.hasCacheAside(entityClass) || annotationFinder.hasRefreshAhead(entityClass)) {
+                List<T> loaded = loadAllFromDatabase(missingIds);
+                List<T> admitted = admitAll(loaded);
+                if (admitted.size() < loaded.size()) {
+                    indexById(loaded, found);
+                }
+                indexById(writeAllToCache(admitted), found);
+            } else {
+                logger.debug("Pattern CacheAside not enabled for Entity {}", entityClass.getSimpleName());
+            }
+        }
+        return inRequestOrder(requestedIds, found);
+    }
+
+    /**
+     * Loads entities that are not cached yet into the cache store, from a read replica or the primary store,
+     * with the TTL of a cache-aside load. Cached entries are left as they are, since with write-behind they
+     * can be newer than the primary store. Used by {@link KinexisCacheWarmer}.
+     *
+     * @param ids the entity IDs
+     * @return the number of entities written to the cache
+     */
+    public int warmUp(Collection<?> ids) {
+        if (Objects.isNull(ids) || ids.isEmpty() || !isWarmable()) {
+            return 0;
+        }
+        Optional<CacheStore<T>> cacheStore = entityStoreRegistry.findCacheStore(entityClass);
+        if (cacheStore.isEmpty()) {
+            return 0;
+        }
+        List<?> requestedIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, T> cached = new HashMap<>();
+        indexById(cacheStore.get().findAllById(requestedIds), cached);
+        List<?> missingIds = requestedIds.stream()
+                .filter(id -> !cached.containsKey(String.valueOf(id)))
+                .toList();
+        if (missingIds.isEmpty()) {
+            return 0;
+        }
+        return writeAllToCache(loadAllFromDatabase(missingIds)).size();
+    }
+
+    /**
+     * Writes entities already read from the primary store to the cache store, with the TTL of a cache-aside
+     * load, so a warm-up that streams whole entities does not read them again by ID. As with
+     * {@link #warmUp(Collection)}, entities that are already cached are left as they are. Used by
+     * {@link KinexisCacheWarmer}.
+     *
+     * @param entities entities read from the primary store
+     * @return the number of entities written to the cache
+     */
+    public int warmUpEntities(Collection<T> entities) {
+        if (Objects.isNull(entities) || entities.isEmpty() || !isWarmable()) {
+            return 0;
+        }
+        Optional<CacheStore<T>> cacheStore = entityStoreRegistry.findCacheStore(entityClass);
+        if (cacheStore.isEmpty()) {
+            return 0;
+        }
+        List<Object> ids = entities.stream()
+                .map(com.foogaro.kinexis.core.Misc::getEntityId)
+                .flatMap(Optional::stream)
+                .toList();
+        Map<String, T> cached = new HashMap<>();
+        indexById(cacheStore.get().findAllById(ids), cached);
+        List<T> missing = entities.stream()
+                .filter(entity -> com.foogaro.kinexis.core.Misc.getEntityId(entity)
+                        .filter(id -> !cached.containsKey(String.valueOf(id)))
+                        .isPresent())
+                .toList();
+        return writeAllToCache(missing).size();
+    }
+
+    /**
+     * Batched reads are plain multi-gets and batched loads. Entity types that opted into not-found markers,
+     * the ID filter, load leases, stale entries, early refresh or a sliding TTL are read one by one instead,
+     * so that turning batching on never drops those rules.
+     */
+    private boolean isBatchable() {
+        return negativeTtl().isZero() && staleWindow().isZero() && !slidingTtl()
+                && (cacheTtl().isZero() || !expiration().isEarlyRefreshEnabled())
+                && !leasedLoader().isEnabled() && !idFilter().isReady(entityClass);
+    }
+
+    private boolean isWarmable() {
+        return annotationFinder.isEnabled(entityClass)
+                && (annotationFinder.hasCacheAside(entityClass) || annotationFinder.hasRefreshAhead(entityClass));
+    }
+
+    /**
+     * Finds the entities returned by a finder query, through the query cache.
+     * With {@code kinexis.cache.query.enabled}, the IDs of the result are cached under the query name and
+     * parameters, and a cached result is resolved with {@link #findAllById(Collection)}, so entity bodies come
+     * from the cache store. On a miss, the loader runs against the primary store, the loaded entities are
+     * written to the cache store and their IDs cached as the result. Cached results are dropped by
+     * {@link KinexisQueryCache} when an entity they may hold is saved or deleted.
+     * Entities deleted since the result was cached are skipped. Without Cache-Aside or Refresh-Ahead, a result whose
+     * entities are no longer all in the cache store is loaded again.
+     *
+     * @param query  the query name and parameters
+     * @param loader runs the query against the primary store
+     * @return the found entities, in the order of the query
+     */
+    public List<T> findByQuery(KinexisQuery query, Supplier<? extends Collection<T>> loader) {
+        Objects.requireNonNull(query, "query cannot be null");
+        Objects.requireNonNull(loader, "loader cannot be null");
+        if (!annotationFinder.isEnabled(entityClass) || !queryCache().isEnabled()) {
+            return loadQuery(query, loader);
+        }
+        Optional<List<String>> ids = queryCache().find(entityClass, query);
+        if (ids.isPresent()) {
+            logger.debug("Query {} read from cache: {} IDs", query, ids.get().size());
+            List<T> entities = findAllById(ids.get());
+            if (entities.size() == ids.get().size()
+                    || annotationFinder.hasCacheAside(entityClass) || annotationFinder.hasRefreshAhead(entityClass)) {
+                return entities;
+            }
+            logger.debug("Query {} lost {} entities from cache, loading it again", query, ids.get().size() - entities.size());
+        }
+        List<T> entities = loadQuery(query, loader);
+        writeAllToCache(admitAll(entities));
+        queryCache().put(entityClass, query, entities);
+        return entities;
+    }
+
+    /**
+     * Reloads an entity into the cache ahead of use, typically when its cache entry expired.
+     * With {@code kinexis.cache.lease.enabled}, only the instance that acquires the load lease reloads
+     * the entity; the other instances skip the reload.
+     *
+     * @param id the identifier of the entity to reload
+     * @return the reloaded entity, or empty when the entity was not found or the reload was skipped
+     */
+    public Optional<T> refreshAhead(Object id) {
+        if (Objects.isNull(id)) {
+            logger.warn("Id is null for entity {}", entityClass.getSimpleName());
+            return Optional.empty();
+        }
+        if (!annotationFinder.isEnabled(entityClass)) {
+            logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+            return Optional.empty();
+        }
+        return loadCoalescer().load(entityClass, id,
+                () -> leasedLoader().refresh(entityClass, id, leaseHeld -> loadIntoCache(id, leaseHeld)));
+    }
+
     /**
      * Deletes an entity by its identifier.
      * If write-behind is enabled for the entity type, the deletion is queued for asynchronous processing.
@@ -139,6 +560,41 @@ public abstract class KinexisService<T> {
         delete(id, new String[0]);
     }
 
+    /**
+     * Non-blocking counterpart of {@link #delete(Object, String...)}.
+     * With write-behind, the stage completes once the event is appended to the stream; otherwise once the
+     * entity is deleted from the cache, or from the primary store when Kinexis is disabled for the entity.
+     *
+     * @param id      the identifier of the entity to delete
+     * @param targets the write-behind targets, all of them when empty
+     * @return a stage that completes when the deletion is acknowledged
+     */
+    public CompletionStage<Void> deleteAsync(Object id, String... targets) {
+        if (Objects.isNull(id)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            if (!annotationFinder.isEnabled(entityClass)) {
+                logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+                return entityStoreRegistry.findPrimaryStore(entityClass)
+                        .map(store -> store.deleteByIdAsync(id))
+                        .orElseGet(() -> CompletableFuture.completedFuture(null));
+            }
+            if (annotationFinder.hasWriteBehind(entityClass)) {
+                validateWriteBehindTargets(targets);
+                return appendAsync(KinexisEvent.delete(entityClass, id, targets))
+                        .thenAccept(recordId -> logger.debug("RecordId {} added for deletion to the Stream for entity {}",
+                                Objects.nonNull(recordId) ? recordId : "<null>", entityClass.getSimpleName()));
+            }
+            recordDelete(id);
+            return entityStoreRegistry.findCacheStore(entityClass)
+                    .map(store -> store.deleteByIdAsync(id).thenRun(() -> logger.debug("Entity deleted from cache: {}", id)))
+                    .orElseGet(() -> CompletableFuture.completedFuture(null));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     public void delete(Object id, String... targets) {
         if (Objects.nonNull(id)) {
             if (!annotationFinder.isEnabled(entityClass)) {
@@ -148,19 +604,133 @@ public abstract class KinexisService<T> {
                 writeBehindForDelete(id, targets);
                 logger.debug("Deleted by Id: {}", id);
             } else {
+                recordDelete(id);
                 deleteFromCache(id);
                 logger.debug("Pattern WriteBehind not enabled for Entity {}", entityClass.getSimpleName());
             }
         }
     }
 
+    /**
+     * Saves many entities as {@link #save(Object, String...)} does, as one batch. With write-behind, the targets
+     * are validated once and the events appended through {@link EventPublisher#appendAll}, with one pipeline per
+     * stream partition. Without it, the entities are written to the cache with one batch write.
+     *
+     * @param entities the entities to save
+     * @param targets  the write-behind targets, all of them when empty
+     * @return the record IDs of the appended events in the order of the entities, empty without write-behind
+     * or inside {@link #batch(Runnable)}
+     */
+    public List<String> saveAll(Collection<T> entities, String... targets) {
+        List<T> saved = entities == null ? List.of() : entities.stream().filter(Objects::nonNull).toList();
+        if (saved.isEmpty()) {
+            return List.of();
+        }
+        if (!annotationFinder.isEnabled(entityClass)) {
+            entityStoreRegistry.findPrimaryStore(entityClass).ifPresent(store -> store.saveAll(saved));
+            logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+            return List.of();
+        }
+        if (annotationFinder.hasWriteBehind(entityClass)) {
+            try {
+                validateWriteBehindTargets(targets);
+                List<KinexisEvent> events = new ArrayList<>(saved.size());
+                for (T entity : saved) {
+                    Object entityId = com.foogaro.kinexis.core.Misc.getEntityId(entity).orElse(null);
+                    events.add(KinexisEvent.save(entityClass, entityId, serialize(entity), targets));
+                }
+                List<String> recordIds = publishSaves(saved, events);
+                logger.debug("{} records added for ingestion to the Stream for entity {}", events.size(), entityClass.getSimpleName());
+                return recordIds;
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        saved.forEach(this::recordWrite);
+        addToIdFilter(saved);
+        Duration ttl = cacheEntryTtl(null);
+        entityStoreRegistry.findCacheStore(entityClass)
+                .map(store -> ttl.isZero() ? store.saveAll(saved) : store.saveAll(saved, ttl))
+                .ifPresent(values -> values.forEach(this::clearMissing));
+        logger.debug("{} entities written to cache", saved.size());
+        return List.of();
+    }
+
+    /**
+     * Deletes many entities as {@link #delete(Object, String...)} does, as one batch. With write-behind, the
+     * targets are validated once and the events appended through {@link EventPublisher#appendAll}. Without it,
+     * the cache entries are removed with {@link CacheStore#invalidateAll}, in one pipeline on Redis stores.
+     *
+     * @param ids     the identifiers of the entities to delete
+     * @param targets the write-behind targets, all of them when empty
+     * @return the record IDs of the appended events in the order of the IDs, empty without write-behind
+     * or inside {@link #batch(Runnable)}
+     */
+    public List<String> deleteAll(Collection<?> ids, String... targets) {
+        List<?> deleted = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).toList();
+        if (deleted.isEmpty()) {
+            return List.of();
+        }
+        if (!annotationFinder.isEnabled(entityClass)) {
+            deleted.forEach(this::deleteFromDatabase);
+            logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+            return List.of();
+        }
+        if (annotationFinder.hasWriteBehind(entityClass)) {
+            validateWriteBehindTargets(targets);
+            List<String> recordIds = publishAll(deleted.stream()
+                    .map(id -> KinexisEvent.delete(entityClass, id, targets))
+                    .toList());
+            logger.debug("{} records added for deletion to the Stream for entity {}", deleted.size(), entityClass.getSimpleName());
+            return recordIds;
+        }
+        deleted.forEach(this::recordDelete);
+        entityStoreRegistry.findCacheStore(entityClass).ifPresent(store -> store.invalidateAll(deleted));
+        logger.debug("{} entities deleted from cache", deleted.size());
+        return List.of();
+    }
+
+    /**
+     * Runs a unit of work whose write-behind events are appended together. The events of the {@code save},
+     * {@code update}, {@code saveAll}, {@code delete} and {@code deleteAll} calls the work makes through this
+     * service, on the calling thread, are buffered, with each set of targets validated once, and appended when
+     * the work returns through {@link EventPublisher#appendAll}, with one pipeline per stream partition. The
+     * saved IDs are added to the ID filter and their not-found markers cleared at that point too, so when the
+     * work throws, nothing is appended and nothing else changes. A batch started inside another one joins it.
+     * Without write-behind, and for the asynchronous methods, the calls run as usual.
+     * <p>
+     * The batch belongs to this service, so writes made through the service of another entity type are not
+     * part of it, and a unit of work spanning two entity types needs a batch per service, appended one after
+     * the other.
+     *
+     * @param work the writes
+     * @return the record IDs of the appended events in the order they were made, empty for a joined batch
+     */
+    public List<String> batch(Runnable work) {
+        Objects.requireNonNull(work, "work cannot be null");
+        if (currentBatch.get() != null) {
+            work.run();
+            return List.of();
+        }
+        WriteBehindBatch<T> batch = new WriteBehindBatch<>();
+        currentBatch.set(batch);
+        try {
+            work.run();
+        } finally {
+            currentBatch.remove();
+        }
+        addToIdFilter(batch.saved);
+        List<String> recordIds = appendAll(batch.events);
+        batch.saved.forEach(this::clearMissing);
+        return recordIds;
+    }
 
     private String writeBehindForInsert(T entity, String... targets) {
         try {
             validateWriteBehindTargets(targets);
-            String json = objectMapper.writeValueAsString(entity);
+            String json = serialize(entity);
             Object entityId = com.foogaro.kinexis.core.Misc.getEntityId(entity).orElse(null);
-            String recordId = eventPublisher.append(entityClass, KinexisEvent.save(entityClass, entityId, json, targets));
+            String recordId = publishSave(entity, KinexisEvent.save(entityClass, entityId, json, targets));
             logger.debug("RecordId {} added for ingestion to the Stream for entity {}", recordId, entityClass.getSimpleName());
             return recordId;
         } catch (JsonProcessingException e) {
@@ -170,11 +740,128 @@ public abstract class KinexisService<T> {
 
     private void writeBehindForDelete(Object id, String... targets) {
         validateWriteBehindTargets(targets);
-        String recordId = eventPublisher.append(entityClass, KinexisEvent.delete(entityClass, id, targets));
+        String recordId = publish(KinexisEvent.delete(entityClass, id, targets));
         logger.debug("RecordId {} added for deletion to the Stream for entity {}", Objects.nonNull(recordId) ? recordId : "<null>", entityClass.getSimpleName());
     }
 
+    private String serialize(T entity) throws JsonProcessingException {
+        long started = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            String json = objectMapper.writeValueAsString(entity);
+            outcome = OUTCOME_SUCCESS;
+            return json;
+        } finally {
+            recordLatency(KinexisTelemetry.PUBLISH_SERIALIZE_LATENCY, started, outcome);
+        }
+    }
+
+    /**
+     * Appends the event of a save, or buffers it with the entity when a batch is running, so that the ID filter
+     * and the not-found markers only change once the event is appended.
+     */
+    private String publishSave(T entity, KinexisEvent event) {
+        WriteBehindBatch<T> batch = currentBatch.get();
+        if (batch != null) {
+            batch.events.add(event);
+            batch.saved.add(entity);
+            return null;
+        }
+        addToIdFilter(List.of(entity));
+        String recordId = append(event);
+        clearMissing(entity);
+        return recordId;
+    }
+
+    private List<String> publishSaves(List<T> entities, List<KinexisEvent> events) {
+        WriteBehindBatch<T> batch = currentBatch.get();
+        if (batch != null) {
+            batch.events.addAll(events);
+            batch.saved.addAll(entities);
+            return List.of();
+        }
+        addToIdFilter(entities);
+        List<String> recordIds = appendAll(events);
+        entities.forEach(this::clearMissing);
+        return recordIds;
+    }
+
+    private String publish(KinexisEvent event) {
+        WriteBehindBatch<T> batch = currentBatch.get();
+        if (batch != null) {
+            batch.events.add(event);
+            return null;
+        }
+        return append(event);
+    }
+
+    private List<String> publishAll(List<KinexisEvent> events) {
+        WriteBehindBatch<T> batch = currentBatch.get();
+        if (batch != null) {
+            batch.events.addAll(events);
+            return List.of();
+        }
+        return appendAll(events);
+    }
+
+    private String append(KinexisEvent event) {
+        long started = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            String recordId = eventPublisher.append(entityClass, event);
+            outcome = OUTCOME_SUCCESS;
+            return recordId;
+        } finally {
+            recordLatency(KinexisTelemetry.PUBLISH_APPEND_LATENCY, started, outcome);
+        }
+    }
+
+    private List<String> appendAll(List<KinexisEvent> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        long started = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            List<String> recordIds = eventPublisher.appendAll(entityClass, events);
+            outcome = OUTCOME_SUCCESS;
+            return recordIds;
+        } finally {
+            recordLatency(KinexisTelemetry.PUBLISH_APPEND_LATENCY, started, outcome);
+        }
+    }
+
+    private CompletionStage<String> appendAsync(KinexisEvent event) {
+        long started = System.nanoTime();
+        try {
+            return eventPublisher.appendAsync(entityClass, event).whenComplete((recordId, failure) ->
+                    recordLatency(KinexisTelemetry.PUBLISH_APPEND_LATENCY, started, failure == null ? OUTCOME_SUCCESS : OUTCOME_ERROR));
+        } catch (RuntimeException e) {
+            recordLatency(KinexisTelemetry.PUBLISH_APPEND_LATENCY, started, OUTCOME_ERROR);
+            throw e;
+        }
+    }
+
     private void validateWriteBehindTargets(String... targets) {
+        WriteBehindBatch<T> batch = currentBatch.get();
+        List<String> targetSet = targets == null ? List.of() : Arrays.asList(targets);
+        if (batch != null && batch.validatedTargets.contains(targetSet)) {
+            return;
+        }
+        long started = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            validateWriteBehindTargets(entityStoreRegistry, entityClass, targets);
+            outcome = OUTCOME_SUCCESS;
+            if (batch != null) {
+                batch.validatedTargets.add(new ArrayList<>(targetSet));
+            }
+        } finally {
+            recordLatency(KinexisTelemetry.PUBLISH_VALIDATE_LATENCY, started, outcome);
+        }
+    }
+
+    static void validateWriteBehindTargets(EntityStoreRegistry entityStoreRegistry, Class<?> entityClass, String... targets) {
         List<String> selectedTargets = Arrays.stream(targets == null ? new String[0] : targets)
                 .filter(Objects::nonNull)
                 .filter(target -> !target.isBlank())
@@ -191,30 +878,265 @@ public abstract class KinexisService<T> {
         }
     }
 
+    private Optional<T> loadOnMiss(Object id) {
+        if (isMarkedMissing(id)) {
+            return Optional.empty();
+        }
+        boolean filtered = idFilter().isReady(entityClass);
+        if (filtered && isFilteredOut(id)) {
+            return Optional.empty();
+        }
+        Optional<T> entity = cacheAside(id);
+        if (filtered && entity.isEmpty()) {
+            telemetry().increment(KinexisTelemetry.CACHE_ID_FILTER_FALSE_POSITIVES,
+                    Map.of("entity", entityClass.getSimpleName()));
+        }
+        return entity;
+    }
+
     private Optional<T> cacheAside(Object id) {
-        Optional<T> entity = Optional.empty();
-        if (Objects.nonNull(id)) {
-            entity = readFromDatabase(id);
-            if (entity.isPresent()) {
-                entity = writeToCache(entity.get());
+        if (Objects.isNull(id)) {
+            logger.warn("Id is null for entity {}", entityClass.getSimpleName());
+            return Optional.empty();
+        }
+        return loadCoalescer().load(entityClass, id, () -> leasedLoader().load(entityClass, id,
+                () -> entityStoreRegistry.findCacheStore(entityClass).flatMap(store -> store.findById(id)),
+                () -> !negativeTtl().isZero() && entityStoreRegistry.findCacheStore(entityClass)
+                        .map(store -> store.isMarkedMissing(id))
+                        .orElse(false),
+                leaseHeld -> loadIntoCache(id, leaseHeld)));
+    }
+
+    private Optional<T> loadIntoCache(Object id, BooleanSupplier leaseHeld) {
+        long started = System.nanoTime();
+        Optional<T> entity;
+        try {
+            entity = loadFromDatabase(id);
+        } catch (RuntimeException e) {
+            recordLatency(KinexisTelemetry.READ_LOAD_LATENCY, started, OUTCOME_ERROR);
+            throw e;
+        }
+        expiration().recordLoad(entityClass, Duration.ofNanos(System.nanoTime() - started));
+        recordLatency(KinexisTelemetry.READ_LOAD_LATENCY, started, entity.isPresent() ? OUTCOME_FOUND : OUTCOME_NOT_FOUND);
+        if (entity.isPresent()) {
+            if (!cacheAdmission().admit(entityClass, id)) {
+                logger.debug("Entity not admitted to cache: {}", id);
+            } else if (leaseHeld.getAsBoolean()) {
+                entity = populateCache(entity.get());
             } else {
-                logger.debug("Entity not found in Database: {}", id);
+                logger.debug("Load lease lost, entity not written to cache: {}", id);
             }
         } else {
-            logger.warn("Id is null for entity {}", entityClass.getSimpleName());
+            logger.debug("Entity not found in Database: {}", id);
+            if (leaseHeld.getAsBoolean()) {
+                markMissing(id);
+            }
         }
         return entity;
     }
 
+    /**
+     * Decides what a cache hit returns from the remaining TTL of its entry. Fresh entries may be refreshed
+     * early by {@link KinexisExpiration}; entries past the soft TTL are returned and reloaded in the background;
+     * entries past the hard TTL are reloaded and returned only when the reload fails.
+     */
+    private Optional<T> onCacheHit(Object id, Optional<T> cached) {
+        Duration staleWindow = staleWindow();
+        if (cacheTtl().isZero() || slidingTtl() || (staleWindow.isZero() && !expiration().isEarlyRefreshEnabled())
+                || !(annotationFinder.hasCacheAside(entityClass) || annotationFinder.hasRefreshAhead(entityClass))) {
+            return cached;
+        }
+        Optional<Duration> remainingTtl;
+        try {
+            remainingTtl = entityStoreRegistry.findCacheStore(entityClass).flatMap(store -> store.timeToLive(id));
+        } catch (RuntimeException e) {
+            logger.debug("Unable to read remaining TTL of {} {}: {}", entityClass.getSimpleName(), id, e.getMessage());
+            return cached;
+        }
+        if (remainingTtl.isEmpty()) {
+            return cached;
+        }
+        Duration freshFor = remainingTtl.get().minus(staleWindow);
+        if (freshFor.compareTo(Duration.ZERO) > 0) {
+            if (expiration().shouldRefreshEarly(entityClass, freshFor)) {
+                expiration().refreshInBackground(entityClass, id, asyncExecutor(), () -> refreshAhead(id));
+            }
+            return cached;
+        }
+        if (remainingTtl.get().compareTo(staleIfError()) > 0) {
+            logger.debug("Serving stale entity while revalidating: {}", id);
+            recordStaleServed("revalidate");
+            expiration().refreshInBackground(entityClass, id, asyncExecutor(), () -> refreshAhead(id));
+            return cached;
+        }
+        return reloadOrServeStale(id, cached);
+    }
+
+    private Optional<T> reloadOrServeStale(Object id, Optional<T> stale) {
+        Optional<String> primaryStore = entityStoreRegistry.findPrimaryStore(entityClass).map(EntityStore::name);
+        if (primaryStore.isPresent() && !storeAvailability().isAvailable(entityClass, primaryStore.get())
+                && !isReplicaAvailable()) {
+            logger.debug("Store {} unavailable, serving stale entity: {}", primaryStore.get(), id);
+            recordStaleServed("unavailable");
+            return stale;
+        }
+        Optional<T> entity;
+        try {
+            entity = cacheAside(id);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to reload {} {}, serving stale entity: {}", entityClass.getSimpleName(), id, e.getMessage());
+            recordStaleServed("error");
+            return stale;
+        }
+        if (entity.isEmpty()) {
+            deleteFromCache(id);
+        }
+        return entity;
+    }
+
+    private void recordStaleServed(String reason) {
+        telemetry().increment(KinexisTelemetry.CACHE_STALE_SERVED,
+                Map.of("entity", entityClass.getSimpleName(), "reason", reason));
+    }
+
+    private boolean isMarkedMissing(Object id) {
+        if (negativeTtl().isZero()) {
+            return false;
+        }
+        boolean marked = entityStoreRegistry.findCacheStore(entityClass)
+                .map(store -> store.isMarkedMissing(id))
+                .orElse(false);
+        telemetry().increment(marked ? KinexisTelemetry.CACHE_NEGATIVE_HITS : KinexisTelemetry.CACHE_NEGATIVE_MISSES,
+                Map.of("entity", entityClass.getSimpleName()));
+        if (marked) {
+            logger.debug("Entity marked as not found in cache: {}", id);
+        }
+        return marked;
+    }
+
+    private boolean isFilteredOut(Object id) {
+        boolean mightContain;
+        try {
+            mightContain = idFilter().mightContain(entityClass, id);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to read ID filter of {}, loading {}: {}", entityClass.getSimpleName(), id, e.getMessage());
+            return false;
+        }
+        telemetry().increment(mightContain ? KinexisTelemetry.CACHE_ID_FILTER_PASSED : KinexisTelemetry.CACHE_ID_FILTER_REJECTED,
+                Map.of("entity", entityClass.getSimpleName()));
+        if (!mightContain) {
+            logger.debug("Entity rejected by ID filter: {}", id);
+        }
+        return !mightContain;
+    }
+
+    private void markMissing(Object id) {
+        Duration negativeTtl = expiration().jitter(negativeTtl());
+        if (!negativeTtl.isZero()) {
+            entityStoreRegistry.findCacheStore(entityClass).ifPresent(store -> store.markMissing(id, negativeTtl));
+            logger.debug("Entity marked as not found for {}: {}", negativeTtl, id);
+        }
+    }
+
+    /**
+     * Adds the IDs of saved entities to the ID filter before they can be read, so that the filter never rejects
+     * an entity written through this service, whichever save path it took.
+     */
+    private void addToIdFilter(Collection<T> entities) {
+        List<Object> ids = entities.stream()
+                .map(com.foogaro.kinexis.core.Misc::getEntityId)
+                .flatMap(Optional::stream)
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        try {
+            idFilter().addAll(entityClass, ids);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to add {} IDs to the ID filter of {}: {}", ids.size(), entityClass.getSimpleName(), e.getMessage());
+        }
+    }
+
+    private void clearMissing(T entity) {
+        if (!negativeTtl().isZero()) {
+            com.foogaro.kinexis.core.Misc.getEntityId(entity).ifPresent(entityId -> entityStoreRegistry.findCacheStore(entityClass)
+                    .ifPresent(store -> store.clearMissing(entityId)));
+        }
+    }
+
+    private void recordWrite(T entity) {
+        recordWrite(adaptiveTtl(), queryCache(), entityClass, entity);
+    }
+
+    private void recordDelete(Object id) {
+        recordDelete(adaptiveTtl(), queryCache(), entityClass, id);
+    }
+
+    /**
+     * Counts a cache-only save for the adaptive TTL and drops the query results it may change. Shared with
+     * {@link ReactiveKinexisService}, since both services use the same query cache.
+     */
+    static void recordWrite(KinexisAdaptiveTtl adaptiveTtl, KinexisQueryCache queryCache, Class<?> entityClass, Object entity) {
+        if (adaptiveTtl.isEnabled()) {
+            com.foogaro.kinexis.core.Misc.getEntityId(entity).ifPresent(entityId -> adaptiveTtl.recordWrite(entityClass, entityId));
+        }
+        queryCache.onSaved(entityClass, entity);
+    }
+
+    static void recordDelete(KinexisAdaptiveTtl adaptiveTtl, KinexisQueryCache queryCache, Class<?> entityClass, Object id) {
+        adaptiveTtl.recordWrite(entityClass, id);
+        queryCache.onDeleted(entityClass, id);
+    }
+
+    /**
+     * Counts one read of an ID for every feature that learns from reads: the adaptive TTL, the admission
+     * frequency and the hot keys. Every read path calls it, so an ID read only one way is still admitted.
+     */
+    private void recordRead(Object id) {
+        adaptiveTtl().recordRead(entityClass, id);
+        cacheAdmission().recordAccess(entityClass, id);
+        hotKeys().recordRead(entityClass, id);
+    }
+
     private Optional<T> readFromCache(Object id) {
-        Optional<T> entity = entityStoreRegistry.findCacheStore(entityClass)
-                .flatMap(store -> store.findById(id));
+        recordRead(id);
+        long started = System.nanoTime();
+        Optional<T> entity;
+        try {
+            entity = entityStoreRegistry.findCacheStore(entityClass)
+                    .flatMap(store -> slidingTtl() ? store.findByIdAndTouch(id, cacheEntryTtl(id)) : store.findById(id));
+        } catch (RuntimeException e) {
+            recordLatency(KinexisTelemetry.READ_CACHE_LATENCY, started, OUTCOME_ERROR);
+            throw e;
+        }
+        recordLatency(KinexisTelemetry.READ_CACHE_LATENCY, started, entity.isPresent() ? OUTCOME_HIT : OUTCOME_MISS);
         telemetry().increment(entity.isPresent() ? KinexisTelemetry.CACHE_HITS : KinexisTelemetry.CACHE_MISSES,
                 Map.of("entity", entityClass.getSimpleName()));
         entity.ifPresent(value -> logger.debug("Entity read from cache: {}", value));
         return entity;
     }
 
+    private List<T> readAllFromCache(List<?> ids) {
+        ids.forEach(this::recordRead);
+        long started = System.nanoTime();
+        List<T> entities;
+        try {
+            entities = entityStoreRegistry.findCacheStore(entityClass)
+                    .map(store -> store.findAllById(ids))
+                    .orElseGet(List::of);
+        } catch (RuntimeException e) {
+            recordLatency(KinexisTelemetry.READ_CACHE_LATENCY, started, OUTCOME_ERROR);
+            throw e;
+        }
+        recordLatency(KinexisTelemetry.READ_CACHE_LATENCY, started, entities.size() < ids.size() ? OUTCOME_MISS : OUTCOME_HIT);
+        Map<String, String> tags = Map.of("entity", entityClass.getSimpleName());
+        for (int i = 0; i < ids.size(); i++) {
+            telemetry().increment(i < entities.size() ? KinexisTelemetry.CACHE_HITS : KinexisTelemetry.CACHE_MISSES, tags);
+        }
+        logger.debug("{} of {} entities read from cache", entities.size(), ids.size());
+        return entities;
+    }
+
     private void deleteFromCache(Object id) {
         if (Objects.nonNull(id)) {
             Optional<CacheStore<T>> cacheStore = entityStoreRegistry.findCacheStore(entityClass);
@@ -229,9 +1151,66 @@ public abstract class KinexisService<T> {
         deleteFromCache(id);
     }
 
+    /**
+     * Invalidates the cache entries of many entities, their not-found markers and their L1 copies, in
+     * rate-limited batches. Use it after changes written straight to the database, such as a backfill.
+     *
+     * @param ids the entity IDs
+     * @return the final progress
+     */
+    public KinexisInvalidationProgress invalidateCache(Collection<?> ids) {
+        return invalidateCache(ids, null);
+    }
+
+    /**
+     * @param ids      the entity IDs
+     * @param progress receives the progress after each batch, may be {@code null}
+     * @return the final progress
+     * @see #invalidateCache(Collection)
+     */
+    public KinexisInvalidationProgress invalidateCache(Collection<?> ids, Consumer<KinexisInvalidationProgress> progress) {
+        Optional<CacheStore<T>> cacheStore = entityStoreRegistry.findCacheStore(entityClass);
+        if (cacheStore.isEmpty() || ids == null) {
+            return new KinexisInvalidationProgress(entityClass.getSimpleName(), 0, 0, Duration.ZERO, true);
+        }
+        return bulkInvalidator().invalidate(cacheStore.get(), ids.stream().filter(Objects::nonNull),
+                KinexisBulkInvalidator.MODE_IDS, null, progress);
+    }
+
+    /**
+     * Invalidates every cache entry whose ID starts with the given prefix, as {@link #invalidateCache(Collection)}
+     * does. Redis cache stores find the entries with an incremental {@code SCAN}.
+     *
+     * @param idPrefix the ID prefix, empty for every entry of the entity type
+     * @return the final progress
+     * @throws UnsupportedOperationException if the cache store cannot list its entries
+     */
+    public KinexisInvalidationProgress invalidateCacheByPrefix(String idPrefix) {
+        return invalidateCacheByPrefix(idPrefix, null, null);
+    }
+
+    /**
+     * @param idPrefix the ID prefix, empty for every entry of the entity type
+     * @param filter   selects the cached entities to invalidate, {@code null} for all of them
+     * @param progress receives the progress after each batch, may be {@code null}
+     * @return the final progress
+     * @throws UnsupportedOperationException if the cache store cannot list its entries
+     * @see #invalidateCacheByPrefix(String)
+     */
+    public KinexisInvalidationProgress invalidateCacheByPrefix(String idPrefix, Predicate<? super T> filter,
+                                                               Consumer<KinexisInvalidationProgress> progress) {
+        Optional<CacheStore<T>> cacheStore = entityStoreRegistry.findCacheStore(entityClass);
+        if (cacheStore.isEmpty()) {
+            return new KinexisInvalidationProgress(entityClass.getSimpleName(), 0, 0, Duration.ZERO, true);
+        }
+        try (Stream<Object> ids = cacheStore.get().streamIds(idPrefix == null ? "" : idPrefix)) {
+            return bulkInvalidator().invalidate(cacheStore.get(), ids, KinexisBulkInvalidator.MODE_PREFIX, filter, progress);
+        }
+    }
+
     private Optional<T> writeToCache(T entity) {
         if (Objects.nonNull(entity)) {
-            Duration ttl = cacheTtl();
+            Duration ttl = cacheEntryTtl(com.foogaro.kinexis.core.Misc.getEntityId(entity).orElse(null));
             Optional<T> savedEntity = entityStoreRegistry.findCacheStore(entityClass)
                     .map(store -> ttl.isZero() ? store.save(entity) : store.save(entity, ttl));
             savedEntity.ifPresent(value -> logger.debug("Entity written to cache: {}", value));
@@ -242,6 +1221,66 @@ public abstract class KinexisService<T> {
         return Optional.empty();
     }
 
+    private List<T> admitAll(List<T> entities) {
+        if (!cacheAdmission().isEnabled()) {
+            return entities;
+        }
+        return entities.stream()
+                .filter(entity -> cacheAdmission().admit(entityClass, com.foogaro.kinexis.core.Misc.getEntityId(entity).orElse(null)))
+                .toList();
+    }
+
+    private List<T> writeAllToCache(List<T> entities) {
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        Duration ttl = cacheEntryTtl(null);
+        long started = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            List<T> savedEntities = entityStoreRegistry.findCacheStore(entityClass)
+                    .map(store -> ttl.isZero() ? store.saveAll(entities) : store.saveAll(entities, ttl))
+                    .orElse(entities);
+            outcome = OUTCOME_SUCCESS;
+            logger.debug("{} entities written to cache", savedEntities.size());
+            return savedEntities;
+        } finally {
+            recordLatency(KinexisTelemetry.READ_POPULATE_LATENCY, started, outcome);
+        }
+    }
+
+    private Optional<T> populateCache(T entity) {
+        long started = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            Optional<T> savedEntity = writeToCache(entity);
+            outcome = OUTCOME_SUCCESS;
+            return savedEntity;
+        } finally {
+            recordLatency(KinexisTelemetry.READ_POPULATE_LATENCY, started, outcome);
+        }
+    }
+
+    private <P> P project(T entity, Class<P> projection) {
+        if (projection.isInstance(entity)) {
+            return projection.cast(entity);
+        }
+        try {
+            return objectMapper.readerFor(projection)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue((JsonNode) objectMapper.valueToTree(entity));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to map " + entityClass.getSimpleName() + " to " + projection.getSimpleName(), e);
+        }
+    }
+
+    private List<T> loadQuery(KinexisQuery query, Supplier<? extends Collection<T>> loader) {
+        Collection<T> loaded = loader.get();
+        List<T> entities = loaded == null ? List.of() : loaded.stream().filter(Objects::nonNull).toList();
+        logger.debug("Query {} read from database: {} entities", query, entities.size());
+        return entities;
+    }
+
     private Optional<T> readFromDatabase(Object id) {
         Optional<T> entity = entityStoreRegistry.findPrimaryStore(entityClass)
                 .flatMap(store -> store.findById(id));
@@ -249,6 +1288,148 @@ public abstract class KinexisService<T> {
         return entity;
     }
 
+    private List<T> readAllFromDatabase(List<?> ids) {
+        List<T> entities = entityStoreRegistry.findPrimaryStore(entityClass)
+                .map(store -> store.findAllById(ids))
+                .orElseGet(List::of);
+        logger.debug("{} of {} entities read from database", entities.size(), ids.size());
+        return entities;
+    }
+
+    /**
+     * Cache-aside load of one entity. With read replicas, the entity is read from the replica chosen by
+     * {@link KinexisReplicaRouter}, and from the primary store when no replica is available, the read fails
+     * or the replica does not have it yet, so that replication lag never marks an entity as missing.
+     * With hedging, a read slower than usual is repeated by {@link KinexisHedgedReads}: a replica read against
+     * another available replica or the primary store, and a primary read against an available replica or,
+     * without one, the primary store again.
+     */
+    private Optional<T> loadFromDatabase(Object id) {
+        if (hedgedReads().isEnabled()) {
+            return hedgedLoadFromDatabase(id);
+        }
+        Optional<T> entity = readFromReplica(store -> store.findById(id)).flatMap(Function.identity());
+        return entity.isPresent() ? entity : readFromDatabase(id);
+    }
+
+    private Optional<T> hedgedLoadFromDatabase(Object id) {
+        List<EntityStore<T>> replicas = entityStoreRegistry.findReplicaStores(entityClass);
+        Optional<EntityStore<T>> replica = replicaRouter().select(entityClass, replicas, storeAvailability());
+        if (!replicaRouter().isEnabled() || replica.isEmpty()) {
+            Optional<EntityStore<T>> primary = entityStoreRegistry.findPrimaryStore(entityClass);
+            if (primary.isEmpty()) {
+                return Optional.empty();
+            }
+            return hedgedRead(id, primary.get(), replica.orElse(primary.get()));
+        }
+        EntityStore<T> first = replica.get();
+        List<EntityStore<T>> others = replicas.stream()
+                .filter(other -> other != first && storeAvailability().isAvailable(entityClass, other.name()))
+                .toList();
+        Optional<EntityStore<T>> second = replicaRouter().select(entityClass, others, storeAvailability())
+                .or(() -> entityStoreRegistry.findPrimaryStore(entityClass));
+        if (second.isEmpty()) {
+            return readReplicaOrEmpty(first, store -> store.findById(id)).flatMap(Function.identity());
+        }
+        try {
+            return hedgedRead(id, first, second.get());
+        } catch (RuntimeException e) {
+            logger.warn("Unable to read {} from {} or {}, reading the primary store: {}",
+                    entityClass.getSimpleName(), first.name(), second.get().name(), e.getMessage());
+        }
+        return readFromDatabase(id);
+    }
+
+    private Optional<T> hedgedRead(Object id, EntityStore<T> first, EntityStore<T> second) {
+        KinexisHedgedReads.HedgedRead<T, Optional<T>> answer = hedgedReads().read(entityClass, first, second,
+                store -> isReplica(store) ? readReplica(store, replica -> replica.findById(id)) : store.findById(id),
+                asyncExecutor());
+        // a replica answer that misses the entity may be replication lag, so it is confirmed on the primary store
+        if (answer.value().isPresent() || !isReplica(answer.store())) {
+            answer.value().ifPresent(value -> logger.debug("Entity read from {}: {}", answer.store().name(), value));
+            return answer.value();
+        }
+        return readFromDatabase(id);
+    }
+
+    private List<T> loadAllFromDatabase(List<?> ids) {
+        long started = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        try {
+            List<T> entities = loadAllFromReplicaOrDatabase(ids);
+            outcome = entities.size() < ids.size() ? OUTCOME_NOT_FOUND : OUTCOME_FOUND;
+            return entities;
+        } finally {
+            recordLatency(KinexisTelemetry.READ_LOAD_LATENCY, started, outcome);
+        }
+    }
+
+    private List<T> loadAllFromReplicaOrDatabase(List<?> ids) {
+        List<T> entities = readFromReplica(store -> store.findAllById(ids)).orElseGet(List::of);
+        if (entities.size() >= ids.size()) {
+            return entities;
+        }
+        Map<String, T> found = new HashMap<>();
+        indexById(entities, found);
+        List<?> missingIds = ids.stream()
+                .filter(id -> !found.containsKey(String.valueOf(id)))
+                .toList();
+        List<T> loaded = new ArrayList<>(entities);
+        loaded.addAll(readAllFromDatabase(missingIds));
+        return loaded;
+    }
+
+    private <R> Optional<R> readFromReplica(Function<EntityStore<T>, R> read) {
+        if (!replicaRouter().isEnabled()) {
+            return Optional.empty();
+        }
+        List<EntityStore<T>> replicas = entityStoreRegistry.findReplicaStores(entityClass);
+        if (replicas.isEmpty()) {
+            return Optional.empty();
+        }
+        Optional<EntityStore<T>> replica = replicaRouter().select(entityClass, replicas, storeAvailability());
+        if (replica.isEmpty()) {
+            logger.debug("No replica of {} available, reading the primary store", entityClass.getSimpleName());
+            return Optional.empty();
+        }
+        return readReplicaOrEmpty(replica.get(), read);
+    }
+
+    private <R> Optional<R> readReplicaOrEmpty(EntityStore<T> replica, Function<EntityStore<T>, R> read) {
+        try {
+            return Optional.of(readReplica(replica, read));
+        } catch (RuntimeException e) {
+            logger.warn("Unable to read {} from replica {}, reading the primary store: {}",
+                    entityClass.getSimpleName(), replica.name(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private <R> R readReplica(EntityStore<T> replica, Function<EntityStore<T>, R> read) {
+        String storeName = replica.name();
+        long started = System.nanoTime();
+        try {
+            R result = read.apply(replica);
+            replicaRouter().recordSuccess(entityClass, storeName, Duration.ofNanos(System.nanoTime() - started));
+            storeAvailability().recordSuccess(entityClass, storeName);
+            logger.debug("Read from replica {}", storeName);
+            return result;
+        } catch (RuntimeException e) {
+            replicaRouter().recordFailure(entityClass, storeName);
+            storeAvailability().recordFailure(entityClass, storeName, e);
+            throw e;
+        }
+    }
+
+    private boolean isReplica(EntityStore<T> store) {
+        return store.targets().contains(EntityStore.REPLICA_TARGET);
+    }
+
+    private boolean isReplicaAvailable() {
+        return replicaRouter().isEnabled() && entityStoreRegistry.findReplicaStores(entityClass).stream()
+                .anyMatch(replica -> storeAvailability().isAvailable(entityClass, replica.name()));
+    }
+
     private void deleteFromDatabase(Object id) {
         if (Objects.nonNull(id)) {
             entityStoreRegistry.findPrimaryStore(entityClass)
@@ -271,11 +1452,165 @@ public abstract class KinexisService<T> {
         return Optional.empty();
     }
 
+    static <E> void indexById(List<E> entities, Map<String, E> index) {
+        entities.forEach(entity -> com.foogaro.kinexis.core.Misc.getEntityId(entity)
+                .ifPresent(entityId -> index.put(String.valueOf(entityId), entity)));
+    }
+
+    static <E> List<E> inRequestOrder(List<?> ids, List<E> entities) {
+        Map<String, E> index = new HashMap<>();
+        indexById(entities, index);
+        return inRequestOrder(ids, index);
+    }
+
+    static <E> List<E> inRequestOrder(List<?> ids, Map<String, E> index) {
+        return ids.stream()
+                .map(id -> index.get(String.valueOf(id)))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     private Duration cacheTtl() {
         long ttl = annotationFinder.ttl(entityClass);
         return ttl > 0 ? Duration.ofSeconds(ttl) : Duration.ZERO;
     }
 
+    /**
+     * TTL written with a cache entry: the soft TTL, adapted by {@link KinexisAdaptiveTtl} and jittered, plus the
+     * windows during which it is served stale.
+     *
+     * @param id the entity ID, or {@code null} for a batch
+     */
+    private Duration cacheEntryTtl(Object id) {
+        Duration ttl = cacheTtl();
+        return ttl.isZero() ? ttl : expiration().jitter(adaptiveTtl().ttl(entityClass, id, ttl)).plus(staleWindow());
+    }
+
+    private boolean slidingTtl() {
+        return annotationFinder.hasSlidingTtl(entityClass) && !cacheTtl().isZero();
+    }
+
+    private Duration staleWindow() {
+        if (cacheTtl().isZero() || slidingTtl()) {
+            return Duration.ZERO;
+        }
+        long staleWhileRevalidate = Math.max(0, annotationFinder.staleWhileRevalidate(entityClass));
+        return Duration.ofSeconds(staleWhileRevalidate).plus(staleIfError());
+    }
+
+    private Duration staleIfError() {
+        long staleIfError = annotationFinder.staleIfError(entityClass);
+        return staleIfError > 0 && !cacheTtl().isZero() ? Duration.ofSeconds(staleIfError) : Duration.ZERO;
+    }
+
+    private Duration negativeTtl() {
+        long negativeTtl = annotationFinder.negativeTtl(entityClass);
+        return negativeTtl > 0 ? Duration.ofSeconds(negativeTtl) : Duration.ZERO;
+    }
+
+    private KinexisLoadCoalescer loadCoalescer() {
+        if (loadCoalescer == null) {
+            loadCoalescer = new KinexisLoadCoalescer(new KinexisProperties().getCache().getCoalescing(), telemetry());
+        }
+        return loadCoalescer;
+    }
+
+    private KinexisLeasedLoader leasedLoader() {
+        if (leasedLoader == null) {
+            leasedLoader = new KinexisLeasedLoader(new KinexisProperties().getCache().getLease(), LoadLeaseManager.noop(), telemetry());
+        }
+        return leasedLoader;
+    }
+
+    private EntityIdFilter idFilter() {
+        if (idFilter == null) {
+            idFilter = EntityIdFilter.noop();
+        }
+        return idFilter;
+    }
+
+    private KinexisExpiration expiration() {
+        if (expiration == null) {
+            expiration = new KinexisExpiration(new KinexisProperties().getCache().getExpiration(), telemetry());
+        }
+        return expiration;
+    }
+
+    private KinexisBatchLoader batchLoader() {
+        if (batchLoader == null) {
+            batchLoader = new KinexisBatchLoader(new KinexisProperties().getCache().getBatching(), telemetry());
+        }
+        return batchLoader;
+    }
+
+    private KinexisAdaptiveTtl adaptiveTtl() {
+        if (adaptiveTtl == null) {
+            adaptiveTtl = new KinexisAdaptiveTtl(new KinexisProperties().getCache().getAdaptiveTtl());
+        }
+        return adaptiveTtl;
+    }
+
+    private KinexisCacheAdmission cacheAdmission() {
+        if (cacheAdmission == null) {
+            cacheAdmission = new KinexisCacheAdmission(new KinexisProperties().getCache().getAdmission(), telemetry());
+        }
+        return cacheAdmission;
+    }
+
+    private KinexisQueryCache queryCache() {
+        if (queryCache == null) {
+            queryCache = new KinexisQueryCache(new KinexisProperties().getCache().getQuery(), QueryResultCache.noop(), telemetry());
+        }
+        return queryCache;
+    }
+
+    private KinexisReplicaRouter replicaRouter() {
+        if (replicaRouter == null) {
+            replicaRouter = new KinexisReplicaRouter(new KinexisProperties().getStores().getReplicas(), telemetry());
+        }
+        return replicaRouter;
+    }
+
+    private KinexisBulkInvalidator bulkInvalidator() {
+        if (bulkInvalidator == null) {
+            bulkInvalidator = new KinexisBulkInvalidator(new KinexisProperties().getCache().getBulkInvalidation(), telemetry());
+        }
+        return bulkInvalidator;
+    }
+
+    private KinexisHedgedReads hedgedReads() {
+        if (hedgedReads == null) {
+            hedgedReads = new KinexisHedgedReads(new KinexisProperties().getCache().getHedging(), telemetry());
+        }
+        return hedgedReads;
+    }
+
+    private KinexisHotKeys hotKeys() {
+        if (hotKeys == null) {
+            hotKeys = new KinexisHotKeys(new KinexisProperties().getCache().getHotKeys());
+        }
+        return hotKeys;
+    }
+
+    private StoreAvailability storeAvailability() {
+        if (storeAvailability == null) {
+            storeAvailability = StoreAvailability.always();
+        }
+        return storeAvailability;
+    }
+
+    private Executor asyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = task -> Thread.ofVirtual().name("kinexis-async").start(task);
+        }
+        return asyncExecutor;
+    }
+
+    private void recordLatency(String timer, long started, String outcome) {
+        telemetry().recordNanos(timer, System.nanoTime() - started, latencyTags.computeIfAbsent(outcome,
+                value -> Map.of("entity", entityClass.getSimpleName(), "outcome", value)));
+    }
+
     private KinexisTelemetry telemetry() {
         if (telemetry == null) {
             telemetry = new SimpleKinexisTelemetry();
@@ -283,4 +1618,13 @@ public abstract class KinexisService<T> {
         return telemetry;
     }
 
+    /**
+     * Events, saved entities and validated target sets of the {@link #batch(Runnable)} running on a thread.
+     */
+    private static final class WriteBehindBatch<E> {
+
+        private final List<KinexisEvent> events = new ArrayList<>();
+        private final List<E> saved = new ArrayList<>();
+        private final Set<List<String>> validatedTargets = new HashSet<>();
+    }
 }
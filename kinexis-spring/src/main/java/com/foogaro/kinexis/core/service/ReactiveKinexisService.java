@@ -0,0 +1,443 @@
+package com.foogaro.kinexis.core.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foogaro.kinexis.core.Misc;
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.model.KinexisEvent;
+import com.foogaro.kinexis.core.store.EntityStoreRegistry;
+import com.foogaro.kinexis.core.store.QueryResultCache;
+import com.foogaro.kinexis.core.store.ReactiveEntityStoreRegistry;
+import com.foogaro.kinexis.core.stream.ReactiveEventPublisher;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+import com.foogaro.kinexis.core.telemetry.SimpleKinexisTelemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.ParameterizedType;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reactive counterpart of {@link KinexisService}, for WebFlux applications.
+ * It reads the same {@code @CachingPatterns} metadata through {@link AnnotationFinder} and resolves the same
+ * stores through {@link ReactiveEntityStoreRegistry}, so a blocking and a reactive service of the same entity
+ * can run side by side. Write-behind events go through {@link ReactiveEventPublisher}.
+ * <p>
+ * TTL jitter, adaptive TTL and the stale windows of the cache entry TTL apply to both services. Load coalescing, load leases,
+ * the ID filter, early refresh and stale reads only apply to the blocking service.
+ *
+ * @param <T> the type of entity that this service handles
+ */
+public abstract class ReactiveKinexisService<T> {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Class<T> entityClass;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnnotationFinder annotationFinder;
+    @Autowired
+    private EntityStoreRegistry entityStoreRegistry;
+    @Autowired
+    private ReactiveEntityStoreRegistry reactiveStoreRegistry;
+    @Autowired
+    private ReactiveEventPublisher eventPublisher;
+    @Autowired(required = false)
+    private KinexisTelemetry telemetry;
+    @Autowired(required = false)
+    private KinexisExpiration expiration;
+    @Autowired(required = false)
+    private KinexisAdaptiveTtl adaptiveTtl;
+    @Autowired(required = false)
+    private KinexisCacheAdmission cacheAdmission;
+    @Autowired(required = false)
+    private KinexisQueryCache queryCache;
+    @Autowired(required = false)
+    private KinexisHotKeys hotKeys;
+
+    @SuppressWarnings("unchecked")
+    public ReactiveKinexisService() {
+        this.entityClass = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    /**
+     * Saves an entity to the cache or appends a write-behind event, like {@link KinexisService#save(Object, String...)}.
+     *
+     * @param entity  the entity to save
+     * @param targets the write-behind targets, all of them when empty
+     * @return a {@link Mono} that completes when the write is acknowledged
+     */
+    public Mono<Void> save(T entity, String... targets) {
+        if (Objects.isNull(entity)) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            if (!annotationFinder.isEnabled(entityClass)) {
+                logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+                return writeToDatabase(entity).then();
+            } else if (annotationFinder.hasWriteBehind(entityClass)) {
+                return writeBehindForInsert(entity, targets).then(clearMissing(entity));
+            }
+            logger.debug("Pattern WriteBehind not enabled for Entity {}", entityClass.getSimpleName());
+            KinexisService.recordWrite(adaptiveTtl(), queryCache(), entityClass, entity);
+            return writeToCache(entity).then(clearMissing(entity));
+        });
+    }
+
+    public Mono<Void> update(T entity) {
+        return save(entity);
+    }
+
+    /**
+     * Finds an entity by its identifier, like {@link KinexisService#findById(Object)}: cache first, then with
+     * Cache-Aside or Refresh-Ahead a primary-store load written back to the cache, honoring the
+     * {@code @CachingPatterns.negativeTtl} markers.
+     *
+     * @param id the identifier of the entity to find
+     * @return a {@link Mono} of the entity, empty when not found
+     */
+    public Mono<T> findById(Object id) {
+        if (Objects.isNull(id)) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            if (!annotationFinder.isEnabled(entityClass)) {
+                logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+                return readFromDatabase(id);
+            }
+            return readFromCache(id).switchIfEmpty(Mono.defer(() -> {
+                if (annotationFinder.hasCacheAside(entityClass) || annotationFinder.hasRefreshAhead(entityClass)) {
+                    return cacheAside(id);
+                }
+                logger.debug("Pattern CacheAside not enabled for Entity {}", entityClass.getSimpleName());
+                return Mono.empty();
+            }));
+        });
+    }
+
+    /**
+     * Finds all entities matching the given identifiers, like {@link KinexisService#findAllById(Collection)}:
+     * one cache multi-get, one batched primary-store load for the misses and one batched cache write.
+     *
+     * @param ids the identifiers of the entities to find
+     * @return the found entities, in the order of the requested identifiers
+     */
+    public Flux<T> findAllById(Collection<?> ids) {
+        if (Objects.isNull(ids) || ids.isEmpty()) {
+            return Flux.empty();
+        }
+        List<?> requestedIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        return Flux.defer(() -> {
+            if (!annotationFinder.isEnabled(entityClass)) {
+                logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+                return readAllFromDatabase(requestedIds).collectList()
+                        .flatMapIterable(entities -> KinexisService.inRequestOrder(requestedIds, entities));
+            }
+            return readAllFromCache(requestedIds).collectList().flatMapMany(cached -> {
+                Map<String, T> found = new HashMap<>();
+                KinexisService.indexById(cached, found);
+                List<?> missingIds = requestedIds.stream()
+                        .filter(id -> !found.containsKey(String.valueOf(id)))
+                        .toList();
+                if (missingIds.isEmpty()) {
+                    return Flux.fromIterable(KinexisService.inRequestOrder(requestedIds, found));
+                }
+                if (!annotationFinder.hasCacheAside(entityClass) && !annotationFinder.hasRefreshAhead(entityClass)) {
+                    logger.debug("Pattern CacheAside not enabled for Entity {}", entityClass.getSimpleName());
+                    return Flux.fromIterable(KinexisService.inRequestOrder(requestedIds, found));
+                }
+                return readAllFromDatabase(missingIds).collectList()
+                        .flatMapMany(loaded -> {
+                            List<T> admitted = admitAll(loaded);
+                            if (admitted.size() < loaded.size()) {
+                                KinexisService.indexById(loaded, found);
+                            }
+                            return writeAllToCache(admitted);
+                        })
+                        .collectList()
+                        .flatMapIterable(loaded -> {
+                            KinexisService.indexById(loaded, found);
+                            return KinexisService.inRequestOrder(requestedIds, found);
+                        });
+            });
+        });
+    }
+
+    /**
+     * Deletes an entity from the cache or appends a write-behind event, like {@link KinexisService#delete(Object, String...)}.
+     *
+     * @param id      the identifier of the entity to delete
+     * @param targets the write-behind targets, all of them when empty
+     * @return a {@link Mono} that completes when the deletion is acknowledged
+     */
+    public Mono<Void> delete(Object id, String... targets) {
+        if (Objects.isNull(id)) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            if (!annotationFinder.isEnabled(entityClass)) {
+                logger.debug("Kinexis disabled for Entity {}", entityClass.getSimpleName());
+                return deleteFromDatabase(id);
+            } else if (annotationFinder.hasWriteBehind(entityClass)) {
+                return writeBehindForDelete(id, targets);
+            }
+            logger.debug("Pattern WriteBehind not enabled for Entity {}", entityClass.getSimpleName());
+            KinexisService.recordDelete(adaptiveTtl(), queryCache(), entityClass, id);
+            return deleteFromCache(id);
+        });
+    }
+
+    protected Mono<Void> invalidateCache(Object id) {
+        return deleteFromCache(id);
+    }
+
+    private Mono<String> writeBehindForInsert(T entity, String... targets) {
+        KinexisService.validateWriteBehindTargets(entityStoreRegistry, entityClass, targets);
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(entity);
+        } catch (JsonProcessingException e) {
+            return Mono.error(new RuntimeException(e));
+        }
+        Object entityId = Misc.getEntityId(entity).orElse(null);
+        return eventPublisher.append(entityClass, KinexisEvent.save(entityClass, entityId, json, targets))
+                .doOnNext(recordId -> logger.debug("RecordId {} added for ingestion to the Stream for entity {}", recordId, entityClass.getSimpleName()));
+    }
+
+    private Mono<Void> writeBehindForDelete(Object id, String... targets) {
+        KinexisService.validateWriteBehindTargets(entityStoreRegistry, entityClass, targets);
+        return eventPublisher.append(entityClass, KinexisEvent.delete(entityClass, id, targets))
+                .doOnNext(recordId -> logger.debug("RecordId {} added for deletion to the Stream for entity {}", recordId, entityClass.getSimpleName()))
+                .then();
+    }
+
+    private Mono<T> cacheAside(Object id) {
+        return isMarkedMissing(id).flatMap(marked -> marked ? Mono.<T>empty() : loadIntoCache(id));
+    }
+
+    private Mono<T> loadIntoCache(Object id) {
+        return readFromDatabase(id)
+                .flatMap(entity -> {
+                    if (!cacheAdmission().admit(entityClass, id)) {
+                        logger.debug("Entity not admitted to cache: {}", id);
+                        return Mono.just(entity);
+                    }
+                    return writeToCache(entity);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.debug("Entity not found in Database: {}", id);
+                    return markMissing(id).then(Mono.<T>empty());
+                }));
+    }
+
+    private Mono<Boolean> isMarkedMissing(Object id) {
+        if (negativeTtl().isZero()) {
+            return Mono.just(false);
+        }
+        return Mono.justOrEmpty(reactiveStoreRegistry.findCacheStore(entityClass))
+                .flatMap(store -> store.isMarkedMissing(id))
+                .defaultIfEmpty(false)
+                .doOnNext(marked -> {
+                    telemetry().increment(marked ? KinexisTelemetry.CACHE_NEGATIVE_HITS : KinexisTelemetry.CACHE_NEGATIVE_MISSES,
+                            Map.of("entity", entityClass.getSimpleName()));
+                    if (marked) {
+                        logger.debug("Entity marked as not found in cache: {}", id);
+                    }
+                });
+    }
+
+    private Mono<Void> markMissing(Object id) {
+        Duration negativeTtl = expiration().jitter(negativeTtl());
+        if (negativeTtl.isZero()) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(reactiveStoreRegistry.findCacheStore(entityClass))
+                .flatMap(store -> store.markMissing(id, negativeTtl));
+    }
+
+    private Mono<Void> clearMissing(T entity) {
+        if (negativeTtl().isZero()) {
+            return Mono.empty();
+        }
+        return Mono.justOrEmpty(Misc.getEntityId(entity))
+                .flatMap(entityId -> Mono.justOrEmpty(reactiveStoreRegistry.findCacheStore(entityClass))
+                        .flatMap(store -> store.clearMissing(entityId)));
+    }
+
+    private void recordRead(Object id) {
+        adaptiveTtl().recordRead(entityClass, id);
+        cacheAdmission().recordAccess(entityClass, id);
+        hotKeys().recordRead(entityClass, id);
+    }
+
+    private Mono<T> readFromCache(Object id) {
+        recordRead(id);
+        Map<String, String> tags = Map.of("entity", entityClass.getSimpleName());
+        return Mono.justOrEmpty(reactiveStoreRegistry.findCacheStore(entityClass))
+                .flatMap(store -> slidingTtl() ? store.findByIdAndTouch(id, cacheEntryTtl(id)) : store.findById(id))
+                .doOnNext(value -> {
+                    telemetry().increment(KinexisTelemetry.CACHE_HITS, tags);
+                    logger.debug("Entity read from cache: {}", value);
+                })
+                .switchIfEmpty(Mono.fromRunnable(() -> telemetry().increment(KinexisTelemetry.CACHE_MISSES, tags)));
+    }
+
+    private Flux<T> readAllFromCache(List<?> ids) {
+        ids.forEach(this::recordRead);
+        Map<String, String> tags = Map.of("entity", entityClass.getSimpleName());
+        return Mono.justOrEmpty(reactiveStoreRegistry.findCacheStore(entityClass))
+                .flatMapMany(store -> store.findAllById(ids))
+                .collectList()
+                .doOnNext(entities -> {
+                    for (int i = 0; i < ids.size(); i++) {
+                        telemetry().increment(i < entities.size() ? KinexisTelemetry.CACHE_HITS : KinexisTelemetry.CACHE_MISSES, tags);
+                    }
+                    logger.debug("{} of {} entities read from cache", entities.size(), ids.size());
+                })
+                .flatMapIterable(entities -> entities);
+    }
+
+    private Mono<Void> deleteFromCache(Object id) {
+        return Mono.justOrEmpty(reactiveStoreRegistry.findCacheStore(entityClass))
+                .flatMap(store -> store.deleteById(id)
+                        .doOnSuccess(ignored -> logger.debug("Entity deleted from cache: {}", id)));
+    }
+
+    private Mono<T> writeToCache(T entity) {
+        Duration ttl = cacheEntryTtl(Misc.getEntityId(entity).orElse(null));
+        return reactiveStoreRegistry.findCacheStore(entityClass)
+                .map(store -> (ttl.isZero() ? store.save(entity) : store.save(entity, ttl))
+                        .doOnNext(value -> logger.debug("Entity written to cache: {}", value))
+                        .defaultIfEmpty(entity))
+                .orElseGet(() -> Mono.just(entity));
+    }
+
+    private List<T> admitAll(List<T> entities) {
+        if (!cacheAdmission().isEnabled()) {
+            return entities;
+        }
+        return entities.stream()
+                .filter(entity -> cacheAdmission().admit(entityClass, Misc.getEntityId(entity).orElse(null)))
+                .toList();
+    }
+
+    private Flux<T> writeAllToCache(List<T> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        Duration ttl = cacheEntryTtl(null);
+        return reactiveStoreRegistry.findCacheStore(entityClass)
+                .map(store -> (ttl.isZero() ? store.saveAll(entities) : store.saveAll(entities, ttl)))
+                .orElseGet(() -> Flux.fromIterable(entities));
+    }
+
+    private Mono<T> readFromDatabase(Object id) {
+        return Mono.justOrEmpty(reactiveStoreRegistry.findPrimaryStore(entityClass))
+                .flatMap(store -> store.findById(id))
+                .doOnNext(value -> logger.debug("Entity read from database: {}", value));
+    }
+
+    private Flux<T> readAllFromDatabase(List<?> ids) {
+        return Mono.justOrEmpty(reactiveStoreRegistry.findPrimaryStore(entityClass))
+                .flatMapMany(store -> store.findAllById(ids));
+    }
+
+    private Mono<T> writeToDatabase(T entity) {
+        return Mono.justOrEmpty(reactiveStoreRegistry.findPrimaryStore(entityClass))
+                .flatMap(store -> store.save(entity))
+                .doOnNext(value -> logger.debug("Entity written to database: {}", value));
+    }
+
+    private Mono<Void> deleteFromDatabase(Object id) {
+        return Mono.justOrEmpty(reactiveStoreRegistry.findPrimaryStore(entityClass))
+                .flatMap(store -> store.deleteById(id))
+                .doOnSuccess(ignored -> logger.debug("Entity deleted from database: {}", id));
+    }
+
+    private Duration cacheTtl() {
+        long ttl = annotationFinder.ttl(entityClass);
+        return ttl > 0 ? Duration.ofSeconds(ttl) : Duration.ZERO;
+    }
+
+    private Duration cacheEntryTtl(Object id) {
+        Duration ttl = cacheTtl();
+        if (ttl.isZero()) {
+            return ttl;
+        }
+        if (slidingTtl()) {
+            return expiration().jitter(adaptiveTtl().ttl(entityClass, id, ttl));
+        }
+        long staleWindow = Math.max(0, annotationFinder.staleWhileRevalidate(entityClass))
+                + Math.max(0, annotationFinder.staleIfError(entityClass));
+        return expiration().jitter(adaptiveTtl().ttl(entityClass, id, ttl)).plusSeconds(staleWindow);
+    }
+
+    private boolean slidingTtl() {
+        return annotationFinder.hasSlidingTtl(entityClass) && !cacheTtl().isZero();
+    }
+
+    private Duration negativeTtl() {
+        long negativeTtl = annotationFinder.negativeTtl(entityClass);
+        return negativeTtl > 0 ? Duration.ofSeconds(negativeTtl) : Duration.ZERO;
+    }
+
+    private KinexisAdaptiveTtl adaptiveTtl() {
+        if (adaptiveTtl == null) {
+            adaptiveTtl = new KinexisAdaptiveTtl(new KinexisProperties().getCache().getAdaptiveTtl());
+        }
+        return adaptiveTtl;
+    }
+
+    private KinexisQueryCache queryCache() {
+        if (queryCache == null) {
+            queryCache = new KinexisQueryCache(new KinexisProperties().getCache().getQuery(), QueryResultCache.noop(), telemetry());
+        }
+        return queryCache;
+    }
+
+    private KinexisCacheAdmission cacheAdmission() {
+        if (cacheAdmission == null) {
+            cacheAdmission = new KinexisCacheAdmission(new KinexisProperties().getCache().getAdmission(), telemetry());
+        }
+        return cacheAdmission;
+    }
+
+    private KinexisHotKeys hotKeys() {
+        if (hotKeys == null) {
+            hotKeys = new KinexisHotKeys(new KinexisProperties().getCache().getHotKeys());
+        }
+        return hotKeys;
+    }
+
+    private KinexisExpiration expiration() {
+        if (expiration == null) {
+            expiration = new KinexisExpiration(new KinexisProperties().getCache().getExpiration(), telemetry());
+        }
+        return expiration;
+    }
+
+    private KinexisTelemetry telemetry() {
+        if (telemetry == null) {
+            telemetry = new SimpleKinexisTelemetry();
+        }
+        return telemetry;
+    }
+}
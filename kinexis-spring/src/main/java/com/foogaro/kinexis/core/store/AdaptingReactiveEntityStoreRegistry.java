@@ -0,0 +1,75 @@
+package com.foogaro.kinexis.core.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ReactiveEntityStoreRegistry} that follows the store choices of an {@link EntityStoreRegistry},
+ * so blocking and reactive services of the same entity read and write the same stores.
+ * <p>
+ * For each store resolved by the blocking registry, a {@link ReactiveEntityStore} bean with the same
+ * entity type and name is used when one exists. Cache stores that are a {@link ReactiveCacheStoreProvider}
+ * then use their native counterpart. The blocking store is adapted, with its calls run on the given
+ * scheduler, only for primary stores and for cache stores with neither; the latter are logged once.
+ */
+public class AdaptingReactiveEntityStoreRegistry implements ReactiveEntityStoreRegistry {
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final EntityStoreRegistry registry;
+    private final List<ReactiveEntityStore<?>> reactiveStores;
+    private final Scheduler scheduler;
+    private final Set<String> adaptedCacheStores = ConcurrentHashMap.newKeySet();
+
+    public AdaptingReactiveEntityStoreRegistry(EntityStoreRegistry registry,
+                                               Collection<? extends ReactiveEntityStore<?>> reactiveStores,
+                                               Scheduler scheduler) {
+        this.registry = Objects.requireNonNull(registry, "registry cannot be null");
+        this.reactiveStores = reactiveStores == null ? List.of() : List.copyOf(reactiveStores);
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<ReactiveCacheStore<T>> findCacheStore(Class<T> entityType) {
+        return registry.findCacheStore(entityType)
+                .map(store -> findReactiveStore(entityType, store.name())
+                        .filter(ReactiveCacheStore.class::isInstance)
+                        .map(reactiveStore -> (ReactiveCacheStore<T>) reactiveStore)
+                        .or(() -> store instanceof ReactiveCacheStoreProvider<?> provider
+                                ? ((ReactiveCacheStoreProvider<T>) provider).reactiveCacheStore()
+                                : Optional.empty())
+                        .orElseGet(() -> adapt(store)));
+    }
+
+    private <T> ReactiveCacheStore<T> adapt(CacheStore<T> store) {
+        if (adaptedCacheStores.add(store.name())) {
+            logger.info("Cache store {} of {} has no reactive counterpart, its calls run on {}",
+                    store.name(), store.entityType().getSimpleName(), scheduler);
+        }
+        return ReactiveCacheStore.of(store, scheduler);
+    }
+
+    @Override
+    public <T> Optional<ReactiveEntityStore<T>> findPrimaryStore(Class<T> entityType) {
+        return registry.findPrimaryStore(entityType)
+                .map(store -> findReactiveStore(entityType, store.name())
+                        .orElseGet(() -> ReactiveEntityStore.of(store, scheduler)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<ReactiveEntityStore<T>> findReactiveStore(Class<T> entityType, String name) {
+        return reactiveStores.stream()
+                .filter(store -> entityType.equals(store.entityType()) && Objects.equals(name, store.name()))
+                .map(store -> (ReactiveEntityStore<T>) store)
+                .findFirst();
+    }
+}
@@ -0,0 +1,122 @@
+package com.foogaro.kinexis.core.store;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Runs the calls of a blocking {@link EntityStore} on a scheduler meant for blocking work.
+ * The cache-only methods are forwarded when the store is a {@link CacheStore}.
+ */
+final class BlockingReactiveStoreAdapter<T> implements ReactiveCacheStore<T> {
+
+    private final EntityStore<T> store;
+    private final Scheduler scheduler;
+
+    BlockingReactiveStoreAdapter(EntityStore<T> store, Scheduler scheduler) {
+        this.store = Objects.requireNonNull(store, "store cannot be null");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler cannot be null");
+    }
+
+    @Override
+    public String name() {
+        return store.name();
+    }
+
+    @Override
+    public Class<T> entityType() {
+        return store.entityType();
+    }
+
+    @Override
+    public Set<String> targets() {
+        return store.targets();
+    }
+
+    @Override
+    public Mono<T> findById(Object id) {
+        return Mono.fromCallable(() -> store.findById(id).orElse(null)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<T> findAllById(Collection<?> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return Mono.fromCallable(() -> store.findAllById(ids)).subscribeOn(scheduler).flatMapIterable(entities -> entities);
+    }
+
+    @Override
+    public Mono<T> save(T entity) {
+        return Mono.fromCallable(() -> store.save(entity)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<T> saveAll(Collection<T> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return Flux.empty();
+        }
+        return Mono.fromCallable(() -> store.saveAll(entities)).subscribeOn(scheduler).flatMapIterable(saved -> saved);
+    }
+
+    @Override
+    public Mono<Void> deleteById(Object id) {
+        return Mono.<Void>fromRunnable(() -> store.deleteById(id)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<T> save(T entity, Duration ttl) {
+        if (!(store instanceof CacheStore<T> cacheStore)) {
+            return save(entity);
+        }
+        return Mono.fromCallable(() -> cacheStore.save(entity, ttl)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Flux<T> saveAll(Collection<T> entities, Duration ttl) {
+        if (!(store instanceof CacheStore<T> cacheStore)) {
+            return saveAll(entities);
+        }
+        if (entities == null || entities.isEmpty()) {
+            return Flux.empty();
+        }
+        return Mono.fromCallable(() -> cacheStore.saveAll(entities, ttl)).subscribeOn(scheduler).flatMapIterable(saved -> saved);
+    }
+
+    @Override
+    public Mono<T> findByIdAndTouch(Object id, Duration ttl) {
+        if (!(store instanceof CacheStore<T> cacheStore)) {
+            return findById(id);
+        }
+        return Mono.fromCallable(() -> cacheStore.findByIdAndTouch(id, ttl).orElse(null)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> markMissing(Object id, Duration ttl) {
+        if (!(store instanceof CacheStore<T> cacheStore)) {
+            return Mono.empty();
+        }
+        return Mono.<Void>fromRunnable(() -> cacheStore.markMissing(id, ttl)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Boolean> isMarkedMissing(Object id) {
+        if (!(store instanceof CacheStore<T> cacheStore)) {
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> cacheStore.isMarkedMissing(id)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> clearMissing(Object id) {
+        if (!(store instanceof CacheStore<T> cacheStore)) {
+            return Mono.empty();
+        }
+        return Mono.<Void>fromRunnable(() -> cacheStore.clearMissing(id)).subscribeOn(scheduler);
+    }
+}
@@ -4,6 +4,7 @@ import com.foogaro.kinexis.core.service.BeanFinder;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -90,11 +91,21 @@ public class CrudRepositoryCacheStore<T> implements CacheStore<T> {
         return delegate.findById(id);
     }
 
+    @Override
+    public List<T> findAllById(Collection<?> ids) {
+        return delegate.findAllById(ids);
+    }
+
     @Override
     public T save(T entity) {
         return delegate.save(entity);
     }
 
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        return delegate.saveAll(entities);
+    }
+
     @Override
     public void deleteById(Object id) {
         delegate.deleteById(id);
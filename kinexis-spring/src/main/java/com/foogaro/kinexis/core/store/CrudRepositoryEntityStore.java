@@ -1,16 +1,26 @@
 package com.foogaro.kinexis.core.store;
 
+import com.foogaro.kinexis.core.Misc;
 import com.foogaro.kinexis.core.service.BeanFinder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class CrudRepositoryEntityStore<T> implements EntityStore<T> {
 
+    private static final int PAGE_SIZE = 500;
+
     private final String name;
     private final Class<T> entityType;
     private final CrudRepository<T, ?> repository;
@@ -51,12 +61,37 @@ public class CrudRepositoryEntityStore<T> implements EntityStore<T> {
     @Override
     public Optional<T> findById(Object id) {
         CrudRepository<T, Object> crudRepository = beanFinder.asCrudRepository(repository);
-        Class<?> idType = beanFinder.getIdType(repository);
-        Object storeId = id;
-        if (idType != null && !idType.isInstance(id)) {
-            storeId = beanFinder.createId(idType, String.valueOf(id));
+        return crudRepository.findById(toStoreId(beanFinder.getIdType(repository), id));
+    }
+
+    @Override
+    public List<T> findAllById(Collection<?> ids) {
+        List<T> entities = new ArrayList<>();
+        if (ids == null || ids.isEmpty()) {
+            return entities;
         }
-        return crudRepository.findById(storeId);
+        CrudRepository<T, Object> crudRepository = beanFinder.asCrudRepository(repository);
+        Class<?> idType = beanFinder.getIdType(repository);
+        List<Object> storeIds = ids.stream()
+                .filter(Objects::nonNull)
+                .map(id -> toStoreId(idType, id))
+                .toList();
+        crudRepository.findAllById(storeIds).forEach(entities::add);
+        return entities;
+    }
+
+    /**
+     * Streams IDs one page of {@value #PAGE_SIZE} entities at a time, sorted by ID, when the repository is
+     * a {@link PagingAndSortingRepository}. Spring Data has no store-independent key scan, so every page
+     * still loads whole entities. Other repositories would have to load the whole table at once and throw
+     * {@link UnsupportedOperationException} instead.
+     */
+    @Override
+    public Stream<Object> streamIds() {
+        return streamPages(PAGE_SIZE)
+                .flatMap(List::stream)
+                .map(Misc::getEntityId)
+                .flatMap(Optional::stream);
     }
 
     @Override
@@ -65,11 +100,47 @@ public class CrudRepositoryEntityStore<T> implements EntityStore<T> {
         return crudRepository.save(entity);
     }
 
+    @Override
+    public List<T> saveAll(Collection<T> entities) {
+        List<T> saved = new ArrayList<>();
+        if (entities == null || entities.isEmpty()) {
+            return saved;
+        }
+        CrudRepository<T, Object> crudRepository = beanFinder.asCrudRepository(repository);
+        crudRepository.saveAll(entities).forEach(saved::add);
+        return saved;
+    }
+
     @Override
     public void deleteById(Object id) {
         beanFinder.executeIdOperation(repository, String.valueOf(id), CrudRepository::deleteById);
     }
 
+    /**
+     * Streams pages of entities sorted by ID, under the same condition as {@link #streamIds()}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<List<T>> streamPages(int pageSize) {
+        if (!(repository instanceof PagingAndSortingRepository<?, ?> pagingRepository)) {
+            throw new UnsupportedOperationException("Store " + name + " cannot page through " + entityType.getSimpleName()
+                    + ": its repository does not extend PagingAndSortingRepository");
+        }
+        PagingAndSortingRepository<T, ?> entities = (PagingAndSortingRepository<T, ?>) pagingRepository;
+        Sort sort = Misc.getIdFieldName(entityType).map(Sort::by).orElse(Sort.unsorted());
+        return Stream.iterate(entities.findAll(PageRequest.of(0, pageSize, sort)), Objects::nonNull,
+                        page -> page.hasNext() ? entities.findAll(page.nextPageable()) : null)
+                .map(Page::getContent)
+                .filter(content -> !content.isEmpty());
+    }
+
+    private Object toStoreId(Class<?> idType, Object id) {
+        if (idType != null && !idType.isInstance(id)) {
+            return beanFinder.createId(idType, String.valueOf(id));
+        }
+        return id;
+    }
+
     static Set<String> normalizeTargets(Collection<String> targets, String defaultTarget) {
         LinkedHashSet<String> normalized = new LinkedHashSet<>();
         if (targets != null) {
@@ -0,0 +1,67 @@
+package com.foogaro.kinexis.core.store;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Non-blocking counterpart of {@link CacheStore}. Stores that do not support expiration or
+ * not-found markers can keep the defaults.
+ *
+ * @param <T> the cached entity type
+ */
+public interface ReactiveCacheStore<T> extends ReactiveEntityStore<T> {
+
+    default Mono<T> save(T entity, Duration ttl) {
+        return save(entity);
+    }
+
+    default Flux<T> saveAll(Collection<T> entities, Duration ttl) {
+        if (entities == null || entities.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(entities).concatMap(entity -> save(entity, ttl));
+    }
+
+    /**
+     * @see CacheStore#markMissing(Object, Duration)
+     */
+    default Mono<Void> markMissing(Object id, Duration ttl) {
+        return Mono.empty();
+    }
+
+    /**
+     * @see CacheStore#isMarkedMissing(Object)
+     */
+    default Mono<Boolean> isMarkedMissing(Object id) {
+        return Mono.just(false);
+    }
+
+    /**
+     * @see CacheStore#clearMissing(Object)
+     */
+    default Mono<Void> clearMissing(Object id) {
+        return Mono.empty();
+    }
+
+    /**
+     * @see CacheStore#findByIdAndTouch(Object, Duration)
+     */
+    default Mono<T> findByIdAndTouch(Object id, Duration ttl) {
+        return findById(id);
+    }
+
+    /**
+     * Adapts a blocking cache store by running each of its calls on the given scheduler.
+     *
+     * @param store     the blocking cache store
+     * @param scheduler a scheduler meant for blocking work, such as {@code Schedulers.boundedElastic()}
+     * @return the adapted store
+     */
+    static <T> ReactiveCacheStore<T> of(CacheStore<T> store, Scheduler scheduler) {
+        return new BlockingReactiveStoreAdapter<>(store, scheduler);
+    }
+}
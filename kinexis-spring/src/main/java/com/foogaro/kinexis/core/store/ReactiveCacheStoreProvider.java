@@ -0,0 +1,18 @@
+package com.foogaro.kinexis.core.store;
+
+import java.util.Optional;
+
+/**
+ * Implemented by blocking {@link CacheStore}s that have a native non-blocking counterpart over the same
+ * entries, which {@link AdaptingReactiveEntityStoreRegistry} uses instead of running the blocking store on a
+ * scheduler.
+ *
+ * @param <T> the cached entity type
+ */
+public interface ReactiveCacheStoreProvider<T> {
+
+    /**
+     * @return the non-blocking counterpart of this store, or empty when its configuration does not allow one
+     */
+    Optional<ReactiveCacheStore<T>> reactiveCacheStore();
+}
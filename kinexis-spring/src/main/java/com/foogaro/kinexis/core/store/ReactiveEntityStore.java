@@ -0,0 +1,56 @@
+package com.foogaro.kinexis.core.store;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Non-blocking counterpart of {@link EntityStore}, for stores backed by a reactive client.
+ * An empty {@link Mono} stands for a missing entity.
+ *
+ * @param <T> the stored entity type
+ */
+public interface ReactiveEntityStore<T> {
+
+    String name();
+
+    Class<T> entityType();
+
+    default Set<String> targets() {
+        return Set.of(name());
+    }
+
+    Mono<T> findById(Object id);
+
+    default Flux<T> findAllById(Collection<?> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(ids).concatMap(this::findById);
+    }
+
+    Mono<T> save(T entity);
+
+    default Flux<T> saveAll(Collection<T> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromIterable(entities).concatMap(this::save);
+    }
+
+    Mono<Void> deleteById(Object id);
+
+    /**
+     * Adapts a blocking store by running each of its calls on the given scheduler.
+     *
+     * @param store     the blocking store
+     * @param scheduler a scheduler meant for blocking work, such as {@code Schedulers.boundedElastic()}
+     * @return the adapted store
+     */
+    static <T> ReactiveEntityStore<T> of(EntityStore<T> store, Scheduler scheduler) {
+        return new BlockingReactiveStoreAdapter<>(store, scheduler);
+    }
+}
@@ -0,0 +1,14 @@
+package com.foogaro.kinexis.core.store;
+
+import java.util.Optional;
+
+/**
+ * Resolves the reactive cache and primary store of an entity type, like {@link EntityStoreRegistry}
+ * does for blocking stores.
+ */
+public interface ReactiveEntityStoreRegistry {
+
+    <T> Optional<ReactiveCacheStore<T>> findCacheStore(Class<T> entityType);
+
+    <T> Optional<ReactiveEntityStore<T>> findPrimaryStore(Class<T> entityType);
+}
@@ -0,0 +1,60 @@
+package com.foogaro.kinexis.core.store;
+
+import com.foogaro.kinexis.core.config.KinexisProperties;
+import com.foogaro.kinexis.core.service.AnnotationFinder;
+import com.foogaro.kinexis.core.telemetry.KinexisTelemetry;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * Puts a {@link TieredCacheStore} in front of the cache stores of Kinexis-enabled entities.
+ * The L1 TTL is the entity {@code @CachingPatterns.ttl}, or {@code kinexis.cache.near-cache.default-ttl}
+ * when the entity has no TTL.
+ */
+public class TieredCacheStoreDecorator implements CacheStoreDecorator {
+
+    private final KinexisProperties.NearCache properties;
+    private final AnnotationFinder annotationFinder;
+    private final CacheInvalidationBus invalidationBus;
+    private final KinexisTelemetry telemetry;
+    private final ToLongFunction<Object> weigher;
+
+    public TieredCacheStoreDecorator(KinexisProperties.NearCache properties, AnnotationFinder annotationFinder,
+                                     CacheInvalidationBus invalidationBus, KinexisTelemetry telemetry) {
+        this(properties, annotationFinder, invalidationBus, telemetry, null);
+    }
+
+    /**
+     * @param weigher estimates the on-heap weight of an entity for {@code kinexis.cache.near-cache.maximum-weight};
+     *                {@code null} weighs every entity as 1
+     */
+    public TieredCacheStoreDecorator(KinexisProperties.NearCache properties, AnnotationFinder annotationFinder,
+                                     CacheInvalidationBus invalidationBus, KinexisTelemetry telemetry,
+                                     ToLongFunction<Object> weigher) {
+        this.properties = Objects.requireNonNull(properties, "properties cannot be null");
+        this.annotationFinder = Objects.requireNonNull(annotationFinder, "annotationFinder cannot be null");
+        this.invalidationBus = Objects.requireNonNull(invalidationBus, "invalidationBus cannot be null");
+        this.telemetry = Objects.requireNonNull(telemetry, "telemetry cannot be null");
+        this.weigher = weigher;
+    }
+
+    @Override
+    public <T> CacheStore<T> decorate(CacheStore<T> cacheStore) {
+        Class<T> entityType = cacheStore.entityType();
+        if (cacheStore instanceof TieredCacheStore<?>
+                || !annotationFinder.isEnabled(entityType)
+                || (!properties.getEntities().isEmpty() && !properties.getEntities().contains(entityType.getName()))) {
+            return cacheStore;
+        }
+        long ttl = annotationFinder.ttl(entityType);
+        return TieredCacheStore.builder(cacheStore)
+                .maximumSize(properties.getMaximumSize())
+                .maximumWeight(properties.getMaximumWeight(), weigher == null ? null : weigher::applyAsLong)
+                .ttl(ttl > 0 ? Duration.ofSeconds(ttl) : properties.getDefaultTtl())
+                .invalidationBus(invalidationBus)
+                .telemetry(telemetry)
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.foogaro.kinexis.core.stream;
+
+import com.foogaro.kinexis.core.model.KinexisEvent;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Objects;
+
+/**
+ * Non-blocking counterpart of {@link EventPublisher}.
+ */
+public interface ReactiveEventPublisher {
+
+    /**
+     * @return a {@link Mono} of the ID of the appended record
+     */
+    Mono<String> append(Class<?> entityType, KinexisEvent event);
+
+    /**
+     * Adapts a blocking publisher by running each append on the given scheduler.
+     *
+     * @param publisher the blocking publisher
+     * @param scheduler a scheduler meant for blocking work, such as {@code Schedulers.boundedElastic()}
+     * @return the adapted publisher
+     */
+    static ReactiveEventPublisher of(EventPublisher publisher, Scheduler scheduler) {
+        Objects.requireNonNull(publisher, "publisher cannot be null");
+        Objects.requireNonNull(scheduler, "scheduler cannot be null");
+        return (entityType, event) -> Mono.fromCallable(() -> publisher.append(entityType, event)).subscribeOn(scheduler);
+    }
+}
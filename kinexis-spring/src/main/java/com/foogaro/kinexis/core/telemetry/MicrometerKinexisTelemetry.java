@@ -2,6 +2,9 @@ package com.foogaro.kinexis.core.telemetry;
 
 import org.springframework.beans.factory.ListableBeanFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -11,15 +14,26 @@ import java.util.Optional;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class MicrometerKinexisTelemetry implements KinexisTelemetry {
 
+    private static final Object NO_METER = new Object();
+    private static final String TIMER = "io.micrometer.core.instrument.Timer";
+    private static final String DISTRIBUTION_SUMMARY = "io.micrometer.core.instrument.DistributionSummary";
+
     private final Object meterRegistry;
     private final ConcurrentMap<MetricKey, AtomicLong> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricKey, Object> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MetricKey, Object> distributions = new ConcurrentHashMap<>();
+    private final MethodHandle recordTimer;
+    private final MethodHandle recordDistribution;
 
     public MicrometerKinexisTelemetry(Object meterRegistry) {
         this.meterRegistry = meterRegistry;
+        this.recordTimer = recordHandle(TIMER, long.class, TimeUnit.class);
+        this.recordDistribution = recordHandle(DISTRIBUTION_SUMMARY, double.class);
     }
 
     public static Optional<MicrometerKinexisTelemetry> from(ListableBeanFactory beanFactory) {
@@ -50,14 +64,75 @@ public class MicrometerKinexisTelemetry implements KinexisTelemetry {
         if (duration == null || duration.isNegative()) {
             return;
         }
+        recordNanos(name, duration.toNanos(), tags);
+    }
+
+    /**
+     * Records on a timer registered once per name and tags, through a method handle, so that the
+     * recording itself neither looks up the meter nor boxes the duration.
+     */
+    @Override
+    public void recordNanos(String name, long nanos, Map<String, String> tags) {
+        if (nanos < 0 || recordTimer == null) {
+            return;
+        }
+        Object timer = meter(timers, TIMER, name, tags);
+        if (timer == NO_METER) {
+            return;
+        }
         try {
-            Class<?> timerClass = Class.forName("io.micrometer.core.instrument.Timer");
+            recordTimer.invokeExact(timer, nanos, TimeUnit.NANOSECONDS);
+        } catch (Throwable ignored) {
+        }
+    }
+
+    /**
+     * Records on a distribution summary registered once per name and tags, as {@link #recordNanos} does.
+     */
+    @Override
+    public void recordValue(String name, long value, Map<String, String> tags) {
+        if (recordDistribution == null) {
+            return;
+        }
+        Object distribution = meter(distributions, DISTRIBUTION_SUMMARY, name, tags);
+        if (distribution == NO_METER) {
+            return;
+        }
+        try {
+            recordDistribution.invokeExact(distribution, (double) value);
+        } catch (Throwable ignored) {
+        }
+    }
+
+    private Object meter(ConcurrentMap<MetricKey, Object> meters, String meterClassName, String name, Map<String, String> tags) {
+        Object meter = meters.get(new MetricKey(name, tags == null ? Map.of() : tags));
+        if (meter == null) {
+            meter = meters.computeIfAbsent(MetricKey.of(name, tags), key -> registerMeter(meterClassName, key));
+        }
+        return meter;
+    }
+
+    private Object registerMeter(String meterClassName, MetricKey key) {
+        try {
+            Class<?> meterClass = Class.forName(meterClassName);
             Class<?> meterRegistryClass = Class.forName("io.micrometer.core.instrument.MeterRegistry");
-            Object builder = timerClass.getMethod("builder", String.class).invoke(null, name);
-            builder = builder.getClass().getMethod("tags", String[].class).invoke(builder, (Object) toTagArray(tags));
-            Object timer = builder.getClass().getMethod("register", meterRegistryClass).invoke(builder, meterRegistry);
-            timer.getClass().getMethod("record", Duration.class).invoke(timer, duration);
+            Object builder = meterClass.getMethod("builder", String.class).invoke(null, key.name());
+            builder = builder.getClass().getMethod("tags", String[].class).invoke(builder, (Object) toTagArray(key.tags()));
+            return builder.getClass().getMethod("register", meterRegistryClass).invoke(builder, meterRegistry);
+        } catch (ReflectiveOperationException ignored) {
+            return NO_METER;
+        }
+    }
+
+    private static MethodHandle recordHandle(String meterClassName, Class<?>... parameterTypes) {
+        try {
+            Class<?> meterClass = Class.forName(meterClassName);
+            MethodType recordType = MethodType.methodType(void.class, parameterTypes);
+            return MethodHandles.publicLookup()
+                    .findVirtual(meterClass, "record", recordType)
+                    .asType(recordType.insertParameterTypes(0, Object.class));
         } catch (ReflectiveOperationException ignored) {
+            return null;
         }
     }
 